@@ -0,0 +1,344 @@
+package edu.grinnell.csc207.experiments;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+import edu.grinnell.csc207.util.DoubleMatrix;
+import edu.grinnell.csc207.util.Matrix;
+import edu.grinnell.csc207.util.MatrixV0;
+import edu.grinnell.csc207.util.ParallelConfig;
+import edu.grinnell.csc207.util.TiledMatrix;
+
+/**
+ * Rough timings of matrix operations on different implementations. Run
+ * with
+ *
+ * <pre>
+ *   mvn -q compile
+ *   java -cp target/classes edu.grinnell.csc207.experiments.MatrixBenchmarks 1024 5
+ * </pre>
+ *
+ * <p>The arguments are the side of the square matrices (default 1024) and
+ * the number of timed runs (default 5). The multiply report compares the
+ * blocked, parallel, and Strassen products of DoubleMatrix with the naive
+ * triple loop. Each workload runs a few times to
+ * warm up, then we report the fastest of the timed runs, each on a fresh
+ * matrix.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+public class MatrixBenchmarks {
+  // +------------+--------------------------------------------------
+  // | Interfaces |
+  // +------------+
+
+  /**
+   * A way to build a matrix of a given size.
+   */
+  interface Maker {
+    /**
+     * Build a matrix.
+     *
+     * @param width
+     *   The width of the matrix.
+     * @param height
+     *   The height of the matrix.
+     *
+     * @return the new matrix.
+     */
+    Matrix<Integer> make(int width, int height);
+  } // interface Maker
+
+  /**
+   * Something to time.
+   */
+  interface Workload {
+    /**
+     * Do the work.
+     *
+     * @param matrix
+     *   The matrix to work on.
+     */
+    void run(Matrix<Integer> matrix);
+  } // interface Workload
+
+  /**
+   * A way to multiply two matrices.
+   */
+  interface Product {
+    /**
+     * Multiply.
+     *
+     * @param left
+     *   The left operand.
+     * @param right
+     *   The right operand.
+     *
+     * @return the product.
+     */
+    DoubleMatrix multiply(DoubleMatrix left, DoubleMatrix right);
+  } // interface Product
+
+  // +-----------+---------------------------------------------------
+  // | Utilities |
+  // +-----------+
+
+  /** The number of untimed runs before timing. */
+  static final int WARMUP = 3;
+
+  /** Somewhere to put results so the work cannot be optimized away. */
+  static volatile long sink;
+
+  /**
+   * Time a workload.
+   *
+   * @param maker
+   *   How to build the matrix for each run.
+   * @param work
+   *   The work to time.
+   * @param size
+   *   The side of the matrix.
+   * @param runs
+   *   The number of timed runs.
+   *
+   * @return the fastest run, in nanoseconds.
+   */
+  static long time(Maker maker, Workload work, int size, int runs) {
+    long best = Long.MAX_VALUE;
+    for (int i = -WARMUP; i < runs; i++) {
+      Matrix<Integer> matrix = maker.make(size, size);
+      long start = System.nanoTime();
+      work.run(matrix);
+      long elapsed = System.nanoTime() - start;
+      if (i >= 0) {
+        best = Math.min(best, elapsed);
+      } // if
+    } // for
+    return best;
+  } // time(Maker, Workload, int, int)
+
+  /**
+   * Time a workload on MatrixV0 and TiledMatrix and print one line of the
+   * report.
+   *
+   * @param pen
+   *   Where to print the report.
+   * @param name
+   *   The name of the workload.
+   * @param work
+   *   The work to time.
+   * @param size
+   *   The side of the matrix.
+   * @param runs
+   *   The number of timed runs.
+   */
+  static void compare(PrintWriter pen, String name, Workload work, int size, int runs) {
+    long dense = time((w, h) -> new MatrixV0<>(w, h, 0), work, size, runs);
+    long tiled = time((w, h) -> new TiledMatrix<>(w, h, 0), work, size, runs);
+    pen.printf("%-24s %12.3f %12.3f %8.2fx%n", name, dense / 1e6, tiled / 1e6,
+        (double) dense / tiled);
+  } // compare(PrintWriter, String, Workload, int, int)
+
+  /**
+   * Time a way to multiply on fixed operands.
+   *
+   * @param product
+   *   The way to multiply.
+   * @param left
+   *   The left operand.
+   * @param right
+   *   The right operand.
+   * @param runs
+   *   The number of timed runs.
+   *
+   * @return the fastest run, in nanoseconds.
+   */
+  static long time(Product product, DoubleMatrix left, DoubleMatrix right, int runs) {
+    long best = Long.MAX_VALUE;
+    for (int i = -WARMUP; i < runs; i++) {
+      long start = System.nanoTime();
+      DoubleMatrix result = product.multiply(left, right);
+      long elapsed = System.nanoTime() - start;
+      sink = Double.doubleToLongBits(result.getDouble(0, 0));
+      if (i >= 0) {
+        best = Math.min(best, elapsed);
+      } // if
+    } // for
+    return best;
+  } // time(Product, DoubleMatrix, DoubleMatrix, int)
+
+  /**
+   * Multiply with the obvious triple loop, the baseline for the kernels.
+   *
+   * @param left
+   *   The left operand.
+   * @param right
+   *   The right operand.
+   *
+   * @return the product.
+   */
+  static DoubleMatrix naive(DoubleMatrix left, DoubleMatrix right) {
+    DoubleMatrix product = new DoubleMatrix(right.width(), left.height());
+    for (int row = 0; row < left.height(); row++) {
+      for (int col = 0; col < right.width(); col++) {
+        double sum = 0;
+        for (int k = 0; k < left.width(); k++) {
+          sum += left.getDouble(row, k) * right.getDouble(k, col);
+        } // for
+        product.setDouble(row, col, sum);
+      } // for
+    } // for
+    return product;
+  } // naive(DoubleMatrix, DoubleMatrix)
+
+  // +------------+--------------------------------------------------
+  // | Benchmarks |
+  // +------------+
+
+  /**
+   * Compare MatrixV0 with TiledMatrix on column-heavy and row-heavy work.
+   *
+   * @param pen
+   *   Where to print the report.
+   * @param size
+   *   The side of the matrices.
+   * @param runs
+   *   The number of timed runs.
+   */
+  static void tiled(PrintWriter pen, int size, int runs) {
+    pen.printf("%-24s %12s %12s %9s%n", "workload (ms)", "MatrixV0", "TiledMatrix", "speedup");
+
+    pen.println("-- column-heavy");
+    compare(pen, "insertCol x16", (m) -> {
+      for (int i = 0; i < 16; i++) {
+        m.insertCol(i * 7 % m.width());
+      } // for
+    }, size, runs);
+    compare(pen, "deleteCol x16", (m) -> {
+      for (int i = 0; i < 16; i++) {
+        m.deleteCol(i * 7 % m.width());
+      } // for
+    }, size, runs);
+    compare(pen, "vertical fillLine", (m) -> {
+      for (int col = 0; col < m.width(); col++) {
+        m.fillLine(0, col, 1, 0, m.height(), col + 1, col);
+      } // for
+    }, size, runs);
+    compare(pen, "diagonal fillLine", (m) -> {
+      for (int col = 0; col < m.width(); col++) {
+        m.fillLine(0, col, 1, 1, m.height(), m.width(), col);
+      } // for
+    }, size, runs);
+    compare(pen, "column scan", (m) -> {
+      long sum = 0;
+      for (int col = 0; col < m.width(); col++) {
+        for (int row = 0; row < m.height(); row++) {
+          sum += m.get(row, col);
+        } // for
+      } // for
+      sink = sum;
+    }, size, runs);
+
+    pen.println("-- row-heavy");
+    compare(pen, "row scan (get)", (m) -> {
+      long sum = 0;
+      for (int row = 0; row < m.height(); row++) {
+        for (int col = 0; col < m.width(); col++) {
+          sum += m.get(row, col);
+        } // for
+      } // for
+      sink = sum;
+    }, size, runs);
+    compare(pen, "row scan (getRow)", (m) -> {
+      Integer[] line = new Integer[m.width()];
+      long sum = 0;
+      for (int row = 0; row < m.height(); row++) {
+        m.getRow(row, line, 0);
+        for (Integer val : line) {
+          sum += val;
+        } // for
+      } // for
+      sink = sum;
+    }, size, runs);
+    compare(pen, "row scan (forEachCell)", (m) -> {
+      long[] sum = new long[1];
+      m.forEachCell((row, col, val) -> sum[0] += val);
+      sink = sum[0];
+    }, size, runs);
+    Integer[] line = new Integer[size];
+    Arrays.fill(line, 3);
+    compare(pen, "setRow", (m) -> {
+      for (int row = 0; row < m.height(); row++) {
+        m.setRow(row, line, 0);
+      } // for
+    }, size, runs);
+    compare(pen, "copyRegionTo", (m) -> {
+      Integer[] cells = new Integer[(m.height() - 2) * (m.width() - 2)];
+      m.copyRegionTo(1, 1, m.height() - 1, m.width() - 1, cells, 0);
+      sink = cells[cells.length - 1];
+    }, size, runs);
+    Integer[][] block = new Integer[size - 2][];
+    Arrays.fill(block, Arrays.copyOf(line, size - 2));
+    compare(pen, "setRegion", (m) -> m.setRegion(1, 1, block), size, runs);
+    compare(pen, "insertRow x16", (m) -> {
+      for (int i = 0; i < 16; i++) {
+        m.insertRow(i * 7 % m.height());
+      } // for
+    }, size, runs);
+    compare(pen, "fillRegion", (m) -> m.fillRegion(1, 1, m.height() - 1, m.width() - 1, 5),
+        size, runs);
+    compare(pen, "clone", (m) -> sink = m.clone().width(), size, runs);
+    compare(pen, "equals(clone)", (m) -> sink = m.equals(m.clone()) ? 1 : 0, size, runs);
+  } // tiled(PrintWriter, int, int)
+
+  /**
+   * Compare the ways DoubleMatrix can multiply with the naive triple loop.
+   *
+   * @param pen
+   *   Where to print the report.
+   * @param size
+   *   The side of the matrices.
+   * @param runs
+   *   The number of timed runs.
+   */
+  static void multiply(PrintWriter pen, int size, int runs) {
+    DoubleMatrix left = new DoubleMatrix(size, size);
+    DoubleMatrix right = new DoubleMatrix(size, size);
+    left.replaceAllDoubles((row, col, val) -> (row * 31 + col) % 17 - 8);
+    right.replaceAllDoubles((row, col, val) -> (row * 7 + col * 3) % 13 - 6);
+    ParallelConfig parallel = ParallelConfig.common();
+    pen.printf("%-24s %12s %9s%n", "multiply " + size + " (ms)", "time", "speedup");
+    long naive = time(MatrixBenchmarks::naive, left, right, runs);
+    pen.printf("%-24s %12.3f %8.2fx%n", "naive triple loop", naive / 1e6, 1.0);
+    long blocked = time((l, r) -> l.multiply(r, ParallelConfig.SERIAL), left, right, runs);
+    pen.printf("%-24s %12.3f %8.2fx%n", "blocked", blocked / 1e6, (double) naive / blocked);
+    long forked = time((l, r) -> l.multiply(r, parallel), left, right, runs);
+    pen.printf("%-24s %12.3f %8.2fx%n", "blocked, parallel", forked / 1e6,
+        (double) naive / forked);
+    long strassen = time((l, r) -> l.multiplyStrassen(r, parallel), left, right, runs);
+    pen.printf("%-24s %12.3f %8.2fx%n", "Strassen, parallel", strassen / 1e6,
+        (double) naive / strassen);
+  } // multiply(PrintWriter, int, int)
+
+  // +------+--------------------------------------------------------
+  // | Main |
+  // +------+
+
+  /**
+   * Run the benchmarks.
+   *
+   * @param args
+   *   The side of the matrices and the number of timed runs, both optional.
+   */
+  public static void main(String[] args) {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int size = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+    int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+    tiled(pen, size, runs);
+    pen.println();
+    multiply(pen, size, runs);
+
+    pen.close();
+  } // main(String[])
+} // class MatrixBenchmarks
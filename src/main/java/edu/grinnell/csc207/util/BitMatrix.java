@@ -0,0 +1,863 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+
+/**
+ * A matrix of booleans packed 64 cells to a long. Each row starts on a
+ * fresh word and has room for <code>stride</code> cells; bits past the
+ * width and rows past the height are kept zero. Fills, comparisons, and
+ * the bitwise operations work a word at a time.
+ *
+ * <p>Cells cannot hold null.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+public class BitMatrix implements Matrix<Boolean> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** Seven to the eighth, for folding eight cells into a hash at once. */
+  static final int SEVEN_TO_EIGHT = 5764801;
+
+  /**
+   * The contribution of eight cells, given as the bits of a byte (first
+   * cell lowest), to the hash code of Matrix.hashCode.
+   */
+  static final int[] BYTE_HASH = new int[256];
+
+  static {
+    for (int bits = 0; bits < 256; bits++) {
+      int code = 0;
+      for (int i = 0; i < 8; i++) {
+        code = code * 7 + Boolean.hashCode((bits & (1 << i)) != 0);
+      } // for
+      BYTE_HASH[bits] = code;
+    } // for
+  } // static
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The width of the matrix. */
+  int width;
+
+  /** The height of the matrix. */
+  int height;
+
+  /** The default value. */
+  boolean def;
+
+  /** The number of cells each row has room for. */
+  int stride;
+
+  /** The number of rows there is room for. */
+  int capacity;
+
+  /** The number of words per row. */
+  int rowWords;
+
+  /** The bits. */
+  long[] words;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given
+   * value as the default.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   * @param defInput    The default value, used to fill all the cells.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public BitMatrix(int widthInput, int heightInput, boolean defInput)
+      throws NegativeArraySizeException {
+    if (widthInput <= 0 || heightInput <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+    this.width = widthInput;
+    this.height = heightInput;
+    this.def = defInput;
+    this.stride = widthInput;
+    this.capacity = heightInput;
+    this.rowWords = DictionaryMatrix.wordsFor(widthInput, 1);
+    this.words = new long[Math.multiplyExact(this.rowWords, heightInput)];
+    if (defInput) {
+      for (int row = 0; row < heightInput; row++) {
+        DictionaryMatrix.fillBits(this.words, row * this.rowWords, 0, widthInput, -1L);
+      } // for
+    } // if
+  } // BitMatrix(int, int, boolean)
+
+  /**
+   * Create a new matrix of the specified width and height in which every
+   * cell is false.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public BitMatrix(int widthInput, int heightInput) throws NegativeArraySizeException {
+    this(widthInput, heightInput, false);
+  } // BitMatrix(int, int)
+
+  /**
+   * Create a copy of another matrix with no spare rows.
+   *
+   * @param other The matrix to copy.
+   */
+  BitMatrix(BitMatrix other) {
+    this.width = other.width;
+    this.height = other.height;
+    this.def = other.def;
+    this.stride = other.stride;
+    this.capacity = other.height;
+    this.rowWords = other.rowWords;
+    this.words = Arrays.copyOf(other.words, other.height * other.rowWords);
+  } // BitMatrix(BitMatrix)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Make room for more cells per row or more rows. Cells keep their bit
+   * positions within a row, so each row moves as a block of words.
+   *
+   * @param newStride   The number of cells each row has room for.
+   * @param newCapacity The number of rows to have room for.
+   */
+  void relayOut(int newStride, int newCapacity) {
+    int newRowWords = DictionaryMatrix.wordsFor(newStride, 1);
+    long[] fresh = new long[Math.multiplyExact(newRowWords, newCapacity)];
+    for (int row = 0; row < this.height; row++) {
+      System.arraycopy(this.words, row * this.rowWords, fresh, row * newRowWords,
+          this.rowWords);
+    } // for
+    this.words = fresh;
+    this.rowWords = newRowWords;
+    this.stride = newStride;
+    this.capacity = newCapacity;
+  } // relayOut(int, int)
+
+  /**
+   * Fill a run of cells in a row.
+   *
+   * @param row      The row.
+   * @param startCol The first column to fill.
+   * @param endCol   The column to stop at (exclusive).
+   * @param val      The value to store.
+   */
+  void fillRun(int row, int startCol, int endCol, boolean val) {
+    if (startCol < endCol) {
+      DictionaryMatrix.fillBits(this.words, row * this.rowWords, startCol, endCol,
+          val ? -1L : 0L);
+    } // if
+  } // fillRun(int, int, int, boolean)
+
+  /**
+   * Check that another bit matrix has the same size as this one.
+   *
+   * @param other The other matrix.
+   *
+   * @throws IllegalArgumentException If the sizes differ.
+   */
+  void checkSize(BitMatrix other) {
+    if (this.width != other.width || this.height != other.height) {
+      throw new IllegalArgumentException("Error: matrices differ in size.");
+    } // if
+  } // checkSize(BitMatrix)
+
+  /**
+   * Check that a value is not null.
+   *
+   * @param val The value.
+   *
+   * @return the value.
+   *
+   * @throws NullPointerException If val is null.
+   */
+  static boolean unbox(Boolean val) {
+    if (val == null) {
+      throw new NullPointerException("Error: bit matrices cannot hold null.");
+    } // if
+    return val;
+  } // unbox(Boolean)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  public Boolean get(int row, int col) {
+    return this.getBit(row, col);
+  } // get(int, int)
+
+  /**
+   * Get the element at the given row and column without boxing it.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  public boolean getBit(int row, int col) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    return ((this.words[row * this.rowWords + (col >>> 6)] >>> col) & 1L) != 0;
+  } // getBit(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set, which may not be null.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   * @throws NullPointerException      If val is null.
+   */
+  @Override
+  public void set(int row, int col, Boolean val) {
+    this.setBit(row, col, unbox(val));
+  } // set(int, int, Boolean)
+
+  /**
+   * Set the element at the given row and column without boxing.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  public void setBit(int row, int col, boolean val) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    int index = row * this.rowWords + (col >>> 6);
+    if (val) {
+      this.words[index] |= 1L << col;
+    } else {
+      this.words[index] &= ~(1L << col);
+    } // if/else
+  } // setBit(int, int, boolean)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  @Override
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  @Override
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   */
+  @Override
+  public void insertRow(int row) {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    this.openRows(row, 1);
+    this.fillRun(row, 0, this.width, this.def);
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row  The number of the row to insert.
+   * @param vals The values to insert, none of which may be null.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If the size of vals is not the same as
+   *                                   the width of the matrix.
+   * @throws NullPointerException      If any of the values is null.
+   */
+  @Override
+  public void insertRow(int row, Boolean[] vals) throws ArraySizeException {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    if (vals.length != this.width) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    long[] bits = new long[this.rowWords];
+    for (int col = 0; col < vals.length; col++) {
+      if (unbox(vals[col])) {
+        bits[col >>> 6] |= 1L << col;
+      } // if
+    } // for
+    this.openRows(row, 1);
+    System.arraycopy(bits, 0, this.words, row * this.rowWords, this.rowWords);
+  } // insertRow(int, Boolean[])
+
+  /**
+   * Shift the rows at and below row down by count, leaving the opened rows
+   * all zeros.
+   *
+   * @param row   The first row to open.
+   * @param count The number of rows to open.
+   */
+  void openRows(int row, int count) {
+    if (this.height + count > this.capacity) {
+      this.relayOut(this.stride, MatrixV0.grow(this.capacity, this.height + count));
+    } // if
+    System.arraycopy(this.words, row * this.rowWords, this.words, (row + count) * this.rowWords,
+        (this.height - row) * this.rowWords);
+    Arrays.fill(this.words, row * this.rowWords, (row + count) * this.rowWords, 0L);
+    this.height += count;
+  } // openRows(int, int)
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   */
+  @Override
+  public void insertCol(int col) {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    this.openCols(col, 1);
+    if (this.def) {
+      for (int row = 0; row < this.height; row++) {
+        this.words[row * this.rowWords + (col >>> 6)] |= 1L << col;
+      } // for
+    } // if
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col  The number of the column to insert.
+   * @param vals The values to insert, none of which may be null.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If the size of vals is not the same as
+   *                                   the height of the matrix.
+   * @throws NullPointerException      If any of the values is null.
+   */
+  @Override
+  public void insertCol(int col, Boolean[] vals) throws ArraySizeException {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    if (vals.length != this.height) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    for (Boolean val : vals) {
+      unbox(val);
+    } // for
+    this.openCols(col, 1);
+    for (int row = 0; row < this.height; row++) {
+      if (vals[row]) {
+        this.words[row * this.rowWords + (col >>> 6)] |= 1L << col;
+      } // if
+    } // for
+  } // insertCol(int, Boolean[])
+
+  /**
+   * Open count columns of zeros in every row.
+   *
+   * @param col   The first column to open.
+   * @param count The number of columns to open.
+   */
+  void openCols(int col, int count) {
+    if (this.width + count > this.stride) {
+      this.relayOut(MatrixV0.grow(this.stride, this.width + count), this.capacity);
+    } // if
+    for (int row = 0; row < this.height; row++) {
+      DictionaryMatrix.insertBits(this.words, row * this.rowWords, this.rowWords, col, count);
+    } // for
+    this.width += count;
+  } // openCols(int, int)
+
+  /**
+   * Delete a row.
+   *
+   * @param row The number of the row to delete.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   or equal to the height.
+   */
+  @Override
+  public void deleteRow(int row) {
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    System.arraycopy(this.words, (row + 1) * this.rowWords, this.words, row * this.rowWords,
+        (this.height - row - 1) * this.rowWords);
+    this.height--;
+    Arrays.fill(this.words, this.height * this.rowWords, (this.height + 1) * this.rowWords, 0L);
+  } // deleteRow(int)
+
+  /**
+   * Delete a column.
+   *
+   * @param col The number of the column to delete.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than or equal to the width.
+   */
+  @Override
+  public void deleteCol(int col) {
+    if (col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    for (int row = 0; row < this.height; row++) {
+      DictionaryMatrix.removeBits(this.words, row * this.rowWords, this.rowWords, col, 1);
+    } // for
+    this.width--;
+  } // deleteCol(int)
+
+  /**
+   * Insert count rows of the default value with one shift of the rows
+   * below them.
+   *
+   * @param row   The number of the first row to insert.
+   * @param count The number of rows to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertRows(int row, int count) {
+    Matrix.checkInsert(row, this.height, count, "row");
+    this.openRows(row, count);
+    for (int r = row; r < row + count; r++) {
+      this.fillRun(r, 0, this.width, this.def);
+    } // for
+  } // insertRows(int, int)
+
+  /**
+   * Insert rows filled with the specified values with one shift of the
+   * rows below them.
+   *
+   * @param row  The number of the first row to insert.
+   * @param vals The values to insert, one array per row, none of them null.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the width of the matrix.
+   * @throws NullPointerException      If any of the values is null.
+   */
+  @Override
+  public void insertRows(int row, Boolean[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(row, this.height, vals.length, "row");
+    Matrix.checkLengths(vals, this.width);
+    long[] bits = new long[vals.length * this.rowWords];
+    for (int i = 0; i < vals.length; i++) {
+      for (int col = 0; col < this.width; col++) {
+        if (unbox(vals[i][col])) {
+          bits[i * this.rowWords + (col >>> 6)] |= 1L << col;
+        } // if
+      } // for
+    } // for
+    this.openRows(row, vals.length);
+    System.arraycopy(bits, 0, this.words, row * this.rowWords, bits.length);
+  } // insertRows(int, Boolean[][])
+
+  /**
+   * Delete a range of rows with one shift of the rows below them.
+   *
+   * @param startRow The first row to delete.
+   * @param endRow   The row to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the rows are out of bounds or
+   *                                   startRow is greater than endRow.
+   */
+  @Override
+  public void deleteRows(int startRow, int endRow) {
+    Matrix.checkDelete(startRow, endRow, this.height, "rows");
+    System.arraycopy(this.words, endRow * this.rowWords, this.words, startRow * this.rowWords,
+        (this.height - endRow) * this.rowWords);
+    int newHeight = this.height - (endRow - startRow);
+    Arrays.fill(this.words, newHeight * this.rowWords, this.height * this.rowWords, 0L);
+    this.height = newHeight;
+  } // deleteRows(int, int)
+
+  /**
+   * Insert count columns of the default value, shifting the bits of each
+   * row once.
+   *
+   * @param col   The number of the first column to insert.
+   * @param count The number of columns to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertCols(int col, int count) {
+    Matrix.checkInsert(col, this.width, count, "column");
+    if (count == 0) {
+      return;
+    } // if
+    this.openCols(col, count);
+    for (int row = 0; row < this.height; row++) {
+      this.fillRun(row, col, col + count, this.def);
+    } // for
+  } // insertCols(int, int)
+
+  /**
+   * Insert columns filled with the specified values, shifting the bits of
+   * each row once.
+   *
+   * @param col  The number of the first column to insert.
+   * @param vals The values to insert, one array per column, none of them
+   *             null.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the height of the matrix.
+   * @throws NullPointerException      If any of the values is null.
+   */
+  @Override
+  public void insertCols(int col, Boolean[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(col, this.width, vals.length, "column");
+    Matrix.checkLengths(vals, this.height);
+    for (Boolean[] column : vals) {
+      for (Boolean val : column) {
+        unbox(val);
+      } // for
+    } // for
+    if (vals.length == 0) {
+      return;
+    } // if
+    this.openCols(col, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      int c = col + i;
+      for (int row = 0; row < this.height; row++) {
+        if (vals[i][row]) {
+          this.words[row * this.rowWords + (c >>> 6)] |= 1L << c;
+        } // if
+      } // for
+    } // for
+  } // insertCols(int, Boolean[][])
+
+  /**
+   * Delete a range of columns, shifting the bits of each row once.
+   *
+   * @param startCol The first column to delete.
+   * @param endCol   The column to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the columns are out of bounds or
+   *                                   startCol is greater than endCol.
+   */
+  @Override
+  public void deleteCols(int startCol, int endCol) {
+    Matrix.checkDelete(startCol, endCol, this.width, "columns");
+    if (startCol == endCol) {
+      return;
+    } // if
+    for (int row = 0; row < this.height; row++) {
+      DictionaryMatrix.removeBits(this.words, row * this.rowWords, this.rowWords, startCol,
+          endCol - startCol);
+    } // for
+    this.width -= endCol - startCol;
+  } // deleteCols(int, int)
+
+  /**
+   * Fill a rectangular region of the matrix, a word at a time.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store, which may not be null.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   * @throws NullPointerException      If val is null.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, Boolean val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+    boolean bit = unbox(val);
+    for (int row = startRow; row < endRow; row++) {
+      this.fillRun(row, startCol, endCol, bit);
+    } // for
+  } // fillRegion(int, int, int, int, Boolean)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal). A horizontal line of
+   * adjacent cells is filled a word at a time.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   * @param val      The value to store, which may not be null.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   * @throws NullPointerException      If val is null.
+   */
+  @Override
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, Boolean val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+    boolean bit = unbox(val);
+    if (deltaRow == 0 && deltaCol == 1) {
+      if (startRow < endRow) {
+        this.fillRun(startRow, startCol, endCol, bit);
+      } // if
+      return;
+    } // if
+    int steps = Lines.steps(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    int row = startRow;
+    int col = startCol;
+    for (int i = 0; i < steps; i++) {
+      this.setBit(row, col, bit);
+      row += deltaRow;
+      col += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, Boolean)
+
+  /**
+   * Make a copy of the matrix.
+   *
+   * @return a copy of the matrix.
+   */
+  @Override
+  public BitMatrix clone() {
+    return new BitMatrix(this);
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object. Two bit matrices
+   * are compared a word at a time.
+   *
+   * @param other The object to compare.
+   *
+   * @return true if the other object is a matrix with the same width, height,
+   *         and equal elements; false otherwise.
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof BitMatrix)) {
+      return Matrix.equals(this, other);
+    } // if
+    BitMatrix that = (BitMatrix) other;
+    if (this.width != that.width || this.height != that.height) {
+      return false;
+    } // if
+    int used = DictionaryMatrix.wordsFor(this.width, 1);
+    for (int row = 0; row < this.height; row++) {
+      int mine = row * this.rowWords;
+      int theirs = row * that.rowWords;
+      if (!Arrays.equals(this.words, mine, mine + used, that.words, theirs, theirs + used)) {
+        return false;
+      } // if
+    } // for
+    return true;
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, eight cells at a time.
+   *
+   * @return the hash code.
+   */
+  @Override
+  public int hashCode() {
+    int code = this.width + 7 * this.height;
+    int bytes = this.width & ~7;
+    for (int row = 0; row < this.height; row++) {
+      int base = row * this.rowWords;
+      for (int col = 0; col < bytes; col += 8) {
+        int eight = (int) (this.words[base + (col >>> 6)] >>> (col & 63)) & 0xFF;
+        code = code * SEVEN_TO_EIGHT + BYTE_HASH[eight];
+      } // for
+      for (int col = bytes; col < this.width; col++) {
+        boolean bit = ((this.words[base + (col >>> 6)] >>> col) & 1L) != 0;
+        code = code * 7 + Boolean.hashCode(bit);
+      } // for
+    } // for
+    return code;
+  } // hashCode()
+
+  // +--------------------+------------------------------------------
+  // | Bitwise operations |
+  // +--------------------+
+
+  /**
+   * Set each cell to the AND of itself and the matching cell of another
+   * matrix.
+   *
+   * @param other The other matrix.
+   *
+   * @throws IllegalArgumentException If the matrices differ in size.
+   */
+  public void and(BitMatrix other) {
+    this.checkSize(other);
+    int used = DictionaryMatrix.wordsFor(this.width, 1);
+    for (int row = 0; row < this.height; row++) {
+      int mine = row * this.rowWords;
+      int theirs = row * other.rowWords;
+      for (int w = 0; w < used; w++) {
+        this.words[mine + w] &= other.words[theirs + w];
+      } // for
+    } // for
+  } // and(BitMatrix)
+
+  /**
+   * Set each cell to the OR of itself and the matching cell of another
+   * matrix.
+   *
+   * @param other The other matrix.
+   *
+   * @throws IllegalArgumentException If the matrices differ in size.
+   */
+  public void or(BitMatrix other) {
+    this.checkSize(other);
+    int used = DictionaryMatrix.wordsFor(this.width, 1);
+    for (int row = 0; row < this.height; row++) {
+      int mine = row * this.rowWords;
+      int theirs = row * other.rowWords;
+      for (int w = 0; w < used; w++) {
+        this.words[mine + w] |= other.words[theirs + w];
+      } // for
+    } // for
+  } // or(BitMatrix)
+
+  /**
+   * Set each cell to the XOR of itself and the matching cell of another
+   * matrix.
+   *
+   * @param other The other matrix.
+   *
+   * @throws IllegalArgumentException If the matrices differ in size.
+   */
+  public void xor(BitMatrix other) {
+    this.checkSize(other);
+    int used = DictionaryMatrix.wordsFor(this.width, 1);
+    for (int row = 0; row < this.height; row++) {
+      int mine = row * this.rowWords;
+      int theirs = row * other.rowWords;
+      for (int w = 0; w < used; w++) {
+        this.words[mine + w] ^= other.words[theirs + w];
+      } // for
+    } // for
+  } // xor(BitMatrix)
+
+  /**
+   * Flip every cell.
+   */
+  public void not() {
+    for (int row = 0; row < this.height; row++) {
+      int base = row * this.rowWords;
+      int used = DictionaryMatrix.wordsFor(this.width, 1);
+      for (int w = 0; w < used; w++) {
+        this.words[base + w] = ~this.words[base + w];
+      } // for
+      if ((this.width & 63) != 0) {
+        this.words[base + used - 1] &= DictionaryMatrix.span(0, this.width & 63);
+      } // if
+    } // for
+  } // not()
+
+  /**
+   * Count the true cells in a rectangular region.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   *
+   * @return the number of true cells.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public long count(int startRow, int startCol, int endRow, int endCol) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+    if (startCol >= endCol) {
+      return 0;
+    } // if
+    int first = startCol >>> 6;
+    int last = (endCol - 1) >>> 6;
+    long head = DictionaryMatrix.span(startCol & 63, Long.SIZE);
+    long tail = DictionaryMatrix.span(0, ((endCol - 1) & 63) + 1);
+    long total = 0;
+    for (int row = startRow; row < endRow; row++) {
+      int base = row * this.rowWords;
+      if (first == last) {
+        total += Long.bitCount(this.words[base + first] & head & tail);
+      } else {
+        total += Long.bitCount(this.words[base + first] & head);
+        for (int w = base + first + 1; w < base + last; w++) {
+          total += Long.bitCount(this.words[w]);
+        } // for
+        total += Long.bitCount(this.words[base + last] & tail);
+      } // if/else
+    } // for
+    return total;
+  } // count(int, int, int, int)
+
+  /**
+   * Count the true cells in the matrix.
+   *
+   * @return the number of true cells.
+   */
+  public long count() {
+    return this.count(0, 0, this.height, this.width);
+  } // count()
+} // class BitMatrix
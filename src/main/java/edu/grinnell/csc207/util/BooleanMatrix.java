@@ -0,0 +1,292 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+
+/**
+ * A matrix of booleans, stored unboxed in a single boolean array. The usual
+ * <code>Matrix</code> methods work on boxed Boolean values; the
+ * <code>getBoolean</code>, <code>setBoolean</code>, <code>fillRegion</code> and
+ * <code>fillLine</code> methods that take a boolean avoid boxing altogether.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+public class BooleanMatrix extends PrimitiveMatrix<Boolean> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The default value to fill. */
+  boolean def;
+
+  /** The cells of the matrix. Row r starts at index r * stride. */
+  boolean[] cells;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given
+   * value as the default.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   * @param defInput    The default value, used to fill all the cells.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public BooleanMatrix(int widthInput, int heightInput, boolean defInput)
+      throws NegativeArraySizeException {
+    super(widthInput, heightInput);
+    this.def = defInput;
+    this.cells = (boolean[]) this.allocate(heightInput, widthInput);
+    Arrays.fill(this.cells, defInput);
+  } // BooleanMatrix(int, int, boolean)
+
+  /**
+   * Create a new matrix of the specified width and height with false as the
+   * default value.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public BooleanMatrix(int widthInput, int heightInput) throws NegativeArraySizeException {
+    this(widthInput, heightInput, false);
+  } // BooleanMatrix(int, int)
+
+  /**
+   * Create a copy of another matrix.
+   *
+   * @param other The matrix to copy.
+   */
+  BooleanMatrix(BooleanMatrix other) {
+    super(other);
+    this.def = other.def;
+    this.cells = Arrays.copyOf(other.cells, other.height * other.stride);
+  } // BooleanMatrix(BooleanMatrix)
+
+  // +---------------+-----------------------------------------------
+  // | Storage hooks |
+  // +---------------+
+
+  /**
+   * Get the array that holds the cells.
+   *
+   * @return the array.
+   */
+  @Override
+  Object array() {
+    return this.cells;
+  } // array()
+
+  /**
+   * Replace the array that holds the cells.
+   *
+   * @param newCells The new array.
+   */
+  @Override
+  void array(Object newCells) {
+    this.cells = (boolean[]) newCells;
+  } // array(Object)
+
+  /**
+   * Allocate a new boolean array.
+   *
+   * @param size The number of cells.
+   *
+   * @return the new array.
+   */
+  @Override
+  Object allocate(int size) {
+    return new boolean[size];
+  } // allocate(int)
+
+  /**
+   * Fill a range of the array with the default value.
+   *
+   * @param from The first index to fill (inclusive).
+   * @param to   The last index to fill (exclusive).
+   */
+  @Override
+  void clear(int from, int to) {
+    Arrays.fill(this.cells, from, to, this.def);
+  } // clear(int, int)
+
+  /**
+   * Get the boxed value at an index of the array.
+   *
+   * @param index The index.
+   *
+   * @return the boxed value.
+   */
+  @Override
+  Boolean box(int index) {
+    return this.cells[index];
+  } // box(int)
+
+  /**
+   * Store a boxed value at an index of the array.
+   *
+   * @param index The index.
+   * @param val   The value.
+   */
+  @Override
+  void unbox(int index, Boolean val) {
+    this.cells[index] = val;
+  } // unbox(int, Boolean)
+
+  /**
+   * Determine the hash code of the value at an index, without boxing.
+   *
+   * @param index The index.
+   *
+   * @return the hash code.
+   */
+  @Override
+  int hash(int index) {
+    return Boolean.hashCode(this.cells[index]);
+  } // hash(int)
+
+  /**
+   * Determine if a row has the same cells as the same row of another
+   * BooleanMatrix.
+   *
+   * @param other The other matrix.
+   * @param row   The row to compare.
+   *
+   * @return true if the rows are equal and false otherwise.
+   */
+  @Override
+  boolean sameRow(PrimitiveMatrix<Boolean> other, int row) {
+    boolean[] theirs = ((BooleanMatrix) other).cells;
+    int mine = row * this.stride;
+    int start = row * other.stride;
+    return Arrays.equals(this.cells, mine, mine + this.width,
+        theirs, start, start + this.width);
+  } // sameRow(PrimitiveMatrix<Boolean>, int)
+
+  // +-----------------+---------------------------------------------
+  // | Unboxed methods |
+  // +-----------------+
+
+  /**
+   * Get the boolean at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  public boolean getBoolean(int row, int col) {
+    return this.cells[this.index(row, col)];
+  } // getBoolean(int, int)
+
+  /**
+   * Set the boolean at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  public void setBoolean(int row, int col, boolean val) {
+    this.cells[this.index(row, col)] = val;
+  } // setBoolean(int, int, boolean)
+
+  /**
+   * Fill a rectangular region of the matrix with a boolean.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, boolean val) {
+    this.checkRegion(startRow, startCol, endRow, endCol);
+    if (startCol < endCol) {
+      for (int row = startRow; row < endRow; row++) {
+        int base = row * this.stride;
+        Arrays.fill(this.cells, base + startCol, base + endCol, val);
+      } // for
+    } // if
+  } // fillRegion(int, int, int, int, boolean)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal) with a boolean.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, boolean val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+
+    int steps = Lines.steps(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    if (steps == 0) {
+      return;
+    } // if
+    int index = startRow * this.stride + startCol;
+    if (deltaRow == 0 && (deltaCol == 1 || deltaCol == -1)) {
+      int first = (deltaCol > 0) ? index : index - steps + 1;
+      Arrays.fill(this.cells, first, first + steps, val);
+    } else {
+      int step = deltaRow * this.stride + deltaCol;
+      for (int i = 0; i < steps; i++) {
+        this.cells[index] = val;
+        index += step;
+      } // for
+    } // if/else
+  } // fillLine(int, int, int, int, int, int, boolean)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Fill a rectangular region of the matrix with a boxed value.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   * @throws NullPointerException      If val is null.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, Boolean val) {
+    this.fillRegion(startRow, startCol, endRow, endCol, val.booleanValue());
+  } // fillRegion(int, int, int, int, Boolean)
+
+  /**
+   * Make a copy of the matrix.
+   *
+   * @return a copy of the matrix.
+   */
+  @Override
+  public BooleanMatrix clone() {
+    return new BooleanMatrix(this);
+  } // clone()
+} // class BooleanMatrix
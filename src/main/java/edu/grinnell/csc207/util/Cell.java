@@ -0,0 +1,18 @@
+package edu.grinnell.csc207.util;
+
+/**
+ * One cell of a matrix: its position and the value it held when the cell
+ * was read. A cell is a snapshot; it does not change when the matrix does.
+ *
+ * <p>Cells are small, final, and immutable, so in a fused stream pipeline
+ * the JIT can usually keep them in registers rather than allocate them.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of the value.
+ * @param row The row of the cell.
+ * @param col The column of the cell.
+ * @param val The value in the cell.
+ */
+public record Cell<T>(int row, int col, T val) {
+} // record Cell<T>
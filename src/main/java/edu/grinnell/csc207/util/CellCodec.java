@@ -0,0 +1,144 @@
+package edu.grinnell.csc207.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A way to store values of one type in a fixed number of bytes, used by
+ * matrices whose cells live outside the Java heap. Matrices hand codecs
+ * little-endian buffers.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values encoded.
+ */
+public interface CellCodec<T> {
+  /** Ints, in four bytes. */
+  CellCodec<Integer> INT = new CellCodec<>() {
+    @Override
+    public int bytes() {
+      return Integer.BYTES;
+    } // bytes()
+
+    @Override
+    public Integer read(ByteBuffer buf, int offset) {
+      return buf.getInt(offset);
+    } // read(ByteBuffer, int)
+
+    @Override
+    public void write(ByteBuffer buf, int offset, Integer val) {
+      buf.putInt(offset, val);
+    } // write(ByteBuffer, int, Integer)
+
+    @Override
+    public String toString() {
+      return "int";
+    } // toString()
+  }; // INT
+
+  /** Longs, in eight bytes. */
+  CellCodec<Long> LONG = new CellCodec<>() {
+    @Override
+    public int bytes() {
+      return Long.BYTES;
+    } // bytes()
+
+    @Override
+    public Long read(ByteBuffer buf, int offset) {
+      return buf.getLong(offset);
+    } // read(ByteBuffer, int)
+
+    @Override
+    public void write(ByteBuffer buf, int offset, Long val) {
+      buf.putLong(offset, val);
+    } // write(ByteBuffer, int, Long)
+
+    @Override
+    public String toString() {
+      return "long";
+    } // toString()
+  }; // LONG
+
+  /**
+   * Doubles, in eight bytes. NaNs are stored in canonical form so that
+   * equal values always have equal bytes.
+   */
+  CellCodec<Double> DOUBLE = new CellCodec<>() {
+    @Override
+    public int bytes() {
+      return Double.BYTES;
+    } // bytes()
+
+    @Override
+    public Double read(ByteBuffer buf, int offset) {
+      return Double.longBitsToDouble(buf.getLong(offset));
+    } // read(ByteBuffer, int)
+
+    @Override
+    public void write(ByteBuffer buf, int offset, Double val) {
+      buf.putLong(offset, Double.doubleToLongBits(val));
+    } // write(ByteBuffer, int, Double)
+
+    @Override
+    public String toString() {
+      return "double";
+    } // toString()
+  }; // DOUBLE
+
+  /**
+   * Determine how many bytes each value takes.
+   *
+   * @return the number of bytes.
+   */
+  int bytes();
+
+  /**
+   * Read a value.
+   *
+   * @param buf
+   *   The buffer to read from.
+   * @param offset
+   *   The position of the first byte of the value.
+   *
+   * @return the value.
+   */
+  T read(ByteBuffer buf, int offset);
+
+  /**
+   * Write a value. Two values that are equal must be written as the same
+   * bytes.
+   *
+   * @param buf
+   *   The buffer to write to.
+   * @param offset
+   *   The position of the first byte of the value.
+   * @param val
+   *   The value.
+   *
+   * @throws NullPointerException
+   *   If val is null.
+   */
+  void write(ByteBuffer buf, int offset, T val);
+
+  /**
+   * Encode a value repeatedly into an array, in the little-endian order
+   * that the off-heap matrices use.
+   *
+   * @param val
+   *   The value.
+   * @param count
+   *   How many copies to make.
+   *
+   * @return an array of count * bytes() bytes.
+   */
+  default byte[] repeat(T val, int count) {
+    int size = this.bytes();
+    byte[] result = new byte[count * size];
+    ByteBuffer one = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    this.write(one, 0, val);
+    for (int i = 0; i < count; i++) {
+      one.get(0, result, i * size, size);
+    } // for
+    return result;
+  } // repeat(T, int)
+} // interface CellCodec<T>
@@ -0,0 +1,23 @@
+package edu.grinnell.csc207.util;
+
+/**
+ * A way to compute the new value of a cell of a matrix from its position
+ * and old value. Used by {@link Matrix#replaceAll(CellFunction)}.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+@FunctionalInterface
+public interface CellFunction<T> {
+  /**
+   * Compute the new value of one cell.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   * @param val The old value in the cell.
+   *
+   * @return the new value.
+   */
+  T apply(int row, int col, T val);
+} // interface CellFunction<T>
@@ -0,0 +1,146 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator over the cells of a matrix, in row-major order. It covers a
+ * range of positions (row * width + col) and splits the range in half, so
+ * every split knows its exact size. Bulk traversal reads a row segment at a
+ * time with {@link Matrix#copyRegionTo}, so each storage engine's bulk
+ * transfer does the reading.
+ *
+ * <p>The spliterator is not fail-fast: the matrix must not change shape
+ * while it is in use.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+class CellSpliterator<T> implements Spliterator<Cell<T>> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The smallest range we bother to split. */
+  static final long MIN_SPLIT = 1024;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The matrix we traverse. */
+  final Matrix<T> matrix;
+
+  /** The width of the matrix. */
+  final int width;
+
+  /** The next position. */
+  long index;
+
+  /** The position to stop at (exclusive). */
+  final long end;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a spliterator over a range of positions.
+   *
+   * @param matrixInput The matrix to traverse.
+   * @param indexInput  The first position.
+   * @param endInput    The position to stop at (exclusive).
+   */
+  CellSpliterator(Matrix<T> matrixInput, long indexInput, long endInput) {
+    this.matrix = matrixInput;
+    this.width = matrixInput.width();
+    this.index = indexInput;
+    this.end = endInput;
+  } // CellSpliterator(Matrix<T>, long, long)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Handle the next cell, if there is one.
+   *
+   * @param action What to do with the cell.
+   *
+   * @return true if there was a cell; false otherwise.
+   */
+  @Override
+  public boolean tryAdvance(Consumer<? super Cell<T>> action) {
+    if (this.index >= this.end) {
+      return false;
+    } // if
+    int row = (int) (this.index / this.width);
+    int col = (int) (this.index % this.width);
+    this.index++;
+    action.accept(new Cell<>(row, col, this.matrix.get(row, col)));
+    return true;
+  } // tryAdvance(Consumer<? super Cell<T>>)
+
+  /**
+   * Handle all the remaining cells, a row segment at a time.
+   *
+   * @param action What to do with each cell.
+   */
+  @Override
+  public void forEachRemaining(Consumer<? super Cell<T>> action) {
+    if (this.index >= this.end) {
+      return;
+    } // if
+    @SuppressWarnings("unchecked")
+    T[] buffer = (T[]) new Object[(int) Math.min(this.width, this.end - this.index)];
+    while (this.index < this.end) {
+      int row = (int) (this.index / this.width);
+      int startCol = (int) (this.index % this.width);
+      int endCol = (int) Math.min(this.width, startCol + (this.end - this.index));
+      this.matrix.copyRegionTo(row, startCol, row + 1, endCol, buffer, 0);
+      this.index += endCol - startCol;
+      for (int col = startCol; col < endCol; col++) {
+        action.accept(new Cell<>(row, col, buffer[col - startCol]));
+      } // for
+    } // while
+  } // forEachRemaining(Consumer<? super Cell<T>>)
+
+  /**
+   * Split off the first half of the remaining cells.
+   *
+   * @return a spliterator over the first half, or null if there are too
+   *         few cells to be worth splitting.
+   */
+  @Override
+  public Spliterator<Cell<T>> trySplit() {
+    long remaining = this.end - this.index;
+    if (remaining < MIN_SPLIT) {
+      return null;
+    } // if
+    long mid = this.index + remaining / 2;
+    CellSpliterator<T> prefix = new CellSpliterator<>(this.matrix, this.index, mid);
+    this.index = mid;
+    return prefix;
+  } // trySplit()
+
+  /**
+   * Determine how many cells remain.
+   *
+   * @return the exact number of remaining cells.
+   */
+  @Override
+  public long estimateSize() {
+    return this.end - this.index;
+  } // estimateSize()
+
+  /**
+   * Describe the spliterator.
+   *
+   * @return ORDERED, SIZED, SUBSIZED, and NONNULL.
+   */
+  @Override
+  public int characteristics() {
+    return ORDERED | SIZED | SUBSIZED | NONNULL;
+  } // characteristics()
+} // class CellSpliterator<T>
@@ -0,0 +1,21 @@
+package edu.grinnell.csc207.util;
+
+/**
+ * Something to do with each cell of a matrix, given its position and
+ * value. Used by {@link Matrix#forEachCell(CellVisitor)}.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+@FunctionalInterface
+public interface CellVisitor<T> {
+  /**
+   * Visit one cell.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   * @param val The value in the cell.
+   */
+  void visit(int row, int col, T val);
+} // interface CellVisitor<T>
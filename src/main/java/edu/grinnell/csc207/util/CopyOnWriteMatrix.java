@@ -0,0 +1,697 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A matrix whose clones share row storage until one side writes to it.
+ * Each row lives in its own array, and each matrix remembers which of its
+ * row arrays it owns outright. Cloning copies only the array of row
+ * references, so a snapshot costs O(height) no matter how wide the rows
+ * are. A later write to a shared row copies just that row first.
+ *
+ * <p>Ownership is tracked without reference counts: after a clone, both
+ * matrices treat every row as shared, so the first write to a row on
+ * either side copies it even if the other side has since copied its own.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+public class CopyOnWriteMatrix<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The width of the matrix. */
+  int width;
+
+  /** The height of the matrix. */
+  int height;
+
+  /** The default value to fill. */
+  T def;
+
+  /** The rows of the matrix. Each has room for at least width cells. */
+  Object[][] rows;
+
+  /** Whether we own each row, and so may write to it in place. */
+  boolean[] owned;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given
+   * value as the default.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   * @param defInput    The default value, used to fill all the cells.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public CopyOnWriteMatrix(int widthInput, int heightInput, T defInput)
+      throws NegativeArraySizeException {
+    if (widthInput <= 0 || heightInput <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+    this.width = widthInput;
+    this.height = heightInput;
+    this.def = defInput;
+    this.rows = new Object[heightInput][];
+    this.owned = new boolean[heightInput];
+    for (int row = 0; row < heightInput; row++) {
+      this.rows[row] = this.blankRow(widthInput);
+      this.owned[row] = true;
+    } // for
+  } // CopyOnWriteMatrix(int, int, T)
+
+  /**
+   * Create a new matrix of the specified width and height with null as the
+   * default value.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public CopyOnWriteMatrix(int widthInput, int heightInput) throws NegativeArraySizeException {
+    this(widthInput, heightInput, null);
+  } // CopyOnWriteMatrix(int, int)
+
+  /**
+   * Create a copy of another matrix that shares all of its rows. Neither
+   * matrix owns any row afterwards.
+   *
+   * @param other The matrix to copy.
+   */
+  CopyOnWriteMatrix(CopyOnWriteMatrix<T> other) {
+    this.width = other.width;
+    this.height = other.height;
+    this.def = other.def;
+    this.rows = Arrays.copyOf(other.rows, other.height);
+    this.owned = new boolean[other.height];
+    Arrays.fill(other.owned, false);
+  } // CopyOnWriteMatrix(CopyOnWriteMatrix<T>)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Build a row of default values.
+   *
+   * @param size The number of cells in the row.
+   *
+   * @return the new row.
+   */
+  Object[] blankRow(int size) {
+    Object[] row = new Object[size];
+    Arrays.fill(row, this.def);
+    return row;
+  } // blankRow(int)
+
+  /**
+   * Get a row that we may write to, copying it first if it is shared.
+   *
+   * @param row The number of the row.
+   *
+   * @return the row array.
+   */
+  Object[] writableRow(int row) {
+    if (!this.owned[row]) {
+      this.rows[row] = Arrays.copyOf(this.rows[row], this.width);
+      this.owned[row] = true;
+    } // if
+    return this.rows[row];
+  } // writableRow(int)
+
+  /**
+   * Make room for count new row references at the given position.
+   *
+   * @param row   The position of the first new row.
+   * @param count The number of new rows.
+   */
+  void openRows(int row, int count) {
+    if (this.height + count > this.rows.length) {
+      int newCapacity = MatrixV0.grow(this.rows.length, this.height + count);
+      this.rows = Arrays.copyOf(this.rows, newCapacity);
+      this.owned = Arrays.copyOf(this.owned, newCapacity);
+    } // if
+    System.arraycopy(this.rows, row, this.rows, row + count, this.height - row);
+    System.arraycopy(this.owned, row, this.owned, row + count, this.height - row);
+    this.height += count;
+  } // openRows(int, int)
+
+  /**
+   * Open count columns of default values in every row. Rows that we own
+   * and that have room are shifted in place; the others are copied.
+   *
+   * @param col   The first new column.
+   * @param count The number of new columns.
+   */
+  void openCols(int col, int count) {
+    int newWidth = this.width + count;
+    int tail = this.width - col;
+    for (int row = 0; row < this.height; row++) {
+      Object[] cells = this.rows[row];
+      if (!this.owned[row] || cells.length < newWidth) {
+        Object[] grown = new Object[MatrixV0.grow(this.width, newWidth)];
+        System.arraycopy(cells, 0, grown, 0, col);
+        System.arraycopy(cells, col, grown, col + count, tail);
+        this.rows[row] = grown;
+        this.owned[row] = true;
+      } else {
+        System.arraycopy(cells, col, cells, col + count, tail);
+      } // if/else
+      Arrays.fill(this.rows[row], col, col + count, this.def);
+    } // for
+    this.width = newWidth;
+  } // openCols(int, int)
+
+  /**
+   * Determine how many rows this matrix shares with its clones.
+   *
+   * @return the number of rows we do not own.
+   */
+  public int sharedRows() {
+    int count = 0;
+    for (int row = 0; row < this.height; row++) {
+      if (!this.owned[row]) {
+        count++;
+      } // if
+    } // for
+    return count;
+  } // sharedRows()
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get(int row, int col) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    return (T) this.rows[row][col];
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column, copying the row first if
+   * it is shared.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  public void set(int row, int col, T val) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    this.writableRow(row)[col] = val;
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  @Override
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  @Override
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the
+   *                                   height.
+   */
+  @Override
+  public void insertRow(int row) {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    this.openRows(row, 1);
+    this.rows[row] = this.blankRow(this.width);
+    this.owned[row] = true;
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row  The number of the row to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the
+   *                                   height.
+   * @throws ArraySizeException        If the size of vals is not the same as the
+   *                                   width of the matrix.
+   */
+  @Override
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    if (vals.length != this.width) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    this.openRows(row, 1);
+    this.rows[row] = Arrays.copyOf(vals, this.width, Object[].class);
+    this.owned[row] = true;
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value. Rows that we own and
+   * that have spare room are shifted in place; the others are copied.
+   *
+   * @param col The number of the column to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than
+   *                                   the width.
+   */
+  @Override
+  public void insertCol(int col) {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    this.openCols(col, 1);
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col  The number of the column to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than
+   *                                   the width.
+   * @throws ArraySizeException        If the size of vals is not the same as the
+   *                                   height of the matrix.
+   */
+  @Override
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    if (vals.length != this.height) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    this.insertCol(col);
+    for (int row = 0; row < this.height; row++) {
+      this.rows[row][col] = vals[row];
+    } // for
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row. Only the row reference moves.
+   *
+   * @param row The number of the row to delete.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or
+   *                                   equal to the height.
+   */
+  @Override
+  public void deleteRow(int row) {
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    System.arraycopy(this.rows, row + 1, this.rows, row, this.height - row - 1);
+    System.arraycopy(this.owned, row + 1, this.owned, row, this.height - row - 1);
+    this.height--;
+    this.rows[this.height] = null;
+  } // deleteRow(int)
+
+  /**
+   * Delete a column. Rows that we own are shifted in place; shared rows are
+   * copied without the column.
+   *
+   * @param col The number of the column to delete.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than
+   *                                   or equal to the width.
+   */
+  @Override
+  public void deleteCol(int col) {
+    if (col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    int tail = this.width - col - 1;
+    for (int row = 0; row < this.height; row++) {
+      Object[] cells = this.rows[row];
+      if (this.owned[row]) {
+        System.arraycopy(cells, col + 1, cells, col, tail);
+        cells[this.width - 1] = null;
+      } else {
+        Object[] shrunk = new Object[this.width - 1];
+        System.arraycopy(cells, 0, shrunk, 0, col);
+        System.arraycopy(cells, col + 1, shrunk, col, tail);
+        this.rows[row] = shrunk;
+        this.owned[row] = true;
+      } // if/else
+    } // for
+    this.width--;
+  } // deleteCol(int)
+
+  /**
+   * Insert count rows filled with the default value. Only the row
+   * references move.
+   *
+   * @param row   The number of the first row to insert.
+   * @param count The number of rows to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertRows(int row, int count) {
+    Matrix.checkInsert(row, this.height, count, "row");
+    this.openRows(row, count);
+    for (int r = row; r < row + count; r++) {
+      this.rows[r] = this.blankRow(this.width);
+      this.owned[r] = true;
+    } // for
+  } // insertRows(int, int)
+
+  /**
+   * Insert rows filled with the specified values. Only the row references
+   * move.
+   *
+   * @param row  The number of the first row to insert.
+   * @param vals The values to insert, one array per row.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the width of the matrix.
+   */
+  @Override
+  public void insertRows(int row, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(row, this.height, vals.length, "row");
+    Matrix.checkLengths(vals, this.width);
+    this.openRows(row, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      this.rows[row + i] = Arrays.copyOf(vals[i], this.width, Object[].class);
+      this.owned[row + i] = true;
+    } // for
+  } // insertRows(int, T[][])
+
+  /**
+   * Delete a range of rows. Only the row references move.
+   *
+   * @param startRow The first row to delete.
+   * @param endRow   The row to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the rows are out of bounds or
+   *                                   startRow is greater than endRow.
+   */
+  @Override
+  public void deleteRows(int startRow, int endRow) {
+    Matrix.checkDelete(startRow, endRow, this.height, "rows");
+    System.arraycopy(this.rows, endRow, this.rows, startRow, this.height - endRow);
+    System.arraycopy(this.owned, endRow, this.owned, startRow, this.height - endRow);
+    int newHeight = this.height - (endRow - startRow);
+    Arrays.fill(this.rows, newHeight, this.height, null);
+    this.height = newHeight;
+  } // deleteRows(int, int)
+
+  /**
+   * Insert count columns filled with the default value, shifting or
+   * copying each row once.
+   *
+   * @param col   The number of the first column to insert.
+   * @param count The number of columns to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertCols(int col, int count) {
+    Matrix.checkInsert(col, this.width, count, "column");
+    this.openCols(col, count);
+  } // insertCols(int, int)
+
+  /**
+   * Insert columns filled with the specified values, shifting or copying
+   * each row once.
+   *
+   * @param col  The number of the first column to insert.
+   * @param vals The values to insert, one array per column.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the height of the matrix.
+   */
+  @Override
+  public void insertCols(int col, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(col, this.width, vals.length, "column");
+    Matrix.checkLengths(vals, this.height);
+    this.openCols(col, vals.length);
+    for (int row = 0; row < this.height; row++) {
+      for (int i = 0; i < vals.length; i++) {
+        this.rows[row][col + i] = vals[i][row];
+      } // for
+    } // for
+  } // insertCols(int, T[][])
+
+  /**
+   * Delete a range of columns. Rows that we own are shifted in place;
+   * shared rows are copied without the columns.
+   *
+   * @param startCol The first column to delete.
+   * @param endCol   The column to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the columns are out of bounds or
+   *                                   startCol is greater than endCol.
+   */
+  @Override
+  public void deleteCols(int startCol, int endCol) {
+    Matrix.checkDelete(startCol, endCol, this.width, "columns");
+    int newWidth = this.width - (endCol - startCol);
+    int tail = this.width - endCol;
+    for (int row = 0; row < this.height; row++) {
+      Object[] cells = this.rows[row];
+      if (this.owned[row]) {
+        System.arraycopy(cells, endCol, cells, startCol, tail);
+        Arrays.fill(cells, newWidth, this.width, null);
+      } else {
+        Object[] shrunk = new Object[newWidth];
+        System.arraycopy(cells, 0, shrunk, 0, startCol);
+        System.arraycopy(cells, endCol, shrunk, startCol, tail);
+        this.rows[row] = shrunk;
+        this.owned[row] = true;
+      } // if/else
+    } // for
+    this.width = newWidth;
+  } // deleteCols(int, int)
+
+  /**
+   * Fill a rectangular region of the matrix. Only the rows in the region
+   * are copied.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+    if (startCol < endCol) {
+      for (int row = startRow; row < endRow; row++) {
+        Arrays.fill(this.writableRow(row), startCol, endCol, val);
+      } // for
+    } // if
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, T val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+
+    int steps = Lines.steps(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    int row = startRow;
+    int col = startCol;
+    for (int i = 0; i < steps; i++) {
+      this.writableRow(row)[col] = val;
+      row += deltaRow;
+      col += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Make a copy of the matrix that shares every row with this one. Takes
+   * time proportional to the height, not the number of cells.
+   *
+   * @return a copy of the matrix.
+   */
+  @Override
+  public CopyOnWriteMatrix<T> clone() {
+    return new CopyOnWriteMatrix<>(this);
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object. Rows that two
+   * copy-on-write matrices still share are equal without a look at their
+   * cells.
+   *
+   * @param other The object to compare.
+   *
+   * @return true if the other object is a matrix with the same width, height,
+   *         and equal elements; false otherwise.
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof CopyOnWriteMatrix)) {
+      return Matrix.equals(this, other);
+    } // if
+    CopyOnWriteMatrix<?> that = (CopyOnWriteMatrix<?>) other;
+    if (this.width != that.width || this.height != that.height) {
+      return false;
+    } // if
+    for (int row = 0; row < this.height; row++) {
+      Object[] mine = this.rows[row];
+      Object[] theirs = that.rows[row];
+      if (mine != theirs
+          && !Arrays.equals(mine, 0, this.width, theirs, 0, this.width)) {
+        return false;
+      } // if
+    } // for
+    return true;
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix.
+   *
+   * @return the hash code.
+   */
+  @Override
+  public int hashCode() {
+    int multiplier = 7;
+    int code = this.width + multiplier * this.height;
+    for (int row = 0; row < this.height; row++) {
+      Object[] cells = this.rows[row];
+      for (int col = 0; col < this.width; col++) {
+        code = code * multiplier + Objects.hashCode(cells[col]);
+      } // for col
+    } // for row
+    return code;
+  } // hashCode()
+
+  // +-----------+---------------------------------------------------
+  // | Traversal |
+  // +-----------+
+
+  /**
+   * Visit every cell in a rectangular region after one bounds check,
+   * reading the row arrays directly.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param visitor  What to do with each cell.
+   *
+   * @throws IndexOutOfBoundsException If the region does not fit in the
+   *                                   matrix.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEachCell(int startRow, int startCol, int endRow, int endCol,
+      CellVisitor<? super T> visitor) {
+    Matrix.checkRegion(this, startRow, startCol, endRow, endCol);
+    for (int row = startRow; row < endRow; row++) {
+      Object[] cells = this.rows[row];
+      for (int col = startCol; col < endCol; col++) {
+        visitor.visit(row, col, (T) cells[col]);
+      } // for
+    } // for
+  } // forEachCell(int, int, int, int, CellVisitor<? super T>)
+
+  /**
+   * Replace the value of every cell in a rectangular region after one
+   * bounds check. A shared row is copied only once some value in it
+   * actually changes.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param function How to compute each new value.
+   *
+   * @throws IndexOutOfBoundsException If the region does not fit in the
+   *                                   matrix.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void replaceAll(int startRow, int startCol, int endRow, int endCol,
+      CellFunction<T> function) {
+    Matrix.checkRegion(this, startRow, startCol, endRow, endCol);
+    for (int row = startRow; row < endRow; row++) {
+      Object[] cells = this.rows[row];
+      for (int col = startCol; col < endCol; col++) {
+        Object val = function.apply(row, col, (T) cells[col]);
+        if (val != cells[col]) {
+          cells = this.writableRow(row);
+          cells[col] = val;
+        } // if
+      } // for
+    } // for
+  } // replaceAll(int, int, int, int, CellFunction<T>)
+} // class CopyOnWriteMatrix<T>
@@ -0,0 +1,873 @@
+package edu.grinnell.csc207.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * A matrix for grids with few distinct values. Each distinct value gets a
+ * small code in a per-matrix dictionary, and the cells hold only codes,
+ * packed 1, 2, 4, 8, or 16 bits to a cell into longs. The default value is
+ * always code 0, so default cells are zero bits. When a new value needs a
+ * wider code, the whole matrix is repacked at twice the width; past 65536
+ * distinct values we fall back to 32 bits.
+ *
+ * <p>Each row starts on a fresh word and has room for <code>stride</code>
+ * cells. Bits past the width and rows past the height are kept zero, so
+ * two matrices with the same dictionary compare a word at a time.
+ *
+ * <p>The dictionary only grows: a value stays in it after the last cell
+ * holding it changes.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+public class DictionaryMatrix<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The width of the matrix. */
+  int width;
+
+  /** The height of the matrix. */
+  int height;
+
+  /** The default value, which has code 0. */
+  T def;
+
+  /** The value of each code. */
+  ArrayList<T> values;
+
+  /** The code of each value. */
+  HashMap<T, Integer> codes;
+
+  /** The number of bits per cell: 1, 2, 4, 8, 16, or 32. */
+  int bits;
+
+  /** The number of cells each row has room for. */
+  int stride;
+
+  /** The number of rows there is room for. */
+  int capacity;
+
+  /** The number of words per row. */
+  int rowWords;
+
+  /** The packed codes. */
+  long[] words;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given
+   * value as the default.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   * @param defInput    The default value, used to fill all the cells.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public DictionaryMatrix(int widthInput, int heightInput, T defInput)
+      throws NegativeArraySizeException {
+    if (widthInput <= 0 || heightInput <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+    this.width = widthInput;
+    this.height = heightInput;
+    this.def = defInput;
+    this.values = new ArrayList<>();
+    this.codes = new HashMap<>();
+    this.values.add(defInput);
+    this.codes.put(defInput, 0);
+    this.bits = 1;
+    this.stride = widthInput;
+    this.capacity = heightInput;
+    this.rowWords = wordsFor(widthInput, 1);
+    this.words = new long[Math.multiplyExact(this.rowWords, heightInput)];
+  } // DictionaryMatrix(int, int, T)
+
+  /**
+   * Create a new matrix of the specified width and height with null as the
+   * default value.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public DictionaryMatrix(int widthInput, int heightInput) throws NegativeArraySizeException {
+    this(widthInput, heightInput, null);
+  } // DictionaryMatrix(int, int)
+
+  /**
+   * Create a copy of another matrix. The copy shares no storage with it.
+   *
+   * @param other The matrix to copy.
+   */
+  DictionaryMatrix(DictionaryMatrix<T> other) {
+    this.width = other.width;
+    this.height = other.height;
+    this.def = other.def;
+    this.values = new ArrayList<>(other.values);
+    this.codes = new HashMap<>(other.codes);
+    this.bits = other.bits;
+    this.stride = other.stride;
+    this.capacity = other.height;
+    this.rowWords = other.rowWords;
+    this.words = Arrays.copyOf(other.words, other.height * other.rowWords);
+  } // DictionaryMatrix(DictionaryMatrix<T>)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Determine how many words a row of cells takes.
+   *
+   * @param cells   The number of cells in the row.
+   * @param cellBits The number of bits per cell.
+   *
+   * @return the number of words.
+   */
+  static int wordsFor(int cells, int cellBits) {
+    return (int) (((long) cells * cellBits + Long.SIZE - 1) / Long.SIZE);
+  } // wordsFor(int, int)
+
+  /**
+   * Make a mask of the bits from one position up to, but not including,
+   * another.
+   *
+   * @param from The lowest bit in the mask.
+   * @param to   The bit above the highest bit in the mask, at most 64.
+   *
+   * @return the mask.
+   */
+  static long span(int from, int to) {
+    long below = to == Long.SIZE ? -1L : (1L << to) - 1;
+    return below & ~((1L << from) - 1);
+  } // span(int, int)
+
+  /**
+   * Set a run of bits in a row of words to the matching bits of a pattern.
+   *
+   * @param words   The words.
+   * @param base    The index of the row's first word.
+   * @param start   The first bit to set.
+   * @param end     The bit to stop at (exclusive); more than start.
+   * @param pattern The bits to copy into each word.
+   */
+  static void fillBits(long[] words, int base, int start, int end, long pattern) {
+    int first = start >>> 6;
+    int last = (end - 1) >>> 6;
+    int stop = ((end - 1) & 63) + 1;
+    if (first == last) {
+      long mask = span(start & 63, stop);
+      words[base + first] = (words[base + first] & ~mask) | (pattern & mask);
+    } else {
+      long head = span(start & 63, Long.SIZE);
+      long tail = span(0, stop);
+      words[base + first] = (words[base + first] & ~head) | (pattern & head);
+      Arrays.fill(words, base + first + 1, base + last, pattern);
+      words[base + last] = (words[base + last] & ~tail) | (pattern & tail);
+    } // if/else
+  } // fillBits(long[], int, int, int, long)
+
+  /**
+   * Open a gap of zero bits in a row of words, moving the bits at and
+   * above a position up. Bits pushed past the end of the row are lost.
+   *
+   * @param words    The words.
+   * @param base     The index of the row's first word.
+   * @param rowWords The number of words in the row.
+   * @param bit      Where to open the gap.
+   * @param count    The size of the gap.
+   */
+  static void insertBits(long[] words, int base, int rowWords, int bit, int count) {
+    int first = base + (bit >>> 6);
+    int wordShift = count >>> 6;
+    int bitShift = count & 63;
+    long low = span(0, bit & 63);
+    long old = words[first];
+    for (int w = base + rowWords - 1; w >= first; w--) {
+      int src = w - wordShift;
+      long moved = 0;
+      if (src >= first) {
+        long hi = src == first ? old & ~low : words[src];
+        moved = hi << bitShift;
+        if (bitShift != 0 && src - 1 >= first) {
+          long lo = src - 1 == first ? old & ~low : words[src - 1];
+          moved |= lo >>> (Long.SIZE - bitShift);
+        } // if
+      } // if
+      words[w] = moved;
+    } // for
+    words[first] |= old & low;
+  } // insertBits(long[], int, int, int, int)
+
+  /**
+   * Remove bits from a row of words, moving the bits above them down and
+   * bringing zeros in at the end of the row.
+   *
+   * @param words    The words.
+   * @param base     The index of the row's first word.
+   * @param rowWords The number of words in the row.
+   * @param bit      The first bit to remove.
+   * @param count    The number of bits to remove.
+   */
+  static void removeBits(long[] words, int base, int rowWords, int bit, int count) {
+    int first = base + (bit >>> 6);
+    int end = base + rowWords;
+    int wordShift = count >>> 6;
+    int bitShift = count & 63;
+    long low = span(0, bit & 63);
+    long old = words[first];
+    for (int w = first; w < end; w++) {
+      int src = w + wordShift;
+      long moved = 0;
+      if (src < end) {
+        moved = words[src] >>> bitShift;
+        if (bitShift != 0 && src + 1 < end) {
+          moved |= words[src + 1] << (Long.SIZE - bitShift);
+        } // if
+      } // if
+      words[w] = moved;
+    } // for
+    words[first] = (old & low) | (words[first] & ~low);
+  } // removeBits(long[], int, int, int, int)
+
+  /**
+   * Get the mask for a single code.
+   *
+   * @return the mask.
+   */
+  long mask() {
+    return span(0, this.bits);
+  } // mask()
+
+  /**
+   * Get the code of a cell.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   *
+   * @return the code.
+   */
+  int code(int row, int col) {
+    int bit = col * this.bits;
+    long word = this.words[row * this.rowWords + (bit >>> 6)];
+    return (int) ((word >>> (bit & 63)) & this.mask());
+  } // code(int, int)
+
+  /**
+   * Set the code of a cell.
+   *
+   * @param row  The row of the cell.
+   * @param col  The column of the cell.
+   * @param code The code.
+   */
+  void setCode(int row, int col, int code) {
+    int bit = col * this.bits;
+    int index = row * this.rowWords + (bit >>> 6);
+    int shift = bit & 63;
+    this.words[index] = (this.words[index] & ~(this.mask() << shift))
+        | ((code & this.mask()) << shift);
+  } // setCode(int, int, int)
+
+  /**
+   * Find the code of a value, adding it to the dictionary (and widening
+   * the codes) if it is new.
+   *
+   * @param val The value.
+   *
+   * @return the code.
+   */
+  int codeOf(T val) {
+    Integer known = this.codes.get(val);
+    if (known != null) {
+      return known;
+    } // if
+    int code = this.values.size();
+    this.values.add(val);
+    this.codes.put(val, code);
+    if (code > this.mask()) {
+      this.relayOut(this.bits == 16 ? 32 : this.bits * 2, this.stride, this.capacity);
+    } // if
+    return code;
+  } // codeOf(T)
+
+  /**
+   * Repack the cells with a new code width, stride, or row capacity.
+   *
+   * @param newBits     The number of bits per cell.
+   * @param newStride   The number of cells each row has room for.
+   * @param newCapacity The number of rows to have room for.
+   */
+  void relayOut(int newBits, int newStride, int newCapacity) {
+    int newRowWords = wordsFor(newStride, newBits);
+    if (newBits == this.bits && newRowWords == this.rowWords) {
+      this.words = Arrays.copyOf(this.words, Math.multiplyExact(newRowWords, newCapacity));
+    } else {
+      DictionaryMatrix<T> old = new DictionaryMatrix<>(this);
+      this.bits = newBits;
+      this.rowWords = newRowWords;
+      this.words = new long[Math.multiplyExact(newRowWords, newCapacity)];
+      for (int row = 0; row < this.height; row++) {
+        for (int col = 0; col < this.width; col++) {
+          this.setCode(row, col, old.code(row, col));
+        } // for
+      } // for
+    } // if/else
+    this.stride = newStride;
+    this.capacity = newCapacity;
+  } // relayOut(int, int, int)
+
+  /**
+   * Fill a run of cells in a row with one code, a word at a time.
+   *
+   * @param row      The row.
+   * @param startCol The first column to fill.
+   * @param endCol   The column to stop at (exclusive).
+   * @param code     The code.
+   */
+  void fillCodes(int row, int startCol, int endCol, int code) {
+    if (startCol >= endCol) {
+      return;
+    } // if
+    long pattern = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += this.bits) {
+      pattern |= (long) code << shift;
+    } // for
+    fillBits(this.words, row * this.rowWords, startCol * this.bits, endCol * this.bits,
+        pattern);
+  } // fillCodes(int, int, int, int)
+
+  /**
+   * Open up count columns of code 0 in every row, shifting the bits of the
+   * cells at and after col up by count codes.
+   *
+   * @param col   The first column to open.
+   * @param count The number of columns to open.
+   */
+  void openCols(int col, int count) {
+    if (this.width + count > this.stride) {
+      this.relayOut(this.bits, MatrixV0.grow(this.stride, this.width + count), this.capacity);
+    } // if
+    for (int row = 0; row < this.height; row++) {
+      insertBits(this.words, row * this.rowWords, this.rowWords, col * this.bits,
+          count * this.bits);
+    } // for
+    this.width += count;
+  } // openCols(int, int)
+
+  /**
+   * Open up count rows of code 0 starting at row.
+   *
+   * @param row   The first new row.
+   * @param count The number of rows to open.
+   */
+  void openRows(int row, int count) {
+    if (this.height + count > this.capacity) {
+      this.relayOut(this.bits, this.stride, MatrixV0.grow(this.capacity, this.height + count));
+    } // if
+    System.arraycopy(this.words, row * this.rowWords, this.words, (row + count) * this.rowWords,
+        (this.height - row) * this.rowWords);
+    Arrays.fill(this.words, row * this.rowWords, (row + count) * this.rowWords, 0L);
+    this.height += count;
+  } // openRows(int, int)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  public T get(int row, int col) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    return this.values.get(this.code(row, col));
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  public void set(int row, int col, T val) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    this.setCode(row, col, this.codeOf(val));
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  @Override
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  @Override
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   */
+  @Override
+  public void insertRow(int row) {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    this.openRows(row, 1);
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row  The number of the row to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If the size of vals is not the same as
+   *                                   the width of the matrix.
+   */
+  @Override
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    if (vals.length != this.width) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    int[] rowCodes = new int[vals.length];
+    for (int col = 0; col < vals.length; col++) {
+      rowCodes[col] = this.codeOf(vals[col]);
+    } // for
+    this.openRows(row, 1);
+    for (int col = 0; col < vals.length; col++) {
+      this.setCode(row, col, rowCodes[col]);
+    } // for
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   */
+  @Override
+  public void insertCol(int col) {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    this.openCols(col, 1);
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col  The number of the column to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If the size of vals is not the same as
+   *                                   the height of the matrix.
+   */
+  @Override
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    if (vals.length != this.height) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    int[] colCodes = new int[vals.length];
+    for (int row = 0; row < vals.length; row++) {
+      colCodes[row] = this.codeOf(vals[row]);
+    } // for
+    this.openCols(col, 1);
+    for (int row = 0; row < vals.length; row++) {
+      this.setCode(row, col, colCodes[row]);
+    } // for
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row.
+   *
+   * @param row The number of the row to delete.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   or equal to the height.
+   */
+  @Override
+  public void deleteRow(int row) {
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    System.arraycopy(this.words, (row + 1) * this.rowWords, this.words, row * this.rowWords,
+        (this.height - row - 1) * this.rowWords);
+    this.height--;
+    Arrays.fill(this.words, this.height * this.rowWords, (this.height + 1) * this.rowWords, 0L);
+  } // deleteRow(int)
+
+  /**
+   * Delete a column, shifting the bits of the later cells down by one code
+   * in every row.
+   *
+   * @param col The number of the column to delete.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than or equal to the width.
+   */
+  @Override
+  public void deleteCol(int col) {
+    if (col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    for (int row = 0; row < this.height; row++) {
+      removeBits(this.words, row * this.rowWords, this.rowWords, col * this.bits, this.bits);
+    } // for
+    this.width--;
+  } // deleteCol(int)
+
+  /**
+   * Insert count rows of the default value with one shift of the rows
+   * below them.
+   *
+   * @param row   The number of the first row to insert.
+   * @param count The number of rows to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertRows(int row, int count) {
+    Matrix.checkInsert(row, this.height, count, "row");
+    this.openRows(row, count);
+  } // insertRows(int, int)
+
+  /**
+   * Insert rows filled with the specified values with one shift of the
+   * rows below them.
+   *
+   * @param row  The number of the first row to insert.
+   * @param vals The values to insert, one array per row.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the width of the matrix.
+   */
+  @Override
+  public void insertRows(int row, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(row, this.height, vals.length, "row");
+    Matrix.checkLengths(vals, this.width);
+    int[][] rowCodes = new int[vals.length][this.width];
+    for (int i = 0; i < vals.length; i++) {
+      for (int col = 0; col < this.width; col++) {
+        rowCodes[i][col] = this.codeOf(vals[i][col]);
+      } // for
+    } // for
+    this.openRows(row, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      for (int col = 0; col < this.width; col++) {
+        this.setCode(row + i, col, rowCodes[i][col]);
+      } // for
+    } // for
+  } // insertRows(int, T[][])
+
+  /**
+   * Delete a range of rows with one shift of the rows below them.
+   *
+   * @param startRow The first row to delete.
+   * @param endRow   The row to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the rows are out of bounds or
+   *                                   startRow is greater than endRow.
+   */
+  @Override
+  public void deleteRows(int startRow, int endRow) {
+    Matrix.checkDelete(startRow, endRow, this.height, "rows");
+    System.arraycopy(this.words, endRow * this.rowWords, this.words, startRow * this.rowWords,
+        (this.height - endRow) * this.rowWords);
+    int newHeight = this.height - (endRow - startRow);
+    Arrays.fill(this.words, newHeight * this.rowWords, this.height * this.rowWords, 0L);
+    this.height = newHeight;
+  } // deleteRows(int, int)
+
+  /**
+   * Insert count columns of the default value, shifting the bits of each
+   * row once.
+   *
+   * @param col   The number of the first column to insert.
+   * @param count The number of columns to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertCols(int col, int count) {
+    Matrix.checkInsert(col, this.width, count, "column");
+    if (count > 0) {
+      this.openCols(col, count);
+    } // if
+  } // insertCols(int, int)
+
+  /**
+   * Insert columns filled with the specified values, shifting the bits of
+   * each row once.
+   *
+   * @param col  The number of the first column to insert.
+   * @param vals The values to insert, one array per column.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the height of the matrix.
+   */
+  @Override
+  public void insertCols(int col, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(col, this.width, vals.length, "column");
+    Matrix.checkLengths(vals, this.height);
+    int[][] colCodes = new int[vals.length][this.height];
+    for (int i = 0; i < vals.length; i++) {
+      for (int row = 0; row < this.height; row++) {
+        colCodes[i][row] = this.codeOf(vals[i][row]);
+      } // for
+    } // for
+    this.insertCols(col, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      for (int row = 0; row < this.height; row++) {
+        this.setCode(row, col + i, colCodes[i][row]);
+      } // for
+    } // for
+  } // insertCols(int, T[][])
+
+  /**
+   * Delete a range of columns, shifting the bits of each row once.
+   *
+   * @param startCol The first column to delete.
+   * @param endCol   The column to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the columns are out of bounds or
+   *                                   startCol is greater than endCol.
+   */
+  @Override
+  public void deleteCols(int startCol, int endCol) {
+    Matrix.checkDelete(startCol, endCol, this.width, "columns");
+    if (startCol == endCol) {
+      return;
+    } // if
+    for (int row = 0; row < this.height; row++) {
+      removeBits(this.words, row * this.rowWords, this.rowWords, startCol * this.bits,
+          (endCol - startCol) * this.bits);
+    } // for
+    this.width -= endCol - startCol;
+  } // deleteCols(int, int)
+
+  /**
+   * Fill a rectangular region of the matrix, a word at a time.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+    if (startRow >= endRow || startCol >= endCol) {
+      return;
+    } // if
+    int code = this.codeOf(val);
+    for (int row = startRow; row < endRow; row++) {
+      this.fillCodes(row, startCol, endCol, code);
+    } // for
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, T val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+    if (startRow >= endRow || startCol >= endCol) {
+      return;
+    } // if
+    int code = this.codeOf(val);
+    int steps = Lines.steps(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    int row = startRow;
+    int col = startCol;
+    for (int i = 0; i < steps; i++) {
+      this.setCode(row, col, code);
+      row += deltaRow;
+      col += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Make a copy of the matrix.
+   *
+   * @return a copy of the matrix.
+   */
+  @Override
+  public DictionaryMatrix<T> clone() {
+    return new DictionaryMatrix<>(this);
+  } // clone()
+
+  // +---------------+-----------------------------------------------
+  // | Other methods |
+  // +---------------+
+
+  /**
+   * Determine how many bits each cell takes.
+   *
+   * @return the number of bits per cell.
+   */
+  public int bitsPerCell() {
+    return this.bits;
+  } // bitsPerCell()
+
+  /**
+   * Determine how many values are in the dictionary, including the default
+   * and any value no cell holds any longer.
+   *
+   * @return the size of the dictionary.
+   */
+  public int dictionarySize() {
+    return this.values.size();
+  } // dictionarySize()
+
+  /**
+   * Determine if this object is equal to another object. Against another
+   * dictionary matrix we translate its codes once, then compare codes, or
+   * whole words when both use the same codes and widths, rather than call
+   * equals on every cell.
+   *
+   * @param other The object to compare.
+   *
+   * @return true if the other object is a matrix with the same width, height,
+   *         and equal elements; false otherwise.
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof DictionaryMatrix)) {
+      return Matrix.equals(this, other);
+    } // if
+    DictionaryMatrix<?> that = (DictionaryMatrix<?>) other;
+    if (this.width != that.width || this.height != that.height) {
+      return false;
+    } // if
+    int[] translate = new int[this.values.size()];
+    boolean same = this.bits == that.bits;
+    for (int code = 0; code < translate.length; code++) {
+      Integer theirs = that.codes.get(this.values.get(code));
+      translate[code] = theirs == null ? -1 : theirs;
+      same &= translate[code] == code;
+    } // for
+    if (same) {
+      int used = wordsFor(this.width, this.bits);
+      for (int row = 0; row < this.height; row++) {
+        int mine = row * this.rowWords;
+        int theirs = row * that.rowWords;
+        if (!Arrays.equals(this.words, mine, mine + used, that.words, theirs, theirs + used)) {
+          return false;
+        } // if
+      } // for
+      return true;
+    } // if
+    for (int row = 0; row < this.height; row++) {
+      for (int col = 0; col < this.width; col++) {
+        if (translate[this.code(row, col)] != that.code(row, col)) {
+          return false;
+        } // if
+      } // for
+    } // for
+    return true;
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, hashing each dictionary value once
+   * rather than once per cell.
+   *
+   * @return the hash code.
+   */
+  @Override
+  public int hashCode() {
+    int[] hashes = new int[this.values.size()];
+    for (int code = 0; code < hashes.length; code++) {
+      hashes[code] = Objects.hashCode(this.values.get(code));
+    } // for
+    int result = this.width + 7 * this.height;
+    for (int row = 0; row < this.height; row++) {
+      for (int col = 0; col < this.width; col++) {
+        result = result * 7 + hashes[this.code(row, col)];
+      } // for
+    } // for
+    return result;
+  } // hashCode()
+} // class DictionaryMatrix<T>
@@ -0,0 +1,442 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+
+/**
+ * Dense arithmetic on arrays of doubles, the engine behind the arithmetic
+ * methods of {@link DoubleMatrix}. Every kernel works on {@link Block}s,
+ * rectangles of a row-major array with a stride, so the same code handles
+ * whole matrices (whose stride may exceed their width) and the quadrants
+ * Strassen's algorithm splits them into, without copying.
+ *
+ * <p>Kernels that produce rows independently split their rows into
+ * parallel bands as a {@link ParallelConfig} directs.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+final class DoubleKernels {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * How many terms of each dot product we accumulate per pass. A block of
+   * this many rows of the right operand stays in cache while every row of
+   * the left operand uses it.
+   */
+  static final int BLOCK_INNER = 128;
+
+  /** How many columns of the result we update per pass. */
+  static final int BLOCK_COLS = 512;
+
+  /** The side of the tiles we transpose at a time. */
+  static final int BLOCK_TRANSPOSE = 32;
+
+  /** The largest side Strassen's algorithm leaves to the blocked kernel. */
+  static final int STRASSEN_CUTOFF = 256;
+
+  // +---------+-----------------------------------------------------
+  // | Records |
+  // +---------+
+
+  /**
+   * A rectangle of cells in a row-major array.
+   *
+   * @param cells  The array.
+   * @param offset The index of the top-left cell.
+   * @param stride The distance between the starts of adjacent rows.
+   * @param rows   The number of rows.
+   * @param cols   The number of columns.
+   */
+  record Block(double[] cells, int offset, int stride, int rows, int cols) {
+    /**
+     * Wrap a new, zeroed array.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     *
+     * @return the block.
+     */
+    static Block zeros(int rows, int cols) {
+      return new Block(new double[Math.multiplyExact(rows, cols)], 0, cols, rows, cols);
+    } // zeros(int, int)
+
+    /**
+     * Get the index of the first cell of a row.
+     *
+     * @param row The row.
+     *
+     * @return the index.
+     */
+    int start(int row) {
+      return this.offset + row * this.stride;
+    } // start(int)
+
+    /**
+     * Get a rectangle within this one.
+     *
+     * @param row     The top row of the rectangle.
+     * @param col     The left column of the rectangle.
+     * @param numRows The number of rows.
+     * @param numCols The number of columns.
+     *
+     * @return a block sharing this block's array.
+     */
+    Block sub(int row, int col, int numRows, int numCols) {
+      return new Block(this.cells, this.start(row) + col, this.stride, numRows, numCols);
+    } // sub(int, int, int, int)
+  } // record Block
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * There are no kernel objects.
+   */
+  private DoubleKernels() {
+  } // DoubleKernels()
+
+  // +----------------+----------------------------------------------
+  // | Multiplication |
+  // +----------------+
+
+  /**
+   * Add the product of two blocks to a third: c += a * b. The rows of c
+   * are split into parallel bands; each band walks the inner dimension and
+   * the columns in cache-sized blocks, updating four rows of c from two
+   * rows of b at a time so each value loaded is used several times.
+   *
+   * @param a      The left operand.
+   * @param b      The right operand (a.cols rows by c.cols columns).
+   * @param c      Where to add the product (a.rows rows).
+   * @param config How to split the rows into parallel bands.
+   */
+  static void multiplyAdd(Block a, Block b, Block c, ParallelConfig config) {
+    int work = (int) Math.min(Integer.MAX_VALUE, (long) a.cols() * b.cols());
+    config.run(0, a.rows(), work, (startRow, endRow) -> multiplyRows(a, b, c, startRow, endRow));
+  } // multiplyAdd(Block, Block, Block, ParallelConfig)
+
+  /**
+   * Add the product of some rows of a and all of b to the same rows of c.
+   *
+   * @param a        The left operand.
+   * @param b        The right operand.
+   * @param c        Where to add the product.
+   * @param startRow The first row (inclusive).
+   * @param endRow   The last row (exclusive).
+   */
+  static void multiplyRows(Block a, Block b, Block c, int startRow, int endRow) {
+    double[] x = a.cells();
+    double[] y = b.cells();
+    double[] z = c.cells();
+    int inner = a.cols();
+    int cols = b.cols();
+    for (int k0 = 0; k0 < inner; k0 += BLOCK_INNER) {
+      int kEnd = Math.min(k0 + BLOCK_INNER, inner);
+      for (int j0 = 0; j0 < cols; j0 += BLOCK_COLS) {
+        int jEnd = Math.min(j0 + BLOCK_COLS, cols);
+        int row = startRow;
+        while (row + 4 <= endRow) {
+          int a0 = a.start(row);
+          int a1 = a0 + a.stride();
+          int a2 = a1 + a.stride();
+          int a3 = a2 + a.stride();
+          int c0 = c.start(row);
+          int c1 = c0 + c.stride();
+          int c2 = c1 + c.stride();
+          int c3 = c2 + c.stride();
+          int k = k0;
+          while (k + 2 <= kEnd) {
+            double x00 = x[a0 + k];
+            double x01 = x[a0 + k + 1];
+            double x10 = x[a1 + k];
+            double x11 = x[a1 + k + 1];
+            double x20 = x[a2 + k];
+            double x21 = x[a2 + k + 1];
+            double x30 = x[a3 + k];
+            double x31 = x[a3 + k + 1];
+            int b0 = b.start(k);
+            int b1 = b0 + b.stride();
+            for (int j = j0; j < jEnd; j++) {
+              double y0 = y[b0 + j];
+              double y1 = y[b1 + j];
+              z[c0 + j] += x00 * y0 + x01 * y1;
+              z[c1 + j] += x10 * y0 + x11 * y1;
+              z[c2 + j] += x20 * y0 + x21 * y1;
+              z[c3 + j] += x30 * y0 + x31 * y1;
+            } // for
+            k += 2;
+          } // while
+          if (k < kEnd) {
+            double x0 = x[a0 + k];
+            double x1 = x[a1 + k];
+            double x2 = x[a2 + k];
+            double x3 = x[a3 + k];
+            int b0 = b.start(k);
+            for (int j = j0; j < jEnd; j++) {
+              double y0 = y[b0 + j];
+              z[c0 + j] += x0 * y0;
+              z[c1 + j] += x1 * y0;
+              z[c2 + j] += x2 * y0;
+              z[c3 + j] += x3 * y0;
+            } // for
+          } // if
+          row += 4;
+        } // while
+        while (row < endRow) {
+          int a0 = a.start(row);
+          int c0 = c.start(row);
+          for (int k = k0; k < kEnd; k++) {
+            double x0 = x[a0 + k];
+            int b0 = b.start(k);
+            for (int j = j0; j < jEnd; j++) {
+              z[c0 + j] += x0 * y[b0 + j];
+            } // for
+          } // for
+          row++;
+        } // while
+      } // for
+    } // for
+  } // multiplyRows(Block, Block, Block, int, int)
+
+  /**
+   * Multiply two square blocks with Strassen's algorithm: c = a * b. Each
+   * level trades one of eight half-size products for a handful of
+   * additions. Sides that do not halve evenly down to the cutoff are
+   * padded with zeros once, at the top.
+   *
+   * @param a      The left operand.
+   * @param b      The right operand.
+   * @param c      Where to put the product.
+   * @param config How to split the base-case products into parallel bands.
+   */
+  static void strassen(Block a, Block b, Block c, ParallelConfig config) {
+    int side = a.rows();
+    int base = side;
+    int levels = 0;
+    while (base > STRASSEN_CUTOFF) {
+      base = (base + 1) / 2;
+      levels++;
+    } // while
+    int padded = base << levels;
+    if (padded == side) {
+      strassenSquare(a, b, c, config);
+      return;
+    } // if
+    Block paddedA = Block.zeros(padded, padded);
+    Block paddedB = Block.zeros(padded, padded);
+    Block paddedC = Block.zeros(padded, padded);
+    copy(a, paddedA.sub(0, 0, side, side));
+    copy(b, paddedB.sub(0, 0, side, side));
+    strassenSquare(paddedA, paddedB, paddedC, config);
+    copy(paddedC.sub(0, 0, side, side), c);
+  } // strassen(Block, Block, Block, ParallelConfig)
+
+  /**
+   * Multiply two square blocks whose side halves evenly down to the
+   * cutoff: c = a * b.
+   *
+   * @param a      The left operand.
+   * @param b      The right operand.
+   * @param c      Where to put the product.
+   * @param config How to split the base-case products into parallel bands.
+   */
+  static void strassenSquare(Block a, Block b, Block c, ParallelConfig config) {
+    int side = a.rows();
+    fill(c, 0.0);
+    if (side <= STRASSEN_CUTOFF) {
+      multiplyAdd(a, b, c, config);
+      return;
+    } // if
+    int half = side / 2;
+    Block a11 = a.sub(0, 0, half, half);
+    Block a12 = a.sub(0, half, half, half);
+    Block a21 = a.sub(half, 0, half, half);
+    Block a22 = a.sub(half, half, half, half);
+    Block b11 = b.sub(0, 0, half, half);
+    Block b12 = b.sub(0, half, half, half);
+    Block b21 = b.sub(half, 0, half, half);
+    Block b22 = b.sub(half, half, half, half);
+    Block c11 = c.sub(0, 0, half, half);
+    Block c12 = c.sub(0, half, half, half);
+    Block c21 = c.sub(half, 0, half, half);
+    Block c22 = c.sub(half, half, half, half);
+    Block left = Block.zeros(half, half);
+    Block right = Block.zeros(half, half);
+    Block product = Block.zeros(half, half);
+
+    // M1 = (A11 + A22)(B11 + B22)
+    combine(a11, a22, 1.0, left);
+    combine(b11, b22, 1.0, right);
+    strassenSquare(left, right, product, config);
+    accumulate(product, 1.0, c11);
+    accumulate(product, 1.0, c22);
+    // M2 = (A21 + A22) B11
+    combine(a21, a22, 1.0, left);
+    strassenSquare(left, b11, product, config);
+    accumulate(product, 1.0, c21);
+    accumulate(product, -1.0, c22);
+    // M3 = A11 (B12 - B22)
+    combine(b12, b22, -1.0, right);
+    strassenSquare(a11, right, product, config);
+    accumulate(product, 1.0, c12);
+    accumulate(product, 1.0, c22);
+    // M4 = A22 (B21 - B11)
+    combine(b21, b11, -1.0, right);
+    strassenSquare(a22, right, product, config);
+    accumulate(product, 1.0, c11);
+    accumulate(product, 1.0, c21);
+    // M5 = (A11 + A12) B22
+    combine(a11, a12, 1.0, left);
+    strassenSquare(left, b22, product, config);
+    accumulate(product, -1.0, c11);
+    accumulate(product, 1.0, c12);
+    // M6 = (A21 - A11)(B11 + B12)
+    combine(a21, a11, -1.0, left);
+    combine(b11, b12, 1.0, right);
+    strassenSquare(left, right, product, config);
+    accumulate(product, 1.0, c22);
+    // M7 = (A12 - A22)(B21 + B22)
+    combine(a12, a22, -1.0, left);
+    combine(b21, b22, 1.0, right);
+    strassenSquare(left, right, product, config);
+    accumulate(product, 1.0, c11);
+  } // strassenSquare(Block, Block, Block, ParallelConfig)
+
+  /**
+   * Multiply a block by a vector: y = a * x.
+   *
+   * @param a      The block.
+   * @param x      The vector, with a.cols entries.
+   * @param y      Where to put the result, with a.rows entries.
+   * @param config How to split the rows into parallel bands.
+   */
+  static void multiplyVector(Block a, double[] x, double[] y, ParallelConfig config) {
+    double[] cells = a.cells();
+    int cols = a.cols();
+    config.run(0, a.rows(), cols, (startRow, endRow) -> {
+      for (int row = startRow; row < endRow; row++) {
+        int start = a.start(row);
+        double sum0 = 0;
+        double sum1 = 0;
+        int col = 0;
+        while (col + 2 <= cols) {
+          sum0 += cells[start + col] * x[col];
+          sum1 += cells[start + col + 1] * x[col + 1];
+          col += 2;
+        } // while
+        if (col < cols) {
+          sum0 += cells[start + col] * x[col];
+        } // if
+        y[row] = sum0 + sum1;
+      } // for
+    });
+  } // multiplyVector(Block, double[], double[], ParallelConfig)
+
+  // +-------------------+-------------------------------------------
+  // | Element-wise work |
+  // +-------------------+
+
+  /**
+   * Combine two blocks cell by cell: out = x + sign * y.
+   *
+   * @param x    The first block.
+   * @param y    The second block.
+   * @param sign What to multiply the second block by.
+   * @param out  Where to put the result (may be x or y).
+   */
+  static void combine(Block x, Block y, double sign, Block out) {
+    double[] xs = x.cells();
+    double[] ys = y.cells();
+    double[] outs = out.cells();
+    for (int row = 0; row < out.rows(); row++) {
+      int xi = x.start(row);
+      int yi = y.start(row);
+      int oi = out.start(row);
+      for (int col = 0; col < out.cols(); col++) {
+        outs[oi + col] = xs[xi + col] + sign * ys[yi + col];
+      } // for
+    } // for
+  } // combine(Block, Block, double, Block)
+
+  /**
+   * Add a multiple of one block to another: dst += factor * src.
+   *
+   * @param src    The block to add.
+   * @param factor What to multiply it by.
+   * @param dst    The block to add to.
+   */
+  static void accumulate(Block src, double factor, Block dst) {
+    combine(dst, src, factor, dst);
+  } // accumulate(Block, double, Block)
+
+  /**
+   * Scale a block into another: out = factor * x.
+   *
+   * @param x      The block.
+   * @param factor What to multiply it by.
+   * @param out    Where to put the result.
+   */
+  static void scale(Block x, double factor, Block out) {
+    double[] xs = x.cells();
+    double[] outs = out.cells();
+    for (int row = 0; row < out.rows(); row++) {
+      int xi = x.start(row);
+      int oi = out.start(row);
+      for (int col = 0; col < out.cols(); col++) {
+        outs[oi + col] = factor * xs[xi + col];
+      } // for
+    } // for
+  } // scale(Block, double, Block)
+
+  /**
+   * Copy one block into another of the same shape.
+   *
+   * @param src The block to copy.
+   * @param dst Where to copy it.
+   */
+  static void copy(Block src, Block dst) {
+    for (int row = 0; row < src.rows(); row++) {
+      System.arraycopy(src.cells(), src.start(row), dst.cells(), dst.start(row), src.cols());
+    } // for
+  } // copy(Block, Block)
+
+  /**
+   * Set every cell of a block.
+   *
+   * @param block The block.
+   * @param val   The value to store.
+   */
+  static void fill(Block block, double val) {
+    for (int row = 0; row < block.rows(); row++) {
+      int start = block.start(row);
+      Arrays.fill(block.cells(), start, start + block.cols(), val);
+    } // for
+  } // fill(Block, double)
+
+  /**
+   * Transpose a block into another, a tile at a time so that both the
+   * reads and the writes stay within a few cache lines.
+   *
+   * @param src The block to transpose.
+   * @param dst Where to put the transpose (src.cols rows by src.rows
+   *            columns).
+   */
+  static void transpose(Block src, Block dst) {
+    double[] from = src.cells();
+    double[] to = dst.cells();
+    for (int r0 = 0; r0 < src.rows(); r0 += BLOCK_TRANSPOSE) {
+      int rEnd = Math.min(r0 + BLOCK_TRANSPOSE, src.rows());
+      for (int c0 = 0; c0 < src.cols(); c0 += BLOCK_TRANSPOSE) {
+        int cEnd = Math.min(c0 + BLOCK_TRANSPOSE, src.cols());
+        for (int row = r0; row < rEnd; row++) {
+          int start = src.start(row);
+          for (int col = c0; col < cEnd; col++) {
+            to[dst.start(col) + row] = from[start + col];
+          } // for
+        } // for
+      } // for
+    } // for
+  } // transpose(Block, Block)
+} // class DoubleKernels
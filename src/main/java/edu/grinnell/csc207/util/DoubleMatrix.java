@@ -0,0 +1,737 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+
+/**
+ * A matrix of doubles, stored unboxed in a single double array. The usual
+ * <code>Matrix</code> methods work on boxed Double values; the
+ * <code>getDouble</code>, <code>setDouble</code>, <code>fillRegion</code> and
+ * <code>fillLine</code> methods that take a double avoid boxing altogether.
+ * The arithmetic methods (<code>multiply</code>, <code>add</code>,
+ * <code>scale</code>, <code>transpose</code>) and reductions
+ * (<code>sum</code>, <code>min</code>, <code>max</code>, <code>dot</code>)
+ * work directly on the arrays.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+public class DoubleMatrix extends PrimitiveMatrix<Double> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The default value to fill. */
+  double def;
+
+  /** The cells of the matrix. Row r starts at index r * stride. */
+  double[] cells;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given
+   * value as the default.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   * @param defInput    The default value, used to fill all the cells.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public DoubleMatrix(int widthInput, int heightInput, double defInput)
+      throws NegativeArraySizeException {
+    super(widthInput, heightInput);
+    this.def = defInput;
+    this.cells = (double[]) this.allocate(heightInput, widthInput);
+    Arrays.fill(this.cells, defInput);
+  } // DoubleMatrix(int, int, double)
+
+  /**
+   * Create a new matrix of the specified width and height with 0.0 as the
+   * default value.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public DoubleMatrix(int widthInput, int heightInput) throws NegativeArraySizeException {
+    this(widthInput, heightInput, 0.0);
+  } // DoubleMatrix(int, int)
+
+  /**
+   * Create a copy of another matrix.
+   *
+   * @param other The matrix to copy.
+   */
+  DoubleMatrix(DoubleMatrix other) {
+    super(other);
+    this.def = other.def;
+    this.cells = Arrays.copyOf(other.cells, other.height * other.stride);
+  } // DoubleMatrix(DoubleMatrix)
+
+  // +---------------+-----------------------------------------------
+  // | Storage hooks |
+  // +---------------+
+
+  /**
+   * Get the array that holds the cells.
+   *
+   * @return the array.
+   */
+  @Override
+  Object array() {
+    return this.cells;
+  } // array()
+
+  /**
+   * Replace the array that holds the cells.
+   *
+   * @param newCells The new array.
+   */
+  @Override
+  void array(Object newCells) {
+    this.cells = (double[]) newCells;
+  } // array(Object)
+
+  /**
+   * Allocate a new double array.
+   *
+   * @param size The number of cells.
+   *
+   * @return the new array.
+   */
+  @Override
+  Object allocate(int size) {
+    return new double[size];
+  } // allocate(int)
+
+  /**
+   * Fill a range of the array with the default value.
+   *
+   * @param from The first index to fill (inclusive).
+   * @param to   The last index to fill (exclusive).
+   */
+  @Override
+  void clear(int from, int to) {
+    Arrays.fill(this.cells, from, to, this.def);
+  } // clear(int, int)
+
+  /**
+   * Get the boxed value at an index of the array.
+   *
+   * @param index The index.
+   *
+   * @return the boxed value.
+   */
+  @Override
+  Double box(int index) {
+    return this.cells[index];
+  } // box(int)
+
+  /**
+   * Store a boxed value at an index of the array.
+   *
+   * @param index The index.
+   * @param val   The value.
+   */
+  @Override
+  void unbox(int index, Double val) {
+    this.cells[index] = val;
+  } // unbox(int, Double)
+
+  /**
+   * Determine the hash code of the value at an index, without boxing.
+   *
+   * @param index The index.
+   *
+   * @return the hash code.
+   */
+  @Override
+  int hash(int index) {
+    return Double.hashCode(this.cells[index]);
+  } // hash(int)
+
+  /**
+   * Determine if a row has the same cells as the same row of another
+   * DoubleMatrix.
+   *
+   * @param other The other matrix.
+   * @param row   The row to compare.
+   *
+   * @return true if the rows are equal and false otherwise.
+   */
+  @Override
+  boolean sameRow(PrimitiveMatrix<Double> other, int row) {
+    double[] theirs = ((DoubleMatrix) other).cells;
+    int mine = row * this.stride;
+    int start = row * other.stride;
+    return Arrays.equals(this.cells, mine, mine + this.width,
+        theirs, start, start + this.width);
+  } // sameRow(PrimitiveMatrix<Double>, int)
+
+  // +-----------------+---------------------------------------------
+  // | Unboxed methods |
+  // +-----------------+
+
+  /**
+   * Get the double at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  public double getDouble(int row, int col) {
+    return this.cells[this.index(row, col)];
+  } // getDouble(int, int)
+
+  /**
+   * Set the double at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  public void setDouble(int row, int col, double val) {
+    this.cells[this.index(row, col)] = val;
+    this.touchCell(row, col);
+  } // setDouble(int, int, double)
+
+  /**
+   * Fill a rectangular region of the matrix with a double.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, double val) {
+    this.checkRegion(startRow, startCol, endRow, endCol);
+    this.touchCells();
+    if (startCol < endCol) {
+      for (int row = startRow; row < endRow; row++) {
+        int base = row * this.stride;
+        Arrays.fill(this.cells, base + startCol, base + endCol, val);
+      } // for
+    } // if
+  } // fillRegion(int, int, int, int, double)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal) with a double.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, double val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+
+    this.touchCells();
+    int steps = Lines.steps(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    if (steps == 0) {
+      return;
+    } // if
+    int index = startRow * this.stride + startCol;
+    if (deltaRow == 0 && (deltaCol == 1 || deltaCol == -1)) {
+      int first = (deltaCol > 0) ? index : index - steps + 1;
+      Arrays.fill(this.cells, first, first + steps, val);
+    } else {
+      int step = deltaRow * this.stride + deltaCol;
+      for (int i = 0; i < steps; i++) {
+        this.cells[index] = val;
+        index += step;
+      } // for
+    } // if/else
+  } // fillLine(int, int, int, int, int, int, double)
+
+  /**
+   * Visit every cell as a double, in row-major order, without boxing.
+   *
+   * @param visitor What to do with each cell.
+   */
+  public void forEachDouble(DoubleCellVisitor visitor) {
+    this.forEachDouble(0, 0, this.height, this.width, visitor);
+  } // forEachDouble(DoubleCellVisitor)
+
+  /**
+   * Visit every cell in a rectangular region as a double, in row-major order,
+   * after one bounds check and without boxing.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param visitor  What to do with each cell.
+   *
+   * @throws IndexOutOfBoundsException If the region does not fit in the
+   *                                   matrix.
+   */
+  public void forEachDouble(int startRow, int startCol, int endRow, int endCol,
+      DoubleCellVisitor visitor) {
+    Matrix.checkRegion(this, startRow, startCol, endRow, endCol);
+    double[] slots = this.cells;
+    for (int row = startRow; row < endRow; row++) {
+      int base = row * this.stride;
+      for (int col = startCol; col < endCol; col++) {
+        visitor.visit(row, col, slots[base + col]);
+      } // for
+    } // for
+  } // forEachDouble(int, int, int, int, DoubleCellVisitor)
+
+  /**
+   * Replace the value of every cell, in row-major order, without boxing.
+   *
+   * @param operator How to compute each new value.
+   */
+  public void replaceAllDoubles(DoubleCellOperator operator) {
+    this.replaceAllDoubles(0, 0, this.height, this.width, operator);
+  } // replaceAllDoubles(DoubleCellOperator)
+
+  /**
+   * Replace the value of every cell in a rectangular region, in row-major
+   * order, after one bounds check and without boxing.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param operator How to compute each new value.
+   *
+   * @throws IndexOutOfBoundsException If the region does not fit in the
+   *                                   matrix.
+   */
+  public void replaceAllDoubles(int startRow, int startCol, int endRow, int endCol,
+      DoubleCellOperator operator) {
+    Matrix.checkRegion(this, startRow, startCol, endRow, endCol);
+    this.touchCells();
+    double[] slots = this.cells;
+    for (int row = startRow; row < endRow; row++) {
+      int base = row * this.stride;
+      for (int col = startCol; col < endCol; col++) {
+        slots[base + col] = operator.apply(row, col, slots[base + col]);
+      } // for
+    } // for
+  } // replaceAllDoubles(int, int, int, int, DoubleCellOperator)
+
+  // +------------+--------------------------------------------------
+  // | Arithmetic |
+  // +------------+
+
+  /**
+   * Multiply this matrix by another, splitting the work across the global
+   * parallel configuration.
+   *
+   * @param other The matrix to multiply by (on the right).
+   *
+   * @return the product, a new matrix as tall as this one and as wide as
+   *   the other.
+   *
+   * @throws IllegalArgumentException If this matrix is not as wide as the
+   *                                  other is tall.
+   */
+  public DoubleMatrix multiply(DoubleMatrix other) {
+    return this.multiply(other, ParallelConfig.global());
+  } // multiply(DoubleMatrix)
+
+  /**
+   * Multiply this matrix by another with cache-blocked, register-tiled
+   * loops, splitting the rows of the product into parallel bands.
+   *
+   * @param other  The matrix to multiply by (on the right).
+   * @param config How to split the work.
+   *
+   * @return the product.
+   *
+   * @throws IllegalArgumentException If this matrix is not as wide as the
+   *                                  other is tall.
+   */
+  public DoubleMatrix multiply(DoubleMatrix other, ParallelConfig config) {
+    this.checkProduct(other);
+    DoubleMatrix product = new DoubleMatrix(other.width, this.height);
+    DoubleKernels.multiplyAdd(this.block(), other.block(), product.block(), config);
+    return product;
+  } // multiply(DoubleMatrix, ParallelConfig)
+
+  /**
+   * Multiply this matrix by another with Strassen's algorithm, which does
+   * asymptotically less arithmetic than {@link #multiply} on large square
+   * matrices, at the price of extra memory and slightly larger rounding
+   * errors. Other shapes, and squares too small to benefit, use the
+   * ordinary blocked multiply.
+   *
+   * @param other  The matrix to multiply by (on the right).
+   * @param config How to split the base-case products.
+   *
+   * @return the product.
+   *
+   * @throws IllegalArgumentException If this matrix is not as wide as the
+   *                                  other is tall.
+   */
+  public DoubleMatrix multiplyStrassen(DoubleMatrix other, ParallelConfig config) {
+    this.checkProduct(other);
+    if (this.width != this.height || other.width != other.height
+        || this.width <= DoubleKernels.STRASSEN_CUTOFF) {
+      return this.multiply(other, config);
+    } // if
+    DoubleMatrix product = new DoubleMatrix(this.width, this.height);
+    DoubleKernels.strassen(this.block(), other.block(), product.block(), config);
+    return product;
+  } // multiplyStrassen(DoubleMatrix, ParallelConfig)
+
+  /**
+   * Multiply this matrix by a column vector.
+   *
+   * @param vector The vector, with one entry per column.
+   *
+   * @return the product, with one entry per row.
+   *
+   * @throws IllegalArgumentException If the vector's length is not the
+   *                                  width.
+   */
+  public double[] multiply(double[] vector) {
+    if (vector.length != this.width) {
+      throw new IllegalArgumentException("Error: cannot multiply a " + this.width + "x"
+          + this.height + " matrix by a vector of length " + vector.length + ".");
+    } // if
+    double[] product = new double[this.height];
+    DoubleKernels.multiplyVector(this.block(), vector, product, ParallelConfig.global());
+    return product;
+  } // multiply(double[])
+
+  /**
+   * Add another matrix of the same size to this one, a row at a time in
+   * SIMD lanes when the Vector API is available.
+   *
+   * @param other The matrix to add.
+   *
+   * @return the sum, a new matrix.
+   *
+   * @throws IllegalArgumentException If the matrices differ in size.
+   */
+  public DoubleMatrix add(DoubleMatrix other) {
+    this.checkSameSize(other, "add");
+    DoubleMatrix sum = new DoubleMatrix(this.width, this.height);
+    for (int row = 0; row < this.height; row++) {
+      Lanes.BEST.add(this.cells, row * this.stride, other.cells, row * other.stride, sum.cells,
+          row * sum.stride, this.width);
+    } // for
+    return sum;
+  } // add(DoubleMatrix)
+
+  /**
+   * Multiply each cell by the corresponding cell of another matrix of the
+   * same size (the Hadamard product).
+   *
+   * @param other The other matrix.
+   *
+   * @return the products, a new matrix.
+   *
+   * @throws IllegalArgumentException If the matrices differ in size.
+   */
+  public DoubleMatrix multiplyCells(DoubleMatrix other) {
+    this.checkSameSize(other, "multiply the cells of");
+    DoubleMatrix product = new DoubleMatrix(this.width, this.height);
+    for (int row = 0; row < this.height; row++) {
+      Lanes.BEST.multiply(this.cells, row * this.stride, other.cells, row * other.stride,
+          product.cells, row * product.stride, this.width);
+    } // for
+    return product;
+  } // multiplyCells(DoubleMatrix)
+
+  /**
+   * Multiply every cell by a number.
+   *
+   * @param factor The number.
+   *
+   * @return the scaled matrix, a new matrix.
+   */
+  public DoubleMatrix scale(double factor) {
+    DoubleMatrix scaled = new DoubleMatrix(this.width, this.height);
+    DoubleKernels.scale(this.block(), factor, scaled.block());
+    return scaled;
+  } // scale(double)
+
+  /**
+   * Swap the rows and columns into a new matrix. Unlike
+   * {@link #transposedView}, the result is independent of this matrix and
+   * stored row-major, so it is fast to multiply.
+   *
+   * @return the transpose, a new matrix.
+   */
+  public DoubleMatrix transpose() {
+    DoubleMatrix transposed = new DoubleMatrix(this.height, this.width);
+    DoubleKernels.transpose(this.block(), transposed.block());
+    return transposed;
+  } // transpose()
+
+  /**
+   * Make sure another matrix has the same size as this one.
+   *
+   * @param other The other matrix.
+   * @param verb  What we are trying to do with the two matrices.
+   *
+   * @throws IllegalArgumentException If the matrices differ in size.
+   */
+  void checkSameSize(DoubleMatrix other, String verb) {
+    if (other.width != this.width || other.height != this.height) {
+      throw new IllegalArgumentException("Error: cannot " + verb + " a " + this.width + "x"
+          + this.height + " matrix and a " + other.width + "x" + other.height + " matrix.");
+    } // if
+  } // checkSameSize(DoubleMatrix, String)
+
+  /**
+   * Get the cells as a block for the kernels.
+   *
+   * @return the block.
+   */
+  DoubleKernels.Block block() {
+    return new DoubleKernels.Block(this.cells, 0, this.stride, this.height, this.width);
+  } // block()
+
+  /**
+   * Make sure this matrix can be multiplied by another.
+   *
+   * @param other The matrix to multiply by.
+   *
+   * @throws IllegalArgumentException If this matrix is not as wide as the
+   *                                  other is tall.
+   */
+  void checkProduct(DoubleMatrix other) {
+    if (this.width != other.height) {
+      throw new IllegalArgumentException("Error: cannot multiply a " + this.width + "x"
+          + this.height + " matrix by a " + other.width + "x" + other.height + " matrix.");
+    } // if
+  } // checkProduct(DoubleMatrix)
+
+  // +------------+--------------------------------------------------
+  // | Reductions |
+  // +------------+
+
+  /**
+   * Add up all of the cells, using SIMD lanes when the Vector API is
+   * available and parallel bands of rows on large matrices. The terms may
+   * be added in any order.
+   *
+   * @return the sum.
+   */
+  public double sum() {
+    return this.reduceDoubles((from, to) -> Lanes.BEST.sum(this.cells, from, to), Double::sum);
+  } // sum()
+
+  /**
+   * Find the smallest cell. As with Math.min, if any cell is NaN, so is
+   * the result.
+   *
+   * @return the smallest value.
+   */
+  public double min() {
+    return this.reduceDoubles((from, to) -> Lanes.BEST.min(this.cells, from, to), Math::min);
+  } // min()
+
+  /**
+   * Find the largest cell. As with Math.max, if any cell is NaN, so is
+   * the result.
+   *
+   * @return the largest value.
+   */
+  public double max() {
+    return this.reduceDoubles((from, to) -> Lanes.BEST.max(this.cells, from, to), Math::max);
+  } // max()
+
+  /**
+   * Count the cells greater than a threshold.
+   *
+   * @param threshold The threshold.
+   *
+   * @return the number of cells greater than the threshold.
+   */
+  public long countAbove(double threshold) {
+    return this.reduceLongs(
+        (from, to) -> Lanes.BEST.countAbove(this.cells, from, to, threshold), Long::sum);
+  } // countAbove(double)
+
+  /**
+   * Compute the sum of the products of corresponding cells of this matrix
+   * and another of the same size (the Frobenius inner product).
+   *
+   * @param other The other matrix.
+   *
+   * @return the sum of the products.
+   *
+   * @throws IllegalArgumentException If the matrices differ in size.
+   */
+  public double dot(DoubleMatrix other) {
+    this.checkSameSize(other, "take the dot product of");
+    return ParallelConfig.global().reduce(0, this.height, this.width, (startRow, endRow) -> {
+      double sum = 0;
+      for (int row = startRow; row < endRow; row++) {
+        sum += Lanes.BEST.dot(this.cells, row * this.stride, other.cells, row * other.stride,
+            this.width);
+      } // for
+      return sum;
+    }, (upper, lower, lowerRows) -> upper + lower);
+  } // dot(DoubleMatrix)
+
+  // +-------------+-------------------------------------------------
+  // | Region sums |
+  // +-------------+
+
+  /**
+   * Attach an index that adds up rectangular regions without visiting
+   * their cells, and keep it up to date as the matrix changes. Queries
+   * then take constant time, or logarithmic time while one-cell writes
+   * are frequent; see {@link RegionSumIndex}. Copies of the matrix do not
+   * share the index.
+   */
+  public void indexRegionSums() {
+    if (this.sums == null) {
+      this.sums = new RegionSumIndex.Doubles(this, (index) -> this.cells[index]);
+    } // if
+  } // indexRegionSums()
+
+  /**
+   * Detach the region-sum index, if any, so that writes no longer pay to
+   * keep it up to date.
+   */
+  public void dropRegionSums() {
+    this.sums = null;
+  } // dropRegionSums()
+
+  /**
+   * Add up the cells of a rectangular region. With a region-sum
+   * index attached, this does not visit the cells; otherwise it scans
+   * each row of the region.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   *
+   * @return the sum, or 0 for an empty region.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public double regionSum(int startRow, int startCol, int endRow, int endCol) {
+    this.checkRegion(startRow, startCol, endRow, endCol);
+    if (startRow >= endRow || startCol >= endCol) {
+      return 0;
+    } // if
+    if (this.sums != null) {
+      return ((RegionSumIndex.Doubles) this.sums).sum(startRow, startCol, endRow, endCol);
+    } // if
+    double sum = 0;
+    for (int row = startRow; row < endRow; row++) {
+      int base = row * this.stride;
+      sum += Lanes.BEST.sum(this.cells, base + startCol, base + endCol);
+    } // for
+    return sum;
+  } // regionSum(int, int, int, int)
+
+  /**
+   * Find the mean of the cells of a rectangular region.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   *
+   * @return the mean, or NaN for an empty region.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public double regionMean(int startRow, int startCol, int endRow, int endCol) {
+    double sum = this.regionSum(startRow, startCol, endRow, endCol);
+    return sum / ((double) Math.max(0, endRow - startRow) * Math.max(0, endCol - startCol));
+  } // regionMean(int, int, int, int)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Fill a rectangular region of the matrix with a boxed value.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   * @throws NullPointerException      If val is null.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, Double val) {
+    this.fillRegion(startRow, startCol, endRow, endCol, val.doubleValue());
+  } // fillRegion(int, int, int, int, Double)
+
+  /**
+   * Make a copy of the matrix.
+   *
+   * @return a copy of the matrix.
+   */
+  @Override
+  public DoubleMatrix clone() {
+    return new DoubleMatrix(this);
+  } // clone()
+
+  // +-----------------------+---------------------------------------
+  // | Functional interfaces |
+  // +-----------------------+
+
+  /**
+   * Something to do with each cell of a DoubleMatrix, given its position and
+   * unboxed value.
+   */
+  @FunctionalInterface
+  public interface DoubleCellVisitor {
+    /**
+     * Visit one cell.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @param val The value in the cell.
+     */
+    void visit(int row, int col, double val);
+  } // interface DoubleCellVisitor
+
+  /**
+   * A way to compute the new value of a cell of a DoubleMatrix from its
+   * position and unboxed old value.
+   */
+  @FunctionalInterface
+  public interface DoubleCellOperator {
+    /**
+     * Compute the new value of one cell.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @param val The old value in the cell.
+     *
+     * @return the new value.
+     */
+    double apply(int row, int col, double val);
+  } // interface DoubleCellOperator
+} // class DoubleMatrix
@@ -0,0 +1,738 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+
+/**
+ * A matrix that reaches its cells through a level of indirection. The
+ * cells live in a grid of physical rows and columns, and two index vectors
+ * map each logical row and column to its physical one. Inserting or
+ * deleting a row or column only updates an index vector (plus, for an
+ * insert, resetting the cells of the new line); the other cells never
+ * move.
+ *
+ * <p>Deleted physical rows and columns go on free lists and are reused by
+ * later inserts. When more than half of the physical rows or columns are
+ * free, the matrix compacts itself, and clients may also call
+ * {@link #compact()} whenever it suits them.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+public class IndirectMatrix<T> implements Matrix<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** We never compact when there are fewer free lines than this. */
+  static final int MIN_WASTE = 16;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The width of the matrix. */
+  int width;
+
+  /** The height of the matrix. */
+  int height;
+
+  /** The default value to fill. */
+  T def;
+
+  /** The physical cells. Physical row p starts at index p * colCapacity. */
+  Object[] cells;
+
+  /** The number of physical rows we have room for. */
+  int rowCapacity;
+
+  /** The number of physical columns we have room for. */
+  int colCapacity;
+
+  /** The number of physical rows in use, live or free. */
+  int physRows;
+
+  /** The number of physical columns in use, live or free. */
+  int physCols;
+
+  /** The physical row of each logical row. */
+  int[] rows;
+
+  /** The physical column of each logical column. */
+  int[] cols;
+
+  /** The free physical rows, used as a stack. */
+  int[] freeRows;
+
+  /** The number of free physical rows. */
+  int freeRowCount;
+
+  /** The free physical columns, used as a stack. */
+  int[] freeCols;
+
+  /** The number of free physical columns. */
+  int freeColCount;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given
+   * value as the default.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   * @param defInput    The default value, used to fill all the cells.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public IndirectMatrix(int widthInput, int heightInput, T defInput)
+      throws NegativeArraySizeException {
+    if (widthInput <= 0 || heightInput <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+    this.def = defInput;
+    this.layOut(widthInput, heightInput);
+    Arrays.fill(this.cells, defInput);
+  } // IndirectMatrix(int, int, T)
+
+  /**
+   * Create a new matrix of the specified width and height with null as the
+   * default value.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public IndirectMatrix(int widthInput, int heightInput) throws NegativeArraySizeException {
+    this(widthInput, heightInput, null);
+  } // IndirectMatrix(int, int)
+
+  /**
+   * Create a compact copy of another matrix.
+   *
+   * @param other The matrix to copy.
+   */
+  IndirectMatrix(IndirectMatrix<T> other) {
+    this.def = other.def;
+    this.layOut(other.width, other.height);
+    for (int row = 0; row < this.height; row++) {
+      int src = other.rows[row] * other.colCapacity;
+      int dst = row * this.colCapacity;
+      for (int col = 0; col < this.width; col++) {
+        this.cells[dst + col] = other.cells[src + other.cols[col]];
+      } // for
+    } // for
+  } // IndirectMatrix(IndirectMatrix<T>)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Set up fresh storage in which logical and physical lines coincide.
+   *
+   * @param newWidth  The width of the matrix.
+   * @param newHeight The height of the matrix.
+   */
+  void layOut(int newWidth, int newHeight) {
+    this.width = newWidth;
+    this.height = newHeight;
+    this.rowCapacity = Math.max(1, newHeight);
+    this.colCapacity = Math.max(1, newWidth);
+    this.physRows = newHeight;
+    this.physCols = newWidth;
+    this.cells = MatrixV0.allocate(this.rowCapacity, this.colCapacity);
+    this.rows = identity(this.rowCapacity);
+    this.cols = identity(this.colCapacity);
+    this.freeRows = new int[this.rowCapacity];
+    this.freeCols = new int[this.colCapacity];
+    this.freeRowCount = 0;
+    this.freeColCount = 0;
+  } // layOut(int, int)
+
+  /**
+   * Build the array [0, 1, ..., size-1].
+   *
+   * @param size The size of the array.
+   *
+   * @return the array.
+   */
+  static int[] identity(int size) {
+    int[] result = new int[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = i;
+    } // for
+    return result;
+  } // identity(int)
+
+  /**
+   * Find a physical row for a new logical row, reusing a free one if we can.
+   *
+   * @return the physical row.
+   */
+  int takeRow() {
+    if (this.freeRowCount > 0) {
+      return this.freeRows[--this.freeRowCount];
+    } // if
+    if (this.physRows == this.rowCapacity) {
+      int newCapacity = MatrixV0.grow(this.rowCapacity, this.physRows + 1);
+      Object[] newCells = MatrixV0.allocate(newCapacity, this.colCapacity);
+      System.arraycopy(this.cells, 0, newCells, 0, this.physRows * this.colCapacity);
+      this.cells = newCells;
+      this.rows = Arrays.copyOf(this.rows, newCapacity);
+      this.freeRows = Arrays.copyOf(this.freeRows, newCapacity);
+      this.rowCapacity = newCapacity;
+    } // if
+    return this.physRows++;
+  } // takeRow()
+
+  /**
+   * Find a physical column for a new logical column, reusing a free one if
+   * we can.
+   *
+   * @return the physical column.
+   */
+  int takeCol() {
+    if (this.freeColCount > 0) {
+      return this.freeCols[--this.freeColCount];
+    } // if
+    if (this.physCols == this.colCapacity) {
+      int newCapacity = MatrixV0.grow(this.colCapacity, this.physCols + 1);
+      Object[] newCells = MatrixV0.allocate(this.rowCapacity, newCapacity);
+      for (int p = 0; p < this.physRows; p++) {
+        System.arraycopy(this.cells, p * this.colCapacity, newCells, p * newCapacity,
+            this.physCols);
+      } // for
+      this.cells = newCells;
+      this.cols = Arrays.copyOf(this.cols, newCapacity);
+      this.freeCols = Arrays.copyOf(this.freeCols, newCapacity);
+      this.colCapacity = newCapacity;
+    } // if
+    return this.physCols++;
+  } // takeCol()
+
+  /**
+   * Put a physical row on the free list, clearing its cells so that the
+   * values it held can be garbage collected.
+   *
+   * @param phys The physical row.
+   */
+  void freeRow(int phys) {
+    int base = phys * this.colCapacity;
+    Arrays.fill(this.cells, base, base + this.physCols, null);
+    this.freeRows[this.freeRowCount++] = phys;
+  } // freeRow(int)
+
+  /**
+   * Put a physical column on the free list, clearing its cells so that the
+   * values it held can be garbage collected.
+   *
+   * @param phys The physical column.
+   */
+  void freeCol(int phys) {
+    for (int p = 0; p < this.physRows; p++) {
+      this.cells[p * this.colCapacity + phys] = null;
+    } // for
+    this.freeCols[this.freeColCount++] = phys;
+  } // freeCol(int)
+
+  /**
+   * Open count logical rows backed by freshly reset physical rows. The row
+   * index shifts once.
+   *
+   * @param row   The first logical row to open.
+   * @param count The number of rows to open.
+   */
+  void openRows(int row, int count) {
+    int[] phys = new int[count];
+    for (int i = 0; i < count; i++) {
+      phys[i] = this.takeRow();
+      int base = phys[i] * this.colCapacity;
+      for (int col = 0; col < this.width; col++) {
+        this.cells[base + this.cols[col]] = this.def;
+      } // for
+    } // for
+    System.arraycopy(this.rows, row, this.rows, row + count, this.height - row);
+    System.arraycopy(phys, 0, this.rows, row, count);
+    this.height += count;
+  } // openRows(int, int)
+
+  /**
+   * Open count logical columns backed by freshly reset physical columns.
+   * The column index shifts once.
+   *
+   * @param col   The first logical column to open.
+   * @param count The number of columns to open.
+   */
+  void openCols(int col, int count) {
+    int[] phys = new int[count];
+    for (int i = 0; i < count; i++) {
+      phys[i] = this.takeCol();
+      for (int row = 0; row < this.height; row++) {
+        this.cells[this.rows[row] * this.colCapacity + phys[i]] = this.def;
+      } // for
+    } // for
+    System.arraycopy(this.cols, col, this.cols, col + count, this.width - col);
+    System.arraycopy(phys, 0, this.cols, col, count);
+    this.width += count;
+  } // openCols(int, int)
+
+  /**
+   * Compact the matrix if too many physical lines are free.
+   */
+  void maybeCompact() {
+    if ((this.freeRowCount > MIN_WASTE && this.freeRowCount > this.height)
+        || (this.freeColCount > MIN_WASTE && this.freeColCount > this.width)) {
+      this.compact();
+    } // if
+  } // maybeCompact()
+
+  // +---------------+-----------------------------------------------
+  // | Other methods |
+  // +---------------+
+
+  /**
+   * Rebuild the storage so that logical and physical lines coincide again,
+   * dropping all free rows and columns.
+   */
+  public void compact() {
+    IndirectMatrix<T> compacted = new IndirectMatrix<>(this);
+    this.cells = compacted.cells;
+    this.rowCapacity = compacted.rowCapacity;
+    this.colCapacity = compacted.colCapacity;
+    this.physRows = compacted.physRows;
+    this.physCols = compacted.physCols;
+    this.rows = compacted.rows;
+    this.cols = compacted.cols;
+    this.freeRows = compacted.freeRows;
+    this.freeCols = compacted.freeCols;
+    this.freeRowCount = 0;
+    this.freeColCount = 0;
+  } // compact()
+
+  /**
+   * Determine how many physical rows are free.
+   *
+   * @return the number of free physical rows.
+   */
+  public int freeRows() {
+    return this.freeRowCount;
+  } // freeRows()
+
+  /**
+   * Determine how many physical columns are free.
+   *
+   * @return the number of free physical columns.
+   */
+  public int freeCols() {
+    return this.freeColCount;
+  } // freeCols()
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get(int row, int col) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    return (T) this.cells[this.rows[row] * this.colCapacity + this.cols[col]];
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  public void set(int row, int col, T val) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    this.cells[this.rows[row] * this.colCapacity + this.cols[col]] = val;
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  @Override
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  @Override
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the
+   *                                   height.
+   */
+  @Override
+  public void insertRow(int row) {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    this.openRows(row, 1);
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row  The number of the row to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the
+   *                                   height.
+   * @throws ArraySizeException        If the size of vals is not the same as the
+   *                                   width of the matrix.
+   */
+  @Override
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    if (vals.length != this.width) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    this.openRows(row, 1);
+    int base = this.rows[row] * this.colCapacity;
+    for (int col = 0; col < this.width; col++) {
+      this.cells[base + this.cols[col]] = vals[col];
+    } // for
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than
+   *                                   the width.
+   */
+  @Override
+  public void insertCol(int col) {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    this.openCols(col, 1);
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col  The number of the column to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than
+   *                                   the width.
+   * @throws ArraySizeException        If the size of vals is not the same as the
+   *                                   height of the matrix.
+   */
+  @Override
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    if (vals.length != this.height) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    this.openCols(col, 1);
+    int phys = this.cols[col];
+    for (int row = 0; row < this.height; row++) {
+      this.cells[this.rows[row] * this.colCapacity + phys] = vals[row];
+    } // for
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row. Only the row index moves; the physical row is cleared
+   * and kept for reuse.
+   *
+   * @param row The number of the row to delete.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or
+   *                                   equal to the height.
+   */
+  @Override
+  public void deleteRow(int row) {
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    this.freeRow(this.rows[row]);
+    System.arraycopy(this.rows, row + 1, this.rows, row, this.height - row - 1);
+    this.height--;
+    this.maybeCompact();
+  } // deleteRow(int)
+
+  /**
+   * Delete a column. Only the column index moves; the physical column is
+   * cleared and kept for reuse.
+   *
+   * @param col The number of the column to delete.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than
+   *                                   or equal to the width.
+   */
+  @Override
+  public void deleteCol(int col) {
+    if (col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    this.freeCol(this.cols[col]);
+    System.arraycopy(this.cols, col + 1, this.cols, col, this.width - col - 1);
+    this.width--;
+    this.maybeCompact();
+  } // deleteCol(int)
+
+  /**
+   * Insert count rows filled with the default value. The row index shifts
+   * once; no cells move.
+   *
+   * @param row   The number of the first row to insert.
+   * @param count The number of rows to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertRows(int row, int count) {
+    Matrix.checkInsert(row, this.height, count, "row");
+    this.openRows(row, count);
+  } // insertRows(int, int)
+
+  /**
+   * Insert rows filled with the specified values. The row index shifts
+   * once; no cells move.
+   *
+   * @param row  The number of the first row to insert.
+   * @param vals The values to insert, one array per row.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the width of the matrix.
+   */
+  @Override
+  public void insertRows(int row, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(row, this.height, vals.length, "row");
+    Matrix.checkLengths(vals, this.width);
+    this.openRows(row, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      int base = this.rows[row + i] * this.colCapacity;
+      for (int col = 0; col < this.width; col++) {
+        this.cells[base + this.cols[col]] = vals[i][col];
+      } // for
+    } // for
+  } // insertRows(int, T[][])
+
+  /**
+   * Delete a range of rows. The row index shifts once, and the physical
+   * rows are cleared and kept for reuse.
+   *
+   * @param startRow The first row to delete.
+   * @param endRow   The row to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the rows are out of bounds or
+   *                                   startRow is greater than endRow.
+   */
+  @Override
+  public void deleteRows(int startRow, int endRow) {
+    Matrix.checkDelete(startRow, endRow, this.height, "rows");
+    int count = endRow - startRow;
+    for (int row = startRow; row < endRow; row++) {
+      this.freeRow(this.rows[row]);
+    } // for
+    System.arraycopy(this.rows, endRow, this.rows, startRow, this.height - endRow);
+    this.height -= count;
+    this.maybeCompact();
+  } // deleteRows(int, int)
+
+  /**
+   * Insert count columns filled with the default value. The column index
+   * shifts once; no cells move.
+   *
+   * @param col   The number of the first column to insert.
+   * @param count The number of columns to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertCols(int col, int count) {
+    Matrix.checkInsert(col, this.width, count, "column");
+    this.openCols(col, count);
+  } // insertCols(int, int)
+
+  /**
+   * Insert columns filled with the specified values. The column index
+   * shifts once; no cells move.
+   *
+   * @param col  The number of the first column to insert.
+   * @param vals The values to insert, one array per column.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the height of the matrix.
+   */
+  @Override
+  public void insertCols(int col, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(col, this.width, vals.length, "column");
+    Matrix.checkLengths(vals, this.height);
+    this.openCols(col, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      int phys = this.cols[col + i];
+      for (int row = 0; row < this.height; row++) {
+        this.cells[this.rows[row] * this.colCapacity + phys] = vals[i][row];
+      } // for
+    } // for
+  } // insertCols(int, T[][])
+
+  /**
+   * Delete a range of columns. The column index shifts once, and the
+   * physical columns are cleared and kept for reuse.
+   *
+   * @param startCol The first column to delete.
+   * @param endCol   The column to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the columns are out of bounds or
+   *                                   startCol is greater than endCol.
+   */
+  @Override
+  public void deleteCols(int startCol, int endCol) {
+    Matrix.checkDelete(startCol, endCol, this.width, "columns");
+    int count = endCol - startCol;
+    for (int col = startCol; col < endCol; col++) {
+      this.freeCol(this.cols[col]);
+    } // for
+    System.arraycopy(this.cols, endCol, this.cols, startCol, this.width - endCol);
+    this.width -= count;
+    this.maybeCompact();
+  } // deleteCols(int, int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+    for (int row = startRow; row < endRow; row++) {
+      int base = this.rows[row] * this.colCapacity;
+      for (int col = startCol; col < endCol; col++) {
+        this.cells[base + this.cols[col]] = val;
+      } // for col
+    } // for row
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, T val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+
+    int steps = Lines.steps(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    int row = startRow;
+    int col = startCol;
+    for (int i = 0; i < steps; i++) {
+      this.cells[this.rows[row] * this.colCapacity + this.cols[col]] = val;
+      row += deltaRow;
+      col += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Make a copy of the matrix. The copy is compact: its logical and
+   * physical lines coincide.
+   *
+   * @return a copy of the matrix.
+   */
+  @Override
+  public IndirectMatrix<T> clone() {
+    return new IndirectMatrix<>(this);
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   *
+   * @return true if the other object is a matrix with the same width, height,
+   *         and equal elements; false otherwise.
+   */
+  @Override
+  public boolean equals(Object other) {
+    return Matrix.equals(this, other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix.
+   *
+   * @return the hash code.
+   */
+  @Override
+  public int hashCode() {
+    return Matrix.hashCode(this);
+  } // hashCode()
+} // class IndirectMatrix<T>
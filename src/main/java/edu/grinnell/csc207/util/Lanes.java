@@ -0,0 +1,247 @@
+package edu.grinnell.csc207.util;
+
+/**
+ * Loops over ranges of primitive arrays, the inner loops of the numeric
+ * reductions and element-wise operations of the primitive matrices. There
+ * are two implementations: {@link ScalarLanes}, plain Java loops that
+ * always work, and VectorLanes, which uses the SIMD lanes of the
+ * incubating Vector API. VectorLanes is only compiled by the
+ * <code>vector</code> Maven profile and only runs when the
+ * <code>jdk.incubator.vector</code> module is present, so we look for it
+ * by reflection and fall back to the scalar loops.
+ *
+ * <p>Sums and dot products may add their terms in any order, so the
+ * results of the two implementations can differ in the last few bits.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+interface Lanes {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The name of the class with the vector loops. */
+  String VECTOR_CLASS = "edu.grinnell.csc207.util.VectorLanes";
+
+  /** The fastest implementation available. */
+  Lanes BEST = load();
+
+  // +----------------+----------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Find the fastest implementation available.
+   *
+   * @return the vector loops, if they were compiled and the Vector API is
+   *   present; the scalar loops otherwise.
+   */
+  static Lanes load() {
+    try {
+      return (Lanes) Class.forName(VECTOR_CLASS).getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return new ScalarLanes();
+    } // try/catch
+  } // load()
+
+  // +---------+-----------------------------------------------------
+  // | Doubles |
+  // +---------+
+
+  /**
+   * Add up a range of doubles.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the sum.
+   */
+  double sum(double[] vals, int from, int to);
+
+  /**
+   * Find the smallest of a range of doubles, as Math.min would.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the smallest value, or positive infinity for an empty range.
+   */
+  double min(double[] vals, int from, int to);
+
+  /**
+   * Find the largest of a range of doubles, as Math.max would.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the largest value, or negative infinity for an empty range.
+   */
+  double max(double[] vals, int from, int to);
+
+  /**
+   * Count the doubles in a range that are greater than a threshold.
+   *
+   * @param vals      The array.
+   * @param from      The first index (inclusive).
+   * @param to        The last index (exclusive).
+   * @param threshold The threshold.
+   *
+   * @return the number of values greater than the threshold.
+   */
+  int countAbove(double[] vals, int from, int to, double threshold);
+
+  /**
+   * Compute the dot product of two ranges of doubles.
+   *
+   * @param left      The first array.
+   * @param leftFrom  Where the range starts in the first array.
+   * @param right     The second array.
+   * @param rightFrom Where the range starts in the second array.
+   * @param length    The length of the ranges.
+   *
+   * @return the sum of the products of corresponding values.
+   */
+  double dot(double[] left, int leftFrom, double[] right, int rightFrom, int length);
+
+  /**
+   * Add two ranges of doubles into a third.
+   *
+   * @param left      The first array.
+   * @param leftFrom  Where the range starts in the first array.
+   * @param right     The second array.
+   * @param rightFrom Where the range starts in the second array.
+   * @param out       Where to put the sums.
+   * @param outFrom   Where the range starts in that array.
+   * @param length    The length of the ranges.
+   */
+  void add(double[] left, int leftFrom, double[] right, int rightFrom, double[] out,
+      int outFrom, int length);
+
+  /**
+   * Multiply two ranges of doubles, value by value, into a third.
+   *
+   * @param left      The first array.
+   * @param leftFrom  Where the range starts in the first array.
+   * @param right     The second array.
+   * @param rightFrom Where the range starts in the second array.
+   * @param out       Where to put the products.
+   * @param outFrom   Where the range starts in that array.
+   * @param length    The length of the ranges.
+   */
+  void multiply(double[] left, int leftFrom, double[] right, int rightFrom, double[] out,
+      int outFrom, int length);
+
+  // +------+--------------------------------------------------------
+  // | Ints |
+  // +------+
+
+  /**
+   * Add up a range of ints without overflow.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the sum.
+   */
+  long sum(int[] vals, int from, int to);
+
+  /**
+   * Find the smallest of a range of ints.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the smallest value, or Integer.MAX_VALUE for an empty range.
+   */
+  int min(int[] vals, int from, int to);
+
+  /**
+   * Find the largest of a range of ints.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the largest value, or Integer.MIN_VALUE for an empty range.
+   */
+  int max(int[] vals, int from, int to);
+
+  // +-------+-------------------------------------------------------
+  // | Longs |
+  // +-------+
+
+  /**
+   * Add up a range of longs. Like ordinary long addition, the sum wraps
+   * around on overflow.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the sum.
+   */
+  long sum(long[] vals, int from, int to);
+
+  /**
+   * Find the smallest of a range of longs.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the smallest value, or Long.MAX_VALUE for an empty range.
+   */
+  long min(long[] vals, int from, int to);
+
+  /**
+   * Find the largest of a range of longs.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the largest value, or Long.MIN_VALUE for an empty range.
+   */
+  long max(long[] vals, int from, int to);
+
+  // +-------------------+-------------------------------------------
+  // | Helper interfaces |
+  // +-------------------+
+
+  /**
+   * A reduction over a range of array indices, with a double result.
+   */
+  @FunctionalInterface
+  interface DoubleRange {
+    /**
+     * Reduce a range.
+     *
+     * @param from The first index (inclusive).
+     * @param to   The last index (exclusive).
+     *
+     * @return the result for the range.
+     */
+    double apply(int from, int to);
+  } // interface DoubleRange
+
+  /**
+   * A reduction over a range of array indices, with a long result.
+   */
+  @FunctionalInterface
+  interface LongRange {
+    /**
+     * Reduce a range.
+     *
+     * @param from The first index (inclusive).
+     * @param to   The last index (exclusive).
+     *
+     * @return the result for the range.
+     */
+    long apply(int from, int to);
+  } // interface LongRange
+} // interface Lanes
@@ -0,0 +1,110 @@
+package edu.grinnell.csc207.util;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A live, fixed-size list view of a row, column, or other straight run of
+ * cells in a matrix. Element i is the cell at (row + i * deltaRow,
+ * col + i * deltaCol). Reads and writes go straight to the matrix; adding
+ * or removing elements is not supported.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+class LineView<T> extends AbstractList<T> implements RandomAccess {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The matrix we look into. */
+  final Matrix<T> matrix;
+
+  /** The row of element 0. */
+  final int row;
+
+  /** The column of element 0. */
+  final int col;
+
+  /** How far the row moves per element. */
+  final int deltaRow;
+
+  /** How far the column moves per element. */
+  final int deltaCol;
+
+  /** The number of elements. */
+  final int size;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a view of a run of cells.
+   *
+   * @param matrixInput   The matrix to look into.
+   * @param rowInput      The row of element 0.
+   * @param colInput      The column of element 0.
+   * @param deltaRowInput How far the row moves per element.
+   * @param deltaColInput How far the column moves per element.
+   * @param sizeInput     The number of elements.
+   */
+  LineView(Matrix<T> matrixInput, int rowInput, int colInput, int deltaRowInput,
+      int deltaColInput, int sizeInput) {
+    this.matrix = matrixInput;
+    this.row = rowInput;
+    this.col = colInput;
+    this.deltaRow = deltaRowInput;
+    this.deltaCol = deltaColInput;
+    this.size = sizeInput;
+  } // LineView(Matrix<T>, int, int, int, int, int)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Get an element.
+   *
+   * @param index The index of the element.
+   *
+   * @return the value of the matching cell.
+   *
+   * @throws IndexOutOfBoundsException If the index is out of bounds.
+   */
+  @Override
+  public T get(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Error: invalid index.");
+    } // if
+    return this.matrix.get(this.row + index * this.deltaRow, this.col + index * this.deltaCol);
+  } // get(int)
+
+  /**
+   * Set an element.
+   *
+   * @param index The index of the element.
+   * @param val   The value to store in the matching cell.
+   *
+   * @return the value the cell held before.
+   *
+   * @throws IndexOutOfBoundsException If the index is out of bounds.
+   */
+  @Override
+  public T set(int index, T val) {
+    T old = this.get(index);
+    this.matrix.set(this.row + index * this.deltaRow, this.col + index * this.deltaCol, val);
+    return old;
+  } // set(int, T)
+
+  /**
+   * Determine the number of elements.
+   *
+   * @return the number of elements.
+   */
+  @Override
+  public int size() {
+    return this.size;
+  } // size()
+} // class LineView<T>
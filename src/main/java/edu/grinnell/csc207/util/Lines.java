@@ -0,0 +1,175 @@
+package edu.grinnell.csc207.util;
+
+/**
+ * Line rasterization shared by the storage engines. Stepped lines (the ones
+ * {@link Matrix#fillLine} draws) get their step count in closed form, so
+ * engines can fill them with a counted loop; arbitrary segments (the ones
+ * {@link Matrix#drawLine} draws) are traced with Bresenham's algorithm and
+ * come out as horizontal runs, so engines can fill each run in bulk.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+final class Lines {
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * There are no lines objects.
+   */
+  private Lines() {
+  } // Lines()
+
+  // +----------------+----------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Determine how many cells a stepped line fills. The line starts at
+   * (startRow, startCol) and moves by (deltaRow, deltaCol) until the row or
+   * column reaches endRow or endCol, or drops below 0. A line that does not
+   * move in either direction fills its first cell only.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   *
+   * @return the number of cells on the line.
+   */
+  static int steps(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol) {
+    long steps = Math.min(axisSteps(startRow, deltaRow, endRow),
+        axisSteps(startCol, deltaCol, endCol));
+    if (steps == Long.MAX_VALUE) {
+      return 1;
+    } // if
+    return (int) steps;
+  } // steps(int, int, int, int, int, int)
+
+  /**
+   * Determine how many steps a line can take along one axis.
+   *
+   * @param start The position to start with (inclusive).
+   * @param delta How much to change the position in each step.
+   * @param end   The position to stop with (exclusive).
+   *
+   * @return the number of steps, or Long.MAX_VALUE if the axis never stops
+   *   the line.
+   */
+  static long axisSteps(int start, int delta, int end) {
+    if (start >= end) {
+      return 0;
+    } else if (delta > 0) {
+      return ((long) end - start + delta - 1) / delta;
+    } else if (delta < 0) {
+      return start / -(long) delta + 1;
+    } else {
+      return Long.MAX_VALUE;
+    } // if/else
+  } // axisSteps(int, int, int)
+
+  /**
+   * Check that a segment's endpoints both lie in a matrix.
+   *
+   * @param startRow The row of the first endpoint.
+   * @param startCol The column of the first endpoint.
+   * @param endRow   The row of the second endpoint.
+   * @param endCol   The column of the second endpoint.
+   * @param width    The width of the matrix.
+   * @param height   The height of the matrix.
+   *
+   * @throws IndexOutOfBoundsException If either endpoint is outside the
+   *   matrix.
+   */
+  static void checkSegment(int startRow, int startCol, int endRow, int endCol, int width,
+      int height) {
+    if (startRow < 0 || startCol < 0 || endRow < 0 || endCol < 0 || startRow >= height
+        || endRow >= height || startCol >= width || endCol >= width) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+  } // checkSegment(int, int, int, int, int, int)
+
+  /**
+   * Check a batch of segments, four ints (startRow, startCol, endRow,
+   * endCol) per segment.
+   *
+   * @param segments The segments.
+   * @param width    The width of the matrix.
+   * @param height   The height of the matrix.
+   *
+   * @throws IllegalArgumentException  If the length is not a multiple of four.
+   * @throws IndexOutOfBoundsException If any endpoint is outside the matrix.
+   */
+  static void checkSegments(int[] segments, int width, int height) {
+    if (segments.length % 4 != 0) {
+      throw new IllegalArgumentException("Error: segments need four coordinates each.");
+    } // if
+    for (int i = 0; i < segments.length; i += 4) {
+      checkSegment(segments[i], segments[i + 1], segments[i + 2], segments[i + 3], width,
+          height);
+    } // for
+  } // checkSegments(int[], int, int)
+
+  /**
+   * Trace the segment between two cells (both inclusive) with Bresenham's
+   * algorithm, reporting each row's cells as one run. Runs come out in order
+   * from the first endpoint to the second.
+   *
+   * @param startRow The row of the first endpoint.
+   * @param startCol The column of the first endpoint.
+   * @param endRow   The row of the second endpoint.
+   * @param endCol   The column of the second endpoint.
+   * @param sink     What to do with each run.
+   */
+  static void trace(int startRow, int startCol, int endRow, int endCol, RunSink sink) {
+    long rows = Math.abs((long) endRow - startRow);
+    long cols = Math.abs((long) endCol - startCol);
+    int rowStep = (startRow < endRow) ? 1 : -1;
+    int colStep = (startCol < endCol) ? 1 : -1;
+    long error = cols - rows;
+    int row = startRow;
+    int col = startCol;
+    int low = col;
+    int high = col;
+    while (row != endRow || col != endCol) {
+      long twice = 2 * error;
+      if (twice > -rows) {
+        error -= rows;
+        col += colStep;
+      } // if
+      if (twice < cols) {
+        error += cols;
+        sink.run(row, low, high + 1);
+        row += rowStep;
+        low = col;
+        high = col;
+      } else {
+        low = Math.min(low, col);
+        high = Math.max(high, col);
+      } // if/else
+    } // while
+    sink.run(row, low, high + 1);
+  } // trace(int, int, int, int, RunSink)
+
+  // +-------------------+-------------------------------------------
+  // | Helper interfaces |
+  // +-------------------+
+
+  /**
+   * Something that receives the horizontal runs of a traced segment.
+   */
+  @FunctionalInterface
+  interface RunSink {
+    /**
+     * Handle one run.
+     *
+     * @param row      The row of the run.
+     * @param startCol The first column of the run (inclusive).
+     * @param endCol   The last column of the run (exclusive).
+     */
+    void run(int row, int startCol, int endCol);
+  } // interface RunSink
+} // class Lines
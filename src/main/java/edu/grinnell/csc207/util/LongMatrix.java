@@ -0,0 +1,509 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+
+/**
+ * A matrix of longs, stored unboxed in a single long array. The usual
+ * <code>Matrix</code> methods work on boxed Long values; the
+ * <code>getLong</code>, <code>setLong</code>, <code>fillRegion</code> and
+ * <code>fillLine</code> methods that take a long avoid boxing altogether.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+public class LongMatrix extends PrimitiveMatrix<Long> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The default value to fill. */
+  long def;
+
+  /** The cells of the matrix. Row r starts at index r * stride. */
+  long[] cells;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given
+   * value as the default.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   * @param defInput    The default value, used to fill all the cells.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public LongMatrix(int widthInput, int heightInput, long defInput)
+      throws NegativeArraySizeException {
+    super(widthInput, heightInput);
+    this.def = defInput;
+    this.cells = (long[]) this.allocate(heightInput, widthInput);
+    Arrays.fill(this.cells, defInput);
+  } // LongMatrix(int, int, long)
+
+  /**
+   * Create a new matrix of the specified width and height with 0 as the
+   * default value.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public LongMatrix(int widthInput, int heightInput) throws NegativeArraySizeException {
+    this(widthInput, heightInput, 0);
+  } // LongMatrix(int, int)
+
+  /**
+   * Create a copy of another matrix.
+   *
+   * @param other The matrix to copy.
+   */
+  LongMatrix(LongMatrix other) {
+    super(other);
+    this.def = other.def;
+    this.cells = Arrays.copyOf(other.cells, other.height * other.stride);
+  } // LongMatrix(LongMatrix)
+
+  // +---------------+-----------------------------------------------
+  // | Storage hooks |
+  // +---------------+
+
+  /**
+   * Get the array that holds the cells.
+   *
+   * @return the array.
+   */
+  @Override
+  Object array() {
+    return this.cells;
+  } // array()
+
+  /**
+   * Replace the array that holds the cells.
+   *
+   * @param newCells The new array.
+   */
+  @Override
+  void array(Object newCells) {
+    this.cells = (long[]) newCells;
+  } // array(Object)
+
+  /**
+   * Allocate a new long array.
+   *
+   * @param size The number of cells.
+   *
+   * @return the new array.
+   */
+  @Override
+  Object allocate(int size) {
+    return new long[size];
+  } // allocate(int)
+
+  /**
+   * Fill a range of the array with the default value.
+   *
+   * @param from The first index to fill (inclusive).
+   * @param to   The last index to fill (exclusive).
+   */
+  @Override
+  void clear(int from, int to) {
+    Arrays.fill(this.cells, from, to, this.def);
+  } // clear(int, int)
+
+  /**
+   * Get the boxed value at an index of the array.
+   *
+   * @param index The index.
+   *
+   * @return the boxed value.
+   */
+  @Override
+  Long box(int index) {
+    return this.cells[index];
+  } // box(int)
+
+  /**
+   * Store a boxed value at an index of the array.
+   *
+   * @param index The index.
+   * @param val   The value.
+   */
+  @Override
+  void unbox(int index, Long val) {
+    this.cells[index] = val;
+  } // unbox(int, Long)
+
+  /**
+   * Determine the hash code of the value at an index, without boxing.
+   *
+   * @param index The index.
+   *
+   * @return the hash code.
+   */
+  @Override
+  int hash(int index) {
+    return Long.hashCode(this.cells[index]);
+  } // hash(int)
+
+  /**
+   * Determine if a row has the same cells as the same row of another
+   * LongMatrix.
+   *
+   * @param other The other matrix.
+   * @param row   The row to compare.
+   *
+   * @return true if the rows are equal and false otherwise.
+   */
+  @Override
+  boolean sameRow(PrimitiveMatrix<Long> other, int row) {
+    long[] theirs = ((LongMatrix) other).cells;
+    int mine = row * this.stride;
+    int start = row * other.stride;
+    return Arrays.equals(this.cells, mine, mine + this.width,
+        theirs, start, start + this.width);
+  } // sameRow(PrimitiveMatrix<Long>, int)
+
+  // +-----------------+---------------------------------------------
+  // | Unboxed methods |
+  // +-----------------+
+
+  /**
+   * Get the long at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  public long getLong(int row, int col) {
+    return this.cells[this.index(row, col)];
+  } // getLong(int, int)
+
+  /**
+   * Set the long at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  public void setLong(int row, int col, long val) {
+    this.cells[this.index(row, col)] = val;
+    this.touchCell(row, col);
+  } // setLong(int, int, long)
+
+  /**
+   * Fill a rectangular region of the matrix with a long.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, long val) {
+    this.checkRegion(startRow, startCol, endRow, endCol);
+    this.touchCells();
+    if (startCol < endCol) {
+      for (int row = startRow; row < endRow; row++) {
+        int base = row * this.stride;
+        Arrays.fill(this.cells, base + startCol, base + endCol, val);
+      } // for
+    } // if
+  } // fillRegion(int, int, int, int, long)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal) with a long.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, long val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+
+    this.touchCells();
+    int steps = Lines.steps(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    if (steps == 0) {
+      return;
+    } // if
+    int index = startRow * this.stride + startCol;
+    if (deltaRow == 0 && (deltaCol == 1 || deltaCol == -1)) {
+      int first = (deltaCol > 0) ? index : index - steps + 1;
+      Arrays.fill(this.cells, first, first + steps, val);
+    } else {
+      int step = deltaRow * this.stride + deltaCol;
+      for (int i = 0; i < steps; i++) {
+        this.cells[index] = val;
+        index += step;
+      } // for
+    } // if/else
+  } // fillLine(int, int, int, int, int, int, long)
+
+  /**
+   * Visit every cell as a long, in row-major order, without boxing.
+   *
+   * @param visitor What to do with each cell.
+   */
+  public void forEachLong(LongCellVisitor visitor) {
+    this.forEachLong(0, 0, this.height, this.width, visitor);
+  } // forEachLong(LongCellVisitor)
+
+  /**
+   * Visit every cell in a rectangular region as a long, in row-major order,
+   * after one bounds check and without boxing.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param visitor  What to do with each cell.
+   *
+   * @throws IndexOutOfBoundsException If the region does not fit in the
+   *                                   matrix.
+   */
+  public void forEachLong(int startRow, int startCol, int endRow, int endCol,
+      LongCellVisitor visitor) {
+    Matrix.checkRegion(this, startRow, startCol, endRow, endCol);
+    long[] slots = this.cells;
+    for (int row = startRow; row < endRow; row++) {
+      int base = row * this.stride;
+      for (int col = startCol; col < endCol; col++) {
+        visitor.visit(row, col, slots[base + col]);
+      } // for
+    } // for
+  } // forEachLong(int, int, int, int, LongCellVisitor)
+
+  /**
+   * Replace the value of every cell, in row-major order, without boxing.
+   *
+   * @param operator How to compute each new value.
+   */
+  public void replaceAllLongs(LongCellOperator operator) {
+    this.replaceAllLongs(0, 0, this.height, this.width, operator);
+  } // replaceAllLongs(LongCellOperator)
+
+  /**
+   * Replace the value of every cell in a rectangular region, in row-major
+   * order, after one bounds check and without boxing.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param operator How to compute each new value.
+   *
+   * @throws IndexOutOfBoundsException If the region does not fit in the
+   *                                   matrix.
+   */
+  public void replaceAllLongs(int startRow, int startCol, int endRow, int endCol,
+      LongCellOperator operator) {
+    Matrix.checkRegion(this, startRow, startCol, endRow, endCol);
+    this.touchCells();
+    long[] slots = this.cells;
+    for (int row = startRow; row < endRow; row++) {
+      int base = row * this.stride;
+      for (int col = startCol; col < endCol; col++) {
+        slots[base + col] = operator.apply(row, col, slots[base + col]);
+      } // for
+    } // for
+  } // replaceAllLongs(int, int, int, int, LongCellOperator)
+
+  // +------------+--------------------------------------------------
+  // | Reductions |
+  // +------------+
+
+  /**
+   * Add up all of the cells, using SIMD lanes when the Vector API is
+   * available and parallel bands of rows on large matrices. Like ordinary
+   * long addition, the sum wraps around on overflow.
+   *
+   * @return the sum.
+   */
+  public long sum() {
+    return this.reduceLongs((from, to) -> Lanes.BEST.sum(this.cells, from, to), Long::sum);
+  } // sum()
+
+  /**
+   * Find the smallest cell.
+   *
+   * @return the smallest value.
+   */
+  public long min() {
+    return this.reduceLongs((from, to) -> Lanes.BEST.min(this.cells, from, to),
+        Math::min);
+  } // min()
+
+  /**
+   * Find the largest cell.
+   *
+   * @return the largest value.
+   */
+  public long max() {
+    return this.reduceLongs((from, to) -> Lanes.BEST.max(this.cells, from, to),
+        Math::max);
+  } // max()
+
+  // +-------------+-------------------------------------------------
+  // | Region sums |
+  // +-------------+
+
+  /**
+   * Attach an index that adds up rectangular regions without visiting
+   * their cells, and keep it up to date as the matrix changes. Queries
+   * then take constant time, or logarithmic time while one-cell writes
+   * are frequent; see {@link RegionSumIndex}. Copies of the matrix do not
+   * share the index.
+   */
+  public void indexRegionSums() {
+    if (this.sums == null) {
+      this.sums = new RegionSumIndex.Longs(this, (index) -> this.cells[index]);
+    } // if
+  } // indexRegionSums()
+
+  /**
+   * Detach the region-sum index, if any, so that writes no longer pay to
+   * keep it up to date.
+   */
+  public void dropRegionSums() {
+    this.sums = null;
+  } // dropRegionSums()
+
+  /**
+   * Add up the cells of a rectangular region. With a region-sum
+   * index attached, this does not visit the cells; otherwise it scans
+   * each row of the region.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   *
+   * @return the sum, or 0 for an empty region.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public long regionSum(int startRow, int startCol, int endRow, int endCol) {
+    this.checkRegion(startRow, startCol, endRow, endCol);
+    if (startRow >= endRow || startCol >= endCol) {
+      return 0;
+    } // if
+    if (this.sums != null) {
+      return ((RegionSumIndex.Longs) this.sums).sum(startRow, startCol, endRow, endCol);
+    } // if
+    long sum = 0;
+    for (int row = startRow; row < endRow; row++) {
+      int base = row * this.stride;
+      sum += Lanes.BEST.sum(this.cells, base + startCol, base + endCol);
+    } // for
+    return sum;
+  } // regionSum(int, int, int, int)
+
+  /**
+   * Find the mean of the cells of a rectangular region.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   *
+   * @return the mean, or NaN for an empty region.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public double regionMean(int startRow, int startCol, int endRow, int endCol) {
+    double sum = this.regionSum(startRow, startCol, endRow, endCol);
+    return sum / ((double) Math.max(0, endRow - startRow) * Math.max(0, endCol - startCol));
+  } // regionMean(int, int, int, int)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Fill a rectangular region of the matrix with a boxed value.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   * @throws NullPointerException      If val is null.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, Long val) {
+    this.fillRegion(startRow, startCol, endRow, endCol, val.longValue());
+  } // fillRegion(int, int, int, int, Long)
+
+  /**
+   * Make a copy of the matrix.
+   *
+   * @return a copy of the matrix.
+   */
+  @Override
+  public LongMatrix clone() {
+    return new LongMatrix(this);
+  } // clone()
+
+  // +-----------------------+---------------------------------------
+  // | Functional interfaces |
+  // +-----------------------+
+
+  /**
+   * Something to do with each cell of a LongMatrix, given its position and
+   * unboxed value.
+   */
+  @FunctionalInterface
+  public interface LongCellVisitor {
+    /**
+     * Visit one cell.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @param val The value in the cell.
+     */
+    void visit(int row, int col, long val);
+  } // interface LongCellVisitor
+
+  /**
+   * A way to compute the new value of a cell of a LongMatrix from its
+   * position and unboxed old value.
+   */
+  @FunctionalInterface
+  public interface LongCellOperator {
+    /**
+     * Compute the new value of one cell.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @param val The old value in the cell.
+     *
+     * @return the new value.
+     */
+    long apply(int row, int col, long val);
+  } // interface LongCellOperator
+} // class LongMatrix
@@ -0,0 +1,1196 @@
+package edu.grinnell.csc207.util;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A matrix of fixed-width values stored in a memory-mapped file. The
+ * operating system pages cells in as they are used, so the matrix may be far
+ * larger than memory, and reopening a file reads only its header and index
+ * tables.
+ *
+ * <p>The file holds, in little-endian order:
+ *
+ * <ul>
+ * <li>a 64-byte header: the magic number "MTRX", the format version, the
+ * bytes per cell, the width and height, the physical row and column
+ * capacities, and (at byte 32) the default value;</li>
+ * <li>the cells, row-major by physical row and column;</li>
+ * <li>the row table, mapping each logical row to a physical row; and</li>
+ * <li>the column table, mapping each logical column to a physical one.</li>
+ * </ul>
+ *
+ * <p>As in {@link IndirectMatrix}, inserting or deleting a row or column
+ * only claims or releases a physical line and rewrites the small tables;
+ * the cells stay where they are. The free lines are whatever the tables do
+ * not mention, so they are worked out when the file is opened. Only running
+ * out of physical columns moves cells, since it changes the length of every
+ * physical row.
+ *
+ * <p>A single mapping can cover at most two gigabytes, so the cells are
+ * mapped in regions of whole physical rows.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+public class MappedMatrix<T> implements Matrix<T>, Closeable {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The first four bytes of every matrix file. */
+  static final int MAGIC = 0x5852544D;
+
+  /** The version of the file format. */
+  static final int VERSION = 1;
+
+  /** The size of the header. */
+  static final int HEADER_BYTES = 64;
+
+  /** Where the default value sits in the header. */
+  static final int DEF_OFFSET = 32;
+
+  /** The largest region we map at once. */
+  static final int REGION_BYTES = 1 << 30;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The file. */
+  final Path path;
+
+  /** The open channel to the file. */
+  final FileChannel channel;
+
+  /** How cells are encoded. */
+  final CellCodec<T> codec;
+
+  /** The number of bytes per cell. */
+  final int cellBytes;
+
+  /** The default value. */
+  final T def;
+
+  /** The largest region this matrix maps. */
+  final int maxRegionBytes;
+
+  /** Whether to delete the file on close. */
+  boolean temporary;
+
+  /** The width of the matrix. */
+  int width;
+
+  /** The height of the matrix. */
+  int height;
+
+  /** The number of physical rows in the file. */
+  int rowCapacity;
+
+  /** The number of physical columns in the file. */
+  int colCapacity;
+
+  /** The physical row of each logical row; as long as the row capacity. */
+  int[] rows;
+
+  /** The physical column of each logical column; as long as the capacity. */
+  int[] cols;
+
+  /** The stack of unused physical rows. */
+  int[] freeRows;
+
+  /** The number of entries in freeRows. */
+  int freeRowCount;
+
+  /** The stack of unused physical columns. */
+  int[] freeCols;
+
+  /** The number of entries in freeCols. */
+  int freeColCount;
+
+  /** The number of physical rows in each region. */
+  int rowsPerRegion;
+
+  /** The mapped regions, or null once the matrix is closed. */
+  MappedByteBuffer[] regions;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Set up a matrix on an open channel. The factories fill in the rest.
+   *
+   * @param pathInput      The file.
+   * @param channelInput   The open channel to the file.
+   * @param codecInput     How cells are encoded.
+   * @param defInput       The default value.
+   * @param maxRegionInput The largest region to map.
+   */
+  MappedMatrix(Path pathInput, FileChannel channelInput, CellCodec<T> codecInput, T defInput,
+      int maxRegionInput) {
+    this.path = pathInput;
+    this.channel = channelInput;
+    this.codec = codecInput;
+    this.cellBytes = codecInput.bytes();
+    this.def = defInput;
+    this.maxRegionBytes = maxRegionInput;
+  } // MappedMatrix(Path, FileChannel, CellCodec<T>, T, int)
+
+  /**
+   * Create a new matrix file, replacing any file already at the path, in
+   * which every cell holds the given default value.
+   *
+   * @param <T>    The type of values stored in the matrix.
+   * @param path   The file to create.
+   * @param width  The width of the matrix.
+   * @param height The height of the matrix.
+   * @param def    The default value, which may not be null.
+   * @param codec  How to encode cells.
+   *
+   * @return the new matrix.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   * @throws IOException                If the file cannot be written.
+   */
+  public static <T> MappedMatrix<T> create(Path path, int width, int height, T def,
+      CellCodec<T> codec) throws IOException {
+    return create(path, width, height, def, codec, REGION_BYTES);
+  } // create(Path, int, int, T, CellCodec<T>)
+
+  /**
+   * Create a new matrix file with a limit on the size of its regions.
+   *
+   * @param <T>       The type of values stored in the matrix.
+   * @param path      The file to create.
+   * @param width     The width of the matrix.
+   * @param height    The height of the matrix.
+   * @param def       The default value, which may not be null.
+   * @param codec     How to encode cells.
+   * @param maxRegion The largest region to map.
+   *
+   * @return the new matrix.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   * @throws IOException                If the file cannot be written.
+   */
+  static <T> MappedMatrix<T> create(Path path, int width, int height, T def,
+      CellCodec<T> codec, int maxRegion) throws IOException {
+    if (width <= 0 || height <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    try {
+      MappedMatrix<T> result = new MappedMatrix<>(path, channel, codec, def, maxRegion);
+      result.width = width;
+      result.height = height;
+      result.rowCapacity = height;
+      result.colCapacity = width;
+      result.rows = IndirectMatrix.identity(height);
+      result.cols = IndirectMatrix.identity(width);
+      result.findFree();
+      result.writeTables();
+      result.mapCells();
+      byte[] pattern = codec.repeat(def, width);
+      for (int row = 0; row < height; row++) {
+        result.region(row).put(result.offset(row, 0), pattern);
+      } // for
+      return result;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    } // try/catch
+  } // create(Path, int, int, T, CellCodec<T>, int)
+
+  /**
+   * Open an existing matrix file. Only the header and index tables are
+   * read; cells are paged in as they are used.
+   *
+   * @param <T>   The type of values stored in the matrix.
+   * @param path  The file to open.
+   * @param codec How cells are encoded, which must match the file.
+   *
+   * @return the matrix.
+   *
+   * @throws IOException If the file cannot be read or is not a matrix file
+   *                     with cells of the codec's size.
+   */
+  public static <T> MappedMatrix<T> open(Path path, CellCodec<T> codec) throws IOException {
+    return open(path, codec, REGION_BYTES);
+  } // open(Path, CellCodec<T>)
+
+  /**
+   * Open an existing matrix file with a limit on the size of its regions.
+   *
+   * @param <T>       The type of values stored in the matrix.
+   * @param path      The file to open.
+   * @param codec     How cells are encoded, which must match the file.
+   * @param maxRegion The largest region to map.
+   *
+   * @return the matrix.
+   *
+   * @throws IOException If the file cannot be read or is not a matrix file
+   *                     with cells of the codec's size.
+   */
+  static <T> MappedMatrix<T> open(Path path, CellCodec<T> codec, int maxRegion)
+      throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    try {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      readFully(channel, header, 0);
+      if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+        throw new IOException("Error: not a matrix file: " + path);
+      } // if
+      if (header.getInt(8) != codec.bytes()) {
+        throw new IOException("Error: file holds " + header.getInt(8) + "-byte cells, not "
+            + codec.bytes());
+      } // if
+      MappedMatrix<T> result = new MappedMatrix<>(path, channel, codec,
+          codec.read(header, DEF_OFFSET), maxRegion);
+      result.width = header.getInt(12);
+      result.height = header.getInt(16);
+      result.rowCapacity = header.getInt(20);
+      result.colCapacity = header.getInt(24);
+      result.readTables();
+      result.findFree();
+      result.mapCells();
+      return result;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    } // try/catch
+  } // open(Path, CellCodec<T>, int)
+
+  // +----------+----------------------------------------------------
+  // | File I/O |
+  // +----------+
+
+  /**
+   * Read until a buffer is full.
+   *
+   * @param channel  The channel to read from.
+   * @param buf      The buffer to fill.
+   * @param position Where in the file to start.
+   *
+   * @throws IOException If the file ends first or cannot be read.
+   */
+  static void readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+    long at = position;
+    while (buf.hasRemaining()) {
+      int count = channel.read(buf, at);
+      if (count < 0) {
+        throw new EOFException("Error: matrix file is truncated.");
+      } // if
+      at += count;
+    } // while
+    buf.flip();
+  } // readFully(FileChannel, ByteBuffer, long)
+
+  /**
+   * Write all of a buffer.
+   *
+   * @param channel  The channel to write to.
+   * @param buf      The buffer to write.
+   * @param position Where in the file to start.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  static void writeFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+    long at = position;
+    while (buf.hasRemaining()) {
+      at += channel.write(buf, at);
+    } // while
+  } // writeFully(FileChannel, ByteBuffer, long)
+
+  /**
+   * Find where the index tables start.
+   *
+   * @return the position of the row table.
+   */
+  final long tablesAt() {
+    return HEADER_BYTES + (long) this.rowCapacity * this.colCapacity * this.cellBytes;
+  } // tablesAt()
+
+  /**
+   * Write the header.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  final void writeHeader() throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    header.putInt(0, MAGIC);
+    header.putInt(4, VERSION);
+    header.putInt(8, this.cellBytes);
+    header.putInt(12, this.width);
+    header.putInt(16, this.height);
+    header.putInt(20, this.rowCapacity);
+    header.putInt(24, this.colCapacity);
+    this.codec.write(header, DEF_OFFSET, this.def);
+    writeFully(this.channel, header, 0);
+  } // writeHeader()
+
+  /**
+   * Write the header and both index tables.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  final void writeTables() throws IOException {
+    this.writeHeader();
+    ByteBuffer tables = ByteBuffer.allocate((this.rowCapacity + this.colCapacity) * Integer.BYTES)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    tables.asIntBuffer().put(this.rows).put(this.cols);
+    writeFully(this.channel, tables, this.tablesAt());
+  } // writeTables()
+
+  /**
+   * Write the header and tables, reporting failure as an unchecked
+   * exception, since the Matrix methods cannot throw IOException.
+   *
+   * @throws UncheckedIOException If the file cannot be written.
+   */
+  final void sync() {
+    try {
+      this.writeTables();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } // try/catch
+  } // sync()
+
+  /**
+   * Read both index tables.
+   *
+   * @throws IOException If the file cannot be read.
+   */
+  final void readTables() throws IOException {
+    ByteBuffer tables = ByteBuffer.allocate((this.rowCapacity + this.colCapacity) * Integer.BYTES)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    readFully(this.channel, tables, this.tablesAt());
+    this.rows = new int[this.rowCapacity];
+    this.cols = new int[this.colCapacity];
+    tables.asIntBuffer().get(this.rows).get(this.cols);
+  } // readTables()
+
+  /**
+   * Work out the free physical lines from the tables.
+   */
+  final void findFree() {
+    this.freeRows = new int[this.rowCapacity];
+    this.freeRowCount = unused(this.rows, this.height, this.rowCapacity, this.freeRows);
+    this.freeCols = new int[this.colCapacity];
+    this.freeColCount = unused(this.cols, this.width, this.colCapacity, this.freeCols);
+  } // findFree()
+
+  /**
+   * Collect the physical lines an index table does not mention, so that the
+   * lowest comes off the stack first.
+   *
+   * @param index    The index table.
+   * @param size     The number of entries in use.
+   * @param capacity The number of physical lines.
+   * @param free     Where to put the unused lines.
+   *
+   * @return the number of unused lines.
+   */
+  static int unused(int[] index, int size, int capacity, int[] free) {
+    boolean[] used = new boolean[capacity];
+    for (int i = 0; i < size; i++) {
+      used[index[i]] = true;
+    } // for
+    int count = 0;
+    for (int phys = capacity - 1; phys >= 0; phys--) {
+      if (!used[phys]) {
+        free[count++] = phys;
+      } // if
+    } // for
+    return count;
+  } // unused(int[], int, int, int[])
+
+  /**
+   * Map the cells, in regions of whole physical rows.
+   *
+   * @throws IOException If the file cannot be mapped.
+   */
+  final void mapCells() throws IOException {
+    long rowBytes = (long) this.colCapacity * this.cellBytes;
+    if (rowBytes > this.maxRegionBytes) {
+      throw new OutOfMemoryError("Matrix too large: " + this.rowCapacity + " x "
+          + this.colCapacity);
+    } // if
+    int perRegion = (int) Math.min(this.rowCapacity, this.maxRegionBytes / rowBytes);
+    MappedByteBuffer[] mapped = new MappedByteBuffer[(this.rowCapacity + perRegion - 1)
+        / perRegion];
+    for (int i = 0; i < mapped.length; i++) {
+      long first = (long) i * perRegion;
+      long count = Math.min(perRegion, this.rowCapacity - first);
+      mapped[i] = this.channel.map(FileChannel.MapMode.READ_WRITE,
+          HEADER_BYTES + first * rowBytes, count * rowBytes);
+      mapped[i].order(ByteOrder.LITTLE_ENDIAN);
+    } // for
+    this.regions = mapped;
+    this.rowsPerRegion = perRegion;
+  } // mapCells()
+
+  // +----------------+----------------------------------------------
+  // | Physical lines |
+  // +----------------+
+
+  /**
+   * Find the region holding a physical row.
+   *
+   * @param physRow The physical row.
+   *
+   * @return the region.
+   */
+  final ByteBuffer region(int physRow) {
+    return this.regions[physRow / this.rowsPerRegion];
+  } // region(int)
+
+  /**
+   * Find the position of a physical cell within its region.
+   *
+   * @param physRow The physical row.
+   * @param physCol The physical column.
+   *
+   * @return the offset in bytes.
+   */
+  final int offset(int physRow, int physCol) {
+    return ((physRow % this.rowsPerRegion) * this.colCapacity + physCol) * this.cellBytes;
+  } // offset(int, int)
+
+  /**
+   * Make sure the matrix is still open.
+   *
+   * @throws IllegalStateException If the matrix has been closed.
+   */
+  final void checkOpen() {
+    if (this.regions == null) {
+      throw new IllegalStateException("Error: matrix is closed.");
+    } // if
+  } // checkOpen()
+
+  /**
+   * Make sure at least count physical rows are unused, adding rows to the
+   * end of the cell area, all at once, when there are too few. The new rows
+   * need no copying; only the tables, which follow the cells, move.
+   *
+   * @param count The number of physical rows needed.
+   *
+   * @throws UncheckedIOException If the file cannot be extended.
+   */
+  final void reserveRows(int count) {
+    if (this.freeRowCount < count) {
+      int old = this.rowCapacity;
+      int grown = MatrixV0.grow(old, old + count - this.freeRowCount);
+      this.rows = Arrays.copyOf(this.rows, grown);
+      this.freeRows = Arrays.copyOf(this.freeRows, grown);
+      for (int phys = grown - 1; phys >= old; phys--) {
+        this.freeRows[this.freeRowCount++] = phys;
+      } // for
+      this.rowCapacity = grown;
+      try {
+        this.writeTables();
+        this.mapCells();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } // try/catch
+    } // if
+  } // reserveRows(int)
+
+  /**
+   * Make sure at least count physical columns are unused. When there are
+   * too few, every physical row gets longer, so we move the rows, last
+   * first, to their new places, once for the whole request.
+   *
+   * @param count The number of physical columns needed.
+   *
+   * @throws UncheckedIOException If the file cannot be extended.
+   */
+  final void reserveCols(int count) {
+    if (this.freeColCount < count) {
+      int old = this.colCapacity;
+      int grown = MatrixV0.grow(old, old + count - this.freeColCount);
+      long oldRowBytes = (long) old * this.cellBytes;
+      long newRowBytes = (long) grown * this.cellBytes;
+      try {
+        for (MappedByteBuffer region : this.regions) {
+          region.force();
+        } // for
+        ByteBuffer scratch = ByteBuffer.allocate((int) oldRowBytes);
+        for (int phys = this.rowCapacity - 1; phys > 0; phys--) {
+          scratch.clear();
+          readFully(this.channel, scratch, HEADER_BYTES + phys * oldRowBytes);
+          writeFully(this.channel, scratch, HEADER_BYTES + phys * newRowBytes);
+        } // for
+        this.cols = Arrays.copyOf(this.cols, grown);
+        this.freeCols = Arrays.copyOf(this.freeCols, grown);
+        for (int phys = grown - 1; phys >= old; phys--) {
+          this.freeCols[this.freeColCount++] = phys;
+        } // for
+        this.colCapacity = grown;
+        this.writeTables();
+        this.mapCells();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } // try/catch
+    } // if
+  } // reserveCols(int)
+
+  /**
+   * Claim count physical rows, fill them with the default value, and
+   * splice them into the row table at row. The tables are not written;
+   * the caller syncs once it is done.
+   *
+   * @param row   The first logical row to open.
+   * @param count The number of rows to open.
+   */
+  final void openRows(int row, int count) {
+    this.reserveRows(count);
+    byte[] blank = this.codec.repeat(this.def, this.colCapacity);
+    System.arraycopy(this.rows, row, this.rows, row + count, this.height - row);
+    for (int i = 0; i < count; i++) {
+      int physRow = this.freeRows[--this.freeRowCount];
+      this.region(physRow).put(this.offset(physRow, 0), blank);
+      this.rows[row + i] = physRow;
+    } // for
+    this.height += count;
+  } // openRows(int, int)
+
+  /**
+   * Claim count physical columns, fill their live cells with the default
+   * value, and splice them into the column table at col. The tables are
+   * not written; the caller syncs once it is done.
+   *
+   * @param col   The first logical column to open.
+   * @param count The number of columns to open.
+   */
+  final void openCols(int col, int count) {
+    this.reserveCols(count);
+    byte[] blank = this.codec.repeat(this.def, 1);
+    System.arraycopy(this.cols, col, this.cols, col + count, this.width - col);
+    for (int i = 0; i < count; i++) {
+      this.cols[col + i] = this.freeCols[--this.freeColCount];
+    } // for
+    for (int row = 0; row < this.height; row++) {
+      int physRow = this.rows[row];
+      ByteBuffer region = this.region(physRow);
+      for (int i = 0; i < count; i++) {
+        region.put(this.offset(physRow, this.cols[col + i]), blank);
+      } // for
+    } // for
+    this.width += count;
+  } // openCols(int, int)
+
+  /**
+   * Put the physical rows of a range of logical rows back on the free list
+   * and close the gap in the row table. The tables are not written.
+   *
+   * @param startRow The first row to close.
+   * @param endRow   The row to stop at (exclusive).
+   */
+  final void closeRows(int startRow, int endRow) {
+    for (int row = startRow; row < endRow; row++) {
+      this.freeRows[this.freeRowCount++] = this.rows[row];
+    } // for
+    System.arraycopy(this.rows, endRow, this.rows, startRow, this.height - endRow);
+    this.height -= endRow - startRow;
+  } // closeRows(int, int)
+
+  /**
+   * Put the physical columns of a range of logical columns back on the
+   * free list and close the gap in the column table. The tables are not
+   * written.
+   *
+   * @param startCol The first column to close.
+   * @param endCol   The column to stop at (exclusive).
+   */
+  final void closeCols(int startCol, int endCol) {
+    for (int col = startCol; col < endCol; col++) {
+      this.freeCols[this.freeColCount++] = this.cols[col];
+    } // for
+    System.arraycopy(this.cols, endCol, this.cols, startCol, this.width - endCol);
+    this.width -= endCol - startCol;
+  } // closeCols(int, int)
+
+  /**
+   * Write values into a logical row.
+   *
+   * @param row  The logical row.
+   * @param vals The values, one per column.
+   */
+  final void putRow(int row, T[] vals) {
+    int physRow = this.rows[row];
+    ByteBuffer region = this.region(physRow);
+    for (int col = 0; col < this.width; col++) {
+      this.codec.write(region, this.offset(physRow, this.cols[col]), vals[col]);
+    } // for
+  } // putRow(int, T[])
+
+  /**
+   * Write values into a logical column.
+   *
+   * @param col  The logical column.
+   * @param vals The values, one per row.
+   */
+  final void putCol(int col, T[] vals) {
+    int physCol = this.cols[col];
+    for (int row = 0; row < this.height; row++) {
+      int physRow = this.rows[row];
+      this.codec.write(this.region(physRow), this.offset(physRow, physCol), vals[row]);
+    } // for
+  } // putCol(int, T[])
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public T get(int row, int col) {
+    this.checkOpen();
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    int physRow = this.rows[row];
+    return this.codec.read(this.region(physRow), this.offset(physRow, this.cols[col]));
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set, which may not be null.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void set(int row, int col, T val) {
+    this.checkOpen();
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    int physRow = this.rows[row];
+    this.codec.write(this.region(physRow), this.offset(physRow, this.cols[col]), val);
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  @Override
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  @Override
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws IllegalStateException     If the matrix has been closed.
+   * @throws UncheckedIOException      If the file cannot be written.
+   */
+  @Override
+  public void insertRow(int row) {
+    this.checkOpen();
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    this.openRows(row, 1);
+    this.sync();
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row  The number of the row to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If the size of vals is not the same as
+   *                                   the width of the matrix.
+   * @throws IllegalStateException     If the matrix has been closed.
+   * @throws UncheckedIOException      If the file cannot be written.
+   */
+  @Override
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    this.checkOpen();
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    if (vals.length != this.width) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    this.openRows(row, 1);
+    this.putRow(row, vals);
+    this.sync();
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws IllegalStateException     If the matrix has been closed.
+   * @throws UncheckedIOException      If the file cannot be written.
+   */
+  @Override
+  public void insertCol(int col) {
+    this.checkOpen();
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    this.openCols(col, 1);
+    this.sync();
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col  The number of the column to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If the size of vals is not the same as
+   *                                   the height of the matrix.
+   * @throws IllegalStateException     If the matrix has been closed.
+   * @throws UncheckedIOException      If the file cannot be written.
+   */
+  @Override
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    this.checkOpen();
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    if (vals.length != this.height) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    this.openCols(col, 1);
+    this.putCol(col, vals);
+    this.sync();
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row. Its physical row goes back on the free list.
+   *
+   * @param row The number of the row to delete.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   or equal to the height.
+   * @throws IllegalStateException     If the matrix has been closed.
+   * @throws UncheckedIOException      If the file cannot be written.
+   */
+  @Override
+  public void deleteRow(int row) {
+    this.checkOpen();
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    this.closeRows(row, row + 1);
+    this.sync();
+  } // deleteRow(int)
+
+  /**
+   * Delete a column. Its physical column goes back on the free list.
+   *
+   * @param col The number of the column to delete.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than or equal to the width.
+   * @throws IllegalStateException     If the matrix has been closed.
+   * @throws UncheckedIOException      If the file cannot be written.
+   */
+  @Override
+  public void deleteCol(int col) {
+    this.checkOpen();
+    if (col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    this.closeCols(col, col + 1);
+    this.sync();
+  } // deleteCol(int)
+
+  /**
+   * Insert count rows filled with the default value. The file grows at
+   * most once and the tables are written once.
+   *
+   * @param row   The number of the first row to insert.
+   * @param count The number of rows to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws IllegalArgumentException  If count is negative.
+   * @throws IllegalStateException     If the matrix has been closed.
+   * @throws UncheckedIOException      If the file cannot be written.
+   */
+  @Override
+  public void insertRows(int row, int count) {
+    this.checkOpen();
+    Matrix.checkInsert(row, this.height, count, "row");
+    this.openRows(row, count);
+    this.sync();
+  } // insertRows(int, int)
+
+  /**
+   * Insert rows filled with the specified values. The file grows at most
+   * once and the tables are written once.
+   *
+   * @param row  The number of the first row to insert.
+   * @param vals The values to insert, one array per row.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the width of the matrix.
+   * @throws IllegalStateException     If the matrix has been closed.
+   * @throws UncheckedIOException      If the file cannot be written.
+   */
+  @Override
+  public void insertRows(int row, T[][] vals) throws ArraySizeException {
+    this.checkOpen();
+    Matrix.checkInsert(row, this.height, vals.length, "row");
+    Matrix.checkLengths(vals, this.width);
+    this.openRows(row, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      this.putRow(row + i, vals[i]);
+    } // for
+    this.sync();
+  } // insertRows(int, T[][])
+
+  /**
+   * Delete a range of rows. Their physical rows go back on the free list
+   * and the tables are written once.
+   *
+   * @param startRow The first row to delete.
+   * @param endRow   The row to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the rows are out of bounds or
+   *                                   startRow is greater than endRow.
+   * @throws IllegalStateException     If the matrix has been closed.
+   * @throws UncheckedIOException      If the file cannot be written.
+   */
+  @Override
+  public void deleteRows(int startRow, int endRow) {
+    this.checkOpen();
+    Matrix.checkDelete(startRow, endRow, this.height, "rows");
+    this.closeRows(startRow, endRow);
+    this.sync();
+  } // deleteRows(int, int)
+
+  /**
+   * Insert count columns filled with the default value. The physical rows
+   * are moved at most once and the tables are written once.
+   *
+   * @param col   The number of the first column to insert.
+   * @param count The number of columns to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws IllegalArgumentException  If count is negative.
+   * @throws IllegalStateException     If the matrix has been closed.
+   * @throws UncheckedIOException      If the file cannot be written.
+   */
+  @Override
+  public void insertCols(int col, int count) {
+    this.checkOpen();
+    Matrix.checkInsert(col, this.width, count, "column");
+    this.openCols(col, count);
+    this.sync();
+  } // insertCols(int, int)
+
+  /**
+   * Insert columns filled with the specified values. The physical rows are
+   * moved at most once and the tables are written once.
+   *
+   * @param col  The number of the first column to insert.
+   * @param vals The values to insert, one array per column.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the height of the matrix.
+   * @throws IllegalStateException     If the matrix has been closed.
+   * @throws UncheckedIOException      If the file cannot be written.
+   */
+  @Override
+  public void insertCols(int col, T[][] vals) throws ArraySizeException {
+    this.checkOpen();
+    Matrix.checkInsert(col, this.width, vals.length, "column");
+    Matrix.checkLengths(vals, this.height);
+    this.openCols(col, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      this.putCol(col + i, vals[i]);
+    } // for
+    this.sync();
+  } // insertCols(int, T[][])
+
+  /**
+   * Delete a range of columns. Their physical columns go back on the free
+   * list and the tables are written once.
+   *
+   * @param startCol The first column to delete.
+   * @param endCol   The column to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the columns are out of bounds or
+   *                                   startCol is greater than endCol.
+   * @throws IllegalStateException     If the matrix has been closed.
+   * @throws UncheckedIOException      If the file cannot be written.
+   */
+  @Override
+  public void deleteCols(int startCol, int endCol) {
+    this.checkOpen();
+    Matrix.checkDelete(startCol, endCol, this.width, "columns");
+    this.closeCols(startCol, endCol);
+    this.sync();
+  } // deleteCols(int, int)
+
+  /**
+   * Change the size of the matrix, keeping the cells at the top left.
+   * Each table grows at most once and both are written once.
+   *
+   * @param newWidth  The new width.
+   * @param newHeight The new height.
+   *
+   * @throws NegativeArraySizeException If either the new width or new height
+   *                                    is not positive.
+   * @throws IllegalStateException      If the matrix has been closed.
+   * @throws UncheckedIOException       If the file cannot be written.
+   */
+  @Override
+  public void resize(int newWidth, int newHeight) {
+    this.checkOpen();
+    if (newWidth <= 0 || newHeight <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+    if (newHeight < this.height) {
+      this.closeRows(newHeight, this.height);
+    } // if
+    if (newWidth < this.width) {
+      this.closeCols(newWidth, this.width);
+    } else {
+      this.openCols(this.width, newWidth - this.width);
+    } // if/else
+    if (newHeight > this.height) {
+      this.openRows(this.height, newHeight - this.height);
+    } // if
+    this.sync();
+  } // resize(int, int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    this.checkOpen();
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+    byte[] encoded = this.codec.repeat(val, 1);
+    for (int row = startRow; row < endRow; row++) {
+      int physRow = this.rows[row];
+      ByteBuffer region = this.region(physRow);
+      for (int col = startCol; col < endCol; col++) {
+        region.put(this.offset(physRow, this.cols[col]), encoded);
+      } // for
+    } // for
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, T val) {
+    this.checkOpen();
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+    byte[] encoded = this.codec.repeat(val, 1);
+    int steps = Lines.steps(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    int row = startRow;
+    int col = startCol;
+    for (int i = 0; i < steps; i++) {
+      int physRow = this.rows[row];
+      this.region(physRow).put(this.offset(physRow, this.cols[col]), encoded);
+      row += deltaRow;
+      col += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, T)
+
+  // +-------+-------------------------------------------------------
+  // | Files |
+  // +-------+
+
+  /**
+   * Write a compact copy of this matrix to a new file.
+   *
+   * @param target The file to create, replacing any file already there.
+   *
+   * @return the copy, which the caller must close.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  public MappedMatrix<T> copyTo(Path target) throws IOException {
+    this.checkOpen();
+    MappedMatrix<T> copy = create(target, this.width, this.height, this.def, this.codec,
+        this.maxRegionBytes);
+    for (int row = 0; row < this.height; row++) {
+      int physRow = this.rows[row];
+      ByteBuffer from = this.region(physRow);
+      ByteBuffer to = copy.region(row);
+      for (int col = 0; col < this.width; col++) {
+        to.put(copy.offset(row, col), from, this.offset(physRow, this.cols[col]),
+            this.cellBytes);
+      } // for
+    } // for
+    return copy;
+  } // copyTo(Path)
+
+  /**
+   * Make a copy of the matrix in a temporary file next to this one. The
+   * file is deleted when the copy is closed.
+   *
+   * @return a copy of the matrix.
+   *
+   * @throws UncheckedIOException If the copy cannot be written.
+   */
+  @Override
+  public MappedMatrix<T> clone() {
+    try {
+      Path dir = this.path.toAbsolutePath().getParent();
+      MappedMatrix<T> copy = this.copyTo(Files.createTempFile(dir, "matrix", ".tmp"));
+      copy.temporary = true;
+      return copy;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } // try/catch
+  } // clone()
+
+  /**
+   * Write any changed cells back to the file.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  public void flush() throws IOException {
+    this.checkOpen();
+    for (MappedByteBuffer region : this.regions) {
+      region.force();
+    } // for
+    this.channel.force(false);
+  } // flush()
+
+  /**
+   * Flush and close the file. Closing a closed matrix does nothing.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  @Override
+  public void close() throws IOException {
+    if (this.regions == null) {
+      return;
+    } // if
+    try {
+      this.flush();
+    } finally {
+      this.regions = null;
+      this.channel.close();
+      if (this.temporary) {
+        Files.deleteIfExists(this.path);
+      } // if
+    } // try/finally
+  } // close()
+
+  // +---------------+-----------------------------------------------
+  // | Other methods |
+  // +---------------+
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   *
+   * @return true if the other object is a matrix with the same width, height,
+   *         and equal elements; false otherwise.
+   */
+  @Override
+  public boolean equals(Object other) {
+    return Matrix.equals(this, other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix.
+   *
+   * @return the hash code.
+   */
+  @Override
+  public int hashCode() {
+    return Matrix.hashCode(this);
+  } // hashCode()
+} // class MappedMatrix<T>
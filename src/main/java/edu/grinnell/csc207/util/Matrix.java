@@ -1,6 +1,11 @@
 package edu.grinnell.csc207.util;
 
 import java.io.PrintWriter;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Two-dimensional matrices.
@@ -144,6 +149,265 @@ public interface Matrix<T> extends Cloneable {
     printRowSeparator(pen, cellWidth, width);
   } // print(PrintWriter, Matrix)
 
+  /**
+   * Determine if a matrix is equal to another object, cell by cell. This is
+   * the common definition of equality that every implementation of
+   * <code>equals</code> must agree with, whatever shortcuts it takes.
+   *
+   * @param matrix
+   *   The matrix.
+   * @param other
+   *   The object to which we compare the matrix.
+   *
+   * @return true if the other object is a matrix with the same width,
+   * height, and equal elements; false otherwise.
+   */
+  static boolean equals(Matrix<?> matrix, Object other) {
+    if (matrix == other) {
+      return true;
+    } // if
+    if (!(other instanceof Matrix)) {
+      return false;
+    } // if
+    Matrix<?> that = (Matrix<?>) other;
+    int width = matrix.width();
+    int height = matrix.height();
+    if (width != that.width() || height != that.height()) {
+      return false;
+    } // if
+    for (int row = 0; row < height; row++) {
+      for (int col = 0; col < width; col++) {
+        if (!Objects.equals(matrix.get(row, col), that.get(row, col))) {
+          return false;
+        } // if
+      } // for col
+    } // for row
+    return true;
+  } // equals(Matrix<?>, Object)
+
+  /**
+   * Compute the hash code of a matrix. Every implementation of
+   * <code>hashCode</code> must return the same value as this method so
+   * that equal matrices have equal hash codes.
+   *
+   * <p>The hash code is a polynomial in 7 over the cells in row-major
+   * order, seeded with the width and height; null cells count as 0. Since
+   * every cell takes part, the hash code of a band of rows can be computed
+   * on its own with {@link #hashRows(Matrix, int, int)} and the bands
+   * combined with {@link #combineHashes(int, int, long)}, in any grouping.
+   *
+   * @param matrix
+   *   The matrix.
+   *
+   * @return the hash code.
+   */
+  static int hashCode(Matrix<?> matrix) {
+    int width = matrix.width();
+    int height = matrix.height();
+    return combineHashes(width + 7 * height, hashRows(matrix, 0, height),
+        (long) width * height);
+  } // hashCode(Matrix<?>)
+
+  /**
+   * Compute the hash code of a band of rows, starting from 0.
+   *
+   * @param matrix
+   *   The matrix.
+   * @param startRow
+   *   The first row of the band (inclusive).
+   * @param endRow
+   *   The last row of the band (exclusive).
+   *
+   * @return the hash code of the cells in the band.
+   */
+  static int hashRows(Matrix<?> matrix, int startRow, int endRow) {
+    int width = matrix.width();
+    int code = 0;
+    for (int row = startRow; row < endRow; row++) {
+      for (int col = 0; col < width; col++) {
+        // It's okay if the following computation overflows, since
+        // it will overflow uniformly.
+        code = code * 7 + Objects.hashCode(matrix.get(row, col));
+      } // for col
+    } // for row
+    return code;
+  } // hashRows(Matrix<?>, int, int)
+
+  /**
+   * Combine the hash code of some cells with the hash code of the cells
+   * that follow them.
+   *
+   * @param first
+   *   The hash code of the earlier cells (or the seed).
+   * @param second
+   *   The hash code of the later cells, computed starting from 0.
+   * @param cells
+   *   The number of later cells.
+   *
+   * @return the hash code of all the cells together.
+   */
+  static int combineHashes(int first, int second, long cells) {
+    return first * hashPower(cells) + second;
+  } // combineHashes(int, int, long)
+
+  /**
+   * Compute 7 to a power, as an int, by repeated squaring.
+   *
+   * @param exponent
+   *   The power.
+   *
+   * @return 7 to the power, modulo 2 to the 32.
+   */
+  static int hashPower(long exponent) {
+    int result = 1;
+    int square = 7;
+    while (exponent > 0) {
+      if ((exponent & 1) == 1) {
+        result *= square;
+      } // if
+      square *= square;
+      exponent >>= 1;
+    } // while
+    return result;
+  } // hashPower(long)
+
+  /**
+   * Check the bounds of a region for a view of a matrix.
+   *
+   * @param matrix
+   *   The matrix.
+   * @param startRow
+   *   The top edge / row to start with (inclusive).
+   * @param startCol
+   *   The left edge / column to start with (inclusive).
+   * @param endRow
+   *   The bottom edge / row to stop with (exclusive).
+   * @param endCol
+   *   The right edge / column to stop with (exclusive).
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the region is empty or does not fit in the matrix.
+   */
+  static void checkView(Matrix<?> matrix, int startRow, int startCol, int endRow,
+      int endCol) {
+    if (startRow < 0 || startCol < 0 || endRow > matrix.height() || endCol > matrix.width()
+        || startRow >= endRow || startCol >= endCol) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+  } // checkView(Matrix<?>, int, int, int, int)
+
+  /**
+   * Check the bounds of a region of a matrix, which may be empty.
+   *
+   * @param matrix
+   *   The matrix.
+   * @param startRow
+   *   The top edge / row to start with (inclusive).
+   * @param startCol
+   *   The left edge / column to start with (inclusive).
+   * @param endRow
+   *   The bottom edge / row to stop with (exclusive).
+   * @param endCol
+   *   The right edge / column to stop with (exclusive).
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the region does not fit in the matrix.
+   */
+  static void checkRegion(Matrix<?> matrix, int startRow, int startCol, int endRow,
+      int endCol) {
+    if (startRow < 0 || startCol < 0 || endRow > matrix.height() || endCol > matrix.width()
+        || startRow > endRow || startCol > endCol) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+  } // checkRegion(Matrix<?>, int, int, int, int)
+
+  /**
+   * Check that a run of slots fits in an array.
+   *
+   * @param length
+   *   The length of the array.
+   * @param off
+   *   The first slot of the run.
+   * @param count
+   *   The number of slots in the run.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the run does not fit.
+   */
+  static void checkSlice(int length, int off, int count) {
+    if (off < 0 || count < 0 || off > length - count) {
+      throw new IndexOutOfBoundsException("Error: invalid offset.");
+    } // if
+  } // checkSlice(int, int, int)
+
+  /**
+   * Check the position and count for inserting rows or columns.
+   *
+   * @param pos
+   *   Where the new rows or columns go.
+   * @param limit
+   *   The largest valid position (the height or width).
+   * @param count
+   *   The number of rows or columns to insert.
+   * @param what
+   *   "row" or "column", for the message.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the position is out of bounds.
+   * @throws IllegalArgumentException
+   *   If the count is negative.
+   */
+  static void checkInsert(int pos, int limit, int count, String what) {
+    if (pos < 0 || pos > limit) {
+      throw new IndexOutOfBoundsException("Error: invalid " + what + ".");
+    } // if
+    if (count < 0) {
+      throw new IllegalArgumentException("Error: invalid count.");
+    } // if
+  } // checkInsert(int, int, int, String)
+
+  /**
+   * Check the range for deleting rows or columns.
+   *
+   * @param start
+   *   The first row or column to delete.
+   * @param end
+   *   The row or column to stop at (exclusive).
+   * @param limit
+   *   The height or width.
+   * @param what
+   *   "rows" or "columns", for the message.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the range is out of bounds or backwards.
+   */
+  static void checkDelete(int start, int end, int limit, String what) {
+    if (start < 0 || end > limit || start > end) {
+      throw new IndexOutOfBoundsException("Error: invalid " + what + ": " + start + ", " + end);
+    } // if
+  } // checkDelete(int, int, int, String)
+
+  /**
+   * Check that each of a group of arrays has a given length.
+   *
+   * @param vals
+   *   The arrays.
+   * @param length
+   *   The length each must have.
+   *
+   * @throws ArraySizeException
+   *   If one does not.
+   */
+  static void checkLengths(Object[][] vals, int length) throws ArraySizeException {
+    for (Object[] row : vals) {
+      if (row.length != length) {
+        throw new ArraySizeException("Error: invalid size of vals.");
+      } // if
+    } // for
+  } // checkLengths(Object[][], int)
+
   // +--------------+------------------------------------------------
   // | Core methods |
   // +--------------+
@@ -287,7 +551,11 @@ public interface Matrix<T> extends Cloneable {
       T val);
 
   /**
-   * Fill a line (horizontal, vertical, diagonal).
+   * Fill a line (horizontal, vertical, diagonal). The line moves by
+   * (deltaRow, deltaCol) each step and stops when the row or column reaches
+   * endRow or endCol or drops below 0. A line that does not move fills only
+   * its first cell. See {@link #drawLine} for lines between arbitrary
+   * endpoints.
    *
    * @param startRow
    *   The row to start with (inclusive).
@@ -329,4 +597,612 @@ public interface Matrix<T> extends Cloneable {
    * height, and equal elements; false otherwise.
    */
   public boolean equals(Object other);
+
+  // +-------+-------------------------------------------------------
+  // | Views |
+  // +-------+
+
+  /**
+   * Get a live view of a rectangular region of the matrix. Nothing is
+   * copied: reads and writes through the view go to this matrix. The view
+   * cannot be resized, and its behaviour is undefined once this matrix
+   * changes shape.
+   *
+   * @param startRow
+   *   The top edge / row to start with (inclusive).
+   * @param startCol
+   *   The left edge / column to start with (inclusive).
+   * @param endRow
+   *   The bottom edge / row to stop with (exclusive).
+   * @param endCol
+   *   The right edge / column to stop with (exclusive).
+   *
+   * @return the view.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the region is empty or does not fit in the matrix.
+   */
+  default Matrix<T> subMatrix(int startRow, int startCol, int endRow, int endCol) {
+    checkView(this, startRow, startCol, endRow, endCol);
+    return new MatrixView<>(this, startRow, startCol, endRow - startRow, endCol - startCol,
+        false);
+  } // subMatrix(int, int, int, int)
+
+  /**
+   * Get a live view of the transpose of the matrix, in which cell (row,
+   * col) is cell (col, row) of this matrix.
+   *
+   * @return the view.
+   */
+  default Matrix<T> transposedView() {
+    return new MatrixView<>(this, 0, 0, this.width(), this.height(), true);
+  } // transposedView()
+
+  /**
+   * Get a live, fixed-size list view of one row.
+   *
+   * @param row
+   *   The row.
+   *
+   * @return the view.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the row is out of bounds.
+   */
+  default List<T> rowView(int row) {
+    if (row < 0 || row >= this.height()) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    return new LineView<>(this, row, 0, 0, 1, this.width());
+  } // rowView(int)
+
+  /**
+   * Get a live, fixed-size list view of one column.
+   *
+   * @param col
+   *   The column.
+   *
+   * @return the view.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the column is out of bounds.
+   */
+  default List<T> colView(int col) {
+    if (col < 0 || col >= this.width()) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    return new LineView<>(this, 0, col, 1, 0, this.height());
+  } // colView(int)
+
+  // +---------+-----------------------------------------------------
+  // | Streams |
+  // +---------+
+
+  /**
+   * Get a stream of the cells of the matrix, in row-major order. The
+   * stream knows its size and splits evenly, so <code>parallel()</code>
+   * spreads the work across cores. The matrix must not change shape while
+   * the stream runs.
+   *
+   * @return the stream.
+   */
+  default Stream<Cell<T>> cells() {
+    return StreamSupport.stream(
+        new CellSpliterator<>(this, 0, (long) this.width() * this.height()), false);
+  } // cells()
+
+  /**
+   * Get a stream of live views of the rows of the matrix, from top to
+   * bottom. The stream knows its size and splits evenly.
+   *
+   * @return the stream.
+   */
+  default Stream<List<T>> rows() {
+    return IntStream.range(0, this.height()).mapToObj(this::rowView);
+  } // rows()
+
+  /**
+   * Get a stream of live views of the columns of the matrix, from left to
+   * right. The stream knows its size and splits evenly.
+   *
+   * @return the stream.
+   */
+  default Stream<List<T>> cols() {
+    return IntStream.range(0, this.width()).mapToObj(this::colView);
+  } // cols()
+
+  // +-----------+---------------------------------------------------
+  // | Traversal |
+  // +-----------+
+
+  /**
+   * Visit every cell, in row-major order. Implementations should check
+   * bounds once and run a tight loop over their storage.
+   *
+   * @param visitor
+   *   What to do with each cell.
+   */
+  default void forEachCell(CellVisitor<? super T> visitor) {
+    this.forEachCell(0, 0, this.height(), this.width(), visitor);
+  } // forEachCell(CellVisitor<? super T>)
+
+  /**
+   * Visit every cell in a rectangular region, in row-major order.
+   *
+   * @param startRow
+   *   The top edge / row to start with (inclusive).
+   * @param startCol
+   *   The left edge / column to start with (inclusive).
+   * @param endRow
+   *   The bottom edge / row to stop with (exclusive).
+   * @param endCol
+   *   The right edge / column to stop with (exclusive).
+   * @param visitor
+   *   What to do with each cell.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the region does not fit in the matrix.
+   */
+  default void forEachCell(int startRow, int startCol, int endRow, int endCol,
+      CellVisitor<? super T> visitor) {
+    checkRegion(this, startRow, startCol, endRow, endCol);
+    for (int row = startRow; row < endRow; row++) {
+      for (int col = startCol; col < endCol; col++) {
+        visitor.visit(row, col, this.get(row, col));
+      } // for
+    } // for
+  } // forEachCell(int, int, int, int, CellVisitor<? super T>)
+
+  /**
+   * Replace the value of every cell, in row-major order.
+   *
+   * @param function
+   *   How to compute each new value from the cell's position and old value.
+   */
+  default void replaceAll(CellFunction<T> function) {
+    this.replaceAll(0, 0, this.height(), this.width(), function);
+  } // replaceAll(CellFunction<T>)
+
+  /**
+   * Replace the value of every cell in a rectangular region, in row-major
+   * order.
+   *
+   * @param startRow
+   *   The top edge / row to start with (inclusive).
+   * @param startCol
+   *   The left edge / column to start with (inclusive).
+   * @param endRow
+   *   The bottom edge / row to stop with (exclusive).
+   * @param endCol
+   *   The right edge / column to stop with (exclusive).
+   * @param function
+   *   How to compute each new value from the cell's position and old value.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the region does not fit in the matrix.
+   */
+  default void replaceAll(int startRow, int startCol, int endRow, int endCol,
+      CellFunction<T> function) {
+    checkRegion(this, startRow, startCol, endRow, endCol);
+    for (int row = startRow; row < endRow; row++) {
+      for (int col = startCol; col < endCol; col++) {
+        this.set(row, col, function.apply(row, col, this.get(row, col)));
+      } // for
+    } // for
+  } // replaceAll(int, int, int, int, CellFunction<T>)
+
+  // +-------+-------------------------------------------------------
+  // | Lines |
+  // +-------+
+
+  /**
+   * Draw the straight line between two cells, both inclusive, choosing the
+   * cells with Bresenham's algorithm. Each row's cells on the line are
+   * filled as one run, so implementations with fast region fills draw
+   * shallow lines quickly.
+   *
+   * @param startRow
+   *   The row of the first endpoint.
+   * @param startCol
+   *   The column of the first endpoint.
+   * @param endRow
+   *   The row of the second endpoint.
+   * @param endCol
+   *   The column of the second endpoint.
+   * @param val
+   *   The value to store.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If either endpoint is outside the matrix.
+   */
+  default void drawLine(int startRow, int startCol, int endRow, int endCol, T val) {
+    Lines.checkSegment(startRow, startCol, endRow, endCol, this.width(), this.height());
+    Lines.trace(startRow, startCol, endRow, endCol,
+        (row, left, right) -> this.fillRegion(row, left, row + 1, right, val));
+  } // drawLine(int, int, int, int, T)
+
+  /**
+   * Draw many lines at once, as {@link #drawLine} would. The segments are
+   * packed four ints apiece: startRow, startCol, endRow, endCol. Every
+   * segment is checked before any is drawn, so a bad segment leaves the
+   * matrix unchanged.
+   *
+   * @param segments
+   *   The endpoints of the segments.
+   * @param val
+   *   The value to store.
+   *
+   * @throws IllegalArgumentException
+   *   If the number of coordinates is not a multiple of four.
+   * @throws IndexOutOfBoundsException
+   *   If any endpoint is outside the matrix.
+   */
+  default void fillLines(int[] segments, T val) {
+    Lines.checkSegments(segments, this.width(), this.height());
+    for (int i = 0; i < segments.length; i += 4) {
+      Lines.trace(segments[i], segments[i + 1], segments[i + 2], segments[i + 3],
+          (row, left, right) -> this.fillRegion(row, left, row + 1, right, val));
+    } // for
+  } // fillLines(int[], T)
+
+  // +---------------+-----------------------------------------------
+  // | Bulk transfer |
+  // +---------------+
+
+  /**
+   * Copy a row into an array.
+   *
+   * @param row
+   *   The row to copy.
+   * @param dst
+   *   The array to copy into.
+   * @param off
+   *   Where in the array to put the first cell.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the row is out of bounds or the cells do not fit in the array.
+   */
+  default void getRow(int row, T[] dst, int off) {
+    if (row < 0 || row >= this.height()) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    int width = this.width();
+    checkSlice(dst.length, off, width);
+    for (int col = 0; col < width; col++) {
+      dst[off + col] = this.get(row, col);
+    } // for
+  } // getRow(int, T[], int)
+
+  /**
+   * Overwrite a row with values from an array.
+   *
+   * @param row
+   *   The row to overwrite.
+   * @param src
+   *   The array to copy from.
+   * @param off
+   *   Where in the array the value for the first cell is.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the row is out of bounds or the array is too short.
+   */
+  default void setRow(int row, T[] src, int off) {
+    if (row < 0 || row >= this.height()) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    int width = this.width();
+    checkSlice(src.length, off, width);
+    for (int col = 0; col < width; col++) {
+      this.set(row, col, src[off + col]);
+    } // for
+  } // setRow(int, T[], int)
+
+  /**
+   * Copy a column into an array.
+   *
+   * @param col
+   *   The column to copy.
+   * @param dst
+   *   The array to copy into.
+   * @param off
+   *   Where in the array to put the first cell.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the column is out of bounds or the cells do not fit in the array.
+   */
+  default void getCol(int col, T[] dst, int off) {
+    if (col < 0 || col >= this.width()) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    int height = this.height();
+    checkSlice(dst.length, off, height);
+    for (int row = 0; row < height; row++) {
+      dst[off + row] = this.get(row, col);
+    } // for
+  } // getCol(int, T[], int)
+
+  /**
+   * Overwrite a column with values from an array.
+   *
+   * @param col
+   *   The column to overwrite.
+   * @param src
+   *   The array to copy from.
+   * @param off
+   *   Where in the array the value for the first cell is.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the column is out of bounds or the array is too short.
+   */
+  default void setCol(int col, T[] src, int off) {
+    if (col < 0 || col >= this.width()) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    int height = this.height();
+    checkSlice(src.length, off, height);
+    for (int row = 0; row < height; row++) {
+      this.set(row, col, src[off + row]);
+    } // for
+  } // setCol(int, T[], int)
+
+  /**
+   * Copy a rectangular region into an array, row by row.
+   *
+   * @param startRow
+   *   The top edge / row to start with (inclusive).
+   * @param startCol
+   *   The left edge / column to start with (inclusive).
+   * @param endRow
+   *   The bottom edge / row to stop with (exclusive).
+   * @param endCol
+   *   The right edge / column to stop with (exclusive).
+   * @param dst
+   *   The array to copy into.
+   * @param off
+   *   Where in the array to put the first cell.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the region does not fit in the matrix or the cells do not fit in
+   *   the array.
+   */
+  default void copyRegionTo(int startRow, int startCol, int endRow, int endCol, T[] dst,
+      int off) {
+    checkRegion(this, startRow, startCol, endRow, endCol);
+    int cols = endCol - startCol;
+    checkSlice(dst.length, off, Math.multiplyExact(endRow - startRow, cols));
+    int index = off;
+    for (int row = startRow; row < endRow; row++) {
+      for (int col = startCol; col < endCol; col++) {
+        dst[index++] = this.get(row, col);
+      } // for
+    } // for
+  } // copyRegionTo(int, int, int, int, T[], int)
+
+  /**
+   * Overwrite a region with the values of a two-dimensional array. Row i of
+   * the array goes into row startRow + i, starting at column startCol. The
+   * array rows may differ in length.
+   *
+   * @param startRow
+   *   The row for the first array row.
+   * @param startCol
+   *   The column for the first value of each array row.
+   * @param src
+   *   The values.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the values do not fit in the matrix.
+   */
+  default void setRegion(int startRow, int startCol, T[][] src) {
+    checkRegion(this, startRow, startCol, startRow + src.length, startCol);
+    for (T[] vals : src) {
+      checkRegion(this, startRow, startCol, startRow, startCol + vals.length);
+    } // for
+    for (int i = 0; i < src.length; i++) {
+      for (int j = 0; j < src[i].length; j++) {
+        this.set(startRow + i, startCol + j, src[i][j]);
+      } // for
+    } // for
+  } // setRegion(int, int, T[][])
+
+  /**
+   * Copy a rectangular region of another matrix (or of this one) into this
+   * matrix. When the source is this matrix, overlapping regions are copied
+   * as if through a temporary copy.
+   *
+   * @param src
+   *   The matrix to copy from.
+   * @param srcRow
+   *   The top row of the region in src.
+   * @param srcCol
+   *   The left column of the region in src.
+   * @param dstRow
+   *   The top row of the region in this matrix.
+   * @param dstCol
+   *   The left column of the region in this matrix.
+   * @param rows
+   *   The height of the region.
+   * @param cols
+   *   The width of the region.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If either region does not fit in its matrix.
+   */
+  default void blit(Matrix<? extends T> src, int srcRow, int srcCol, int dstRow, int dstCol,
+      int rows, int cols) {
+    checkRegion(src, srcRow, srcCol, srcRow + rows, srcCol + cols);
+    checkRegion(this, dstRow, dstCol, dstRow + rows, dstCol + cols);
+    @SuppressWarnings("unchecked")
+    T[] buffer = (T[]) new Object[cols];
+    boolean down = src == this && dstRow > srcRow;
+    for (int i = 0; i < rows; i++) {
+      int row = down ? rows - 1 - i : i;
+      for (int col = 0; col < cols; col++) {
+        buffer[col] = src.get(srcRow + row, srcCol + col);
+      } // for
+      for (int col = 0; col < cols; col++) {
+        this.set(dstRow + row, dstCol + col, buffer[col]);
+      } // for
+    } // for
+  } // blit(Matrix<? extends T>, int, int, int, int, int, int)
+
+  // +------------------+--------------------------------------------
+  // | Range operations |
+  // +------------------+
+
+  /**
+   * Insert count rows filled with the default value. Implementations
+   * should shift the existing rows once, however large count is.
+   *
+   * @param row
+   *   The number of the first row to insert.
+   * @param count
+   *   The number of rows to insert.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the row is negative or greater than the height.
+   * @throws IllegalArgumentException
+   *   If count is negative.
+   */
+  default void insertRows(int row, int count) {
+    checkInsert(row, this.height(), count, "row");
+    for (int i = 0; i < count; i++) {
+      this.insertRow(row);
+    } // for
+  } // insertRows(int, int)
+
+  /**
+   * Insert rows filled with the specified values. Row i of vals becomes
+   * row row + i of the matrix.
+   *
+   * @param row
+   *   The number of the first row to insert.
+   * @param vals
+   *   The values to insert, one array per row.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the row is negative or greater than the height.
+   * @throws ArraySizeException
+   *   If any array in vals is not the same size as the width of the
+   *   matrix.
+   */
+  default void insertRows(int row, T[][] vals) throws ArraySizeException {
+    checkInsert(row, this.height(), vals.length, "row");
+    checkLengths(vals, this.width());
+    for (int i = 0; i < vals.length; i++) {
+      this.insertRow(row + i, vals[i]);
+    } // for
+  } // insertRows(int, T[][])
+
+  /**
+   * Delete a range of rows.
+   *
+   * @param startRow
+   *   The first row to delete.
+   * @param endRow
+   *   The row to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the rows are out of bounds or startRow is greater than endRow.
+   */
+  default void deleteRows(int startRow, int endRow) {
+    checkDelete(startRow, endRow, this.height(), "rows");
+    for (int row = endRow - 1; row >= startRow; row--) {
+      this.deleteRow(row);
+    } // for
+  } // deleteRows(int, int)
+
+  /**
+   * Insert count columns filled with the default value. Implementations
+   * should shift the existing columns once, however large count is.
+   *
+   * @param col
+   *   The number of the first column to insert.
+   * @param count
+   *   The number of columns to insert.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the column is negative or greater than the width.
+   * @throws IllegalArgumentException
+   *   If count is negative.
+   */
+  default void insertCols(int col, int count) {
+    checkInsert(col, this.width(), count, "column");
+    for (int i = 0; i < count; i++) {
+      this.insertCol(col);
+    } // for
+  } // insertCols(int, int)
+
+  /**
+   * Insert columns filled with the specified values. Array i of vals
+   * becomes column col + i of the matrix.
+   *
+   * @param col
+   *   The number of the first column to insert.
+   * @param vals
+   *   The values to insert, one array per column.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the column is negative or greater than the width.
+   * @throws ArraySizeException
+   *   If any array in vals is not the same size as the height of the
+   *   matrix.
+   */
+  default void insertCols(int col, T[][] vals) throws ArraySizeException {
+    checkInsert(col, this.width(), vals.length, "column");
+    checkLengths(vals, this.height());
+    for (int i = 0; i < vals.length; i++) {
+      this.insertCol(col + i, vals[i]);
+    } // for
+  } // insertCols(int, T[][])
+
+  /**
+   * Delete a range of columns.
+   *
+   * @param startCol
+   *   The first column to delete.
+   * @param endCol
+   *   The column to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the columns are out of bounds or startCol is greater than endCol.
+   */
+  default void deleteCols(int startCol, int endCol) {
+    checkDelete(startCol, endCol, this.width(), "columns");
+    for (int col = endCol - 1; col >= startCol; col--) {
+      this.deleteCol(col);
+    } // for
+  } // deleteCols(int, int)
+
+  /**
+   * Change the size of the matrix, keeping the cells at the top left.
+   * Rows and columns are added at the bottom and right, filled with the
+   * default value, or dropped from there.
+   *
+   * @param newWidth
+   *   The new width.
+   * @param newHeight
+   *   The new height.
+   *
+   * @throws NegativeArraySizeException
+   *   If either the new width or new height is not positive.
+   */
+  default void resize(int newWidth, int newHeight) {
+    if (newWidth <= 0 || newHeight <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+    int height = this.height();
+    int width = this.width();
+    if (newHeight < height) {
+      this.deleteRows(newHeight, height);
+    } // if
+    if (newWidth < width) {
+      this.deleteCols(newWidth, width);
+    } else {
+      this.insertCols(width, newWidth - width);
+    } // if/else
+    if (newHeight > height) {
+      this.insertRows(height, newHeight - height);
+    } // if
+  } // resize(int, int)
 } // interface Matrix<T>
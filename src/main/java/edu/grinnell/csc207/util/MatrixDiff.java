@@ -0,0 +1,798 @@
+package edu.grinnell.csc207.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The differences between two versions of a matrix: the rows and columns
+ * deleted from the old version, the rows and columns inserted into the new
+ * one, and the cells that changed among the rows and columns they share.
+ *
+ * <p>Rows and columns are aligned by their fingerprints (hash codes of
+ * their cells) with a patience alignment: common leading and trailing lines
+ * are matched first, then lines that occur exactly once in both versions
+ * serve as anchors, and short stretches between anchors fall back to a
+ * longest common subsequence. Inserting a row therefore shows up as one
+ * inserted row rather than as changes to every row below it. Rows and
+ * columns left over between matched ones are paired up, so edited lines
+ * show up as changed cells. Fingerprints only guide the alignment; cells are always
+ * compared directly, so a hash collision can cost a larger diff but never
+ * a wrong one.
+ *
+ * <p>Applying the diff to a matrix equal to the old version turns it into
+ * the new version, so a diff is a compact way to send a change.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values stored in the matrices.
+ */
+public final class MatrixDiff<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /**
+   * The largest stretch, in pairs of lines, that we align with a full
+   * longest-common-subsequence table when there are no anchors.
+   */
+  static final long LCS_LIMIT = 1L << 22;
+
+  // +---------+-----------------------------------------------------
+  // | Records |
+  // +---------+
+
+  /**
+   * A rectangle of changed cells, in the coordinates of the new version.
+   *
+   * @param startRow The top row (inclusive).
+   * @param startCol The left column (inclusive).
+   * @param endRow   The bottom row (exclusive).
+   * @param endCol   The right column (exclusive).
+   */
+  public record Region(int startRow, int startCol, int endRow, int endCol) {
+  } // record Region
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The width of the old version. */
+  final int oldWidth;
+
+  /** The height of the old version. */
+  final int oldHeight;
+
+  /** The rows of the old version that are gone, in increasing order. */
+  final int[] deletedRows;
+
+  /** The columns of the old version that are gone, in increasing order. */
+  final int[] deletedCols;
+
+  /** The rows of the new version that are new, in increasing order. */
+  final int[] insertedRows;
+
+  /** The columns of the new version that are new, in increasing order. */
+  final int[] insertedCols;
+
+  /** The full contents of each inserted row. */
+  final T[][] rowVals;
+
+  /**
+   * The contents of each inserted column, in the shared rows only (the
+   * cells in inserted rows come with those rows).
+   */
+  final T[][] colVals;
+
+  /** The changed cells in the shared rows and columns, row by row. */
+  final List<Cell<T>> changes;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Build the diff from an alignment of the rows and columns.
+   *
+   * @param before   The old version.
+   * @param after    The new version.
+   * @param rowMatch For each row of the old version, its row in the new
+   *                 version, or -1 if it was deleted.
+   * @param colMatch For each column of the old version, its column in the
+   *                 new version, or -1 if it was deleted.
+   */
+  @SuppressWarnings("unchecked")
+  private MatrixDiff(Matrix<T> before, Matrix<T> after, int[] rowMatch, int[] colMatch) {
+    this.oldWidth = before.width();
+    this.oldHeight = before.height();
+    this.deletedRows = unmatched(rowMatch);
+    this.deletedCols = unmatched(colMatch);
+    this.insertedRows = missing(rowMatch, after.height());
+    this.insertedCols = missing(colMatch, after.width());
+
+    int width = after.width();
+    this.rowVals = (T[][]) new Object[this.insertedRows.length][];
+    for (int i = 0; i < this.insertedRows.length; i++) {
+      this.rowVals[i] = (T[]) new Object[width];
+      after.getRow(this.insertedRows[i], this.rowVals[i], 0);
+    } // for
+
+    int[] sharedRows = matched(rowMatch);
+    this.colVals = (T[][]) new Object[this.insertedCols.length][sharedRows.length];
+    for (int i = 0; i < this.insertedCols.length; i++) {
+      for (int j = 0; j < sharedRows.length; j++) {
+        this.colVals[i][j] = after.get(sharedRows[j], this.insertedCols[i]);
+      } // for
+    } // for
+
+    this.changes = new ArrayList<>();
+    for (int row = 0; row < rowMatch.length; row++) {
+      if (rowMatch[row] >= 0) {
+        for (int col = 0; col < colMatch.length; col++) {
+          if (colMatch[col] >= 0) {
+            T val = after.get(rowMatch[row], colMatch[col]);
+            if (!Objects.equals(before.get(row, col), val)) {
+              this.changes.add(new Cell<>(rowMatch[row], colMatch[col], val));
+            } // if
+          } // if
+        } // for
+      } // if
+    } // for
+  } // MatrixDiff(Matrix<T>, Matrix<T>, int[], int[])
+
+  // +----------------+----------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Compute the differences between two versions of a matrix. We start
+   * from several alignments (of whole rows, of whole columns, and of rows
+   * or columns fingerprinted by just the first or last column or row, which
+   * survive an insertion in the other direction), refine each, and keep the
+   * diff that carries the fewest values.
+   *
+   * @param <T>    The type of values stored in the matrices.
+   * @param before The old version.
+   * @param after  The new version.
+   *
+   * @return the diff that turns before into after.
+   */
+  public static <T> MatrixDiff<T> between(Matrix<T> before, Matrix<T> after) {
+    int[] allBeforeRows = range(before.height());
+    int[] allAfterRows = range(after.height());
+    int[] allBeforeCols = range(before.width());
+    int[] allAfterCols = range(after.width());
+    int[] firstRow = {0};
+    int[] firstCol = {0};
+    int[] lastBeforeRow = {before.height() - 1};
+    int[] lastAfterRow = {after.height() - 1};
+    int[] lastBeforeCol = {before.width() - 1};
+    int[] lastAfterCol = {after.width() - 1};
+
+    List<MatrixDiff<T>> candidates = List.of(
+        fromRows(before, after,
+            align(rowPrints(before, allBeforeCols), rowPrints(after, allAfterCols))),
+        fromCols(before, after,
+            align(colPrints(before, allBeforeRows), colPrints(after, allAfterRows))),
+        fromRows(before, after, align(rowPrints(before, firstCol), rowPrints(after, firstCol))),
+        fromRows(before, after,
+            align(rowPrints(before, lastBeforeCol), rowPrints(after, lastAfterCol))),
+        fromCols(before, after, align(colPrints(before, firstRow), colPrints(after, firstRow))),
+        fromCols(before, after,
+            align(colPrints(before, lastBeforeRow), colPrints(after, lastAfterRow))));
+    MatrixDiff<T> best = null;
+    for (MatrixDiff<T> candidate : candidates) {
+      if (best == null || candidate.cost() < best.cost()) {
+        best = candidate;
+      } // if
+    } // for
+    return best;
+  } // between(Matrix<T>, Matrix<T>)
+
+  /**
+   * Build a diff starting from an alignment of the rows: align the columns
+   * among the shared rows, then the rows again among the shared columns,
+   * then pair up the leftover rows and columns.
+   *
+   * @param <T>      The type of values stored in the matrices.
+   * @param before   The old version.
+   * @param after    The new version.
+   * @param rowMatch The starting alignment of the rows.
+   *
+   * @return the diff.
+   */
+  static <T> MatrixDiff<T> fromRows(Matrix<T> before, Matrix<T> after, int[] rowMatch) {
+    int[] colMatch = alignCols(before, after, rowMatch);
+    rowMatch = alignRows(before, after, colMatch);
+    return new MatrixDiff<>(before, after, pairGaps(rowMatch, after.height()),
+        pairGaps(colMatch, after.width()));
+  } // fromRows(Matrix<T>, Matrix<T>, int[])
+
+  /**
+   * Build a diff starting from an alignment of the columns: align the rows
+   * among the shared columns, then the columns again among the shared rows,
+   * then pair up the leftover rows and columns.
+   *
+   * @param <T>      The type of values stored in the matrices.
+   * @param before   The old version.
+   * @param after    The new version.
+   * @param colMatch The starting alignment of the columns.
+   *
+   * @return the diff.
+   */
+  static <T> MatrixDiff<T> fromCols(Matrix<T> before, Matrix<T> after, int[] colMatch) {
+    int[] rowMatch = alignRows(before, after, colMatch);
+    colMatch = alignCols(before, after, rowMatch);
+    return new MatrixDiff<>(before, after, pairGaps(rowMatch, after.height()),
+        pairGaps(colMatch, after.width()));
+  } // fromCols(Matrix<T>, Matrix<T>, int[])
+
+  /**
+   * Pair up the lines left over between matched lines, in order, so that a
+   * line whose cells changed is reported as changed cells rather than as a
+   * deletion and an insertion.
+   *
+   * @param match An alignment.
+   * @param size  The length of the other side.
+   *
+   * @return the alignment with the gaps paired.
+   */
+  static int[] pairGaps(int[] match, int size) {
+    int[] result = match.clone();
+    int prevA = -1;
+    int prevB = -1;
+    for (int i = 0; i <= match.length; i++) {
+      int j = (i == match.length) ? size : match[i];
+      if (j >= 0) {
+        int pairs = Math.min(i - prevA - 1, j - prevB - 1);
+        for (int k = 1; k <= pairs; k++) {
+          result[prevA + k] = prevB + k;
+        } // for
+        prevA = i;
+        prevB = j;
+      } // if
+    } // for
+    return result;
+  } // pairGaps(int[], int)
+
+  /**
+   * Align the rows of two matrices, fingerprinting only the given columns.
+   *
+   * @param <T>      The type of values stored in the matrices.
+   * @param before   The old version.
+   * @param after    The new version.
+   * @param colMatch The current alignment of the columns.
+   *
+   * @return for each row of before, its row in after or -1.
+   */
+  static <T> int[] alignRows(Matrix<T> before, Matrix<T> after, int[] colMatch) {
+    int[] cols = matchedSources(colMatch);
+    return align(rowPrints(before, cols), rowPrints(after, targets(colMatch, cols)));
+  } // alignRows(Matrix<T>, Matrix<T>, int[])
+
+  /**
+   * Align the columns of two matrices, fingerprinting only the given rows.
+   *
+   * @param <T>      The type of values stored in the matrices.
+   * @param before   The old version.
+   * @param after    The new version.
+   * @param rowMatch The current alignment of the rows.
+   *
+   * @return for each column of before, its column in after or -1.
+   */
+  static <T> int[] alignCols(Matrix<T> before, Matrix<T> after, int[] rowMatch) {
+    int[] rows = matchedSources(rowMatch);
+    return align(colPrints(before, rows), colPrints(after, targets(rowMatch, rows)));
+  } // alignCols(Matrix<T>, Matrix<T>, int[])
+
+  /**
+   * Fingerprint the rows of a matrix, looking only at some columns. When we
+   * look at every column of a MatrixV0 we use its cached row digests.
+   *
+   * @param matrix The matrix.
+   * @param cols   The columns to look at, in order.
+   *
+   * @return one fingerprint per row.
+   */
+  static int[] rowPrints(Matrix<?> matrix, int[] cols) {
+    int height = matrix.height();
+    if (cols.length == matrix.width() && matrix instanceof MatrixV0<?> dense) {
+      return Arrays.copyOf(dense.digests().rowHashes(), height);
+    } // if
+    int[] prints = new int[height];
+    for (int row = 0; row < height; row++) {
+      int code = 0;
+      for (int col : cols) {
+        code = code * 7 + Objects.hashCode(matrix.get(row, col));
+      } // for
+      prints[row] = code;
+    } // for
+    return prints;
+  } // rowPrints(Matrix<?>, int[])
+
+  /**
+   * Fingerprint the columns of a matrix, looking only at some rows.
+   *
+   * @param matrix The matrix.
+   * @param rows   The rows to look at, in order.
+   *
+   * @return one fingerprint per column.
+   */
+  static int[] colPrints(Matrix<?> matrix, int[] rows) {
+    int width = matrix.width();
+    int[] prints = new int[width];
+    for (int row : rows) {
+      for (int col = 0; col < width; col++) {
+        prints[col] = prints[col] * 7 + Objects.hashCode(matrix.get(row, col));
+      } // for
+    } // for
+    return prints;
+  } // colPrints(Matrix<?>, int[])
+
+  /**
+   * Align two sequences of fingerprints.
+   *
+   * @param a The first sequence.
+   * @param b The second sequence.
+   *
+   * @return for each element of a, the index of its partner in b, or -1.
+   *         Partners are equal and appear in the same order in both.
+   */
+  static int[] align(int[] a, int[] b) {
+    int[] match = new int[a.length];
+    Arrays.fill(match, -1);
+    align(a, 0, a.length, b, 0, b.length, match);
+    return match;
+  } // align(int[], int[])
+
+  /**
+   * Align parts of two sequences of fingerprints with patience alignment.
+   *
+   * @param a     The first sequence.
+   * @param aLo   The start of the part of a (inclusive).
+   * @param aHi   The end of the part of a (exclusive).
+   * @param b     The second sequence.
+   * @param bLo   The start of the part of b (inclusive).
+   * @param bHi   The end of the part of b (exclusive).
+   * @param match Where to record partners.
+   */
+  static void align(int[] a, int aLo, int aHi, int[] b, int bLo, int bHi, int[] match) {
+    while (aLo < aHi && bLo < bHi && a[aLo] == b[bLo]) {
+      match[aLo++] = bLo++;
+    } // while
+    while (aLo < aHi && bLo < bHi && a[aHi - 1] == b[bHi - 1]) {
+      match[--aHi] = --bHi;
+    } // while
+    if (aLo == aHi || bLo == bHi) {
+      return;
+    } // if
+
+    int[][] anchors = anchors(a, aLo, aHi, b, bLo, bHi);
+    if (anchors.length > 0) {
+      int prevA = aLo;
+      int prevB = bLo;
+      for (int[] anchor : anchors) {
+        align(a, prevA, anchor[0], b, prevB, anchor[1], match);
+        match[anchor[0]] = anchor[1];
+        prevA = anchor[0] + 1;
+        prevB = anchor[1] + 1;
+      } // for
+      align(a, prevA, aHi, b, prevB, bHi, match);
+    } else if ((long) (aHi - aLo) * (bHi - bLo) <= LCS_LIMIT) {
+      lcs(a, aLo, aHi, b, bLo, bHi, match);
+    } // if/else
+  } // align(int[], int, int, int[], int, int, int[])
+
+  /**
+   * Find the longest run, in order in both parts, of fingerprints that occur
+   * exactly once in each part.
+   *
+   * @param a   The first sequence.
+   * @param aLo The start of the part of a (inclusive).
+   * @param aHi The end of the part of a (exclusive).
+   * @param b   The second sequence.
+   * @param bLo The start of the part of b (inclusive).
+   * @param bHi The end of the part of b (exclusive).
+   *
+   * @return pairs of positions {in a, in b}, increasing in both.
+   */
+  static int[][] anchors(int[] a, int aLo, int aHi, int[] b, int bLo, int bHi) {
+    // For each fingerprint: count in a, count in b, position in a, position in b.
+    Map<Integer, int[]> seen = new HashMap<>();
+    for (int i = aLo; i < aHi; i++) {
+      int[] entry = seen.computeIfAbsent(a[i], k -> new int[4]);
+      entry[0]++;
+      entry[2] = i;
+    } // for
+    for (int j = bLo; j < bHi; j++) {
+      int[] entry = seen.get(b[j]);
+      if (entry != null) {
+        entry[1]++;
+        entry[3] = j;
+      } // if
+    } // for
+
+    // The unique pairs, in order of their position in a.
+    int[] partner = new int[aHi - aLo];
+    int count = 0;
+    int[] positions = new int[aHi - aLo];
+    for (int i = aLo; i < aHi; i++) {
+      int[] entry = seen.get(a[i]);
+      if (entry[0] == 1 && entry[1] == 1) {
+        positions[count] = i;
+        partner[count++] = entry[3];
+      } // if
+    } // for
+
+    // Longest increasing run of partners, by patience sorting.
+    int[] pileTops = new int[count];
+    int[] previous = new int[count];
+    int piles = 0;
+    for (int k = 0; k < count; k++) {
+      int lo = 0;
+      int hi = piles;
+      while (lo < hi) {
+        int mid = (lo + hi) >>> 1;
+        if (partner[pileTops[mid]] < partner[k]) {
+          lo = mid + 1;
+        } else {
+          hi = mid;
+        } // if/else
+      } // while
+      previous[k] = (lo > 0) ? pileTops[lo - 1] : -1;
+      pileTops[lo] = k;
+      if (lo == piles) {
+        piles++;
+      } // if
+    } // for
+    int[][] result = new int[piles][];
+    for (int k = (piles > 0) ? pileTops[piles - 1] : -1, i = piles - 1; k >= 0;
+        k = previous[k], i--) {
+      result[i] = new int[] {positions[k], partner[k]};
+    } // for
+    return result;
+  } // anchors(int[], int, int, int[], int, int)
+
+  /**
+   * Align parts of two sequences with a longest common subsequence table.
+   *
+   * @param a     The first sequence.
+   * @param aLo   The start of the part of a (inclusive).
+   * @param aHi   The end of the part of a (exclusive).
+   * @param b     The second sequence.
+   * @param bLo   The start of the part of b (inclusive).
+   * @param bHi   The end of the part of b (exclusive).
+   * @param match Where to record partners.
+   */
+  static void lcs(int[] a, int aLo, int aHi, int[] b, int bLo, int bHi, int[] match) {
+    int n = aHi - aLo;
+    int m = bHi - bLo;
+    // lengths[i * (m + 1) + j] is the length of the longest common
+    // subsequence of a[aLo + i ..] and b[bLo + j ..].
+    int[] lengths = new int[(n + 1) * (m + 1)];
+    for (int i = n - 1; i >= 0; i--) {
+      for (int j = m - 1; j >= 0; j--) {
+        int here = i * (m + 1) + j;
+        if (a[aLo + i] == b[bLo + j]) {
+          lengths[here] = lengths[here + m + 2] + 1;
+        } else {
+          lengths[here] = Math.max(lengths[here + m + 1], lengths[here + 1]);
+        } // if/else
+      } // for
+    } // for
+    int i = 0;
+    int j = 0;
+    while (i < n && j < m) {
+      int here = i * (m + 1) + j;
+      if (a[aLo + i] == b[bLo + j]) {
+        match[aLo + i++] = bLo + j++;
+      } else if (lengths[here + m + 1] >= lengths[here + 1]) {
+        i++;
+      } else {
+        j++;
+      } // if/else
+    } // while
+  } // lcs(int[], int, int, int[], int, int, int[])
+
+  /**
+   * Make the array 0, 1, ..., n - 1.
+   *
+   * @param n The length.
+   *
+   * @return the array.
+   */
+  static int[] range(int n) {
+    int[] result = new int[n];
+    for (int i = 0; i < n; i++) {
+      result[i] = i;
+    } // for
+    return result;
+  } // range(int)
+
+  /**
+   * Find the indices that have partners.
+   *
+   * @param match An alignment.
+   *
+   * @return the indices i with match[i] at least 0, in order.
+   */
+  static int[] matchedSources(int[] match) {
+    return Arrays.stream(range(match.length)).filter(i -> match[i] >= 0).toArray();
+  } // matchedSources(int[])
+
+  /**
+   * Find the partners of some indices.
+   *
+   * @param match   An alignment.
+   * @param sources Indices that have partners.
+   *
+   * @return their partners, in the same order.
+   */
+  static int[] targets(int[] match, int[] sources) {
+    return Arrays.stream(sources).map(i -> match[i]).toArray();
+  } // targets(int[], int[])
+
+  /**
+   * Find the partners in an alignment.
+   *
+   * @param match An alignment.
+   *
+   * @return the partners, in order.
+   */
+  static int[] matched(int[] match) {
+    return Arrays.stream(match).filter(j -> j >= 0).toArray();
+  } // matched(int[])
+
+  /**
+   * Find the indices without partners.
+   *
+   * @param match An alignment.
+   *
+   * @return the indices i with match[i] equal to -1, in order.
+   */
+  static int[] unmatched(int[] match) {
+    return Arrays.stream(range(match.length)).filter(i -> match[i] < 0).toArray();
+  } // unmatched(int[])
+
+  /**
+   * Find the indices on the other side that are nobody's partner.
+   *
+   * @param match An alignment.
+   * @param size  The length of the other side.
+   *
+   * @return the indices, in order.
+   */
+  static int[] missing(int[] match, int size) {
+    boolean[] taken = new boolean[size];
+    for (int j : match) {
+      if (j >= 0) {
+        taken[j] = true;
+      } // if
+    } // for
+    return Arrays.stream(range(size)).filter(j -> !taken[j]).toArray();
+  } // missing(int[], int)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Count the values the diff carries.
+   *
+   * @return the number of changed cells plus the number of cells in the
+   *         inserted rows and columns.
+   */
+  long cost() {
+    long cells = this.changes.size();
+    for (T[] vals : this.rowVals) {
+      cells += vals.length;
+    } // for
+    for (T[] vals : this.colVals) {
+      cells += vals.length;
+    } // for
+    return cells;
+  } // cost()
+
+  /**
+   * Determine if the two versions were equal.
+   *
+   * @return true if the diff changes nothing; false otherwise.
+   */
+  public boolean isEmpty() {
+    return this.deletedRows.length == 0 && this.deletedCols.length == 0
+        && this.insertedRows.length == 0 && this.insertedCols.length == 0
+        && this.changes.isEmpty();
+  } // isEmpty()
+
+  /**
+   * Get the deleted rows.
+   *
+   * @return the rows of the old version that are gone, in increasing order.
+   */
+  public int[] deletedRows() {
+    return this.deletedRows.clone();
+  } // deletedRows()
+
+  /**
+   * Get the deleted columns.
+   *
+   * @return the columns of the old version that are gone, in increasing
+   *         order.
+   */
+  public int[] deletedCols() {
+    return this.deletedCols.clone();
+  } // deletedCols()
+
+  /**
+   * Get the inserted rows.
+   *
+   * @return the rows of the new version that are new, in increasing order.
+   */
+  public int[] insertedRows() {
+    return this.insertedRows.clone();
+  } // insertedRows()
+
+  /**
+   * Get the inserted columns.
+   *
+   * @return the columns of the new version that are new, in increasing
+   *         order.
+   */
+  public int[] insertedCols() {
+    return this.insertedCols.clone();
+  } // insertedCols()
+
+  /**
+   * Get the changed cells among the rows and columns the two versions
+   * share.
+   *
+   * @return the changes, row by row, in the coordinates of the new version.
+   */
+  public List<Cell<T>> changedCells() {
+    return List.copyOf(this.changes);
+  } // changedCells()
+
+  /**
+   * Group the changed cells into rectangles. Each row's changed cells are
+   * split into runs of adjacent columns, and runs that span the same
+   * columns in adjacent rows are merged.
+   *
+   * @return the rectangles, in the coordinates of the new version.
+   */
+  public List<Region> changedRegions() {
+    List<int[]> regions = new ArrayList<>();
+    Map<Long, int[]> open = new HashMap<>();
+    Map<Long, int[]> next = new HashMap<>();
+    int i = 0;
+    while (i < this.changes.size()) {
+      int row = this.changes.get(i).row();
+      next.clear();
+      while (i < this.changes.size() && this.changes.get(i).row() == row) {
+        int startCol = this.changes.get(i).col();
+        int endCol = startCol + 1;
+        i++;
+        while (i < this.changes.size() && this.changes.get(i).row() == row
+            && this.changes.get(i).col() == endCol) {
+          endCol++;
+          i++;
+        } // while
+        long key = ((long) startCol << 32) | endCol;
+        int[] region = open.get(key);
+        if (region == null || region[2] != row) {
+          region = new int[] {row, startCol, row, endCol};
+          regions.add(region);
+        } // if
+        region[2] = row + 1;
+        next.put(key, region);
+      } // while
+      Map<Long, int[]> swap = open;
+      open = next;
+      next = swap;
+    } // while
+    List<Region> result = new ArrayList<>(regions.size());
+    for (int[] region : regions) {
+      result.add(new Region(region[0], region[1], region[2], region[3]));
+    } // for
+    return result;
+  } // changedRegions()
+
+  /**
+   * Apply the diff to a matrix equal to the old version, turning it into
+   * the new version. Runs of adjacent deleted or inserted rows and columns
+   * are handled with one range operation each.
+   *
+   * @param matrix The matrix to change.
+   *
+   * @throws IllegalArgumentException If the matrix is not the size of the
+   *                                  old version.
+   */
+  public void apply(Matrix<T> matrix) {
+    if (matrix.width() != this.oldWidth || matrix.height() != this.oldHeight) {
+      throw new IllegalArgumentException("Error: the diff does not fit the matrix.");
+    } // if
+    int end = this.deletedRows.length;
+    while (end > 0) {
+      int start = runStart(this.deletedRows, end);
+      matrix.deleteRows(this.deletedRows[start], this.deletedRows[end - 1] + 1);
+      end = start;
+    } // while
+    end = this.deletedCols.length;
+    while (end > 0) {
+      int start = runStart(this.deletedCols, end);
+      matrix.deleteCols(this.deletedCols[start], this.deletedCols[end - 1] + 1);
+      end = start;
+    } // while
+    // The value arrays are Object arrays whatever T is, so we open the
+    // lines with default values and copy the values in, rather than hand
+    // the arrays to engines that insist on, say, a Boolean[][].
+    int start = 0;
+    while (start < this.insertedCols.length) {
+      end = runEnd(this.insertedCols, start);
+      matrix.insertCols(this.insertedCols[start], end - start);
+      for (int i = start; i < end; i++) {
+        matrix.setCol(this.insertedCols[i], this.colVals[i], 0);
+      } // for
+      start = end;
+    } // while
+    start = 0;
+    while (start < this.insertedRows.length) {
+      end = runEnd(this.insertedRows, start);
+      matrix.insertRows(this.insertedRows[start], end - start);
+      for (int i = start; i < end; i++) {
+        matrix.setRow(this.insertedRows[i], this.rowVals[i], 0);
+      } // for
+      start = end;
+    } // while
+    for (Cell<T> change : this.changes) {
+      matrix.set(change.row(), change.col(), change.val());
+    } // for
+  } // apply(Matrix<T>)
+
+  /**
+   * Find the start of the run of consecutive values that ends just before
+   * end.
+   *
+   * @param vals Increasing values.
+   * @param end  The end of the run (exclusive).
+   *
+   * @return the start of the run.
+   */
+  static int runStart(int[] vals, int end) {
+    int start = end - 1;
+    while (start > 0 && vals[start - 1] == vals[start] - 1) {
+      start--;
+    } // while
+    return start;
+  } // runStart(int[], int)
+
+  /**
+   * Find the end of the run of consecutive values that starts at start.
+   *
+   * @param vals  Increasing values.
+   * @param start The start of the run.
+   *
+   * @return the end of the run (exclusive).
+   */
+  static int runEnd(int[] vals, int start) {
+    int end = start + 1;
+    while (end < vals.length && vals[end] == vals[end - 1] + 1) {
+      end++;
+    } // while
+    return end;
+  } // runEnd(int[], int)
+
+  /**
+   * Summarize the diff.
+   *
+   * @return a summary of the diff.
+   */
+  @Override
+  public String toString() {
+    return "-" + this.deletedRows.length + " rows, -" + this.deletedCols.length + " cols, +"
+        + this.insertedRows.length + " rows, +" + this.insertedCols.length + " cols, "
+        + this.changes.size() + " cells changed";
+  } // toString()
+} // class MatrixDiff<T>
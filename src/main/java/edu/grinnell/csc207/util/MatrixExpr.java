@@ -0,0 +1,466 @@
+package edu.grinnell.csc207.util;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * A lazy, element-wise computation over matrices. Expressions are built
+ * from matrices with {@link #of} and combined with {@link #map},
+ * {@link #zip}, and {@link #mask}; nothing is computed until the
+ * expression is evaluated into a matrix or reduced to a value.
+ *
+ * <p>Because every stage is element-wise, evaluation fuses the whole
+ * expression into one pass: each row of each source matrix is read once
+ * into a buffer, every stage runs cell by cell on those buffers, and only
+ * the final values are written. No intermediate matrices are built.
+ * Expressions form a graph rather than a tree, so a subexpression used in
+ * several places (or a matrix used as several sources) is computed (or
+ * read) once per cell.
+ *
+ * <p>Expressions are immutable. They hold their source matrices, not
+ * copies, so the sources must not change shape while an expression is in
+ * use; evaluating into one of the sources is fine, since each row is read
+ * completely before it is written.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values the expression produces.
+ */
+public final class MatrixExpr<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The width of the result. */
+  final int width;
+
+  /** The height of the result. */
+  final int height;
+
+  /** The matrix this expression reads (null unless this is a source). */
+  final Matrix<T> source;
+
+  /** How to compute a value from the inputs (null for a source). */
+  final Stage stage;
+
+  /** The first input (null for a source). */
+  final MatrixExpr<?> first;
+
+  /** The second input (null for a source or a single-input stage). */
+  final MatrixExpr<?> second;
+
+  /** How to split evaluation into parallel bands. */
+  final ParallelConfig parallel;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new expression.
+   *
+   * @param widthInput    The width of the result.
+   * @param heightInput   The height of the result.
+   * @param sourceInput   The matrix to read, if this is a source.
+   * @param stageInput    The computation, if this is not a source.
+   * @param firstInput    The first input.
+   * @param secondInput   The second input.
+   * @param parallelInput How to split evaluation into parallel bands.
+   */
+  MatrixExpr(int widthInput, int heightInput, Matrix<T> sourceInput, Stage stageInput,
+      MatrixExpr<?> firstInput, MatrixExpr<?> secondInput, ParallelConfig parallelInput) {
+    this.width = widthInput;
+    this.height = heightInput;
+    this.source = sourceInput;
+    this.stage = stageInput;
+    this.first = firstInput;
+    this.second = secondInput;
+    this.parallel = parallelInput;
+  } // MatrixExpr(int, int, Matrix<T>, Stage, MatrixExpr<?>, MatrixExpr<?>, ParallelConfig)
+
+  // +----------------+----------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Build an expression whose values are the cells of a matrix.
+   *
+   * @param <T>    The type of values in the matrix.
+   * @param matrix The matrix.
+   *
+   * @return the expression.
+   */
+  public static <T> MatrixExpr<T> of(Matrix<T> matrix) {
+    return new MatrixExpr<>(matrix.width(), matrix.height(), matrix, null, null, null,
+        ParallelConfig.SERIAL);
+  } // of(Matrix<T>)
+
+  // +----------+----------------------------------------------------
+  // | Building |
+  // +----------+
+
+  /**
+   * Transform every value.
+   *
+   * @param <R>      The type of the new values.
+   * @param function How to compute each new value from the old one.
+   *
+   * @return the expression.
+   */
+  @SuppressWarnings("unchecked")
+  public <R> MatrixExpr<R> map(Function<? super T, ? extends R> function) {
+    return new MatrixExpr<>(this.width, this.height, null,
+        (val, ignored) -> function.apply((T) val), this, null, this.parallel);
+  } // map(Function<? super T, ? extends R>)
+
+  /**
+   * Combine every value with the value in the same cell of another
+   * expression.
+   *
+   * @param <U>      The type of the other expression's values.
+   * @param <R>      The type of the new values.
+   * @param other    The other expression.
+   * @param function How to combine two values.
+   *
+   * @return the expression.
+   *
+   * @throws IllegalArgumentException If the expressions differ in size.
+   */
+  @SuppressWarnings("unchecked")
+  public <U, R> MatrixExpr<R> zip(MatrixExpr<U> other,
+      BiFunction<? super T, ? super U, ? extends R> function) {
+    this.checkSize(other);
+    return new MatrixExpr<>(this.width, this.height, null,
+        (val, otherVal) -> function.apply((T) val, (U) otherVal), this, other, this.parallel);
+  } // zip(MatrixExpr<U>, BiFunction<? super T, ? super U, ? extends R>)
+
+  /**
+   * Combine every value with the value in the same cell of a matrix.
+   *
+   * @param <U>      The type of the matrix's values.
+   * @param <R>      The type of the new values.
+   * @param other    The matrix.
+   * @param function How to combine two values.
+   *
+   * @return the expression.
+   *
+   * @throws IllegalArgumentException If the matrix differs in size.
+   */
+  public <U, R> MatrixExpr<R> zip(Matrix<U> other,
+      BiFunction<? super T, ? super U, ? extends R> function) {
+    return this.zip(of(other), function);
+  } // zip(Matrix<U>, BiFunction<? super T, ? super U, ? extends R>)
+
+  /**
+   * Keep the values where a mask is true and replace the rest.
+   *
+   * @param mask The mask; null counts as false.
+   * @param fill The value for cells where the mask is not true.
+   *
+   * @return the expression.
+   *
+   * @throws IllegalArgumentException If the mask differs in size.
+   */
+  public MatrixExpr<T> mask(MatrixExpr<Boolean> mask, T fill) {
+    this.checkSize(mask);
+    return new MatrixExpr<>(this.width, this.height, null,
+        (val, keep) -> Boolean.TRUE.equals(keep) ? val : fill, this, mask, this.parallel);
+  } // mask(MatrixExpr<Boolean>, T)
+
+  /**
+   * Evaluate this expression in parallel bands of rows.
+   *
+   * @param config How to split the work; {@link ParallelConfig#SERIAL} to
+   *               evaluate on the calling thread.
+   *
+   * @return the same expression, evaluated as configured.
+   */
+  public MatrixExpr<T> withParallelism(ParallelConfig config) {
+    return new MatrixExpr<>(this.width, this.height, this.source, this.stage, this.first,
+        this.second, (config == null) ? ParallelConfig.SERIAL : config);
+  } // withParallelism(ParallelConfig)
+
+  // +------------+--------------------------------------------------
+  // | Evaluation |
+  // +------------+
+
+  /**
+   * Get the width of the result.
+   *
+   * @return the width.
+   */
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Get the height of the result.
+   *
+   * @return the height.
+   */
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Compute the values into a new matrix.
+   *
+   * @return a new MatrixV0 holding the values.
+   */
+  public Matrix<T> evaluate() {
+    MatrixV0<T> result = new MatrixV0<>(this.width, this.height);
+    this.evaluateInto(result);
+    return result;
+  } // evaluate()
+
+  /**
+   * Compute the values into an existing matrix, a row at a time.
+   * Evaluation runs in parallel only when the destination's rows can be
+   * written independently (a MatrixV0 or one of the primitive matrices);
+   * other destinations are written from the calling thread.
+   *
+   * @param dst The matrix to write into.
+   *
+   * @throws IllegalArgumentException If the matrix differs in size.
+   */
+  @SuppressWarnings("unchecked")
+  public void evaluateInto(Matrix<T> dst) {
+    this.checkSize(of(dst));
+    Plan plan = new Plan(this);
+    ParallelConfig config = ParallelConfig.SERIAL;
+    if (dst instanceof MatrixV0<T> rows) {
+      // Mark every row changed up front, so that concurrent row writes
+      // find nothing left to update in the shared digest bookkeeping.
+      rows.touchRows(0, this.height);
+      config = this.parallel;
+    } else if (dst instanceof PrimitiveMatrix<T> primitive) {
+      // Likewise, a stale region-sum index ignores the row writes.
+      primitive.touchCells();
+      config = this.parallel;
+    } // if/else
+    config.run(0, this.height, this.width, (startRow, endRow) -> {
+      Object[][] buffers = plan.buffers();
+      Object[] slots = new Object[plan.size];
+      Object[] out = new Object[this.width];
+      for (int row = startRow; row < endRow; row++) {
+        plan.row(row, buffers, slots, out);
+        dst.setRow(row, (T[]) out, 0);
+      } // for
+    });
+  } // evaluateInto(Matrix<T>)
+
+  /**
+   * Combine all of the values, in row-major order, without building any
+   * matrix. When the expression is evaluated in parallel, each band starts
+   * from the identity and the bands' results are combined from top to
+   * bottom, so the identity and combiner must behave as they do for
+   * {@link java.util.stream.Stream#reduce}.
+   *
+   * @param <R>         The type of the result.
+   * @param identity    The result for no values.
+   * @param accumulator How to fold one more value into a result.
+   * @param combiner    How to combine the results of two bands.
+   *
+   * @return the combined result.
+   */
+  @SuppressWarnings("unchecked")
+  public <R> R reduce(R identity, BiFunction<R, ? super T, R> accumulator,
+      BinaryOperator<R> combiner) {
+    Plan plan = new Plan(this);
+    return this.parallel.reduce(0, this.height, this.width, (startRow, endRow) -> {
+      Object[][] buffers = plan.buffers();
+      Object[] slots = new Object[plan.size];
+      Object[] out = new Object[this.width];
+      R result = identity;
+      for (int row = startRow; row < endRow; row++) {
+        plan.row(row, buffers, slots, out);
+        for (Object val : out) {
+          result = accumulator.apply(result, (T) val);
+        } // for
+      } // for
+      return result;
+    }, (upper, lower, lowerRows) -> combiner.apply(upper, lower));
+  } // reduce(R, BiFunction<R, ? super T, R>, BinaryOperator<R>)
+
+  /**
+   * Combine all of the values with one associative operation.
+   *
+   * @param identity The result for no values.
+   * @param op       How to combine two values.
+   *
+   * @return the combined result.
+   */
+  public T reduce(T identity, BinaryOperator<T> op) {
+    return this.reduce(identity, op, op);
+  } // reduce(T, BinaryOperator<T>)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Make sure another expression has the same size as this one.
+   *
+   * @param other The other expression.
+   *
+   * @throws IllegalArgumentException If the sizes differ.
+   */
+  void checkSize(MatrixExpr<?> other) {
+    if (other.width != this.width || other.height != this.height) {
+      throw new IllegalArgumentException("Error: the matrices differ in size: " + this.width
+          + "x" + this.height + " and " + other.width + "x" + other.height + ".");
+    } // if
+  } // checkSize(MatrixExpr<?>)
+
+  // +-------------------+-------------------------------------------
+  // | Helper interfaces |
+  // +-------------------+
+
+  /**
+   * One element-wise computation.
+   */
+  @FunctionalInterface
+  interface Stage {
+    /**
+     * Compute one value.
+     *
+     * @param first  The value of the first input.
+     * @param second The value of the second input (null if there is none).
+     *
+     * @return the computed value.
+     */
+    Object apply(Object first, Object second);
+  } // interface Stage
+
+  // +----------------+----------------------------------------------
+  // | Helper classes |
+  // +----------------+
+
+  /**
+   * An expression flattened for evaluation. Every distinct expression gets
+   * a slot, inputs before the stages that use them, so one sweep through
+   * the slots computes a cell; distinct source matrices get a row buffer.
+   */
+  static final class Plan {
+    /** The number of slots. */
+    final int size;
+
+    /** The width of the rows. */
+    final int width;
+
+    /** The stage for each slot (null for sources). */
+    final Stage[] stages;
+
+    /** The slot of each stage's first input. */
+    final int[] firsts;
+
+    /** The slot of each stage's second input (-1 if none). */
+    final int[] seconds;
+
+    /** The buffer each source slot reads from. */
+    final int[] bufferOf;
+
+    /** The matrix for each buffer. */
+    final Matrix<?>[] sources;
+
+    /**
+     * Flatten an expression.
+     *
+     * @param root The expression.
+     */
+    Plan(MatrixExpr<?> root) {
+      List<MatrixExpr<?>> order = new ArrayList<>();
+      Map<MatrixExpr<?>, Integer> slots = new IdentityHashMap<>();
+      Map<Matrix<?>, Integer> buffers = new IdentityHashMap<>();
+      visit(root, order, slots, buffers);
+      this.size = order.size();
+      this.width = root.width;
+      this.stages = new Stage[this.size];
+      this.firsts = new int[this.size];
+      this.seconds = new int[this.size];
+      this.bufferOf = new int[this.size];
+      this.sources = new Matrix<?>[buffers.size()];
+      for (int slot = 0; slot < this.size; slot++) {
+        MatrixExpr<?> expr = order.get(slot);
+        this.stages[slot] = expr.stage;
+        this.firsts[slot] = (expr.first == null) ? -1 : slots.get(expr.first);
+        this.seconds[slot] = (expr.second == null) ? -1 : slots.get(expr.second);
+        if (expr.source != null) {
+          this.bufferOf[slot] = buffers.get(expr.source);
+          this.sources[this.bufferOf[slot]] = expr.source;
+        } // if
+      } // for
+    } // Plan(MatrixExpr<?>)
+
+    /**
+     * Give slots to an expression and everything it depends on, in
+     * dependency order.
+     *
+     * @param expr    The expression.
+     * @param order   The expressions, by slot.
+     * @param slots   The slot of each expression seen so far.
+     * @param buffers The buffer of each source matrix seen so far.
+     */
+    static void visit(MatrixExpr<?> expr, List<MatrixExpr<?>> order,
+        Map<MatrixExpr<?>, Integer> slots, Map<Matrix<?>, Integer> buffers) {
+      if (slots.containsKey(expr)) {
+        return;
+      } // if
+      if (expr.source != null) {
+        buffers.putIfAbsent(expr.source, buffers.size());
+      } // if
+      if (expr.first != null) {
+        visit(expr.first, order, slots, buffers);
+      } // if
+      if (expr.second != null) {
+        visit(expr.second, order, slots, buffers);
+      } // if
+      slots.put(expr, order.size());
+      order.add(expr);
+    } // visit(MatrixExpr<?>, List<MatrixExpr<?>>, Map<...>, Map<...>)
+
+    /**
+     * Make the row buffers for one thread.
+     *
+     * @return one buffer per source matrix.
+     */
+    Object[][] buffers() {
+      return new Object[this.sources.length][this.width];
+    } // buffers()
+
+    /**
+     * Compute one row.
+     *
+     * @param row     The row.
+     * @param buffers The row buffers.
+     * @param values  Scratch space, one entry per slot.
+     * @param out     Where to put the row's values.
+     */
+    @SuppressWarnings("unchecked")
+    void row(int row, Object[][] buffers, Object[] values, Object[] out) {
+      for (int buffer = 0; buffer < buffers.length; buffer++) {
+        ((Matrix<Object>) this.sources[buffer]).copyRegionTo(row, 0, row + 1, this.width,
+            buffers[buffer], 0);
+      } // for
+      int last = this.size - 1;
+      for (int col = 0; col < this.width; col++) {
+        for (int slot = 0; slot <= last; slot++) {
+          Stage stage = this.stages[slot];
+          if (stage == null) {
+            values[slot] = buffers[this.bufferOf[slot]][col];
+          } else {
+            int second = this.seconds[slot];
+            values[slot] = stage.apply(values[this.firsts[slot]],
+                (second < 0) ? null : values[second]);
+          } // if/else
+        } // for
+        out[col] = values[last];
+      } // for
+    } // row(int, Object[][], Object[], Object[])
+  } // class Plan
+} // class MatrixExpr<T>
@@ -1,14 +1,31 @@
 package edu.grinnell.csc207.util;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 /**
  * An implementation of two-dimensional matrices.
  *
+ * <p>The cells live in a single array, stored row by row. Each row
+ * occupies <code>stride</code> slots, which may be more than the width, and
+ * the array has room for <code>capacity</code> rows, which may be more than
+ * the height. The spare room lets repeated calls to <code>insertRow</code>
+ * and <code>insertCol</code> shift cells in place rather than reallocate
+ * the whole matrix each time.
+ *
  * @author Khanh Do - CSC-207-02
  * @author Samuel A. Rebelsky
  *
  * @param <T> The type of values stored in the matrix.
  */
 public class MatrixV0<T> implements Matrix<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The largest array we are willing to allocate. */
+  static final int MAX_CELLS = Integer.MAX_VALUE - 8;
+
   // +--------+------------------------------------------------------
   // | Fields |
   // +--------+
@@ -22,8 +39,54 @@ public class MatrixV0<T> implements Matrix<T> {
   /** The default value to fill. */
   T def;
 
-  /** The 2-D matrix we store. */
-  T[][] matrix;
+  /** The cells of the matrix. Row r starts at index r * stride. */
+  Object[] cells;
+
+  /** The number of slots reserved for each row (at least the width). */
+  int stride;
+
+  /** The number of rows we have room for (at least the height). */
+  int capacity;
+
+  /**
+   * How whole-matrix operations run in parallel, or null to follow the
+   * global default.
+   */
+  ParallelConfig parallel;
+
+  /**
+   * The hash code of each row, computed as {@link Matrix#hashRows} does, or
+   * null if we have not hashed the matrix yet. Entries whose dirty flag is
+   * set are stale. Only writers and {@link #rehash()} use these; readers
+   * go through {@link #digests}.
+   */
+  int[] rowHashes;
+
+  /** Which entries of rowHashes are stale. */
+  boolean[] dirtyRows;
+
+  /** The number of stale entries in rowHashes. */
+  int dirtyCount;
+
+  /**
+   * The row digests and hash code as of the last rehash, or null if the
+   * matrix has changed since. A snapshot never changes once published, so
+   * concurrent calls to hashCode and equals may share it.
+   */
+  volatile Digests digests;
+
+  // +---------+-----------------------------------------------------
+  // | Records |
+  // +---------+
+
+  /**
+   * A published snapshot of the hash digests.
+   *
+   * @param rowHashes The hash code of each row, which nobody modifies.
+   * @param hash      The hash code of the whole matrix.
+   */
+  record Digests(int[] rowHashes, int hash) {
+  } // record Digests
 
   // +--------------+------------------------------------------------
   // | Constructors |
@@ -40,7 +103,6 @@ public class MatrixV0<T> implements Matrix<T> {
    * @throws NegativeArraySizeException If either the width or height are
    *                                    negative.
    */
-  @SuppressWarnings("unchecked")
   public MatrixV0(int widthInput, int heightInput, T defInput) throws NegativeArraySizeException {
     if (widthInput <= 0 || heightInput <= 0) {
       throw new NegativeArraySizeException("Invalid width or height");
@@ -50,14 +112,10 @@ public class MatrixV0<T> implements Matrix<T> {
     this.width = widthInput;
     this.height = heightInput;
     this.def = defInput;
-    this.matrix = (T[][]) new Object[heightInput][widthInput];
-
-    // A nested for loop to fill the matrix with the default value.
-    for (int row = 0; row < this.height; row++) {
-      for (int col = 0; col < this.width; col++) {
-        this.matrix[row][col] = this.def;
-      } // for
-    } // for
+    this.stride = widthInput;
+    this.capacity = heightInput;
+    this.cells = allocate(heightInput, widthInput);
+    Arrays.fill(this.cells, this.def);
   } // MatrixV0(int, int, T)
 
   /**
@@ -74,6 +132,188 @@ public class MatrixV0<T> implements Matrix<T> {
     this(widthInput, heightInput, null);
   } // MatrixV0
 
+  /**
+   * Create a copy of another matrix, copying bands of rows in parallel when
+   * the matrix is large. The copy gets no spare capacity and shares the
+   * other matrix's parallel configuration.
+   *
+   * @param other The matrix to copy.
+   */
+  MatrixV0(MatrixV0<T> other) {
+    this.width = other.width;
+    this.height = other.height;
+    this.def = other.def;
+    this.stride = other.stride;
+    this.capacity = other.height;
+    this.parallel = other.parallel;
+    // Take the digests from the published snapshot alone, since another
+    // thread may be rehashing the other matrix.
+    Digests snapshot = other.digests;
+    if (snapshot != null) {
+      this.rowHashes = snapshot.rowHashes().clone();
+      this.dirtyRows = new boolean[other.height];
+      this.digests = snapshot;
+    } // if
+    Object[] from = other.cells;
+    Object[] to = new Object[other.height * other.stride];
+    int rowSize = other.stride;
+    this.parallelism().run(0, other.height, rowSize, (start, end) ->
+        System.arraycopy(from, start * rowSize, to, start * rowSize, (end - start) * rowSize));
+    this.cells = to;
+  } // MatrixV0(MatrixV0<T>)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Allocate room for the given number of rows and columns.
+   *
+   * @param rows The number of rows.
+   * @param cols The number of columns in each row.
+   *
+   * @return a new array of rows * cols cells.
+   *
+   * @throws OutOfMemoryError If the array would be too large for Java.
+   */
+  static Object[] allocate(int rows, int cols) {
+    long size = (long) rows * cols;
+    if (size > MAX_CELLS) {
+      throw new OutOfMemoryError("Matrix too large: " + rows + " x " + cols);
+    } // if
+    return new Object[(int) size];
+  } // allocate(int, int)
+
+  /**
+   * Determine how much room to reserve when we need more than we have. We
+   * grow by half again, as ArrayList does, so a long run of single inserts
+   * only reallocates a logarithmic number of times.
+   *
+   * @param current The current amount of room.
+   * @param needed  The amount of room we need.
+   *
+   * @return the new amount of room.
+   */
+  static int grow(int current, int needed) {
+    long grown = current + (current >> 1);
+    return (int) Math.min(MAX_CELLS, Math.max(needed, grown));
+  } // grow(int, int)
+
+  /**
+   * Note that the rows from startRow to endRow (exclusive) have changed, so
+   * their hash digests are stale.
+   *
+   * @param startRow The first changed row.
+   * @param endRow   The row after the last changed row.
+   */
+  void touchRows(int startRow, int endRow) {
+    if (this.digests != null) {
+      this.digests = null;
+    } // if
+    if (this.rowHashes != null) {
+      for (int row = startRow; row < endRow; row++) {
+        if (!this.dirtyRows[row]) {
+          this.dirtyRows[row] = true;
+          this.dirtyCount++;
+        } // if
+      } // for
+    } // if
+  } // touchRows(int, int)
+
+  /**
+   * Replace the digests of removed rows at row with added stale digests,
+   * keeping the digests of the other rows. Call before changing the height.
+   *
+   * @param row     The first row removed or added.
+   * @param removed The number of rows removed.
+   * @param added   The number of rows added.
+   */
+  void spliceDigests(int row, int removed, int added) {
+    this.digests = null;
+    if (this.rowHashes == null) {
+      return;
+    } // if
+    int tail = this.height - row - removed;
+    int newHeight = this.height - removed + added;
+    for (int i = row; i < row + removed; i++) {
+      if (this.dirtyRows[i]) {
+        this.dirtyCount--;
+      } // if
+    } // for
+    int[] hashes = new int[newHeight];
+    boolean[] dirty = new boolean[newHeight];
+    System.arraycopy(this.rowHashes, 0, hashes, 0, row);
+    System.arraycopy(this.dirtyRows, 0, dirty, 0, row);
+    System.arraycopy(this.rowHashes, row + removed, hashes, row + added, tail);
+    System.arraycopy(this.dirtyRows, row + removed, dirty, row + added, tail);
+    Arrays.fill(dirty, row, row + added, true);
+    this.dirtyCount += added;
+    this.rowHashes = hashes;
+    this.dirtyRows = dirty;
+  } // spliceDigests(int, int, int)
+
+  /**
+   * Open up count rows of default values starting at row, shifting the rows
+   * at and below it down.
+   *
+   * @param row   The first new row.
+   * @param count The number of rows to open.
+   */
+  void openRows(int row, int count) {
+    this.spliceDigests(row, 0, count);
+    int newHeight = this.height + count;
+    int from = row * this.stride;
+    int to = (row + count) * this.stride;
+    int tail = (this.height - row) * this.stride;
+    if (newHeight > this.capacity) {
+      int newCapacity = grow(this.capacity, newHeight);
+      Object[] newCells = allocate(newCapacity, this.stride);
+      System.arraycopy(this.cells, 0, newCells, 0, from);
+      System.arraycopy(this.cells, from, newCells, to, tail);
+      this.cells = newCells;
+      this.capacity = newCapacity;
+    } else {
+      System.arraycopy(this.cells, from, this.cells, to, tail);
+    } // if/else
+    Arrays.fill(this.cells, from, to, this.def);
+    this.height = newHeight;
+  } // openRows(int, int)
+
+  /**
+   * Open up count columns of default values starting at col, shifting the
+   * columns at and to the right of it over.
+   *
+   * @param col   The first new column.
+   * @param count The number of columns to open.
+   */
+  void openCols(int col, int count) {
+    this.touchRows(0, this.height);
+    int newWidth = this.width + count;
+    int tail = this.width - col;
+    if (newWidth > this.stride) {
+      int newStride = grow(this.stride, newWidth);
+      Object[] newCells = allocate(this.capacity, newStride);
+      for (int row = 0; row < this.height; row++) {
+        int src = row * this.stride;
+        int dst = row * newStride;
+        System.arraycopy(this.cells, src, newCells, dst, col);
+        System.arraycopy(this.cells, src + col, newCells, dst + col + count, tail);
+      } // for
+      this.cells = newCells;
+      this.stride = newStride;
+    } else {
+      for (int row = 0; row < this.height; row++) {
+        int base = row * this.stride + col;
+        System.arraycopy(this.cells, base, this.cells, base + count, tail);
+      } // for
+    } // if/else
+    for (int row = 0; row < this.height; row++) {
+      int base = row * this.stride + col;
+      Arrays.fill(this.cells, base, base + count, this.def);
+    } // for
+    this.width = newWidth;
+  } // openCols(int, int)
+
   // +--------------+------------------------------------------------
   // | Core methods |
   // +--------------+
@@ -90,12 +330,13 @@ public class MatrixV0<T> implements Matrix<T> {
    *                                   reasonable bounds.
    */
   @Override
+  @SuppressWarnings("unchecked")
   public T get(int row, int col) throws IndexOutOfBoundsException {
     if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
       throw new IndexOutOfBoundsException("Error: invalid row or column.");
     } // if
 
-    return this.matrix[row][col];
+    return (T) this.cells[row * this.stride + col];
   } // get(int, int)
 
   /**
@@ -114,7 +355,8 @@ public class MatrixV0<T> implements Matrix<T> {
       throw new IndexOutOfBoundsException("Error: invalid row or column.");
     } // if
 
-    this.matrix[row][col] = val;
+    this.cells[row * this.stride + col] = val;
+    this.touchRows(row, row + 1);
   } // set(int, int, T)
 
   /**
@@ -145,27 +387,13 @@ public class MatrixV0<T> implements Matrix<T> {
    * @throws IndexOutOfBoundsException If the row is negative or greater than the
    *                                   height.
    */
-  @SuppressWarnings("unchecked")
   @Override
   public void insertRow(int row) throws IndexOutOfBoundsException {
     if (row < 0 || row > this.height()) {
       throw new IndexOutOfBoundsException("Error: invalid row.");
     } // if
 
-    T[][] newMatrix = (T[][]) new Object[this.height() + 1][this.width()];
-
-    System.arraycopy(this.matrix, 0, newMatrix, 0, row);
-
-    newMatrix[row] = (T[]) new Object[this.width()];
-
-    for (int col = 0; col < this.width(); col++) {
-      newMatrix[row][col] = this.def;
-    } // for
-
-    System.arraycopy(this.matrix, row, newMatrix, row + 1, this.height() - row);
-
-    this.matrix = newMatrix;
-    this.height++;
+    this.openRows(row, 1);
   } // insertRow(int)
 
   /**
@@ -189,8 +417,8 @@ public class MatrixV0<T> implements Matrix<T> {
       throw new ArraySizeException("Error: invalid size of vals.");
     } // if
 
-    this.insertRow(row);
-    System.arraycopy(vals, 0, this.matrix[row], 0, this.width());
+    this.openRows(row, 1);
+    System.arraycopy(vals, 0, this.cells, row * this.stride, this.width);
   } // insertRow(int, T[])
 
   /**
@@ -201,25 +429,13 @@ public class MatrixV0<T> implements Matrix<T> {
    * @throws IndexOutOfBoundsException If the column is negative or greater than
    *                                   the width.
    */
-  @SuppressWarnings("unchecked")
   @Override
   public void insertCol(int col) throws IndexOutOfBoundsException {
     if (col < 0 || col > this.width()) {
       throw new IndexOutOfBoundsException("Error: invalid column.");
     } // if
 
-    for (int row = 0; row < this.height(); row++) {
-      T[] temp = (T[]) new Object[this.width() + 1];
-
-      System.arraycopy(this.matrix[row], 0, temp, 0, col);
-
-      temp[col] = this.def;
-
-      System.arraycopy(this.matrix[row], col, temp, col + 1, this.width - col);
-
-      this.matrix[row] = temp;
-    } // for
-    this.width++;
+    this.openCols(col, 1);
   } // insertCol(int)
 
   /**
@@ -243,10 +459,10 @@ public class MatrixV0<T> implements Matrix<T> {
       throw new ArraySizeException("Error: invalid size of vals.");
     } // if
 
-    this.insertCol(col);
+    this.openCols(col, 1);
 
-    for (int row = 0; row < this.height(); row++) {
-      this.matrix[row][col] = vals[row];
+    for (int row = 0; row < this.height; row++) {
+      this.cells[row * this.stride + col] = vals[row];
     } // for
   } // insertCol(int, T[])
 
@@ -265,15 +481,12 @@ public class MatrixV0<T> implements Matrix<T> {
       throw new IndexOutOfBoundsException("Error: invalid row.");
     } // if
 
-    for (int r = 0; r < this.height() - 1; r++) {
-      for (int col = 0; col < this.width(); col++) {
-        if (r >= row) {
-          this.matrix[r][col] = this.get(r + 1, col);
-        } // if
-      } // for
-    } // for
-
+    this.spliceDigests(row, 1, 0);
+    System.arraycopy(this.cells, (row + 1) * this.stride, this.cells, row * this.stride,
+        (this.height - row - 1) * this.stride);
     this.height--;
+    // Drop the references in the vacated row so they can be collected.
+    Arrays.fill(this.cells, this.height * this.stride, (this.height + 1) * this.stride, null);
   } // deleteRow(int)
 
   /**
@@ -291,12 +504,12 @@ public class MatrixV0<T> implements Matrix<T> {
       throw new IndexOutOfBoundsException("Error: invalid column.");
     } // if
 
-    for (int row = 0; row < this.height(); row++) {
-      for (int c = 0; c < this.width() - 1; c++) {
-        if (c >= col) {
-          this.matrix[row][c] = this.get(row, c + 1);
-        } // if
-      } // for
+    this.touchRows(0, this.height);
+    int tail = this.width - col - 1;
+    for (int row = 0; row < this.height; row++) {
+      int base = row * this.stride;
+      System.arraycopy(this.cells, base + col + 1, this.cells, base + col, tail);
+      this.cells[base + this.width - 1] = null;
     } // for
 
     this.width--;
@@ -321,11 +534,17 @@ public class MatrixV0<T> implements Matrix<T> {
           + ", " + startCol + ", " + endRow + ", " + endCol);
     } // if
 
-    for (int row = startRow; row < endRow; row++) {
-      for (int col = startCol; col < endCol; col++) {
-        this.matrix[row][col] = val;
-      } // for
-    } // for
+    if (startCol < endCol) {
+      this.touchRows(startRow, endRow);
+      Object[] slots = this.cells;
+      int rowSize = this.stride;
+      this.parallelism().run(startRow, endRow, endCol - startCol, (start, end) -> {
+        for (int row = start; row < end; row++) {
+          int base = row * rowSize;
+          Arrays.fill(slots, base + startCol, base + endCol, val);
+        } // for
+      });
+    } // if
   } // fillRegion(int, int, int, int, T)
 
   /**
@@ -335,7 +554,7 @@ public class MatrixV0<T> implements Matrix<T> {
    * startCol + 2 * deltaCol),
    * … with val. Stop when the current row or column equals or exceeds endRow or
    * endCol,
-   * repectively.
+   * repectively, or drops below 0. A line with no deltas fills one cell.
    *
    * @param startRow The row to start with (inclusive).
    * @param startCol The column to start with (inclusive).
@@ -354,14 +573,23 @@ public class MatrixV0<T> implements Matrix<T> {
       throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
     } // if
 
-    int row = startRow;
-    int col = startCol;
-
-    while (row < endRow && col < endCol) {
-      this.matrix[row][col] = val;
-      row += deltaRow;
-      col += deltaCol;
-    } // while
+    int steps = Lines.steps(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    if (steps == 0) {
+      return;
+    } // if
+    int lastRow = startRow + (steps - 1) * deltaRow;
+    this.touchRows(Math.min(startRow, lastRow), Math.max(startRow, lastRow) + 1);
+    int index = startRow * this.stride + startCol;
+    if (deltaRow == 0 && (deltaCol == 1 || deltaCol == -1)) {
+      int first = (deltaCol > 0) ? index : index - steps + 1;
+      Arrays.fill(this.cells, first, first + steps, val);
+    } else {
+      int step = deltaRow * this.stride + deltaCol;
+      for (int i = 0; i < steps; i++) {
+        this.cells[index] = val;
+        index += step;
+      } // for
+    } // if/else
   } // fillLine(int, int, int, int, int, int, T)
 
   /**
@@ -373,15 +601,7 @@ public class MatrixV0<T> implements Matrix<T> {
    */
   @Override
   public Matrix<T> clone() {
-    Matrix<T> copy = new MatrixV0<>(this.width(), this.height(), this.def);
-
-    for (int row = 0; row < this.height(); row++) {
-      for (int col = 0; col < this.width(); col++) {
-        copy.set(row, col, this.get(row, col));
-      } // for
-    } // for
-
-    return copy;
+    return new MatrixV0<>(this);
   } // clone()
 
   /**
@@ -396,30 +616,38 @@ public class MatrixV0<T> implements Matrix<T> {
   @Override
   @SuppressWarnings("unchecked")
   public boolean equals(Object other) {
-    if (other instanceof Matrix) {
-      Matrix<T> otherMatrix = (Matrix<T>) other;
-      if (this.width() == otherMatrix.width() && this.height() == otherMatrix.height()) {
-        // a nested look to compare each element of the matrix
-        for (int row = 0; row < this.height(); row++) {
-          for (int col = 0; col < this.width(); col++) {
-            try {
-              if (!this.get(row, col).equals(otherMatrix.get(row, col))) {
-                return false;
-              } // if
-            } catch (IndexOutOfBoundsException e) {
-              if (this.matrix[row][col] == null) {
-                if (otherMatrix.get(row, col) != null) {
-                  return false;
-                } // if
-              } // if
-            } // try/catch
-          } // for col
-        } // for row
-        return true;
-      } // if
+    if (!(other instanceof Matrix)) {
       return false;
     } // if
-    return false;
+    Matrix<T> otherMatrix = (Matrix<T>) other;
+    if (this.width() != otherMatrix.width() || this.height() != otherMatrix.height()) {
+      return false;
+    } // if
+
+    if (other instanceof MatrixV0) {
+      // Compare row by row, without going through the bounds checks in get,
+      // in parallel bands when the matrix is large. Cached hash codes and
+      // row digests let us reject unequal matrices without looking at cells.
+      MatrixV0<T> that = (MatrixV0<T>) other;
+      Digests mine = this.digests;
+      Digests theirs = that.digests;
+      if (mine != null && theirs != null && mine.hash() != theirs.hash()) {
+        return false;
+      } // if
+      return this.parallelism().reduce(0, this.height, this.width,
+          (start, end) -> this.sameRows(that, mine, theirs, start, end),
+          (upper, lower, lowerRows) -> upper && lower);
+    } // if
+
+    for (int row = 0; row < this.height; row++) {
+      int base = row * this.stride;
+      for (int col = 0; col < this.width; col++) {
+        if (!Objects.equals(this.cells[base + col], otherMatrix.get(row, col))) {
+          return false;
+        } // if
+      } // for col
+    } // for row
+    return true;
   } // equals(Object)
 
   /**
@@ -429,22 +657,617 @@ public class MatrixV0<T> implements Matrix<T> {
    * objects are the
    * same.
    *
+   * <p>We keep a digest of each row and recompute only the rows that have
+   * changed since the last call, in parallel bands when there are many of
+   * them, then combine the digests as {@link Matrix#hashCode(Matrix)}
+   * describes. An unchanged matrix returns its cached hash code at once.
+   * Like the other reads, this is safe to call from several threads at
+   * once as long as nothing writes to the matrix meanwhile.
+   *
    * @return the hash code.
    */
   @Override
   public int hashCode() {
-    int multiplier = 7;
-    int code = this.width() + multiplier * this.height();
-    for (int row = 0; row < this.height(); row++) {
-      for (int col = 0; col < this.width(); col++) {
-        T val = this.get(row, col);
-        if (val != null) {
-          // It's okay if the following computation overflows, since
-          // it will overflow uniformly.
-          code = code * multiplier + val.hashCode();
-        } // if
+    return this.digests().hash();
+  } // hashCode()
+
+  /**
+   * Get up-to-date hash digests, rehashing if the matrix has changed.
+   *
+   * @return the digests.
+   */
+  Digests digests() {
+    Digests current = this.digests;
+    return (current != null) ? current : this.rehash();
+  } // digests()
+
+  /**
+   * Bring the row digests up to date and publish a snapshot of them. Only
+   * one thread rehashes at a time, so racing first calls cannot mix their
+   * work.
+   *
+   * @return the new snapshot.
+   */
+  synchronized Digests rehash() {
+    Digests current = this.digests;
+    if (current != null) {
+      return current;
+    } // if
+    if (this.rowHashes == null) {
+      this.rowHashes = new int[this.height];
+      this.dirtyRows = new boolean[this.height];
+      Arrays.fill(this.dirtyRows, true);
+      this.dirtyCount = this.height;
+    } // if
+    if (this.dirtyCount > 0) {
+      int[] hashes = this.rowHashes;
+      boolean[] dirty = this.dirtyRows;
+      ParallelConfig config = this.parallelism();
+      if ((long) this.dirtyCount * this.width <= config.threshold) {
+        config = ParallelConfig.SERIAL;
+      } // if
+      config.run(0, this.height, this.width, (start, end) -> {
+        for (int row = start; row < end; row++) {
+          if (dirty[row]) {
+            hashes[row] = this.hashRows(row, row + 1);
+            dirty[row] = false;
+          } // if
+        } // for
+      });
+      this.dirtyCount = 0;
+    } // if
+    int rowPower = Matrix.hashPower(this.width);
+    int code = this.width + 7 * this.height;
+    for (int row = 0; row < this.height; row++) {
+      code = code * rowPower + this.rowHashes[row];
+    } // for
+    current = new Digests(this.rowHashes.clone(), code);
+    this.digests = current;
+    return current;
+  } // rehash()
+
+  // +--------------------+------------------------------------------
+  // | Parallel execution |
+  // +--------------------+
+
+  /**
+   * Get the configuration that decides how fillRegion, clone, equals, and
+   * hashCode split large matrices into bands of rows.
+   *
+   * @return this matrix's configuration, or the global default if it has
+   *         none of its own.
+   */
+  public ParallelConfig parallelism() {
+    ParallelConfig config = this.parallel;
+    return (config == null) ? ParallelConfig.global() : config;
+  } // parallelism()
+
+  /**
+   * Set the configuration that decides how fillRegion, clone, equals, and
+   * hashCode split large matrices into bands of rows.
+   *
+   * @param config The configuration, or null to follow the global default.
+   */
+  public void setParallelism(ParallelConfig config) {
+    this.parallel = config;
+  } // setParallelism(ParallelConfig)
+
+  /**
+   * Determine if a band of rows matches the same rows of another matrix of
+   * the same size.
+   *
+   * @param that     The other matrix.
+   * @param mine     The digests of this matrix, or null if stale.
+   * @param theirs   The digests of the other matrix, or null if stale.
+   * @param startRow The first row of the band (inclusive).
+   * @param endRow   The last row of the band (exclusive).
+   *
+   * @return true if every cell in the band is equal; false otherwise.
+   */
+  boolean sameRows(MatrixV0<T> that, Digests mine, Digests theirs, int startRow, int endRow) {
+    boolean digested = mine != null && theirs != null;
+    for (int row = startRow; row < endRow; row++) {
+      if (digested && mine.rowHashes()[row] != theirs.rowHashes()[row]) {
+        return false;
+      } // if
+      int here = row * this.stride;
+      int there = row * that.stride;
+      if (!Arrays.equals(this.cells, here, here + this.width,
+          that.cells, there, there + this.width)) {
+        return false;
+      } // if
+    } // for
+    return true;
+  } // sameRows(MatrixV0<T>, Digests, Digests, int, int)
+
+  /**
+   * Compute the hash code of a band of rows, starting from 0, as
+   * {@link Matrix#hashRows(Matrix, int, int)} does.
+   *
+   * @param startRow The first row of the band (inclusive).
+   * @param endRow   The last row of the band (exclusive).
+   *
+   * @return the hash code of the cells in the band.
+   */
+  int hashRows(int startRow, int endRow) {
+    int code = 0;
+    for (int row = startRow; row < endRow; row++) {
+      int base = row * this.stride;
+      for (int col = 0; col < this.width; col++) {
+        // It's okay if the following computation overflows, since
+        // it will overflow uniformly.
+        code = code * 7 + Objects.hashCode(this.cells[base + col]);
       } // for col
     } // for row
     return code;
-  } // hashCode()
+  } // hashRows(int, int)
+
+  // +-----------+---------------------------------------------------
+  // | Traversal |
+  // +-----------+
+
+  /**
+   * Visit every cell in a rectangular region, reading the cells array
+   * directly after one bounds check.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param visitor  What to do with each cell.
+   *
+   * @throws IndexOutOfBoundsException If the region does not fit in the
+   *                                   matrix.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEachCell(int startRow, int startCol, int endRow, int endCol,
+      CellVisitor<? super T> visitor) {
+    Matrix.checkRegion(this, startRow, startCol, endRow, endCol);
+    Object[] slots = this.cells;
+    for (int row = startRow; row < endRow; row++) {
+      int base = row * this.stride;
+      for (int col = startCol; col < endCol; col++) {
+        visitor.visit(row, col, (T) slots[base + col]);
+      } // for
+    } // for
+  } // forEachCell(int, int, int, int, CellVisitor<? super T>)
+
+  /**
+   * Replace the value of every cell in a rectangular region, writing the
+   * cells array directly after one bounds check.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param function How to compute each new value.
+   *
+   * @throws IndexOutOfBoundsException If the region does not fit in the
+   *                                   matrix.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void replaceAll(int startRow, int startCol, int endRow, int endCol,
+      CellFunction<T> function) {
+    Matrix.checkRegion(this, startRow, startCol, endRow, endCol);
+    if (startCol < endCol) {
+      this.touchRows(startRow, endRow);
+    } // if
+    Object[] slots = this.cells;
+    for (int row = startRow; row < endRow; row++) {
+      int base = row * this.stride;
+      for (int col = startCol; col < endCol; col++) {
+        slots[base + col] = function.apply(row, col, (T) slots[base + col]);
+      } // for
+    } // for
+  } // replaceAll(int, int, int, int, CellFunction<T>)
+
+  // +-------+-------------------------------------------------------
+  // | Lines |
+  // +-------+
+
+  /**
+   * Draw the straight line between two cells, both inclusive, filling each
+   * row's run of cells directly in the cells array.
+   *
+   * @param startRow The row of the first endpoint.
+   * @param startCol The column of the first endpoint.
+   * @param endRow   The row of the second endpoint.
+   * @param endCol   The column of the second endpoint.
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If either endpoint is outside the
+   *                                   matrix.
+   */
+  @Override
+  public void drawLine(int startRow, int startCol, int endRow, int endCol, T val) {
+    Lines.checkSegment(startRow, startCol, endRow, endCol, this.width, this.height);
+    this.traceLine(startRow, startCol, endRow, endCol, val);
+  } // drawLine(int, int, int, int, T)
+
+  /**
+   * Draw many lines at once. All of the segments are checked first; then
+   * each is traced straight into the cells array, with no per-cell bounds
+   * checks or digest bookkeeping.
+   *
+   * @param segments The endpoints of the segments, four ints apiece.
+   * @param val      The value to store.
+   *
+   * @throws IllegalArgumentException  If the number of coordinates is not a
+   *                                   multiple of four.
+   * @throws IndexOutOfBoundsException If any endpoint is outside the matrix.
+   */
+  @Override
+  public void fillLines(int[] segments, T val) {
+    Lines.checkSegments(segments, this.width, this.height);
+    for (int i = 0; i < segments.length; i += 4) {
+      this.traceLine(segments[i], segments[i + 1], segments[i + 2], segments[i + 3], val);
+    } // for
+  } // fillLines(int[], T)
+
+  /**
+   * Draw a line whose endpoints have already been checked.
+   *
+   * @param startRow The row of the first endpoint.
+   * @param startCol The column of the first endpoint.
+   * @param endRow   The row of the second endpoint.
+   * @param endCol   The column of the second endpoint.
+   * @param val      The value to store.
+   */
+  void traceLine(int startRow, int startCol, int endRow, int endCol, T val) {
+    this.touchRows(Math.min(startRow, endRow), Math.max(startRow, endRow) + 1);
+    Object[] slots = this.cells;
+    int rowStride = this.stride;
+    Lines.trace(startRow, startCol, endRow, endCol,
+        (row, left, right) -> Arrays.fill(slots, row * rowStride + left,
+            row * rowStride + right, val));
+  } // traceLine(int, int, int, int, T)
+
+  // +---------------+-----------------------------------------------
+  // | Bulk transfer |
+  // +---------------+
+
+  /**
+   * Copy a row into an array with a single arraycopy.
+   *
+   * @param row The row to copy.
+   * @param dst The array to copy into.
+   * @param off Where in the array to put the first cell.
+   *
+   * @throws IndexOutOfBoundsException If the row is out of bounds or the
+   *                                   cells do not fit in the array.
+   */
+  @Override
+  public void getRow(int row, T[] dst, int off) {
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    Matrix.checkSlice(dst.length, off, this.width);
+    System.arraycopy(this.cells, row * this.stride, dst, off, this.width);
+  } // getRow(int, T[], int)
+
+  /**
+   * Overwrite a row with a single arraycopy.
+   *
+   * @param row The row to overwrite.
+   * @param src The array to copy from.
+   * @param off Where in the array the value for the first cell is.
+   *
+   * @throws IndexOutOfBoundsException If the row is out of bounds or the
+   *                                   array is too short.
+   */
+  @Override
+  public void setRow(int row, T[] src, int off) {
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    Matrix.checkSlice(src.length, off, this.width);
+    System.arraycopy(src, off, this.cells, row * this.stride, this.width);
+    this.touchRows(row, row + 1);
+  } // setRow(int, T[], int)
+
+  /**
+   * Copy a column into an array, stepping through the cells by stride.
+   *
+   * @param col The column to copy.
+   * @param dst The array to copy into.
+   * @param off Where in the array to put the first cell.
+   *
+   * @throws IndexOutOfBoundsException If the column is out of bounds or the
+   *                                   cells do not fit in the array.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void getCol(int col, T[] dst, int off) {
+    if (col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    Matrix.checkSlice(dst.length, off, this.height);
+    for (int row = 0; row < this.height; row++) {
+      dst[off + row] = (T) this.cells[row * this.stride + col];
+    } // for
+  } // getCol(int, T[], int)
+
+  /**
+   * Overwrite a column, stepping through the cells by stride.
+   *
+   * @param col The column to overwrite.
+   * @param src The array to copy from.
+   * @param off Where in the array the value for the first cell is.
+   *
+   * @throws IndexOutOfBoundsException If the column is out of bounds or the
+   *                                   array is too short.
+   */
+  @Override
+  public void setCol(int col, T[] src, int off) {
+    if (col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    Matrix.checkSlice(src.length, off, this.height);
+    for (int row = 0; row < this.height; row++) {
+      this.cells[row * this.stride + col] = src[off + row];
+    } // for
+    this.touchRows(0, this.height);
+  } // setCol(int, T[], int)
+
+  /**
+   * Copy a rectangular region into an array with one arraycopy per row.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param dst      The array to copy into.
+   * @param off      Where in the array to put the first cell.
+   *
+   * @throws IndexOutOfBoundsException If the region does not fit in the
+   *                                   matrix or the cells do not fit in the
+   *                                   array.
+   */
+  @Override
+  public void copyRegionTo(int startRow, int startCol, int endRow, int endCol, T[] dst,
+      int off) {
+    Matrix.checkRegion(this, startRow, startCol, endRow, endCol);
+    int cols = endCol - startCol;
+    Matrix.checkSlice(dst.length, off, Math.multiplyExact(endRow - startRow, cols));
+    for (int row = startRow; row < endRow; row++) {
+      System.arraycopy(this.cells, row * this.stride + startCol, dst,
+          off + (row - startRow) * cols, cols);
+    } // for
+  } // copyRegionTo(int, int, int, int, T[], int)
+
+  /**
+   * Overwrite a region with one arraycopy per array row.
+   *
+   * @param startRow The row for the first array row.
+   * @param startCol The column for the first value of each array row.
+   * @param src      The values.
+   *
+   * @throws IndexOutOfBoundsException If the values do not fit in the matrix.
+   */
+  @Override
+  public void setRegion(int startRow, int startCol, T[][] src) {
+    Matrix.checkRegion(this, startRow, startCol, startRow + src.length, startCol);
+    for (T[] vals : src) {
+      Matrix.checkRegion(this, startRow, startCol, startRow, startCol + vals.length);
+    } // for
+    for (int i = 0; i < src.length; i++) {
+      System.arraycopy(src[i], 0, this.cells, (startRow + i) * this.stride + startCol,
+          src[i].length);
+    } // for
+    this.touchRows(startRow, startRow + src.length);
+  } // setRegion(int, int, T[][])
+
+  /**
+   * Copy a rectangular region of another matrix into this one. Sources
+   * that are also MatrixV0s are copied with one arraycopy per row, in an
+   * order that is safe when the source and destination overlap.
+   *
+   * @param src    The matrix to copy from.
+   * @param srcRow The top row of the region in src.
+   * @param srcCol The left column of the region in src.
+   * @param dstRow The top row of the region in this matrix.
+   * @param dstCol The left column of the region in this matrix.
+   * @param rows   The height of the region.
+   * @param cols   The width of the region.
+   *
+   * @throws IndexOutOfBoundsException If either region does not fit in its
+   *                                   matrix.
+   */
+  @Override
+  public void blit(Matrix<? extends T> src, int srcRow, int srcCol, int dstRow, int dstCol,
+      int rows, int cols) {
+    if (!(src instanceof MatrixV0)) {
+      Matrix.super.blit(src, srcRow, srcCol, dstRow, dstCol, rows, cols);
+      return;
+    } // if
+    Matrix.checkRegion(src, srcRow, srcCol, srcRow + rows, srcCol + cols);
+    Matrix.checkRegion(this, dstRow, dstCol, dstRow + rows, dstCol + cols);
+    MatrixV0<?> that = (MatrixV0<?>) src;
+    boolean down = that.cells == this.cells && dstRow > srcRow;
+    for (int i = 0; i < rows; i++) {
+      int row = down ? rows - 1 - i : i;
+      System.arraycopy(that.cells, (srcRow + row) * that.stride + srcCol, this.cells,
+          (dstRow + row) * this.stride + dstCol, cols);
+    } // for
+    if (cols > 0) {
+      this.touchRows(dstRow, dstRow + rows);
+    } // if
+  } // blit(Matrix<? extends T>, int, int, int, int, int, int)
+
+  // +------------------+--------------------------------------------
+  // | Range operations |
+  // +------------------+
+
+  /**
+   * Insert count rows filled with the default value, shifting the rows
+   * below them once.
+   *
+   * @param row   The number of the first row to insert.
+   * @param count The number of rows to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertRows(int row, int count) {
+    Matrix.checkInsert(row, this.height, count, "row");
+    this.openRows(row, count);
+  } // insertRows(int, int)
+
+  /**
+   * Insert rows filled with the specified values, shifting the rows below
+   * them once.
+   *
+   * @param row  The number of the first row to insert.
+   * @param vals The values to insert, one array per row.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the width of the matrix.
+   */
+  @Override
+  public void insertRows(int row, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(row, this.height, vals.length, "row");
+    Matrix.checkLengths(vals, this.width);
+    this.openRows(row, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      System.arraycopy(vals[i], 0, this.cells, (row + i) * this.stride, this.width);
+    } // for
+  } // insertRows(int, T[][])
+
+  /**
+   * Delete a range of rows with one shift of the rows below them.
+   *
+   * @param startRow The first row to delete.
+   * @param endRow   The row to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the rows are out of bounds or
+   *                                   startRow is greater than endRow.
+   */
+  @Override
+  public void deleteRows(int startRow, int endRow) {
+    Matrix.checkDelete(startRow, endRow, this.height, "rows");
+    this.spliceDigests(startRow, endRow - startRow, 0);
+    System.arraycopy(this.cells, endRow * this.stride, this.cells, startRow * this.stride,
+        (this.height - endRow) * this.stride);
+    int newHeight = this.height - (endRow - startRow);
+    Arrays.fill(this.cells, newHeight * this.stride, this.height * this.stride, null);
+    this.height = newHeight;
+  } // deleteRows(int, int)
+
+  /**
+   * Insert count columns filled with the default value, shifting each row
+   * once.
+   *
+   * @param col   The number of the first column to insert.
+   * @param count The number of columns to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertCols(int col, int count) {
+    Matrix.checkInsert(col, this.width, count, "column");
+    this.openCols(col, count);
+  } // insertCols(int, int)
+
+  /**
+   * Insert columns filled with the specified values, shifting each row
+   * once.
+   *
+   * @param col  The number of the first column to insert.
+   * @param vals The values to insert, one array per column.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the height of the matrix.
+   */
+  @Override
+  public void insertCols(int col, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(col, this.width, vals.length, "column");
+    Matrix.checkLengths(vals, this.height);
+    this.openCols(col, vals.length);
+    for (int row = 0; row < this.height; row++) {
+      int base = row * this.stride + col;
+      for (int i = 0; i < vals.length; i++) {
+        this.cells[base + i] = vals[i][row];
+      } // for
+    } // for
+  } // insertCols(int, T[][])
+
+  /**
+   * Delete a range of columns, shifting each row once.
+   *
+   * @param startCol The first column to delete.
+   * @param endCol   The column to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the columns are out of bounds or
+   *                                   startCol is greater than endCol.
+   */
+  @Override
+  public void deleteCols(int startCol, int endCol) {
+    Matrix.checkDelete(startCol, endCol, this.width, "columns");
+    this.touchRows(0, this.height);
+    int newWidth = this.width - (endCol - startCol);
+    for (int row = 0; row < this.height; row++) {
+      int base = row * this.stride;
+      System.arraycopy(this.cells, base + endCol, this.cells, base + startCol,
+          this.width - endCol);
+      Arrays.fill(this.cells, base + newWidth, base + this.width, null);
+    } // for
+    this.width = newWidth;
+  } // deleteCols(int, int)
+
+  /**
+   * Change the size of the matrix, keeping the cells at the top left. If
+   * the new size fits in the spare room we work in place; otherwise we
+   * allocate once and copy each kept row once.
+   *
+   * @param newWidth  The new width.
+   * @param newHeight The new height.
+   *
+   * @throws NegativeArraySizeException If either the new width or new height
+   *                                    is not positive.
+   */
+  @Override
+  public void resize(int newWidth, int newHeight) {
+    if (newWidth <= 0 || newHeight <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+    int keptRows = Math.min(this.height, newHeight);
+    int keptCols = Math.min(this.width, newWidth);
+    if (newWidth != this.width) {
+      this.touchRows(0, keptRows);
+    } // if
+    this.spliceDigests(keptRows, this.height - keptRows, newHeight - keptRows);
+    if (newWidth > this.stride || newHeight > this.capacity) {
+      int newStride = Math.max(this.stride, newWidth);
+      int newCapacity = Math.max(this.capacity, newHeight);
+      Object[] newCells = allocate(newCapacity, newStride);
+      for (int row = 0; row < keptRows; row++) {
+        System.arraycopy(this.cells, row * this.stride, newCells, row * newStride, keptCols);
+        Arrays.fill(newCells, row * newStride + keptCols, row * newStride + newWidth, this.def);
+      } // for
+      Arrays.fill(newCells, keptRows * newStride, newHeight * newStride, this.def);
+      this.cells = newCells;
+      this.stride = newStride;
+      this.capacity = newCapacity;
+    } else {
+      for (int row = 0; row < keptRows; row++) {
+        int base = row * this.stride;
+        Arrays.fill(this.cells, base + keptCols, base + this.width, null);
+        Arrays.fill(this.cells, base + keptCols, base + newWidth, this.def);
+      } // for
+      Arrays.fill(this.cells, keptRows * this.stride, this.height * this.stride, null);
+      Arrays.fill(this.cells, keptRows * this.stride, newHeight * this.stride, this.def);
+    } // if/else
+    this.width = newWidth;
+    this.height = newHeight;
+  } // resize(int, int)
 } // class MatrixV0
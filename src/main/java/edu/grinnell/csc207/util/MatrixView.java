@@ -0,0 +1,418 @@
+package edu.grinnell.csc207.util;
+
+import java.util.List;
+
+/**
+ * A live view of a rectangular region of another matrix, possibly
+ * transposed. No cells are copied: each read or write is translated to
+ * the matching cell of the parent. Views of views translate straight to
+ * the original parent, so nesting costs nothing per access.
+ *
+ * <p>Views have a fixed shape, so the insert and delete methods throw
+ * UnsupportedOperationException. As with <code>List.subList</code>, a
+ * view's behaviour is undefined once its parent changes shape.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+class MatrixView<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The matrix we look into. */
+  final Matrix<T> parent;
+
+  /** The parent row of our first row (or first column, if transposed). */
+  final int rowOffset;
+
+  /** The parent column of our first column (or first row, if transposed). */
+  final int colOffset;
+
+  /** The number of rows in the view. */
+  final int height;
+
+  /** The number of columns in the view. */
+  final int width;
+
+  /** Whether our rows are the parent's columns. */
+  final boolean transposed;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a view. View cell (row, col) is parent cell (rowOffset + row,
+   * colOffset + col), or (rowOffset + col, colOffset + row) if transposed.
+   *
+   * @param parentInput     The matrix to look into.
+   * @param rowOffsetInput  The parent row that view offsets count from.
+   * @param colOffsetInput  The parent column that view offsets count from.
+   * @param heightInput     The number of rows in the view.
+   * @param widthInput      The number of columns in the view.
+   * @param transposedInput Whether the view swaps rows and columns.
+   */
+  MatrixView(Matrix<T> parentInput, int rowOffsetInput, int colOffsetInput, int heightInput,
+      int widthInput, boolean transposedInput) {
+    this.parent = parentInput;
+    this.rowOffset = rowOffsetInput;
+    this.colOffset = colOffsetInput;
+    this.height = heightInput;
+    this.width = widthInput;
+    this.transposed = transposedInput;
+  } // MatrixView(Matrix<T>, int, int, int, int, boolean)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Check that a cell is in the view.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   *
+   * @throws IndexOutOfBoundsException If it is not.
+   */
+  void check(int row, int col) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+  } // check(int, int)
+
+  /**
+   * Build the exception for an attempt to change the view's shape.
+   *
+   * @return the exception to throw.
+   */
+  static UnsupportedOperationException fixedShape() {
+    return new UnsupportedOperationException("Error: views cannot change shape.");
+  } // fixedShape()
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  public T get(int row, int col) {
+    this.check(row, col);
+    return this.transposed
+        ? this.parent.get(this.rowOffset + col, this.colOffset + row)
+        : this.parent.get(this.rowOffset + row, this.colOffset + col);
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  public void set(int row, int col, T val) {
+    this.check(row, col);
+    if (this.transposed) {
+      this.parent.set(this.rowOffset + col, this.colOffset + row, val);
+    } else {
+      this.parent.set(this.rowOffset + row, this.colOffset + col, val);
+    } // if/else
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the view.
+   *
+   * @return the number of rows.
+   */
+  @Override
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Determine the number of columns in the view.
+   *
+   * @return the number of columns.
+   */
+  @Override
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Insert a row. Not supported by views.
+   *
+   * @param row The number of the row to insert.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void insertRow(int row) {
+    throw fixedShape();
+  } // insertRow(int)
+
+  /**
+   * Insert a row. Not supported by views.
+   *
+   * @param row  The number of the row to insert.
+   * @param vals The values to insert.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void insertRow(int row, T[] vals) {
+    throw fixedShape();
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column. Not supported by views.
+   *
+   * @param col The number of the column to insert.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void insertCol(int col) {
+    throw fixedShape();
+  } // insertCol(int)
+
+  /**
+   * Insert a column. Not supported by views.
+   *
+   * @param col  The number of the column to insert.
+   * @param vals The values to insert.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void insertCol(int col, T[] vals) {
+    throw fixedShape();
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row. Not supported by views.
+   *
+   * @param row The number of the row to delete.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void deleteRow(int row) {
+    throw fixedShape();
+  } // deleteRow(int)
+
+  /**
+   * Delete a column. Not supported by views.
+   *
+   * @param col The number of the column to delete.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void deleteCol(int col) {
+    throw fixedShape();
+  } // deleteCol(int)
+
+  /**
+   * Fill a rectangular region of the view by filling the matching region
+   * of the parent, so the parent's fast paths still apply.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+    if (startRow >= endRow || startCol >= endCol) {
+      return;
+    } // if
+    if (this.transposed) {
+      this.parent.fillRegion(this.rowOffset + startCol, this.colOffset + startRow,
+          this.rowOffset + endCol, this.colOffset + endRow, val);
+    } else {
+      this.parent.fillRegion(this.rowOffset + startRow, this.colOffset + startCol,
+          this.rowOffset + endRow, this.colOffset + endCol, val);
+    } // if/else
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal). Lines that move forward
+   * are handed to the parent; others are filled a cell at a time so they
+   * cannot leave the view.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, T val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+    if (deltaRow < 0 || deltaCol < 0) {
+      int steps = Lines.steps(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+      int row = startRow;
+      int col = startCol;
+      for (int i = 0; i < steps; i++) {
+        this.set(row, col, val);
+        row += deltaRow;
+        col += deltaCol;
+      } // for
+    } else if (this.transposed) {
+      this.parent.fillLine(this.rowOffset + startCol, this.colOffset + startRow, deltaCol,
+          deltaRow, this.rowOffset + endCol, this.colOffset + endRow, val);
+    } else {
+      this.parent.fillLine(this.rowOffset + startRow, this.colOffset + startCol, deltaRow,
+          deltaCol, this.rowOffset + endRow, this.colOffset + endCol, val);
+    } // if/else
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Copy the cells of the view into a new, independent matrix.
+   *
+   * @return the copy.
+   */
+  @Override
+  public Matrix<T> clone() {
+    MatrixV0<T> copy = new MatrixV0<>(this.width, this.height);
+    for (int row = 0; row < this.height; row++) {
+      for (int col = 0; col < this.width; col++) {
+        copy.set(row, col, this.get(row, col));
+      } // for
+    } // for
+    return copy;
+  } // clone()
+
+  /**
+   * Determine if this view is equal to another object.
+   *
+   * @param other The object to compare.
+   *
+   * @return true if the other object is a matrix with the same width, height,
+   *         and equal elements; false otherwise.
+   */
+  @Override
+  public boolean equals(Object other) {
+    return Matrix.equals(this, other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this view.
+   *
+   * @return the hash code.
+   */
+  @Override
+  public int hashCode() {
+    return Matrix.hashCode(this);
+  } // hashCode()
+
+  // +-------+-------------------------------------------------------
+  // | Views |
+  // +-------+
+
+  /**
+   * Get a view of part of this view, translated straight to the parent.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   *
+   * @return the view.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public Matrix<T> subMatrix(int startRow, int startCol, int endRow, int endCol) {
+    Matrix.checkView(this, startRow, startCol, endRow, endCol);
+    if (this.transposed) {
+      return new MatrixView<>(this.parent, this.rowOffset + startCol, this.colOffset + startRow,
+          endRow - startRow, endCol - startCol, true);
+    } // if
+    return new MatrixView<>(this.parent, this.rowOffset + startRow, this.colOffset + startCol,
+        endRow - startRow, endCol - startCol, false);
+  } // subMatrix(int, int, int, int)
+
+  /**
+   * Get a transposed view of this view, translated straight to the parent.
+   *
+   * @return the view.
+   */
+  @Override
+  public Matrix<T> transposedView() {
+    if (this.transposed && this.rowOffset == 0 && this.colOffset == 0
+        && this.width == this.parent.height() && this.height == this.parent.width()) {
+      return this.parent;
+    } // if
+    return new MatrixView<>(this.parent, this.rowOffset, this.colOffset, this.width,
+        this.height, !this.transposed);
+  } // transposedView()
+
+  /**
+   * Get a live list view of one row, translated straight to the parent.
+   *
+   * @param row The row.
+   *
+   * @return the view.
+   *
+   * @throws IndexOutOfBoundsException If the row is out of bounds.
+   */
+  @Override
+  public List<T> rowView(int row) {
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    return this.transposed
+        ? new LineView<>(this.parent, this.rowOffset, this.colOffset + row, 1, 0, this.width)
+        : new LineView<>(this.parent, this.rowOffset + row, this.colOffset, 0, 1, this.width);
+  } // rowView(int)
+
+  /**
+   * Get a live list view of one column, translated straight to the parent.
+   *
+   * @param col The column.
+   *
+   * @return the view.
+   *
+   * @throws IndexOutOfBoundsException If the column is out of bounds.
+   */
+  @Override
+  public List<T> colView(int col) {
+    if (col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    return this.transposed
+        ? new LineView<>(this.parent, this.rowOffset + col, this.colOffset, 0, 1, this.height)
+        : new LineView<>(this.parent, this.rowOffset, this.colOffset + col, 1, 0, this.height);
+  } // colView(int)
+} // class MatrixView<T>
@@ -0,0 +1,797 @@
+package edu.grinnell.csc207.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * A matrix of fixed-width values whose cells live in direct buffers outside
+ * the Java heap, so the garbage collector never scans or copies them.
+ *
+ * <p>Cells are stored row-major with room for <code>stride</code> cells per
+ * row. Rows are grouped into slabs of at most a gigabyte, and no row spans
+ * two slabs, so a matrix may hold far more than the two gigabytes a single
+ * buffer can address. Structural changes move whole rows, or the tails of
+ * rows, with bulk copies.
+ *
+ * <p>Close the matrix when done with it. Java 17 offers no supported way to
+ * free a direct buffer on demand, so closing drops the buffers and the
+ * memory returns to the system when they are next collected; any use of a
+ * closed matrix throws IllegalStateException.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+public class OffHeapMatrix<T> implements Matrix<T>, AutoCloseable {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The largest slab we allocate. */
+  static final int SLAB_BYTES = 1 << 30;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** How cells are encoded. */
+  final CellCodec<T> codec;
+
+  /** The number of bytes per cell. */
+  final int cellBytes;
+
+  /** The default value. */
+  final T def;
+
+  /** The largest slab this matrix allocates. */
+  final int maxSlabBytes;
+
+  /** The width of the matrix. */
+  int width;
+
+  /** The height of the matrix. */
+  int height;
+
+  /** The number of cells reserved for each row. */
+  int stride;
+
+  /** The number of rows in each slab. */
+  int rowsPerSlab;
+
+  /** The slabs, or null once the matrix is closed. */
+  ByteBuffer[] slabs;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height in which every
+   * cell holds the given default value.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   * @param defInput    The default value, which may not be null.
+   * @param codecInput  How to encode cells.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public OffHeapMatrix(int widthInput, int heightInput, T defInput, CellCodec<T> codecInput)
+      throws NegativeArraySizeException {
+    this(widthInput, heightInput, defInput, codecInput, SLAB_BYTES);
+  } // OffHeapMatrix(int, int, T, CellCodec<T>)
+
+  /**
+   * Create a new matrix with a limit on the size of its slabs.
+   *
+   * @param widthInput   The width of the matrix.
+   * @param heightInput  The height of the matrix.
+   * @param defInput     The default value, which may not be null.
+   * @param codecInput   How to encode cells.
+   * @param maxSlabInput The largest slab to allocate.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  OffHeapMatrix(int widthInput, int heightInput, T defInput, CellCodec<T> codecInput,
+      int maxSlabInput) throws NegativeArraySizeException {
+    if (widthInput <= 0 || heightInput <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+    this.codec = codecInput;
+    this.cellBytes = codecInput.bytes();
+    this.def = defInput;
+    this.maxSlabBytes = maxSlabInput;
+    this.layOut(heightInput, widthInput);
+    this.width = widthInput;
+    this.height = heightInput;
+    byte[] pattern = codecInput.repeat(defInput, widthInput);
+    for (int row = 0; row < heightInput; row++) {
+      this.fillCells(row, 0, pattern, widthInput);
+    } // for
+  } // OffHeapMatrix(int, int, T, CellCodec<T>, int)
+
+  /**
+   * Create a copy of another matrix with no spare room.
+   *
+   * @param other The matrix to copy.
+   */
+  OffHeapMatrix(OffHeapMatrix<T> other) {
+    this.codec = other.codec;
+    this.cellBytes = other.cellBytes;
+    this.def = other.def;
+    this.maxSlabBytes = other.maxSlabBytes;
+    other.storage();
+    this.layOut(other.height, other.width);
+    this.width = other.width;
+    this.height = other.height;
+    for (int row = 0; row < this.height; row++) {
+      this.slab(row).put(this.offset(row, 0), other.slab(row), other.offset(row, 0),
+          this.width * this.cellBytes);
+    } // for
+  } // OffHeapMatrix(OffHeapMatrix<T>)
+
+  // +--------+------------------------------------------------------
+  // | Layout |
+  // +--------+
+
+  /**
+   * Allocate fresh slabs for a number of rows with a given stride. The old
+   * slabs are simply dropped.
+   *
+   * @param rowCount  The number of rows to make room for.
+   * @param newStride The number of cells to reserve per row.
+   *
+   * @throws OutOfMemoryError If a single row would not fit in a slab.
+   */
+  final void layOut(int rowCount, int newStride) {
+    long rowBytes = (long) Math.max(1, newStride) * this.cellBytes;
+    if (rowBytes > this.maxSlabBytes) {
+      throw new OutOfMemoryError("Matrix too large: " + rowCount + " x " + newStride);
+    } // if
+    int perSlab = (int) Math.min(Math.max(1, rowCount), this.maxSlabBytes / rowBytes);
+    ByteBuffer[] fresh = new ByteBuffer[Math.max(1, (rowCount + perSlab - 1) / perSlab)];
+    for (int i = 0; i < fresh.length; i++) {
+      fresh[i] = ByteBuffer.allocateDirect((int) (perSlab * rowBytes))
+          .order(ByteOrder.LITTLE_ENDIAN);
+    } // for
+    this.slabs = fresh;
+    this.rowsPerSlab = perSlab;
+    this.stride = (int) (rowBytes / this.cellBytes);
+  } // layOut(int, int)
+
+  /**
+   * Move the cells into freshly allocated slabs, opening a gap of columns
+   * along the way.
+   *
+   * @param rowCount  The number of rows to make room for.
+   * @param newStride The number of cells to reserve per row.
+   * @param col       The column at which to open the gap.
+   * @param gap       The number of columns in the gap.
+   */
+  final void relayOut(int rowCount, int newStride, int col, int gap) {
+    ByteBuffer[] oldSlabs = this.slabs;
+    int oldPerSlab = this.rowsPerSlab;
+    int oldRowBytes = this.stride * this.cellBytes;
+    this.layOut(rowCount, newStride);
+    int head = col * this.cellBytes;
+    int tail = (this.width - col) * this.cellBytes;
+    for (int row = 0; row < this.height; row++) {
+      ByteBuffer from = oldSlabs[row / oldPerSlab];
+      int fromOffset = (row % oldPerSlab) * oldRowBytes;
+      ByteBuffer to = this.slab(row);
+      int toOffset = this.offset(row, 0);
+      to.put(toOffset, from, fromOffset, head);
+      to.put(toOffset + head + gap * this.cellBytes, from, fromOffset + head, tail);
+    } // for
+  } // relayOut(int, int, int, int)
+
+  /**
+   * Make sure there is room for a number of rows. While there is only one
+   * slab it grows like an array; after that we add slabs, which leaves the
+   * existing rows where they are.
+   *
+   * @param needed The number of rows needed.
+   */
+  final void ensureRows(int needed) {
+    int capacity = this.slabs.length * this.rowsPerSlab;
+    if (needed <= capacity) {
+      return;
+    } // if
+    int slabRows = this.maxSlabBytes / (this.stride * this.cellBytes);
+    if (this.slabs.length == 1 && this.rowsPerSlab < slabRows) {
+      this.relayOut(MatrixV0.grow(capacity, needed), this.stride, this.width, 0);
+    } else {
+      int count = (needed + this.rowsPerSlab - 1) / this.rowsPerSlab;
+      int old = this.slabs.length;
+      this.slabs = Arrays.copyOf(this.slabs, count);
+      for (int i = old; i < count; i++) {
+        this.slabs[i] = ByteBuffer.allocateDirect(this.rowsPerSlab * this.stride * this.cellBytes)
+            .order(ByteOrder.LITTLE_ENDIAN);
+      } // for
+    } // if/else
+  } // ensureRows(int)
+
+  /**
+   * Get the slabs, making sure the matrix is still open.
+   *
+   * @return the slabs.
+   *
+   * @throws IllegalStateException If the matrix has been closed.
+   */
+  final ByteBuffer[] storage() {
+    if (this.slabs == null) {
+      throw new IllegalStateException("Error: matrix is closed.");
+    } // if
+    return this.slabs;
+  } // storage()
+
+  /**
+   * Find the slab holding a row.
+   *
+   * @param row The row.
+   *
+   * @return the slab.
+   */
+  final ByteBuffer slab(int row) {
+    return this.slabs[row / this.rowsPerSlab];
+  } // slab(int)
+
+  /**
+   * Find the position of a cell within its slab.
+   *
+   * @param row The row.
+   * @param col The column.
+   *
+   * @return the offset in bytes.
+   */
+  final int offset(int row, int col) {
+    return ((row % this.rowsPerSlab) * this.stride + col) * this.cellBytes;
+  } // offset(int, int)
+
+  /**
+   * Copy encoded cells into a row.
+   *
+   * @param row     The row.
+   * @param col     The first column to write.
+   * @param encoded The encoded cells.
+   * @param count   The number of cells to copy.
+   */
+  final void fillCells(int row, int col, byte[] encoded, int count) {
+    this.slab(row).put(this.offset(row, col), encoded, 0, count * this.cellBytes);
+  } // fillCells(int, int, byte[], int)
+
+  /**
+   * Copy one row over another.
+   *
+   * @param from The row to copy.
+   * @param to   The row to overwrite.
+   */
+  final void moveRow(int from, int to) {
+    this.slab(to).put(this.offset(to, 0), this.slab(from), this.offset(from, 0),
+        this.width * this.cellBytes);
+  } // moveRow(int, int)
+
+  /**
+   * Encode an array of values.
+   *
+   * @param vals The values.
+   *
+   * @return the encoded bytes.
+   */
+  final byte[] encode(T[] vals) {
+    ByteBuffer buf = ByteBuffer.allocate(vals.length * this.cellBytes)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    for (int i = 0; i < vals.length; i++) {
+      this.codec.write(buf, i * this.cellBytes, vals[i]);
+    } // for
+    return buf.array();
+  } // encode(T[])
+
+  /**
+   * Open up count rows of default values starting at row.
+   *
+   * @param row   The first new row.
+   * @param count The number of rows to open.
+   */
+  final void openRows(int row, int count) {
+    this.ensureRows(this.height + count);
+    for (int r = this.height - 1; r >= row; r--) {
+      this.moveRow(r, r + count);
+    } // for
+    byte[] pattern = this.codec.repeat(this.def, this.width);
+    for (int r = row; r < row + count; r++) {
+      this.fillCells(r, 0, pattern, this.width);
+    } // for
+    this.height += count;
+  } // openRows(int, int)
+
+  /**
+   * Open up count columns of default values starting at col.
+   *
+   * @param col   The first new column.
+   * @param count The number of columns to open.
+   */
+  final void openCols(int col, int count) {
+    if (this.width + count > this.stride) {
+      this.relayOut(this.slabs.length * this.rowsPerSlab,
+          MatrixV0.grow(this.stride, this.width + count), col, count);
+    } else {
+      int tail = (this.width - col) * this.cellBytes;
+      byte[] scratch = new byte[tail];
+      for (int row = 0; row < this.height; row++) {
+        ByteBuffer slab = this.slab(row);
+        slab.get(this.offset(row, col), scratch, 0, tail);
+        slab.put(this.offset(row, col + count), scratch, 0, tail);
+      } // for
+    } // if/else
+    byte[] pattern = this.codec.repeat(this.def, count);
+    for (int row = 0; row < this.height; row++) {
+      this.fillCells(row, col, pattern, count);
+    } // for
+    this.width += count;
+  } // openCols(int, int)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public T get(int row, int col) {
+    this.storage();
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    return this.codec.read(this.slab(row), this.offset(row, col));
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set, which may not be null.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void set(int row, int col, T val) {
+    this.storage();
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    this.codec.write(this.slab(row), this.offset(row, col), val);
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  @Override
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  @Override
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void insertRow(int row) {
+    this.storage();
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    this.openRows(row, 1);
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row  The number of the row to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If the size of vals is not the same as
+   *                                   the width of the matrix.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    this.storage();
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    if (vals.length != this.width) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    byte[] encoded = this.encode(vals);
+    this.openRows(row, 1);
+    this.fillCells(row, 0, encoded, this.width);
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void insertCol(int col) {
+    this.storage();
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    this.openCols(col, 1);
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col  The number of the column to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If the size of vals is not the same as
+   *                                   the height of the matrix.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    this.storage();
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    if (vals.length != this.height) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    byte[] encoded = this.encode(vals);
+    this.openCols(col, 1);
+    for (int row = 0; row < this.height; row++) {
+      this.slab(row).put(this.offset(row, col), encoded, row * this.cellBytes, this.cellBytes);
+    } // for
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row.
+   *
+   * @param row The number of the row to delete.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   or equal to the height.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void deleteRow(int row) {
+    this.storage();
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    for (int r = row + 1; r < this.height; r++) {
+      this.moveRow(r, r - 1);
+    } // for
+    this.height--;
+  } // deleteRow(int)
+
+  /**
+   * Delete a column.
+   *
+   * @param col The number of the column to delete.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than or equal to the width.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void deleteCol(int col) {
+    this.storage();
+    if (col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    int tail = (this.width - col - 1) * this.cellBytes;
+    byte[] scratch = new byte[tail];
+    for (int row = 0; row < this.height; row++) {
+      ByteBuffer slab = this.slab(row);
+      slab.get(this.offset(row, col + 1), scratch, 0, tail);
+      slab.put(this.offset(row, col), scratch, 0, tail);
+    } // for
+    this.width--;
+  } // deleteCol(int)
+
+  /**
+   * Insert count rows filled with the default value, moving each row below
+   * them once.
+   *
+   * @param row   The number of the first row to insert.
+   * @param count The number of rows to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws IllegalArgumentException  If count is negative.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void insertRows(int row, int count) {
+    this.storage();
+    Matrix.checkInsert(row, this.height, count, "row");
+    this.openRows(row, count);
+  } // insertRows(int, int)
+
+  /**
+   * Insert rows filled with the specified values, moving each row below
+   * them once.
+   *
+   * @param row  The number of the first row to insert.
+   * @param vals The values to insert, one array per row.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the width of the matrix.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void insertRows(int row, T[][] vals) throws ArraySizeException {
+    this.storage();
+    Matrix.checkInsert(row, this.height, vals.length, "row");
+    Matrix.checkLengths(vals, this.width);
+    byte[][] encoded = new byte[vals.length][];
+    for (int i = 0; i < vals.length; i++) {
+      encoded[i] = this.encode(vals[i]);
+    } // for
+    this.openRows(row, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      this.fillCells(row + i, 0, encoded[i], this.width);
+    } // for
+  } // insertRows(int, T[][])
+
+  /**
+   * Delete a range of rows, moving each row below them once.
+   *
+   * @param startRow The first row to delete.
+   * @param endRow   The row to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the rows are out of bounds or
+   *                                   startRow is greater than endRow.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void deleteRows(int startRow, int endRow) {
+    this.storage();
+    Matrix.checkDelete(startRow, endRow, this.height, "rows");
+    int count = endRow - startRow;
+    for (int r = endRow; r < this.height; r++) {
+      this.moveRow(r, r - count);
+    } // for
+    this.height -= count;
+  } // deleteRows(int, int)
+
+  /**
+   * Insert count columns filled with the default value, moving each row
+   * once.
+   *
+   * @param col   The number of the first column to insert.
+   * @param count The number of columns to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws IllegalArgumentException  If count is negative.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void insertCols(int col, int count) {
+    this.storage();
+    Matrix.checkInsert(col, this.width, count, "column");
+    this.openCols(col, count);
+  } // insertCols(int, int)
+
+  /**
+   * Insert columns filled with the specified values, moving each row once.
+   *
+   * @param col  The number of the first column to insert.
+   * @param vals The values to insert, one array per column.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the height of the matrix.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void insertCols(int col, T[][] vals) throws ArraySizeException {
+    this.storage();
+    Matrix.checkInsert(col, this.width, vals.length, "column");
+    Matrix.checkLengths(vals, this.height);
+    byte[][] encoded = new byte[vals.length][];
+    for (int i = 0; i < vals.length; i++) {
+      encoded[i] = this.encode(vals[i]);
+    } // for
+    this.openCols(col, vals.length);
+    for (int row = 0; row < this.height; row++) {
+      ByteBuffer slab = this.slab(row);
+      for (int i = 0; i < vals.length; i++) {
+        slab.put(this.offset(row, col + i), encoded[i], row * this.cellBytes, this.cellBytes);
+      } // for
+    } // for
+  } // insertCols(int, T[][])
+
+  /**
+   * Delete a range of columns, moving each row once.
+   *
+   * @param startCol The first column to delete.
+   * @param endCol   The column to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the columns are out of bounds or
+   *                                   startCol is greater than endCol.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void deleteCols(int startCol, int endCol) {
+    this.storage();
+    Matrix.checkDelete(startCol, endCol, this.width, "columns");
+    int tail = (this.width - endCol) * this.cellBytes;
+    byte[] scratch = new byte[tail];
+    for (int row = 0; row < this.height; row++) {
+      ByteBuffer slab = this.slab(row);
+      slab.get(this.offset(row, endCol), scratch, 0, tail);
+      slab.put(this.offset(row, startCol), scratch, 0, tail);
+    } // for
+    this.width -= endCol - startCol;
+  } // deleteCols(int, int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    this.storage();
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+    if (startCol < endCol) {
+      byte[] pattern = this.codec.repeat(val, endCol - startCol);
+      for (int row = startRow; row < endRow; row++) {
+        this.fillCells(row, startCol, pattern, endCol - startCol);
+      } // for
+    } // if
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   * @throws IllegalStateException     If the matrix has been closed.
+   */
+  @Override
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, T val) {
+    this.storage();
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+    byte[] encoded = this.codec.repeat(val, 1);
+    int steps = Lines.steps(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    int row = startRow;
+    int col = startCol;
+    for (int i = 0; i < steps; i++) {
+      this.fillCells(row, col, encoded, 1);
+      row += deltaRow;
+      col += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Make a copy of the matrix in freshly allocated off-heap memory.
+   *
+   * @return a copy of the matrix.
+   *
+   * @throws IllegalStateException If the matrix has been closed.
+   */
+  @Override
+  public OffHeapMatrix<T> clone() {
+    return new OffHeapMatrix<>(this);
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object. Two off-heap
+   * matrices with the same codec are compared a row of bytes at a time.
+   *
+   * @param other The object to compare.
+   *
+   * @return true if the other object is a matrix with the same width, height,
+   *         and equal elements; false otherwise.
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (other instanceof OffHeapMatrix && ((OffHeapMatrix<?>) other).codec == this.codec) {
+      OffHeapMatrix<?> that = (OffHeapMatrix<?>) other;
+      if (this.width != that.width || this.height != that.height) {
+        return false;
+      } // if
+      this.storage();
+      that.storage();
+      int rowBytes = this.width * this.cellBytes;
+      for (int row = 0; row < this.height; row++) {
+        if (!this.slab(row).slice(this.offset(row, 0), rowBytes)
+            .equals(that.slab(row).slice(that.offset(row, 0), rowBytes))) {
+          return false;
+        } // if
+      } // for
+      return true;
+    } // if
+    return Matrix.equals(this, other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix.
+   *
+   * @return the hash code.
+   */
+  @Override
+  public int hashCode() {
+    return Matrix.hashCode(this);
+  } // hashCode()
+
+  /**
+   * Release the off-heap storage. Closing a closed matrix does nothing.
+   */
+  @Override
+  public void close() {
+    this.slabs = null;
+  } // close()
+} // class OffHeapMatrix<T>
@@ -0,0 +1,301 @@
+package edu.grinnell.csc207.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * How a matrix splits whole-matrix operations into bands of rows that run
+ * in parallel. Operations on fewer cells than the threshold run serially on
+ * the calling thread; larger ones are split in half, by rows, until each
+ * band is no larger than the threshold or one row, and the bands run in the
+ * pool.
+ *
+ * <p>Matrices that support parallel operations use the global default
+ * unless they are given a configuration of their own. The global default
+ * is {@link #SERIAL}, so nothing runs on another thread unless a client
+ * opts in, either for one matrix or for all of them, for example with
+ * <code>ParallelConfig.setGlobal(ParallelConfig.common())</code>.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+public final class ParallelConfig {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The threshold of the {@link #common()} configuration, in cells. */
+  public static final long DEFAULT_THRESHOLD = 1L << 20;
+
+  /** A configuration that never runs in parallel. */
+  public static final ParallelConfig SERIAL = new ParallelConfig(null, Long.MAX_VALUE);
+
+  // +---------------+-----------------------------------------------
+  // | Static fields |
+  // +---------------+
+
+  /** The configuration used by matrices that have none of their own. */
+  private static volatile ParallelConfig global = SERIAL;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The pool the bands run in (null when serial). */
+  final ForkJoinPool pool;
+
+  /** The largest number of cells we handle without splitting. */
+  final long threshold;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new configuration.
+   *
+   * @param poolInput      The pool the bands run in.
+   * @param thresholdInput The largest number of cells to handle without
+   *                       splitting.
+   *
+   * @throws IllegalArgumentException If the threshold is not positive.
+   */
+  public ParallelConfig(ForkJoinPool poolInput, long thresholdInput) {
+    if (thresholdInput <= 0) {
+      throw new IllegalArgumentException("Error: invalid threshold.");
+    } // if
+    this.pool = poolInput;
+    this.threshold = thresholdInput;
+  } // ParallelConfig(ForkJoinPool, long)
+
+  // +----------------+----------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Get a configuration that splits operations on more than
+   * {@link #DEFAULT_THRESHOLD} cells into bands in the common fork/join
+   * pool. Those bands compete with anything else the program runs in that
+   * pool.
+   *
+   * @return the configuration.
+   */
+  public static ParallelConfig common() {
+    return new ParallelConfig(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+  } // common()
+
+  /**
+   * Get the global default configuration, which is serial unless a client
+   * has set another.
+   *
+   * @return the configuration used by matrices that have none of their own.
+   */
+  public static ParallelConfig global() {
+    return global;
+  } // global()
+
+  /**
+   * Set the global default configuration.
+   *
+   * @param config The configuration used by matrices that have none of their
+   *               own.
+   */
+  public static void setGlobal(ParallelConfig config) {
+    global = (config == null) ? SERIAL : config;
+  } // setGlobal(ParallelConfig)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Get the pool the bands run in.
+   *
+   * @return the pool, or null if this configuration is serial.
+   */
+  public ForkJoinPool pool() {
+    return this.pool;
+  } // pool()
+
+  /**
+   * Get the threshold.
+   *
+   * @return the largest number of cells handled without splitting.
+   */
+  public long threshold() {
+    return this.threshold;
+  } // threshold()
+
+  /**
+   * Run an operation over a range of rows, in bands, and combine the
+   * results from top to bottom.
+   *
+   * @param <R>      The type of the results.
+   * @param startRow The first row (inclusive).
+   * @param endRow   The last row (exclusive).
+   * @param width    The number of cells in each row.
+   * @param band     The operation on one band.
+   * @param merge    How to combine the results of two adjacent bands.
+   *
+   * @return the combined result.
+   */
+  <R> R reduce(int startRow, int endRow, int width, Band<R> band, Merge<R> merge) {
+    if (this.pool == null || (long) (endRow - startRow) * width <= this.threshold) {
+      return band.apply(startRow, endRow);
+    } // if
+    return this.pool.invoke(new BandTask<>(this, startRow, endRow, width, band, merge));
+  } // reduce(int, int, int, Band<R>, Merge<R>)
+
+  /**
+   * Run an operation with no result over a range of rows, in bands.
+   *
+   * @param startRow The first row (inclusive).
+   * @param endRow   The last row (exclusive).
+   * @param width    The number of cells in each row.
+   * @param band     The operation on one band.
+   */
+  void run(int startRow, int endRow, int width, Action band) {
+    this.reduce(startRow, endRow, width, (start, end) -> {
+      band.apply(start, end);
+      return null;
+    }, (upper, lower, lowerRows) -> null);
+  } // run(int, int, int, Action)
+
+  /**
+   * Describe the configuration.
+   *
+   * @return a description of the configuration.
+   */
+  @Override
+  public String toString() {
+    if (this.pool == null) {
+      return "serial";
+    } // if
+    return "parallel(" + this.pool.getParallelism() + " threads, above "
+        + this.threshold + " cells)";
+  } // toString()
+
+  // +-------------------+-------------------------------------------
+  // | Helper interfaces |
+  // +-------------------+
+
+  /**
+   * An operation on a band of rows.
+   *
+   * @param <R> The type of the result.
+   */
+  interface Band<R> {
+    /**
+     * Apply the operation.
+     *
+     * @param startRow The first row of the band (inclusive).
+     * @param endRow   The last row of the band (exclusive).
+     *
+     * @return the result for the band.
+     */
+    R apply(int startRow, int endRow);
+  } // interface Band<R>
+
+  /**
+   * An operation on a band of rows with no result.
+   */
+  interface Action {
+    /**
+     * Apply the operation.
+     *
+     * @param startRow The first row of the band (inclusive).
+     * @param endRow   The last row of the band (exclusive).
+     */
+    void apply(int startRow, int endRow);
+  } // interface Action
+
+  /**
+   * A way to combine the results of two adjacent bands.
+   *
+   * @param <R> The type of the results.
+   */
+  interface Merge<R> {
+    /**
+     * Combine two results.
+     *
+     * @param upper     The result for the upper band.
+     * @param lower     The result for the band just below it.
+     * @param lowerRows The number of rows in the lower band.
+     *
+     * @return the result for both bands together.
+     */
+    R merge(R upper, R lower, int lowerRows);
+  } // interface Merge<R>
+
+  // +----------------+----------------------------------------------
+  // | Helper classes |
+  // +----------------+
+
+  /**
+   * A fork/join task that splits a range of rows in half until the bands
+   * are small enough.
+   *
+   * @param <R> The type of the results.
+   */
+  static class BandTask<R> extends RecursiveTask<R> {
+    /** The version of the serialized form. */
+    private static final long serialVersionUID = 1L;
+
+    /** The configuration, for the threshold. */
+    final ParallelConfig config;
+
+    /** The first row (inclusive). */
+    final int startRow;
+
+    /** The last row (exclusive). */
+    final int endRow;
+
+    /** The number of cells in each row. */
+    final int width;
+
+    /** The operation on one band. */
+    final Band<R> band;
+
+    /** How to combine results. */
+    final Merge<R> merge;
+
+    /**
+     * Create a task.
+     *
+     * @param configInput   The configuration.
+     * @param startRowInput The first row (inclusive).
+     * @param endRowInput   The last row (exclusive).
+     * @param widthInput    The number of cells in each row.
+     * @param bandInput     The operation on one band.
+     * @param mergeInput    How to combine results.
+     */
+    BandTask(ParallelConfig configInput, int startRowInput, int endRowInput, int widthInput,
+        Band<R> bandInput, Merge<R> mergeInput) {
+      this.config = configInput;
+      this.startRow = startRowInput;
+      this.endRow = endRowInput;
+      this.width = widthInput;
+      this.band = bandInput;
+      this.merge = mergeInput;
+    } // BandTask(ParallelConfig, int, int, int, Band<R>, Merge<R>)
+
+    /**
+     * Handle the band, splitting it if it is too large.
+     *
+     * @return the result for the band.
+     */
+    @Override
+    protected R compute() {
+      int rows = this.endRow - this.startRow;
+      if (rows <= 1 || (long) rows * this.width <= this.config.threshold) {
+        return this.band.apply(this.startRow, this.endRow);
+      } // if
+      int mid = this.startRow + rows / 2;
+      BandTask<R> lower =
+          new BandTask<>(this.config, mid, this.endRow, this.width, this.band, this.merge);
+      lower.fork();
+      R upper = new BandTask<>(this.config, this.startRow, mid, this.width, this.band,
+          this.merge).compute();
+      return this.merge.merge(upper, lower.join(), this.endRow - mid);
+    } // compute()
+  } // class BandTask<R>
+} // class ParallelConfig
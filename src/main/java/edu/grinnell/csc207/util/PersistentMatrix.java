@@ -0,0 +1,638 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+
+/**
+ * An immutable matrix whose updates return new versions that share all
+ * untouched structure with the old one.
+ *
+ * <p>Cells live in 8x8 tiles held in a 32-way trie. The trie is keyed by
+ * physical row and column numbers, and two index vectors map logical rows
+ * and columns to physical ones. Updating a cell copies only the path from
+ * the root to its tile, O(log n). Inserting or deleting a row or column
+ * only builds a new index vector; a new line gets fresh physical numbers,
+ * which no tile has ever written, so it reads as the default value.
+ *
+ * <p>The mutating methods of <code>Matrix</code> throw
+ * UnsupportedOperationException, as the unmodifiable collections do. Use
+ * the <code>with</code> methods to derive new versions one change at a
+ * time, or {@link #asTransient()} to make a batch of changes through the
+ * ordinary <code>Matrix</code> methods.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+public final class PersistentMatrix<T> implements Matrix<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The number of key bits each level of the trie consumes. */
+  static final int BITS = 5;
+
+  /** The mask for one level's worth of key bits. */
+  static final int MASK = (1 << BITS) - 1;
+
+  /** The log of the side of a tile. */
+  static final int TILE_BITS = 3;
+
+  /** The mask for a cell's position within a tile along one side. */
+  static final int TILE_MASK = (1 << TILE_BITS) - 1;
+
+  // +-------+-------------------------------------------------------
+  // | Nodes |
+  // +-------+
+
+  /**
+   * A node of the trie: either an interior node with 32 children or a tile
+   * with 64 cells. A node may be changed in place only by the edit that
+   * created it.
+   */
+  static final class Node {
+    /** The edit that may change this node in place. */
+    final Object edit;
+
+    /** The children or cells. */
+    final Object[] slots;
+
+    /**
+     * Create a node.
+     *
+     * @param editInput  The edit that owns the node.
+     * @param slotsInput The children or cells.
+     */
+    Node(Object editInput, Object[] slotsInput) {
+      this.edit = editInput;
+      this.slots = slotsInput;
+    } // Node(Object, Object[])
+  } // class Node
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The width of the matrix. */
+  final int width;
+
+  /** The height of the matrix. */
+  final int height;
+
+  /** The default value. */
+  final T def;
+
+  /** The physical row of each logical row. Never changed once shared. */
+  final int[] rows;
+
+  /** The physical column of each logical column. Never changed once shared. */
+  final int[] cols;
+
+  /** The next unused physical row. */
+  final int nextRow;
+
+  /** The next unused physical column. */
+  final int nextCol;
+
+  /** The root of the trie, or null if no cell has been written. */
+  final Node root;
+
+  /** The number of levels in the trie. */
+  final int levels;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height in which every
+   * cell holds the given default value.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   * @param defInput    The default value.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public PersistentMatrix(int widthInput, int heightInput, T defInput)
+      throws NegativeArraySizeException {
+    if (widthInput <= 0 || heightInput <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+    this.width = widthInput;
+    this.height = heightInput;
+    this.def = defInput;
+    this.rows = IndirectMatrix.identity(heightInput);
+    this.cols = IndirectMatrix.identity(widthInput);
+    this.nextRow = heightInput;
+    this.nextCol = widthInput;
+    this.root = null;
+    this.levels = 1;
+  } // PersistentMatrix(int, int, T)
+
+  /**
+   * Create a new matrix of the specified width and height with null as the
+   * default value.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public PersistentMatrix(int widthInput, int heightInput) throws NegativeArraySizeException {
+    this(widthInput, heightInput, null);
+  } // PersistentMatrix(int, int)
+
+  /**
+   * Capture the state of a transient matrix.
+   *
+   * @param source The transient matrix, which must not change the index
+   *               vectors it passes along.
+   */
+  PersistentMatrix(TransientMatrix<T> source) {
+    this.width = source.width;
+    this.height = source.height;
+    this.def = source.def;
+    this.rows = source.rows;
+    this.cols = source.cols;
+    this.nextRow = source.nextRow;
+    this.nextCol = source.nextCol;
+    this.root = source.root;
+    this.levels = source.levels;
+  } // PersistentMatrix(TransientMatrix<T>)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Spread the bits of an int so that they occupy the even bits of a long.
+   *
+   * @param val The int.
+   *
+   * @return the spread bits.
+   */
+  static long spread(int val) {
+    long bits = val & 0xFFFFFFFFL;
+    bits = (bits | (bits << 16)) & 0x0000FFFF0000FFFFL;
+    bits = (bits | (bits << 8)) & 0x00FF00FF00FF00FFL;
+    bits = (bits | (bits << 4)) & 0x0F0F0F0F0F0F0F0FL;
+    bits = (bits | (bits << 2)) & 0x3333333333333333L;
+    bits = (bits | (bits << 1)) & 0x5555555555555555L;
+    return bits;
+  } // spread(int)
+
+  /**
+   * Find the trie key of the tile holding a physical cell. Interleaving
+   * the bits of the tile's row and column keeps nearby tiles close in the
+   * trie.
+   *
+   * @param physRow The physical row.
+   * @param physCol The physical column.
+   *
+   * @return the key.
+   */
+  static long key(int physRow, int physCol) {
+    return spread(physRow >>> TILE_BITS) | (spread(physCol >>> TILE_BITS) << 1);
+  } // key(int, int)
+
+  /**
+   * Find the position of a physical cell within its tile.
+   *
+   * @param physRow The physical row.
+   * @param physCol The physical column.
+   *
+   * @return the position.
+   */
+  static int cell(int physRow, int physCol) {
+    return ((physRow & TILE_MASK) << TILE_BITS) | (physCol & TILE_MASK);
+  } // cell(int, int)
+
+  /**
+   * Look up a physical cell in a trie.
+   *
+   * @param root    The root of the trie (possibly null).
+   * @param levels  The number of levels in the trie.
+   * @param physRow The physical row.
+   * @param physCol The physical column.
+   * @param def     The value of cells that were never written.
+   *
+   * @return the value of the cell.
+   */
+  static Object lookup(Node root, int levels, int physRow, int physCol, Object def) {
+    long key = key(physRow, physCol);
+    if (root == null || (key >>> (BITS * levels)) != 0) {
+      return def;
+    } // if
+    Node node = root;
+    for (int level = levels - 1; level >= 0; level--) {
+      node = (Node) node.slots[(int) (key >>> (BITS * level)) & MASK];
+      if (node == null) {
+        return def;
+      } // if
+    } // for
+    return node.slots[cell(physRow, physCol)];
+  } // lookup(Node, int, int, int, Object)
+
+  /**
+   * Check that a row and column are in bounds.
+   *
+   * @param row The row.
+   * @param col The column.
+   *
+   * @throws IndexOutOfBoundsException If either is out of bounds.
+   */
+  void check(int row, int col) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+  } // check(int, int)
+
+  // +----------+----------------------------------------------------
+  // | Versions |
+  // +----------+
+
+  /**
+   * Start a batch of changes. The transient matrix begins as a copy of this
+   * one, shares all of its structure, and copies nodes only as it changes
+   * them; this matrix never changes.
+   *
+   * @return a mutable matrix.
+   */
+  public TransientMatrix<T> asTransient() {
+    return new TransientMatrix<>(this);
+  } // asTransient()
+
+  /**
+   * Get a version of this matrix with one cell changed.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   * @param val The new value.
+   *
+   * @return the new version.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   bounds.
+   */
+  public PersistentMatrix<T> with(int row, int col, T val) {
+    TransientMatrix<T> next = this.asTransient();
+    next.set(row, col, val);
+    return next.persistent();
+  } // with(int, int, T)
+
+  /**
+   * Get a version of this matrix with a region filled.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @return the new version.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public PersistentMatrix<T> withFillRegion(int startRow, int startCol, int endRow, int endCol,
+      T val) {
+    TransientMatrix<T> next = this.asTransient();
+    next.fillRegion(startRow, startCol, endRow, endCol, val);
+    return next.persistent();
+  } // withFillRegion(int, int, int, int, T)
+
+  /**
+   * Get a version of this matrix with a line filled.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @return the new version.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public PersistentMatrix<T> withFillLine(int startRow, int startCol, int deltaRow,
+      int deltaCol, int endRow, int endCol, T val) {
+    TransientMatrix<T> next = this.asTransient();
+    next.fillLine(startRow, startCol, deltaRow, deltaCol, endRow, endCol, val);
+    return next.persistent();
+  } // withFillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Get a version of this matrix with a row of default values inserted.
+   *
+   * @param row The number of the row to insert.
+   *
+   * @return the new version.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   */
+  public PersistentMatrix<T> withInsertRow(int row) {
+    TransientMatrix<T> next = this.asTransient();
+    next.insertRow(row);
+    return next.persistent();
+  } // withInsertRow(int)
+
+  /**
+   * Get a version of this matrix with a row of values inserted.
+   *
+   * @param row  The number of the row to insert.
+   * @param vals The values to insert.
+   *
+   * @return the new version.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If the size of vals is not the same as
+   *                                   the width of the matrix.
+   */
+  public PersistentMatrix<T> withInsertRow(int row, T[] vals) throws ArraySizeException {
+    TransientMatrix<T> next = this.asTransient();
+    next.insertRow(row, vals);
+    return next.persistent();
+  } // withInsertRow(int, T[])
+
+  /**
+   * Get a version of this matrix with a column of default values inserted.
+   *
+   * @param col The number of the column to insert.
+   *
+   * @return the new version.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   */
+  public PersistentMatrix<T> withInsertCol(int col) {
+    TransientMatrix<T> next = this.asTransient();
+    next.insertCol(col);
+    return next.persistent();
+  } // withInsertCol(int)
+
+  /**
+   * Get a version of this matrix with a column of values inserted.
+   *
+   * @param col  The number of the column to insert.
+   * @param vals The values to insert.
+   *
+   * @return the new version.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If the size of vals is not the same as
+   *                                   the height of the matrix.
+   */
+  public PersistentMatrix<T> withInsertCol(int col, T[] vals) throws ArraySizeException {
+    TransientMatrix<T> next = this.asTransient();
+    next.insertCol(col, vals);
+    return next.persistent();
+  } // withInsertCol(int, T[])
+
+  /**
+   * Get a version of this matrix with a row deleted.
+   *
+   * @param row The number of the row to delete.
+   *
+   * @return the new version.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   or equal to the height.
+   */
+  public PersistentMatrix<T> withDeleteRow(int row) {
+    TransientMatrix<T> next = this.asTransient();
+    next.deleteRow(row);
+    return next.persistent();
+  } // withDeleteRow(int)
+
+  /**
+   * Get a version of this matrix with a column deleted.
+   *
+   * @param col The number of the column to delete.
+   *
+   * @return the new version.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than or equal to the width.
+   */
+  public PersistentMatrix<T> withDeleteCol(int col) {
+    TransientMatrix<T> next = this.asTransient();
+    next.deleteCol(col);
+    return next.persistent();
+  } // withDeleteCol(int)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get(int row, int col) {
+    this.check(row, col);
+    return (T) lookup(this.root, this.levels, this.rows[row], this.cols[col], this.def);
+  } // get(int, int)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  @Override
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  @Override
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Unsupported; use {@link #with(int, int, Object)}.
+   *
+   * @param row Ignored.
+   * @param col Ignored.
+   * @param val Ignored.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void set(int row, int col, T val) {
+    throw new UnsupportedOperationException("Persistent matrices are immutable.");
+  } // set(int, int, T)
+
+  /**
+   * Unsupported; use {@link #withInsertRow(int)}.
+   *
+   * @param row Ignored.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void insertRow(int row) {
+    throw new UnsupportedOperationException("Persistent matrices are immutable.");
+  } // insertRow(int)
+
+  /**
+   * Unsupported; use {@link #withInsertRow(int, Object[])}.
+   *
+   * @param row  Ignored.
+   * @param vals Ignored.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void insertRow(int row, T[] vals) {
+    throw new UnsupportedOperationException("Persistent matrices are immutable.");
+  } // insertRow(int, T[])
+
+  /**
+   * Unsupported; use {@link #withInsertCol(int)}.
+   *
+   * @param col Ignored.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void insertCol(int col) {
+    throw new UnsupportedOperationException("Persistent matrices are immutable.");
+  } // insertCol(int)
+
+  /**
+   * Unsupported; use {@link #withInsertCol(int, Object[])}.
+   *
+   * @param col  Ignored.
+   * @param vals Ignored.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void insertCol(int col, T[] vals) {
+    throw new UnsupportedOperationException("Persistent matrices are immutable.");
+  } // insertCol(int, T[])
+
+  /**
+   * Unsupported; use {@link #withDeleteRow(int)}.
+   *
+   * @param row Ignored.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void deleteRow(int row) {
+    throw new UnsupportedOperationException("Persistent matrices are immutable.");
+  } // deleteRow(int)
+
+  /**
+   * Unsupported; use {@link #withDeleteCol(int)}.
+   *
+   * @param col Ignored.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void deleteCol(int col) {
+    throw new UnsupportedOperationException("Persistent matrices are immutable.");
+  } // deleteCol(int)
+
+  /**
+   * Unsupported; use {@link #withFillRegion(int, int, int, int, Object)}.
+   *
+   * @param startRow Ignored.
+   * @param startCol Ignored.
+   * @param endRow   Ignored.
+   * @param endCol   Ignored.
+   * @param val      Ignored.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    throw new UnsupportedOperationException("Persistent matrices are immutable.");
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Unsupported; use
+   * {@link #withFillLine(int, int, int, int, int, int, Object)}.
+   *
+   * @param startRow Ignored.
+   * @param startCol Ignored.
+   * @param deltaRow Ignored.
+   * @param deltaCol Ignored.
+   * @param endRow   Ignored.
+   * @param endCol   Ignored.
+   * @param val      Ignored.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, T val) {
+    throw new UnsupportedOperationException("Persistent matrices are immutable.");
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Make a copy of the matrix. Since the matrix never changes, the copy is
+   * the matrix itself.
+   *
+   * @return this matrix.
+   */
+  @Override
+  public PersistentMatrix<T> clone() {
+    return this;
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object. Two versions that
+   * share their trie and index vectors are equal without a look at their
+   * cells.
+   *
+   * @param other The object to compare.
+   *
+   * @return true if the other object is a matrix with the same width, height,
+   *         and equal elements; false otherwise.
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (other instanceof PersistentMatrix) {
+      PersistentMatrix<?> that = (PersistentMatrix<?>) other;
+      if (this.root == that.root && this.width == that.width && this.height == that.height
+          && Arrays.equals(this.rows, 0, this.height, that.rows, 0, this.height)
+          && Arrays.equals(this.cols, 0, this.width, that.cols, 0, this.width)) {
+        return true;
+      } // if
+    } // if
+    return Matrix.equals(this, other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix.
+   *
+   * @return the hash code.
+   */
+  @Override
+  public int hashCode() {
+    return Matrix.hashCode(this);
+  } // hashCode()
+} // class PersistentMatrix<T>
@@ -0,0 +1,822 @@
+package edu.grinnell.csc207.util;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * The shared layout of matrices whose cells live in an array of a
+ * primitive type. As in {@link MatrixV0}, the cells are stored row by row
+ * in one array, each row occupying <code>stride</code> slots, with spare
+ * room for extra rows and columns. Subclasses supply the array and the
+ * conversions between primitive and boxed values; this class does the
+ * bounds checks and the structural operations, which only need
+ * <code>System.arraycopy</code>.
+ *
+ * <p>Primitive matrices cannot hold null. Storing null through the boxed
+ * <code>set</code> or <code>fillRegion</code> methods throws a
+ * NullPointerException.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The boxed type of values stored in the matrix.
+ */
+public abstract class PrimitiveMatrix<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The width of the matrix. */
+  int width;
+
+  /** The height of the matrix. */
+  int height;
+
+  /** The number of slots reserved for each row (at least the width). */
+  int stride;
+
+  /** The number of rows we have room for (at least the height). */
+  int capacity;
+
+  /** The index of region sums to keep up to date, if one is attached. */
+  RegionSumIndex sums;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Set up the layout of a new matrix with no spare room.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  PrimitiveMatrix(int widthInput, int heightInput) throws NegativeArraySizeException {
+    if (widthInput <= 0 || heightInput <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+    this.width = widthInput;
+    this.height = heightInput;
+    this.stride = widthInput;
+    this.capacity = heightInput;
+  } // PrimitiveMatrix(int, int)
+
+  /**
+   * Set up the layout of a copy of another matrix. The copy gets no spare
+   * rows, so it needs height * stride cells.
+   *
+   * @param other The matrix to copy.
+   */
+  PrimitiveMatrix(PrimitiveMatrix<T> other) {
+    this.width = other.width;
+    this.height = other.height;
+    this.stride = other.stride;
+    this.capacity = other.height;
+  } // PrimitiveMatrix(PrimitiveMatrix<T>)
+
+  // +---------------+-----------------------------------------------
+  // | Storage hooks |
+  // +---------------+
+
+  /**
+   * Get the array that holds the cells.
+   *
+   * @return the array.
+   */
+  abstract Object array();
+
+  /**
+   * Replace the array that holds the cells.
+   *
+   * @param newCells The new array.
+   */
+  abstract void array(Object newCells);
+
+  /**
+   * Allocate a new array of the right primitive type.
+   *
+   * @param size The number of cells.
+   *
+   * @return the new array.
+   */
+  abstract Object allocate(int size);
+
+  /**
+   * Fill a range of the array with the default value.
+   *
+   * @param from The first index to fill (inclusive).
+   * @param to   The last index to fill (exclusive).
+   */
+  abstract void clear(int from, int to);
+
+  /**
+   * Get the boxed value at an index of the array.
+   *
+   * @param index The index.
+   *
+   * @return the boxed value.
+   */
+  abstract T box(int index);
+
+  /**
+   * Store a boxed value at an index of the array.
+   *
+   * @param index The index.
+   * @param val   The value.
+   *
+   * @throws NullPointerException If val is null.
+   */
+  abstract void unbox(int index, T val);
+
+  /**
+   * Store count boxed values from vals at successive indices of the array.
+   *
+   * @param vals  The values.
+   * @param index The index of the first cell.
+   * @param step  The distance between successive cells.
+   */
+  void unbox(T[] vals, int index, int step) {
+    for (int i = 0; i < vals.length; i++) {
+      this.unbox(index + i * step, vals[i]);
+    } // for
+  } // unbox(T[], int, int)
+
+  /**
+   * Determine the hash code of the boxed value at an index, without boxing.
+   *
+   * @param index The index.
+   *
+   * @return the hash code.
+   */
+  abstract int hash(int index);
+
+  /**
+   * Determine if a row of this matrix has the same cells as the same row
+   * of another matrix of the same class.
+   *
+   * @param other The other matrix.
+   * @param row   The row to compare.
+   *
+   * @return true if the rows are equal and false otherwise.
+   */
+  abstract boolean sameRow(PrimitiveMatrix<T> other, int row);
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Find the array index of a cell, checking that it is in the matrix.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   *
+   * @return the index.
+   *
+   * @throws IndexOutOfBoundsException If the row or column is out of bounds.
+   */
+  final int index(int row, int col) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    return row * this.stride + col;
+  } // index(int, int)
+
+  /**
+   * Check the bounds of a region to fill.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  final void checkRegion(int startRow, int startCol, int endRow, int endCol) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+  } // checkRegion(int, int, int, int)
+
+  /**
+   * Check that none of the values to insert is null, so that we can reject
+   * them before opening any room.
+   *
+   * @param vals The values.
+   *
+   * @throws NullPointerException If any of the values is null.
+   */
+  static void checkValues(Object[] vals) {
+    for (Object val : vals) {
+      if (val == null) {
+        throw new NullPointerException("Error: primitive matrices cannot hold null.");
+      } // if
+    } // for
+  } // checkValues(Object[])
+
+  /**
+   * Tell the region-sum index, if any, that one cell has changed. Call
+   * after the write.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   */
+  final void touchCell(int row, int col) {
+    if (this.sums != null) {
+      this.sums.changed(row, col);
+    } // if
+  } // touchCell(int, int)
+
+  /**
+   * Tell the region-sum index, if any, that many cells or the shape of the
+   * matrix have changed.
+   */
+  final void touchCells() {
+    if (this.sums != null) {
+      this.sums.invalidate();
+    } // if
+  } // touchCells()
+
+  /**
+   * Allocate an array for the given number of rows and columns.
+   *
+   * @param rows The number of rows.
+   * @param cols The number of columns in each row.
+   *
+   * @return the new array.
+   *
+   * @throws OutOfMemoryError If the array would be too large for Java.
+   */
+  final Object allocate(int rows, int cols) {
+    long size = (long) rows * cols;
+    if (size > MatrixV0.MAX_CELLS) {
+      throw new OutOfMemoryError("Matrix too large: " + rows + " x " + cols);
+    } // if
+    return this.allocate((int) size);
+  } // allocate(int, int)
+
+  /**
+   * Open up count rows of default values starting at row, shifting the rows
+   * at and below it down.
+   *
+   * @param row   The first new row.
+   * @param count The number of rows to open.
+   */
+  final void openRows(int row, int count) {
+    int newHeight = this.height + count;
+    int from = row * this.stride;
+    int to = (row + count) * this.stride;
+    int tail = (this.height - row) * this.stride;
+    Object cells = this.array();
+    if (newHeight > this.capacity) {
+      int newCapacity = MatrixV0.grow(this.capacity, newHeight);
+      Object newCells = this.allocate(newCapacity, this.stride);
+      System.arraycopy(cells, 0, newCells, 0, from);
+      System.arraycopy(cells, from, newCells, to, tail);
+      this.array(newCells);
+      this.capacity = newCapacity;
+    } else {
+      System.arraycopy(cells, from, cells, to, tail);
+    } // if/else
+    this.clear(from, to);
+    this.height = newHeight;
+    this.touchCells();
+  } // openRows(int, int)
+
+  /**
+   * Open up count columns of default values starting at col, shifting the
+   * columns at and to the right of it over.
+   *
+   * @param col   The first new column.
+   * @param count The number of columns to open.
+   */
+  final void openCols(int col, int count) {
+    int newWidth = this.width + count;
+    int tail = this.width - col;
+    Object cells = this.array();
+    if (newWidth > this.stride) {
+      int newStride = MatrixV0.grow(this.stride, newWidth);
+      Object newCells = this.allocate(this.capacity, newStride);
+      for (int row = 0; row < this.height; row++) {
+        int src = row * this.stride;
+        int dst = row * newStride;
+        System.arraycopy(cells, src, newCells, dst, col);
+        System.arraycopy(cells, src + col, newCells, dst + col + count, tail);
+      } // for
+      this.array(newCells);
+      this.stride = newStride;
+    } else {
+      for (int row = 0; row < this.height; row++) {
+        int base = row * this.stride + col;
+        System.arraycopy(cells, base, cells, base + count, tail);
+      } // for
+    } // if/else
+    for (int row = 0; row < this.height; row++) {
+      int base = row * this.stride + col;
+      this.clear(base, base + count);
+    } // for
+    this.width = newWidth;
+    this.touchCells();
+  } // openCols(int, int)
+
+  // +------------+--------------------------------------------------
+  // | Reductions |
+  // +------------+
+
+  /**
+   * Reduce every cell to a double, in parallel bands of rows. When rows
+   * have no spare room, each band is one contiguous range of the array;
+   * otherwise each row is a range of its own.
+   *
+   * @param range How to reduce a range of the array.
+   * @param merge How to combine the results of two ranges.
+   *
+   * @return the combined result.
+   */
+  double reduceDoubles(Lanes.DoubleRange range, DoubleBinaryOperator merge) {
+    int rowSize = this.stride;
+    int cols = this.width;
+    return ParallelConfig.global().reduce(0, this.height, cols, (startRow, endRow) -> {
+      if (rowSize == cols) {
+        return range.apply(startRow * rowSize, endRow * rowSize);
+      } // if
+      double result = range.apply(startRow * rowSize, startRow * rowSize + cols);
+      for (int row = startRow + 1; row < endRow; row++) {
+        result = merge.applyAsDouble(result, range.apply(row * rowSize, row * rowSize + cols));
+      } // for
+      return result;
+    }, (upper, lower, lowerRows) -> merge.applyAsDouble(upper, lower));
+  } // reduceDoubles(Lanes.DoubleRange, DoubleBinaryOperator)
+
+  /**
+   * Reduce every cell to a long, in parallel bands of rows.
+   *
+   * @param range How to reduce a range of the array.
+   * @param merge How to combine the results of two ranges.
+   *
+   * @return the combined result.
+   */
+  long reduceLongs(Lanes.LongRange range, LongBinaryOperator merge) {
+    int rowSize = this.stride;
+    int cols = this.width;
+    return ParallelConfig.global().reduce(0, this.height, cols, (startRow, endRow) -> {
+      if (rowSize == cols) {
+        return range.apply(startRow * rowSize, endRow * rowSize);
+      } // if
+      long result = range.apply(startRow * rowSize, startRow * rowSize + cols);
+      for (int row = startRow + 1; row < endRow; row++) {
+        result = merge.applyAsLong(result, range.apply(row * rowSize, row * rowSize + cols));
+      } // for
+      return result;
+    }, (upper, lower, lowerRows) -> merge.applyAsLong(upper, lower));
+  } // reduceLongs(Lanes.LongRange, LongBinaryOperator)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column, boxed.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  public T get(int row, int col) {
+    return this.box(this.index(row, col));
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column from a boxed value.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   * @throws NullPointerException      If val is null.
+   */
+  @Override
+  public void set(int row, int col, T val) {
+    this.unbox(this.index(row, col), val);
+    this.touchCell(row, col);
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  @Override
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  @Override
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the
+   *                                   height.
+   */
+  @Override
+  public void insertRow(int row) {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    this.openRows(row, 1);
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row  The number of the row to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the
+   *                                   height.
+   * @throws ArraySizeException        If the size of vals is not the same as the
+   *                                   width of the matrix.
+   * @throws NullPointerException      If any of the values is null.
+   */
+  @Override
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    if (vals.length != this.width) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    checkValues(vals);
+    this.openRows(row, 1);
+    this.unbox(vals, row * this.stride, 1);
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than
+   *                                   the width.
+   */
+  @Override
+  public void insertCol(int col) {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    this.openCols(col, 1);
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col  The number of the column to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than
+   *                                   the width.
+   * @throws ArraySizeException        If the size of vals is not the same as the
+   *                                   height of the matrix.
+   * @throws NullPointerException      If any of the values is null.
+   */
+  @Override
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    if (vals.length != this.height) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    checkValues(vals);
+    this.openCols(col, 1);
+    this.unbox(vals, col, this.stride);
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row.
+   *
+   * @param row The number of the row to delete.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or
+   *                                   equal to the height.
+   */
+  @Override
+  public void deleteRow(int row) {
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    Object cells = this.array();
+    System.arraycopy(cells, (row + 1) * this.stride, cells, row * this.stride,
+        (this.height - row - 1) * this.stride);
+    this.height--;
+    this.touchCells();
+  } // deleteRow(int)
+
+  /**
+   * Delete a column.
+   *
+   * @param col The number of the column to delete.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than
+   *                                   or equal to the width.
+   */
+  @Override
+  public void deleteCol(int col) {
+    if (col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    Object cells = this.array();
+    int tail = this.width - col - 1;
+    for (int row = 0; row < this.height; row++) {
+      int base = row * this.stride + col;
+      System.arraycopy(cells, base + 1, cells, base, tail);
+    } // for
+    this.width--;
+    this.touchCells();
+  } // deleteCol(int)
+
+  /**
+   * Insert count rows filled with the default value, shifting the rows
+   * below them once.
+   *
+   * @param row   The number of the first row to insert.
+   * @param count The number of rows to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertRows(int row, int count) {
+    Matrix.checkInsert(row, this.height, count, "row");
+    this.openRows(row, count);
+  } // insertRows(int, int)
+
+  /**
+   * Insert rows filled with the specified values, shifting the rows below
+   * them once.
+   *
+   * @param row  The number of the first row to insert.
+   * @param vals The values to insert, one array per row.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the width of the matrix.
+   * @throws NullPointerException      If any of the values is null.
+   */
+  @Override
+  public void insertRows(int row, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(row, this.height, vals.length, "row");
+    Matrix.checkLengths(vals, this.width);
+    for (T[] line : vals) {
+      checkValues(line);
+    } // for
+    this.openRows(row, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      this.unbox(vals[i], (row + i) * this.stride, 1);
+    } // for
+  } // insertRows(int, T[][])
+
+  /**
+   * Delete a range of rows with one shift of the rows below them.
+   *
+   * @param startRow The first row to delete.
+   * @param endRow   The row to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the rows are out of bounds or
+   *                                   startRow is greater than endRow.
+   */
+  @Override
+  public void deleteRows(int startRow, int endRow) {
+    Matrix.checkDelete(startRow, endRow, this.height, "rows");
+    Object cells = this.array();
+    System.arraycopy(cells, endRow * this.stride, cells, startRow * this.stride,
+        (this.height - endRow) * this.stride);
+    this.height -= endRow - startRow;
+    this.touchCells();
+  } // deleteRows(int, int)
+
+  /**
+   * Insert count columns filled with the default value, shifting each row
+   * once.
+   *
+   * @param col   The number of the first column to insert.
+   * @param count The number of columns to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertCols(int col, int count) {
+    Matrix.checkInsert(col, this.width, count, "column");
+    this.openCols(col, count);
+  } // insertCols(int, int)
+
+  /**
+   * Insert columns filled with the specified values, shifting each row
+   * once.
+   *
+   * @param col  The number of the first column to insert.
+   * @param vals The values to insert, one array per column.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the height of the matrix.
+   * @throws NullPointerException      If any of the values is null.
+   */
+  @Override
+  public void insertCols(int col, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(col, this.width, vals.length, "column");
+    Matrix.checkLengths(vals, this.height);
+    for (T[] line : vals) {
+      checkValues(line);
+    } // for
+    this.openCols(col, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      this.unbox(vals[i], col + i, this.stride);
+    } // for
+  } // insertCols(int, T[][])
+
+  /**
+   * Delete a range of columns, shifting each row once.
+   *
+   * @param startCol The first column to delete.
+   * @param endCol   The column to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the columns are out of bounds or
+   *                                   startCol is greater than endCol.
+   */
+  @Override
+  public void deleteCols(int startCol, int endCol) {
+    Matrix.checkDelete(startCol, endCol, this.width, "columns");
+    Object cells = this.array();
+    for (int row = 0; row < this.height; row++) {
+      int base = row * this.stride;
+      System.arraycopy(cells, base + endCol, cells, base + startCol, this.width - endCol);
+    } // for
+    this.width -= endCol - startCol;
+    this.touchCells();
+  } // deleteCols(int, int)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal) with a boxed value.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   * @throws NullPointerException      If val is null.
+   */
+  @Override
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, T val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+
+    this.touchCells();
+    int steps = Lines.steps(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    int row = startRow;
+    int col = startCol;
+    for (int i = 0; i < steps; i++) {
+      this.unbox(row * this.stride + col, val);
+      row += deltaRow;
+      col += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Visit every cell in a rectangular region after one bounds check. The
+   * values are boxed; the subclasses offer unboxed versions.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param visitor  What to do with each cell.
+   *
+   * @throws IndexOutOfBoundsException If the region does not fit in the
+   *                                   matrix.
+   */
+  @Override
+  public void forEachCell(int startRow, int startCol, int endRow, int endCol,
+      CellVisitor<? super T> visitor) {
+    Matrix.checkRegion(this, startRow, startCol, endRow, endCol);
+    for (int row = startRow; row < endRow; row++) {
+      int base = row * this.stride;
+      for (int col = startCol; col < endCol; col++) {
+        visitor.visit(row, col, this.box(base + col));
+      } // for
+    } // for
+  } // forEachCell(int, int, int, int, CellVisitor<? super T>)
+
+  /**
+   * Replace the value of every cell in a rectangular region after one
+   * bounds check. The values are boxed; the subclasses offer unboxed
+   * versions.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param function How to compute each new value.
+   *
+   * @throws IndexOutOfBoundsException If the region does not fit in the
+   *                                   matrix.
+   * @throws NullPointerException      If the function returns null.
+   */
+  @Override
+  public void replaceAll(int startRow, int startCol, int endRow, int endCol,
+      CellFunction<T> function) {
+    Matrix.checkRegion(this, startRow, startCol, endRow, endCol);
+    this.touchCells();
+    for (int row = startRow; row < endRow; row++) {
+      int base = row * this.stride;
+      for (int col = startCol; col < endCol; col++) {
+        this.unbox(base + col, function.apply(row, col, this.box(base + col)));
+      } // for
+    } // for
+  } // replaceAll(int, int, int, int, CellFunction<T>)
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   *
+   * @return true if the other object is a matrix with the same width, height,
+   *         and equal elements; false otherwise.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean equals(Object other) {
+    if (other == null || other.getClass() != this.getClass()) {
+      return Matrix.equals(this, other);
+    } // if
+    PrimitiveMatrix<T> that = (PrimitiveMatrix<T>) other;
+    if (this.width != that.width || this.height != that.height) {
+      return false;
+    } // if
+    for (int row = 0; row < this.height; row++) {
+      if (!this.sameRow(that, row)) {
+        return false;
+      } // if
+    } // for
+    return true;
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, without boxing the cells. Agrees
+   * with {@link Matrix#hashCode(Matrix)}.
+   *
+   * @return the hash code.
+   */
+  @Override
+  public int hashCode() {
+    int multiplier = 7;
+    int code = this.width + multiplier * this.height;
+    for (int row = 0; row < this.height; row++) {
+      int base = row * this.stride;
+      for (int col = 0; col < this.width; col++) {
+        code = code * multiplier + this.hash(base + col);
+      } // for col
+    } // for row
+    return code;
+  } // hashCode()
+
+  /**
+   * Make a copy of the matrix.
+   *
+   * @return a copy of the matrix.
+   */
+  @Override
+  public abstract PrimitiveMatrix<T> clone();
+} // class PrimitiveMatrix<T>
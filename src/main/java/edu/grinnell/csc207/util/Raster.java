@@ -0,0 +1,365 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Shapes drawn into matrices. Every shape is broken into horizontal spans
+ * and each span is written with one {@link Matrix#fillRegion} call, so each
+ * storage engine's bulk row fill does the writing.
+ *
+ * <p>Polygons and ellipses are clipped to the matrix, so they may hang off
+ * its edges. Polygon vertices lie on the corners between cells (the same
+ * coordinates fillRegion uses), and a cell is inside a polygon if its
+ * center is; a rectangle with corners (0, 0) and (3, 4) covers exactly the
+ * cells fillRegion(0, 0, 3, 4) covers, and polygons that share an edge
+ * never share a cell.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+public final class Raster {
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * There are no raster objects.
+   */
+  private Raster() {
+  } // Raster()
+
+  // +----------+----------------------------------------------------
+  // | Polygons |
+  // +----------+
+
+  /**
+   * Fill a polygon, using the even-odd rule for self-intersecting ones.
+   * The polygon is scanned row by row, keeping only the edges that cross
+   * the current row active, so the cost grows with the number of rows and
+   * the number of crossings rather than with the number of cells.
+   *
+   * @param <T>    The type of values stored in the matrix.
+   * @param matrix The matrix to draw into.
+   * @param rows   The rows of the vertices, in order around the polygon.
+   * @param cols   The columns of the vertices, in the same order.
+   * @param val    The value to store.
+   *
+   * @throws IllegalArgumentException If the arrays differ in length or
+   *                                  there are fewer than three vertices.
+   */
+  public static <T> void fillPolygon(Matrix<T> matrix, int[] rows, int[] cols, T val) {
+    if (rows.length != cols.length || rows.length < 3) {
+      throw new IllegalArgumentException("Error: a polygon needs three or more vertices.");
+    } // if
+    int count = rows.length;
+    // Sort the non-horizontal edges by their first row, keeping the edge
+    // number in the low bits of the key.
+    long[] edges = new long[count];
+    int numEdges = 0;
+    int top = Integer.MAX_VALUE;
+    int bottom = Integer.MIN_VALUE;
+    for (int i = 0; i < count; i++) {
+      int next = (i + 1) % count;
+      if (rows[i] != rows[next]) {
+        int first = Math.min(rows[i], rows[next]);
+        edges[numEdges++] = ((long) first << 32) | i;
+        top = Math.min(top, first);
+        bottom = Math.max(bottom, Math.max(rows[i], rows[next]));
+      } // if
+    } // for
+    Arrays.sort(edges, 0, numEdges);
+
+    int[] active = new int[numEdges];
+    int numActive = 0;
+    double[] crossings = new double[numEdges];
+    int added = 0;
+    int endRow = Math.min(bottom, matrix.height());
+    for (int row = Math.max(top, 0); row < endRow; row++) {
+      while (added < numEdges && (int) (edges[added] >> 32) <= row) {
+        active[numActive++] = (int) edges[added++];
+      } // while
+      int numCrossings = 0;
+      int kept = 0;
+      for (int a = 0; a < numActive; a++) {
+        int i = active[a];
+        int next = (i + 1) % count;
+        if (Math.max(rows[i], rows[next]) > row) {
+          active[kept++] = i;
+          crossings[numCrossings++] = cols[i] + (row + 0.5 - rows[i])
+              * (cols[next] - cols[i]) / (rows[next] - rows[i]);
+        } // if
+      } // for
+      numActive = kept;
+      Arrays.sort(crossings, 0, numCrossings);
+      for (int c = 0; c + 1 < numCrossings; c += 2) {
+        span(matrix, row, (long) Math.ceil(crossings[c] - 0.5),
+            (long) Math.ceil(crossings[c + 1] - 0.5), val);
+      } // for
+    } // for
+  } // fillPolygon(Matrix<T>, int[], int[], T)
+
+  // +----------+----------------------------------------------------
+  // | Ellipses |
+  // +----------+
+
+  /**
+   * Fill a circle.
+   *
+   * @param <T>       The type of values stored in the matrix.
+   * @param matrix    The matrix to draw into.
+   * @param centerRow The row of the center.
+   * @param centerCol The column of the center.
+   * @param radius    The radius, in cells.
+   * @param val       The value to store.
+   *
+   * @throws IllegalArgumentException If the radius is negative.
+   */
+  public static <T> void fillCircle(Matrix<T> matrix, int centerRow, int centerCol, int radius,
+      T val) {
+    fillEllipse(matrix, centerRow, centerCol, radius, radius, val);
+  } // fillCircle(Matrix<T>, int, int, int, T)
+
+  /**
+   * Draw the outline of a circle.
+   *
+   * @param <T>       The type of values stored in the matrix.
+   * @param matrix    The matrix to draw into.
+   * @param centerRow The row of the center.
+   * @param centerCol The column of the center.
+   * @param radius    The radius, in cells.
+   * @param val       The value to store.
+   *
+   * @throws IllegalArgumentException If the radius is negative.
+   */
+  public static <T> void drawCircle(Matrix<T> matrix, int centerRow, int centerCol, int radius,
+      T val) {
+    drawEllipse(matrix, centerRow, centerCol, radius, radius, val);
+  } // drawCircle(Matrix<T>, int, int, int, T)
+
+  /**
+   * Fill an axis-aligned ellipse. Each row of the ellipse becomes one span
+   * reaching out to the outline that {@link #drawEllipse} draws.
+   *
+   * @param <T>        The type of values stored in the matrix.
+   * @param matrix     The matrix to draw into.
+   * @param centerRow  The row of the center.
+   * @param centerCol  The column of the center.
+   * @param radiusRows The vertical radius, in cells.
+   * @param radiusCols The horizontal radius, in cells.
+   * @param val        The value to store.
+   *
+   * @throws IllegalArgumentException If either radius is negative.
+   */
+  public static <T> void fillEllipse(Matrix<T> matrix, int centerRow, int centerCol,
+      int radiusRows, int radiusCols, T val) {
+    int[][] quadrant = quadrant(radiusRows, radiusCols);
+    int[] reach = quadrant[1];
+    for (int dy = -radiusRows; dy <= radiusRows; dy++) {
+      int dx = reach[Math.abs(dy)];
+      span(matrix, (long) centerRow + dy, (long) centerCol - dx, (long) centerCol + dx + 1, val);
+    } // for
+  } // fillEllipse(Matrix<T>, int, int, int, int, T)
+
+  /**
+   * Draw the outline of an axis-aligned ellipse, as chosen by the midpoint
+   * algorithm. Where the outline is flat, the cells it covers in a row are
+   * written as one span.
+   *
+   * @param <T>        The type of values stored in the matrix.
+   * @param matrix     The matrix to draw into.
+   * @param centerRow  The row of the center.
+   * @param centerCol  The column of the center.
+   * @param radiusRows The vertical radius, in cells.
+   * @param radiusCols The horizontal radius, in cells.
+   * @param val        The value to store.
+   *
+   * @throws IllegalArgumentException If either radius is negative.
+   */
+  public static <T> void drawEllipse(Matrix<T> matrix, int centerRow, int centerCol,
+      int radiusRows, int radiusCols, T val) {
+    int[][] quadrant = quadrant(radiusRows, radiusCols);
+    int[] inner = quadrant[0];
+    int[] reach = quadrant[1];
+    for (int dy = -radiusRows; dy <= radiusRows; dy++) {
+      long row = (long) centerRow + dy;
+      int near = inner[Math.abs(dy)];
+      int far = reach[Math.abs(dy)];
+      if (near == 0) {
+        span(matrix, row, (long) centerCol - far, (long) centerCol + far + 1, val);
+      } else {
+        span(matrix, row, (long) centerCol - far, (long) centerCol - near + 1, val);
+        span(matrix, row, (long) centerCol + near, (long) centerCol + far + 1, val);
+      } // if/else
+    } // for
+  } // drawEllipse(Matrix<T>, int, int, int, int, T)
+
+  /**
+   * Trace one quarter of an ellipse's outline with the midpoint algorithm.
+   * The decision variables are kept at four times their usual values so
+   * that they stay integers.
+   *
+   * @param radiusRows The vertical radius.
+   * @param radiusCols The horizontal radius.
+   *
+   * @return two arrays indexed by the distance from the center row: the
+   *   smallest and the largest distance from the center column of the
+   *   outline cells in that row.
+   *
+   * @throws IllegalArgumentException If either radius is negative.
+   */
+  static int[][] quadrant(int radiusRows, int radiusCols) {
+    if (radiusRows < 0 || radiusCols < 0) {
+      throw new IllegalArgumentException("Error: invalid radius.");
+    } // if
+    int[] inner = new int[radiusRows + 1];
+    int[] reach = new int[radiusRows + 1];
+    Arrays.fill(inner, Integer.MAX_VALUE);
+    if (radiusRows == 0) {
+      inner[0] = 0;
+      reach[0] = radiusCols;
+      return new int[][] {inner, reach};
+    } // if
+    long a2 = (long) radiusCols * radiusCols;
+    long b2 = (long) radiusRows * radiusRows;
+    int x = 0;
+    int y = radiusRows;
+    long dx = 0;
+    long dy = 2 * a2 * y;
+    long decision = 4 * b2 - 4 * a2 * radiusRows + a2;
+    while (dx < dy) {
+      inner[y] = Math.min(inner[y], x);
+      reach[y] = Math.max(reach[y], x);
+      x++;
+      dx += 2 * b2;
+      if (decision < 0) {
+        decision += 4 * (dx + b2);
+      } else {
+        y--;
+        dy -= 2 * a2;
+        decision += 4 * (dx - dy + b2);
+      } // if/else
+    } // while
+    decision = b2 * (2L * x + 1) * (2L * x + 1) + 4 * a2 * ((long) y - 1) * ((long) y - 1)
+        - 4 * a2 * b2;
+    while (y >= 0) {
+      inner[y] = Math.min(inner[y], x);
+      reach[y] = Math.max(reach[y], x);
+      y--;
+      dy -= 2 * a2;
+      if (decision > 0) {
+        decision += 4 * (a2 - dy);
+      } else {
+        x++;
+        dx += 2 * b2;
+        decision += 4 * (dx - dy + a2);
+      } // if/else
+    } // while
+    // On a flat ellipse, y reaches 0 before x reaches the radius; finish
+    // the tip along the center row.
+    reach[0] = radiusCols;
+    return new int[][] {inner, reach};
+  } // quadrant(int, int)
+
+  // +------------+--------------------------------------------------
+  // | Flood fill |
+  // +------------+
+
+  /**
+   * Replace the value of the cell at (row, col), and of every cell
+   * connected to it horizontally or vertically through cells with the same
+   * value, with val. The fill works a span at a time from a stack of seeds,
+   * so even huge regions need no recursion; each span is written with one
+   * fillRegion call.
+   *
+   * @param <T>    The type of values stored in the matrix.
+   * @param matrix The matrix to fill.
+   * @param row    The row of the starting cell.
+   * @param col    The column of the starting cell.
+   * @param val    The value to store.
+   *
+   * @return the number of cells filled.
+   *
+   * @throws IndexOutOfBoundsException If the starting cell is outside the
+   *                                   matrix.
+   */
+  public static <T> int floodFill(Matrix<T> matrix, int row, int col, T val) {
+    if (row < 0 || col < 0 || row >= matrix.height() || col >= matrix.width()) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    T target = matrix.get(row, col);
+    if (Objects.equals(target, val)) {
+      return 0;
+    } // if
+    int width = matrix.width();
+    int height = matrix.height();
+    int filled = 0;
+    int[] seeds = new int[16];
+    int size = 0;
+    seeds[size++] = row;
+    seeds[size++] = col;
+    while (size > 0) {
+      int seedCol = seeds[--size];
+      int seedRow = seeds[--size];
+      if (!Objects.equals(matrix.get(seedRow, seedCol), target)) {
+        continue;
+      } // if
+      int left = seedCol;
+      while (left > 0 && Objects.equals(matrix.get(seedRow, left - 1), target)) {
+        left--;
+      } // while
+      int right = seedCol + 1;
+      while (right < width && Objects.equals(matrix.get(seedRow, right), target)) {
+        right++;
+      } // while
+      matrix.fillRegion(seedRow, left, seedRow + 1, right, val);
+      if (Objects.equals(matrix.get(seedRow, left), target)) {
+        // The matrix cannot store val distinctly from target.
+        return filled;
+      } // if
+      filled += right - left;
+      for (int next = seedRow - 1; next <= seedRow + 1; next += 2) {
+        if (next < 0 || next >= height) {
+          continue;
+        } // if
+        boolean inRun = false;
+        for (int c = left; c < right; c++) {
+          boolean matches = Objects.equals(matrix.get(next, c), target);
+          if (matches && !inRun) {
+            if (size + 2 > seeds.length) {
+              seeds = Arrays.copyOf(seeds, seeds.length * 2);
+            } // if
+            seeds[size++] = next;
+            seeds[size++] = c;
+          } // if
+          inRun = matches;
+        } // for
+      } // for
+    } // while
+    return filled;
+  } // floodFill(Matrix<T>, int, int, T)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Fill the part of a span that lies in the matrix.
+   *
+   * @param <T>      The type of values stored in the matrix.
+   * @param matrix   The matrix to draw into.
+   * @param row      The row of the span.
+   * @param startCol The first column of the span (inclusive).
+   * @param endCol   The last column of the span (exclusive).
+   * @param val      The value to store.
+   */
+  static <T> void span(Matrix<T> matrix, long row, long startCol, long endCol, T val) {
+    if (row < 0 || row >= matrix.height()) {
+      return;
+    } // if
+    int left = (int) Math.max(startCol, 0);
+    int right = (int) Math.min(endCol, matrix.width());
+    if (left < right) {
+      matrix.fillRegion((int) row, left, (int) row + 1, right, val);
+    } // if
+  } // span(Matrix<T>, long, long, long, T)
+} // class Raster
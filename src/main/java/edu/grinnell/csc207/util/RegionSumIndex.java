@@ -0,0 +1,441 @@
+package edu.grinnell.csc207.util;
+
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+
+/**
+ * An index of the cells of a numeric primitive matrix that adds up any
+ * rectangular region without visiting its cells. The matrix tells the
+ * index about every write: a one-cell write through {@link #changed}, and
+ * anything larger (fills, replacements, inserted or deleted rows and
+ * columns) through {@link #invalidate}, after which the index rebuilds
+ * itself on the next query.
+ *
+ * <p>The index keeps one of two tables of (height + 1) * (width + 1)
+ * entries, choosing between them by how the matrix is used.
+ *
+ * <ul>
+ * <li>A summed-area table holds the sum of every region that starts at
+ *   the top left corner, so any region is four lookups. But one changed
+ *   cell changes a quarter of the table on average, so a one-cell write
+ *   marks the table stale and the next query rebuilds it.</li>
+ * <li>A two-dimensional Fenwick tree holds sums of power-of-two blocks of
+ *   rows and columns. Queries and one-cell writes both visit about
+ *   log(height) * log(width) entries.</li>
+ * </ul>
+ *
+ * <p>We start with the summed-area table. When a query finds the table
+ * stale only because of one-cell writes, and the writes and queries since
+ * the last rebuild would have cost less than the rebuild as tree updates
+ * and queries, we switch to the tree. When the tree has answered more
+ * queries since the last write than a rebuild would cost, we switch back.
+ *
+ * <p>Sums of longs wrap around on overflow, as the other reductions do.
+ * Sums of doubles in the summed-area table are differences of large
+ * prefix sums, so a small region far from the top left corner may lose
+ * a few bits that a direct sum would keep.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+abstract class RegionSumIndex {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The matrix we index. */
+  final PrimitiveMatrix<?> matrix;
+
+  /** The width of the matrix when we last rebuilt. */
+  int width;
+
+  /** The height of the matrix when we last rebuilt. */
+  int height;
+
+  /** Whether the table no longer matches the matrix. */
+  boolean stale = true;
+
+  /** Whether the only changes since the last rebuild were one-cell writes. */
+  boolean pointsOnly;
+
+  /** Whether the table is a Fenwick tree rather than a summed-area table. */
+  boolean fenwick;
+
+  /** The number of one-cell writes since the last rebuild. */
+  long writes;
+
+  /**
+   * The number of queries since the last rebuild or, for a Fenwick tree,
+   * since the last write.
+   */
+  long queries;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create an index of a matrix. It builds its table on the first query.
+   *
+   * @param matrixInput The matrix to index.
+   */
+  RegionSumIndex(PrimitiveMatrix<?> matrixInput) {
+    this.matrix = matrixInput;
+  } // RegionSumIndex(PrimitiveMatrix<?>)
+
+  // +----------------+----------------------------------------------
+  // | Table building |
+  // +----------------+
+
+  /**
+   * Rebuild the table from the cells of the matrix, as a summed-area table
+   * or a Fenwick tree according to {@link #fenwick}.
+   */
+  abstract void build();
+
+  /**
+   * Update the Fenwick tree after one cell has changed.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   */
+  abstract void update(int row, int col);
+
+  // +---------------+-----------------------------------------------
+  // | Notifications |
+  // +---------------+
+
+  /**
+   * Note that one cell of the matrix has changed.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   */
+  final void changed(int row, int col) {
+    if (this.stale) {
+      // Once the table is invalid, nothing is written here, so concurrent
+      // row writes may report their cells safely.
+      if (this.pointsOnly) {
+        this.writes++;
+      } // if
+    } else if (this.fenwick) {
+      this.update(row, col);
+      this.queries = 0;
+    } else {
+      this.stale = true;
+      this.pointsOnly = true;
+      this.writes = 1;
+    } // if/else
+  } // changed(int, int)
+
+  /**
+   * Note that many cells, or the shape, of the matrix have changed.
+   */
+  final void invalidate() {
+    this.stale = true;
+    this.pointsOnly = false;
+  } // invalidate()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Get the table ready for a query, rebuilding it if it is stale and
+   * switching between the two kinds of table when that would be cheaper.
+   */
+  final void refresh() {
+    long area = (long) this.matrix.width * this.matrix.height;
+    long logs = (long) bits(this.matrix.width) * bits(this.matrix.height);
+    if (this.stale) {
+      if (this.pointsOnly && !this.fenwick && (this.writes + this.queries) * logs < area) {
+        this.fenwick = true;
+      } // if
+      this.rebuild();
+    } else if (this.fenwick && this.queries * logs > area) {
+      this.fenwick = false;
+      this.rebuild();
+    } // if/else
+    this.queries++;
+  } // refresh()
+
+  /**
+   * Rebuild the table for the current shape of the matrix.
+   */
+  final void rebuild() {
+    this.width = this.matrix.width;
+    this.height = this.matrix.height;
+    this.build();
+    this.stale = false;
+    this.pointsOnly = false;
+    this.writes = 0;
+    this.queries = 0;
+  } // rebuild()
+
+  /**
+   * Count the bits needed for a number, about the number of steps a
+   * Fenwick tree takes along a side of that length.
+   *
+   * @param n The number.
+   *
+   * @return the number of bits.
+   */
+  static int bits(int n) {
+    return Integer.SIZE - Integer.numberOfLeadingZeros(n);
+  } // bits(int)
+
+  // +-----------------+---------------------------------------------
+  // | Implementations |
+  // +-----------------+
+
+  /**
+   * An index of a matrix whose cells add up as longs.
+   */
+  static final class Longs extends RegionSumIndex {
+    /** How to read the cell at an index of the matrix's array. */
+    final IntToLongFunction cells;
+
+    /** The table, with a row and column of zeros at the top and left. */
+    long[] table = new long[0];
+
+    /**
+     * Create an index of a matrix.
+     *
+     * @param matrixInput The matrix to index.
+     * @param cellsInput  How to read the cell at an index of its array.
+     */
+    Longs(PrimitiveMatrix<?> matrixInput, IntToLongFunction cellsInput) {
+      super(matrixInput);
+      this.cells = cellsInput;
+    } // Longs(PrimitiveMatrix<?>, IntToLongFunction)
+
+    /**
+     * Add up a rectangular region, which the caller has checked.
+     *
+     * @param startRow The top edge / row to start with (inclusive).
+     * @param startCol The left edge / column to start with (inclusive).
+     * @param endRow   The bottom edge / row to stop with (exclusive).
+     * @param endCol   The right edge / column to stop with (exclusive).
+     *
+     * @return the sum.
+     */
+    long sum(int startRow, int startCol, int endRow, int endCol) {
+      this.refresh();
+      return this.prefix(endRow, endCol) - this.prefix(startRow, endCol)
+          - this.prefix(endRow, startCol) + this.prefix(startRow, startCol);
+    } // sum(int, int, int, int)
+
+    /**
+     * Add up the region above and to the left of a corner.
+     *
+     * @param row The number of rows in the region.
+     * @param col The number of columns in the region.
+     *
+     * @return the sum.
+     */
+    long prefix(int row, int col) {
+      int side = this.width + 1;
+      if (!this.fenwick) {
+        return this.table[row * side + col];
+      } // if
+      long sum = 0;
+      for (int i = row; i > 0; i -= i & -i) {
+        for (int j = col; j > 0; j -= j & -j) {
+          sum += this.table[i * side + j];
+        } // for
+      } // for
+      return sum;
+    } // prefix(int, int)
+
+    /**
+     * Rebuild the table from the cells of the matrix.
+     */
+    @Override
+    void build() {
+      int side = this.width + 1;
+      int size = (this.height + 1) * side;
+      if (this.table.length != size) {
+        this.table = new long[size];
+      } // if
+      long[] sums = this.table;
+      int rowSize = this.matrix.stride;
+      for (int row = 0; row < this.height; row++) {
+        int src = row * rowSize;
+        int dst = (row + 1) * side + 1;
+        if (this.fenwick) {
+          for (int col = 0; col < this.width; col++) {
+            sums[dst + col] = this.cells.applyAsLong(src + col);
+          } // for
+        } else {
+          long rowSum = 0;
+          for (int col = 0; col < this.width; col++) {
+            rowSum += this.cells.applyAsLong(src + col);
+            sums[dst + col] = sums[dst - side + col] + rowSum;
+          } // for
+        } // if/else
+      } // for
+      if (this.fenwick) {
+        for (int i = 1; i <= this.height; i++) {
+          for (int j = 1; j <= this.width; j++) {
+            int parent = j + (j & -j);
+            if (parent <= this.width) {
+              sums[i * side + parent] += sums[i * side + j];
+            } // if
+          } // for
+        } // for
+        for (int i = 1; i <= this.height; i++) {
+          int parent = i + (i & -i);
+          if (parent <= this.height) {
+            for (int j = 1; j <= this.width; j++) {
+              sums[parent * side + j] += sums[i * side + j];
+            } // for
+          } // if
+        } // for
+      } // if
+    } // build()
+
+    /**
+     * Update the Fenwick tree after one cell has changed.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     */
+    @Override
+    void update(int row, int col) {
+      long old = this.prefix(row + 1, col + 1) - this.prefix(row, col + 1)
+          - this.prefix(row + 1, col) + this.prefix(row, col);
+      long delta = this.cells.applyAsLong(row * this.matrix.stride + col) - old;
+      int side = this.width + 1;
+      for (int i = row + 1; i <= this.height; i += i & -i) {
+        for (int j = col + 1; j <= this.width; j += j & -j) {
+          this.table[i * side + j] += delta;
+        } // for
+      } // for
+    } // update(int, int)
+  } // class Longs
+
+  /**
+   * An index of a matrix whose cells add up as doubles.
+   */
+  static final class Doubles extends RegionSumIndex {
+    /** How to read the cell at an index of the matrix's array. */
+    final IntToDoubleFunction cells;
+
+    /** The table, with a row and column of zeros at the top and left. */
+    double[] table = new double[0];
+
+    /**
+     * Create an index of a matrix.
+     *
+     * @param matrixInput The matrix to index.
+     * @param cellsInput  How to read the cell at an index of its array.
+     */
+    Doubles(PrimitiveMatrix<?> matrixInput, IntToDoubleFunction cellsInput) {
+      super(matrixInput);
+      this.cells = cellsInput;
+    } // Doubles(PrimitiveMatrix<?>, IntToDoubleFunction)
+
+    /**
+     * Add up a rectangular region, which the caller has checked.
+     *
+     * @param startRow The top edge / row to start with (inclusive).
+     * @param startCol The left edge / column to start with (inclusive).
+     * @param endRow   The bottom edge / row to stop with (exclusive).
+     * @param endCol   The right edge / column to stop with (exclusive).
+     *
+     * @return the sum.
+     */
+    double sum(int startRow, int startCol, int endRow, int endCol) {
+      this.refresh();
+      return (this.prefix(endRow, endCol) - this.prefix(startRow, endCol))
+          - (this.prefix(endRow, startCol) - this.prefix(startRow, startCol));
+    } // sum(int, int, int, int)
+
+    /**
+     * Add up the region above and to the left of a corner.
+     *
+     * @param row The number of rows in the region.
+     * @param col The number of columns in the region.
+     *
+     * @return the sum.
+     */
+    double prefix(int row, int col) {
+      int side = this.width + 1;
+      if (!this.fenwick) {
+        return this.table[row * side + col];
+      } // if
+      double sum = 0;
+      for (int i = row; i > 0; i -= i & -i) {
+        for (int j = col; j > 0; j -= j & -j) {
+          sum += this.table[i * side + j];
+        } // for
+      } // for
+      return sum;
+    } // prefix(int, int)
+
+    /**
+     * Rebuild the table from the cells of the matrix.
+     */
+    @Override
+    void build() {
+      int side = this.width + 1;
+      int size = (this.height + 1) * side;
+      if (this.table.length != size) {
+        this.table = new double[size];
+      } // if
+      double[] sums = this.table;
+      int rowSize = this.matrix.stride;
+      for (int row = 0; row < this.height; row++) {
+        int src = row * rowSize;
+        int dst = (row + 1) * side + 1;
+        if (this.fenwick) {
+          for (int col = 0; col < this.width; col++) {
+            sums[dst + col] = this.cells.applyAsDouble(src + col);
+          } // for
+        } else {
+          double rowSum = 0;
+          for (int col = 0; col < this.width; col++) {
+            rowSum += this.cells.applyAsDouble(src + col);
+            sums[dst + col] = sums[dst - side + col] + rowSum;
+          } // for
+        } // if/else
+      } // for
+      if (this.fenwick) {
+        for (int i = 1; i <= this.height; i++) {
+          for (int j = 1; j <= this.width; j++) {
+            int parent = j + (j & -j);
+            if (parent <= this.width) {
+              sums[i * side + parent] += sums[i * side + j];
+            } // if
+          } // for
+        } // for
+        for (int i = 1; i <= this.height; i++) {
+          int parent = i + (i & -i);
+          if (parent <= this.height) {
+            for (int j = 1; j <= this.width; j++) {
+              sums[parent * side + j] += sums[i * side + j];
+            } // for
+          } // if
+        } // for
+      } // if
+    } // build()
+
+    /**
+     * Update the Fenwick tree after one cell has changed.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     */
+    @Override
+    void update(int row, int col) {
+      double old = (this.prefix(row + 1, col + 1) - this.prefix(row, col + 1))
+          - (this.prefix(row + 1, col) - this.prefix(row, col));
+      double delta = this.cells.applyAsDouble(row * this.matrix.stride + col) - old;
+      int side = this.width + 1;
+      for (int i = row + 1; i <= this.height; i += i & -i) {
+        for (int j = col + 1; j <= this.width; j += j & -j) {
+          this.table[i * side + j] += delta;
+        } // for
+      } // for
+    } // update(int, int)
+  } // class Doubles
+} // class RegionSumIndex
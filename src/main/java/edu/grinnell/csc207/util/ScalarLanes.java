@@ -0,0 +1,287 @@
+package edu.grinnell.csc207.util;
+
+/**
+ * The plain Java loops behind the numeric operations of the primitive
+ * matrices, used when the Vector API is not available. Sums keep four
+ * independent accumulators so consecutive additions do not wait on each
+ * other; the JIT compiler may vectorize the rest on its own.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+final class ScalarLanes implements Lanes {
+  // +---------+-----------------------------------------------------
+  // | Doubles |
+  // +---------+
+
+  /**
+   * Add up a range of doubles.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the sum.
+   */
+  @Override
+  public double sum(double[] vals, int from, int to) {
+    double sum0 = 0;
+    double sum1 = 0;
+    double sum2 = 0;
+    double sum3 = 0;
+    int i = from;
+    while (i + 4 <= to) {
+      sum0 += vals[i];
+      sum1 += vals[i + 1];
+      sum2 += vals[i + 2];
+      sum3 += vals[i + 3];
+      i += 4;
+    } // while
+    while (i < to) {
+      sum0 += vals[i++];
+    } // while
+    return (sum0 + sum1) + (sum2 + sum3);
+  } // sum(double[], int, int)
+
+  /**
+   * Find the smallest of a range of doubles.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the smallest value, or positive infinity for an empty range.
+   */
+  @Override
+  public double min(double[] vals, int from, int to) {
+    double min = Double.POSITIVE_INFINITY;
+    for (int i = from; i < to; i++) {
+      min = Math.min(min, vals[i]);
+    } // for
+    return min;
+  } // min(double[], int, int)
+
+  /**
+   * Find the largest of a range of doubles.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the largest value, or negative infinity for an empty range.
+   */
+  @Override
+  public double max(double[] vals, int from, int to) {
+    double max = Double.NEGATIVE_INFINITY;
+    for (int i = from; i < to; i++) {
+      max = Math.max(max, vals[i]);
+    } // for
+    return max;
+  } // max(double[], int, int)
+
+  /**
+   * Count the doubles in a range that are greater than a threshold.
+   *
+   * @param vals      The array.
+   * @param from      The first index (inclusive).
+   * @param to        The last index (exclusive).
+   * @param threshold The threshold.
+   *
+   * @return the number of values greater than the threshold.
+   */
+  @Override
+  public int countAbove(double[] vals, int from, int to, double threshold) {
+    int count = 0;
+    for (int i = from; i < to; i++) {
+      count += (vals[i] > threshold) ? 1 : 0;
+    } // for
+    return count;
+  } // countAbove(double[], int, int, double)
+
+  /**
+   * Compute the dot product of two ranges of doubles.
+   *
+   * @param left      The first array.
+   * @param leftFrom  Where the range starts in the first array.
+   * @param right     The second array.
+   * @param rightFrom Where the range starts in the second array.
+   * @param length    The length of the ranges.
+   *
+   * @return the sum of the products of corresponding values.
+   */
+  @Override
+  public double dot(double[] left, int leftFrom, double[] right, int rightFrom, int length) {
+    double sum0 = 0;
+    double sum1 = 0;
+    double sum2 = 0;
+    double sum3 = 0;
+    int offset = rightFrom - leftFrom;
+    int end = leftFrom + length;
+    int i = leftFrom;
+    while (i + 4 <= end) {
+      sum0 += left[i] * right[i + offset];
+      sum1 += left[i + 1] * right[i + 1 + offset];
+      sum2 += left[i + 2] * right[i + 2 + offset];
+      sum3 += left[i + 3] * right[i + 3 + offset];
+      i += 4;
+    } // while
+    while (i < end) {
+      sum0 += left[i] * right[i + offset];
+      i++;
+    } // while
+    return (sum0 + sum1) + (sum2 + sum3);
+  } // dot(double[], int, double[], int, int)
+
+  /**
+   * Add two ranges of doubles into a third.
+   *
+   * @param left      The first array.
+   * @param leftFrom  Where the range starts in the first array.
+   * @param right     The second array.
+   * @param rightFrom Where the range starts in the second array.
+   * @param out       Where to put the sums.
+   * @param outFrom   Where the range starts in that array.
+   * @param length    The length of the ranges.
+   */
+  @Override
+  public void add(double[] left, int leftFrom, double[] right, int rightFrom, double[] out,
+      int outFrom, int length) {
+    for (int i = 0; i < length; i++) {
+      out[outFrom + i] = left[leftFrom + i] + right[rightFrom + i];
+    } // for
+  } // add(double[], int, double[], int, double[], int, int)
+
+  /**
+   * Multiply two ranges of doubles, value by value, into a third.
+   *
+   * @param left      The first array.
+   * @param leftFrom  Where the range starts in the first array.
+   * @param right     The second array.
+   * @param rightFrom Where the range starts in the second array.
+   * @param out       Where to put the products.
+   * @param outFrom   Where the range starts in that array.
+   * @param length    The length of the ranges.
+   */
+  @Override
+  public void multiply(double[] left, int leftFrom, double[] right, int rightFrom,
+      double[] out, int outFrom, int length) {
+    for (int i = 0; i < length; i++) {
+      out[outFrom + i] = left[leftFrom + i] * right[rightFrom + i];
+    } // for
+  } // multiply(double[], int, double[], int, double[], int, int)
+
+  // +------+--------------------------------------------------------
+  // | Ints |
+  // +------+
+
+  /**
+   * Add up a range of ints without overflow.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the sum.
+   */
+  @Override
+  public long sum(int[] vals, int from, int to) {
+    long sum = 0;
+    for (int i = from; i < to; i++) {
+      sum += vals[i];
+    } // for
+    return sum;
+  } // sum(int[], int, int)
+
+  /**
+   * Find the smallest of a range of ints.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the smallest value, or Integer.MAX_VALUE for an empty range.
+   */
+  @Override
+  public int min(int[] vals, int from, int to) {
+    int min = Integer.MAX_VALUE;
+    for (int i = from; i < to; i++) {
+      min = Math.min(min, vals[i]);
+    } // for
+    return min;
+  } // min(int[], int, int)
+
+  /**
+   * Find the largest of a range of ints.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the largest value, or Integer.MIN_VALUE for an empty range.
+   */
+  @Override
+  public int max(int[] vals, int from, int to) {
+    int max = Integer.MIN_VALUE;
+    for (int i = from; i < to; i++) {
+      max = Math.max(max, vals[i]);
+    } // for
+    return max;
+  } // max(int[], int, int)
+
+  // +-------+-------------------------------------------------------
+  // | Longs |
+  // +-------+
+
+  /**
+   * Add up a range of longs.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the sum.
+   */
+  @Override
+  public long sum(long[] vals, int from, int to) {
+    long sum = 0;
+    for (int i = from; i < to; i++) {
+      sum += vals[i];
+    } // for
+    return sum;
+  } // sum(long[], int, int)
+
+  /**
+   * Find the smallest of a range of longs.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the smallest value, or Long.MAX_VALUE for an empty range.
+   */
+  @Override
+  public long min(long[] vals, int from, int to) {
+    long min = Long.MAX_VALUE;
+    for (int i = from; i < to; i++) {
+      min = Math.min(min, vals[i]);
+    } // for
+    return min;
+  } // min(long[], int, int)
+
+  /**
+   * Find the largest of a range of longs.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the largest value, or Long.MIN_VALUE for an empty range.
+   */
+  @Override
+  public long max(long[] vals, int from, int to) {
+    long max = Long.MIN_VALUE;
+    for (int i = from; i < to; i++) {
+      max = Math.max(max, vals[i]);
+    } // for
+    return max;
+  } // max(long[], int, int)
+} // class ScalarLanes
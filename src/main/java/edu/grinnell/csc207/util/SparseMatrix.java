@@ -0,0 +1,670 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A matrix that only stores the cells that differ from its default value.
+ * The cells live in a hash table keyed by their packed (row, column)
+ * coordinates, so memory use and the cost of the structural operations
+ * grow with the number of non-default cells rather than with the area of
+ * the matrix.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+public class SparseMatrix<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The width of the matrix. */
+  int width;
+
+  /** The height of the matrix. */
+  int height;
+
+  /** The default value. */
+  T def;
+
+  /** The non-default cells, keyed by packed coordinates. */
+  HashMap<Long, T> cells;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given
+   * value as the default.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   * @param defInput    The default value of every cell.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public SparseMatrix(int widthInput, int heightInput, T defInput)
+      throws NegativeArraySizeException {
+    if (widthInput <= 0 || heightInput <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+    this.width = widthInput;
+    this.height = heightInput;
+    this.def = defInput;
+    this.cells = new HashMap<>();
+  } // SparseMatrix(int, int, T)
+
+  /**
+   * Create a new matrix of the specified width and height with null as the
+   * default value.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public SparseMatrix(int widthInput, int heightInput) throws NegativeArraySizeException {
+    this(widthInput, heightInput, null);
+  } // SparseMatrix(int, int)
+
+  /**
+   * Create a copy of another sparse matrix.
+   *
+   * @param other The matrix to copy.
+   */
+  SparseMatrix(SparseMatrix<T> other) {
+    this.width = other.width;
+    this.height = other.height;
+    this.def = other.def;
+    this.cells = new HashMap<>(other.cells);
+  } // SparseMatrix(SparseMatrix<T>)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Pack a row and column into a single key.
+   *
+   * @param row The row.
+   * @param col The column.
+   *
+   * @return the key.
+   */
+  static long key(int row, int col) {
+    return ((long) row << 32) | (col & 0xFFFFFFFFL);
+  } // key(int, int)
+
+  /**
+   * Extract the row from a key.
+   *
+   * @param key The key.
+   *
+   * @return the row.
+   */
+  static int row(long key) {
+    return (int) (key >>> 32);
+  } // row(long)
+
+  /**
+   * Extract the column from a key.
+   *
+   * @param key The key.
+   *
+   * @return the column.
+   */
+  static int col(long key) {
+    return (int) key;
+  } // col(long)
+
+  /**
+   * Store a value without checking bounds, dropping default values.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   * @param val The value to store.
+   */
+  void store(int row, int col, T val) {
+    if (Objects.equals(val, this.def)) {
+      this.cells.remove(key(row, col));
+    } else {
+      this.cells.put(key(row, col), val);
+    } // if/else
+  } // store(int, int, T)
+
+  /**
+   * Renumber the cells after a structural change. Cells whose row (or
+   * column) falls in [from, from + removed) are dropped, and cells at or
+   * after from + removed move by delta. Default cells are not touched.
+   *
+   * @param rows    True to renumber rows and false to renumber columns.
+   * @param from    The first row or column affected.
+   * @param removed The number of rows or columns removed.
+   * @param delta   How far to move the later rows or columns.
+   */
+  void renumber(boolean rows, int from, int removed, int delta) {
+    int keep = from + removed;
+    HashMap<Long, T> renumbered = new HashMap<>(Math.max(16, this.cells.size() * 4 / 3 + 1));
+    for (Map.Entry<Long, T> entry : this.cells.entrySet()) {
+      long key = entry.getKey();
+      int row = row(key);
+      int col = col(key);
+      int pos = rows ? row : col;
+      if (pos >= keep) {
+        pos += delta;
+      } else if (pos >= from) {
+        continue;
+      } // if/else
+      renumbered.put(rows ? key(pos, col) : key(row, pos), entry.getValue());
+    } // for
+    this.cells = renumbered;
+  } // renumber(boolean, int, int, int)
+
+  /**
+   * Compute 7^n and 1 + 7 + ... + 7^(n-1), modulo 2^32, in O(log n) steps.
+   * A run of n cells that all hash to h turns a running hash code into
+   * code * 7^n + h * (1 + 7 + ... + 7^(n-1)).
+   *
+   * @param n The length of the run.
+   *
+   * @return the power and the sum, in that order.
+   */
+  static int[] run(long n) {
+    int power = 1;
+    int sum = 0;
+    int squarePower = 7;
+    int squareSum = 1;
+    while (n > 0) {
+      if ((n & 1) == 1) {
+        sum = sum * squarePower + squareSum;
+        power *= squarePower;
+      } // if
+      squareSum = squareSum * squarePower + squareSum;
+      squarePower *= squarePower;
+      n >>= 1;
+    } // while
+    return new int[] {power, sum};
+  } // run(long)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  public T get(int row, int col) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    return this.cells.getOrDefault(key(row, col), this.def);
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  public void set(int row, int col, T val) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    this.store(row, col, val);
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  @Override
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  @Override
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Determine how many cells differ from the default value.
+   *
+   * @return the number of stored cells.
+   */
+  public int nonDefaultCells() {
+    return this.cells.size();
+  } // nonDefaultCells()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the
+   *                                   height.
+   */
+  @Override
+  public void insertRow(int row) {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    this.renumber(true, row, 0, 1);
+    this.height++;
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row  The number of the row to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the
+   *                                   height.
+   * @throws ArraySizeException        If the size of vals is not the same as the
+   *                                   width of the matrix.
+   */
+  @Override
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    if (vals.length != this.width) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    this.insertRow(row);
+    for (int col = 0; col < vals.length; col++) {
+      this.store(row, col, vals[col]);
+    } // for
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than
+   *                                   the width.
+   */
+  @Override
+  public void insertCol(int col) {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    this.renumber(false, col, 0, 1);
+    this.width++;
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col  The number of the column to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than
+   *                                   the width.
+   * @throws ArraySizeException        If the size of vals is not the same as the
+   *                                   height of the matrix.
+   */
+  @Override
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    if (vals.length != this.height) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    this.insertCol(col);
+    for (int row = 0; row < vals.length; row++) {
+      this.store(row, col, vals[row]);
+    } // for
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row.
+   *
+   * @param row The number of the row to delete.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or
+   *                                   equal to the height.
+   */
+  @Override
+  public void deleteRow(int row) {
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    this.renumber(true, row, 1, -1);
+    this.height--;
+  } // deleteRow(int)
+
+  /**
+   * Delete a column.
+   *
+   * @param col The number of the column to delete.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than
+   *                                   or equal to the width.
+   */
+  @Override
+  public void deleteCol(int col) {
+    if (col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    this.renumber(false, col, 1, -1);
+    this.width--;
+  } // deleteCol(int)
+
+  /**
+   * Insert count rows filled with the default value, renumbering the
+   * stored cells once.
+   *
+   * @param row   The number of the first row to insert.
+   * @param count The number of rows to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertRows(int row, int count) {
+    Matrix.checkInsert(row, this.height, count, "row");
+    if (row < this.height) {
+      this.renumber(true, row, 0, count);
+    } // if
+    this.height += count;
+  } // insertRows(int, int)
+
+  /**
+   * Insert rows filled with the specified values, renumbering the stored
+   * cells once.
+   *
+   * @param row  The number of the first row to insert.
+   * @param vals The values to insert, one array per row.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the width of the matrix.
+   */
+  @Override
+  public void insertRows(int row, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(row, this.height, vals.length, "row");
+    Matrix.checkLengths(vals, this.width);
+    this.insertRows(row, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      for (int col = 0; col < this.width; col++) {
+        this.store(row + i, col, vals[i][col]);
+      } // for
+    } // for
+  } // insertRows(int, T[][])
+
+  /**
+   * Delete a range of rows, renumbering the stored cells once.
+   *
+   * @param startRow The first row to delete.
+   * @param endRow   The row to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the rows are out of bounds or
+   *                                   startRow is greater than endRow.
+   */
+  @Override
+  public void deleteRows(int startRow, int endRow) {
+    Matrix.checkDelete(startRow, endRow, this.height, "rows");
+    if (startRow < endRow) {
+      this.renumber(true, startRow, endRow - startRow, startRow - endRow);
+      this.height -= endRow - startRow;
+    } // if
+  } // deleteRows(int, int)
+
+  /**
+   * Insert count columns filled with the default value, renumbering the
+   * stored cells once.
+   *
+   * @param col   The number of the first column to insert.
+   * @param count The number of columns to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertCols(int col, int count) {
+    Matrix.checkInsert(col, this.width, count, "column");
+    if (col < this.width) {
+      this.renumber(false, col, 0, count);
+    } // if
+    this.width += count;
+  } // insertCols(int, int)
+
+  /**
+   * Insert columns filled with the specified values, renumbering the
+   * stored cells once.
+   *
+   * @param col  The number of the first column to insert.
+   * @param vals The values to insert, one array per column.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the height of the matrix.
+   */
+  @Override
+  public void insertCols(int col, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(col, this.width, vals.length, "column");
+    Matrix.checkLengths(vals, this.height);
+    this.insertCols(col, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      for (int row = 0; row < this.height; row++) {
+        this.store(row, col + i, vals[i][row]);
+      } // for
+    } // for
+  } // insertCols(int, T[][])
+
+  /**
+   * Delete a range of columns, renumbering the stored cells once.
+   *
+   * @param startCol The first column to delete.
+   * @param endCol   The column to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the columns are out of bounds or
+   *                                   startCol is greater than endCol.
+   */
+  @Override
+  public void deleteCols(int startCol, int endCol) {
+    Matrix.checkDelete(startCol, endCol, this.width, "columns");
+    if (startCol < endCol) {
+      this.renumber(false, startCol, endCol - startCol, startCol - endCol);
+      this.width -= endCol - startCol;
+    } // if
+  } // deleteCols(int, int)
+
+  /**
+   * Change the size of the matrix, keeping the cells at the top left.
+   * Growing only changes the bounds; shrinking drops the stored cells that
+   * fall outside them in one pass.
+   *
+   * @param newWidth  The new width.
+   * @param newHeight The new height.
+   *
+   * @throws NegativeArraySizeException If either the new width or new height
+   *                                    is not positive.
+   */
+  @Override
+  public void resize(int newWidth, int newHeight) {
+    if (newWidth <= 0 || newHeight <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+    if (newWidth < this.width || newHeight < this.height) {
+      this.cells.keySet().removeIf((key) -> row(key) >= newHeight || col(key) >= newWidth);
+    } // if
+    this.width = newWidth;
+    this.height = newHeight;
+  } // resize(int, int)
+
+  /**
+   * Fill a rectangular region of the matrix. Filling with the default value
+   * only visits the stored cells when there are fewer of them than cells in
+   * the region.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+
+    long area = (long) Math.max(0, endRow - startRow) * Math.max(0, endCol - startCol);
+    if (Objects.equals(val, this.def) && this.cells.size() < area) {
+      this.cells.keySet().removeIf((key) -> row(key) >= startRow && row(key) < endRow
+          && col(key) >= startCol && col(key) < endCol);
+    } else {
+      for (int row = startRow; row < endRow; row++) {
+        for (int col = startCol; col < endCol; col++) {
+          this.store(row, col, val);
+        } // for col
+      } // for row
+    } // if/else
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, T val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+
+    int steps = Lines.steps(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    int row = startRow;
+    int col = startCol;
+    for (int i = 0; i < steps; i++) {
+      this.store(row, col, val);
+      row += deltaRow;
+      col += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Make a copy of the matrix. The copy shares the stored values but not
+   * the table that holds them.
+   *
+   * @return a copy of the matrix.
+   */
+  @Override
+  public SparseMatrix<T> clone() {
+    return new SparseMatrix<>(this);
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object. Two sparse
+   * matrices with equal defaults are compared by their stored cells alone.
+   *
+   * @param other The object to compare.
+   *
+   * @return true if the other object is a matrix with the same width, height,
+   *         and equal elements; false otherwise.
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (other instanceof SparseMatrix) {
+      SparseMatrix<?> that = (SparseMatrix<?>) other;
+      if (Objects.equals(this.def, that.def)) {
+        return this.width == that.width && this.height == that.height
+            && this.cells.equals(that.cells);
+      } // if
+    } // if
+    return Matrix.equals(this, other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix. Agrees with
+   * {@link Matrix#hashCode(Matrix)}, but visits only the stored cells:
+   * each run of default cells between them is folded in with
+   * {@link #run(long)}.
+   *
+   * @return the hash code.
+   */
+  @Override
+  public int hashCode() {
+    long[] keys = new long[this.cells.size()];
+    int i = 0;
+    for (long key : this.cells.keySet()) {
+      keys[i++] = key;
+    } // for
+    Arrays.sort(keys);
+
+    int defHash = Objects.hashCode(this.def);
+    int code = this.width + 7 * this.height;
+    long next = 0;
+    for (long key : keys) {
+      long pos = (long) row(key) * this.width + col(key);
+      code = this.skip(code, pos - next, defHash);
+      code = code * 7 + Objects.hashCode(this.cells.get(key));
+      next = pos + 1;
+    } // for
+    return this.skip(code, (long) this.width * this.height - next, defHash);
+  } // hashCode()
+
+  /**
+   * Fold a run of default cells into a running hash code.
+   *
+   * @param code    The hash code so far.
+   * @param length  The number of default cells.
+   * @param defHash The hash code of the default value.
+   *
+   * @return the updated hash code.
+   */
+  private int skip(int code, long length, int defHash) {
+    if (length == 0) {
+      return code;
+    } // if
+    int[] powerSum = run(length);
+    return code * powerSum[0] + defHash * powerSum[1];
+  } // skip(int, long, int)
+} // class SparseMatrix<T>
@@ -0,0 +1,993 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A matrix whose cells live in square tiles of 64 by 64 cells. Each tile is
+ * its own row-major array, so the cells of a column within a tile are only
+ * 64 slots apart, and work that walks down columns (inserting or deleting
+ * a column, filling a vertical or diagonal line) stays within a few arrays
+ * at a time rather than striding across the whole matrix.
+ *
+ * <p>The grid of tiles has spare tile rows and columns. Growing the grid
+ * moves tile references, never cells.
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+public class TiledMatrix<T> implements Matrix<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The log of the side of a tile. */
+  static final int TILE_BITS = 6;
+
+  /** The side of a tile. */
+  static final int TILE = 1 << TILE_BITS;
+
+  /** The mask for a position within a tile. */
+  static final int TILE_MASK = TILE - 1;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The width of the matrix. */
+  int width;
+
+  /** The height of the matrix. */
+  int height;
+
+  /** The default value. */
+  T def;
+
+  /** The tiles, row-major by tile. */
+  Object[][] tiles;
+
+  /** The number of tiles in each row of the grid. */
+  int tileCols;
+
+  /** The number of rows of tiles in the grid. */
+  int tileRows;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given
+   * value as the default.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   * @param defInput    The default value, used to fill all the cells.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public TiledMatrix(int widthInput, int heightInput, T defInput)
+      throws NegativeArraySizeException {
+    if (widthInput <= 0 || heightInput <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+    this.width = widthInput;
+    this.height = heightInput;
+    this.def = defInput;
+    this.tileRows = tilesFor(heightInput);
+    this.tileCols = tilesFor(widthInput);
+    this.tiles = new Object[this.tileRows * this.tileCols][];
+    for (int i = 0; i < this.tiles.length; i++) {
+      this.tiles[i] = this.newTile();
+    } // for
+  } // TiledMatrix(int, int, T)
+
+  /**
+   * Create a new matrix of the specified width and height with null as the
+   * default value.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public TiledMatrix(int widthInput, int heightInput) throws NegativeArraySizeException {
+    this(widthInput, heightInput, null);
+  } // TiledMatrix(int, int)
+
+  /**
+   * Create a copy of another matrix, tile by tile, keeping only the tiles
+   * that hold cells.
+   *
+   * @param other The matrix to copy.
+   */
+  TiledMatrix(TiledMatrix<T> other) {
+    this.width = other.width;
+    this.height = other.height;
+    this.def = other.def;
+    this.tileRows = Math.max(1, tilesFor(other.height));
+    this.tileCols = Math.max(1, tilesFor(other.width));
+    this.tiles = new Object[this.tileRows * this.tileCols][];
+    for (int tileRow = 0; tileRow < this.tileRows; tileRow++) {
+      for (int tileCol = 0; tileCol < this.tileCols; tileCol++) {
+        this.tiles[tileRow * this.tileCols + tileCol] =
+            other.tiles[tileRow * other.tileCols + tileCol].clone();
+      } // for
+    } // for
+  } // TiledMatrix(TiledMatrix<T>)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Determine how many tiles it takes to cover a number of cells.
+   *
+   * @param cells The number of cells.
+   *
+   * @return the number of tiles.
+   */
+  static int tilesFor(int cells) {
+    return (cells + TILE_MASK) >>> TILE_BITS;
+  } // tilesFor(int)
+
+  /**
+   * Find the position of a cell within its tile.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   *
+   * @return the position.
+   */
+  static int slot(int row, int col) {
+    return ((row & TILE_MASK) << TILE_BITS) | (col & TILE_MASK);
+  } // slot(int, int)
+
+  /**
+   * Make a tile full of the default value.
+   *
+   * @return the tile.
+   */
+  Object[] newTile() {
+    Object[] tile = new Object[TILE * TILE];
+    Arrays.fill(tile, this.def);
+    return tile;
+  } // newTile()
+
+  /**
+   * Find the tile holding a cell.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   *
+   * @return the tile.
+   */
+  Object[] tile(int row, int col) {
+    return this.tiles[(row >>> TILE_BITS) * this.tileCols + (col >>> TILE_BITS)];
+  } // tile(int, int)
+
+  /**
+   * Make sure the grid covers a number of rows and columns. Existing tiles
+   * keep their cells and are only moved to their places in the new grid.
+   *
+   * @param rows The number of rows to cover.
+   * @param cols The number of columns to cover.
+   */
+  void ensure(int rows, int cols) {
+    int newTileRows = tilesFor(rows);
+    int newTileCols = tilesFor(cols);
+    if (newTileRows <= this.tileRows && newTileCols <= this.tileCols) {
+      return;
+    } // if
+    newTileRows = Math.max(this.tileRows,
+        newTileRows > this.tileRows ? MatrixV0.grow(this.tileRows, newTileRows) : 0);
+    newTileCols = Math.max(this.tileCols,
+        newTileCols > this.tileCols ? MatrixV0.grow(this.tileCols, newTileCols) : 0);
+    Object[][] grid = new Object[newTileRows * newTileCols][];
+    for (int tileRow = 0; tileRow < newTileRows; tileRow++) {
+      for (int tileCol = 0; tileCol < newTileCols; tileCol++) {
+        grid[tileRow * newTileCols + tileCol] =
+            (tileRow < this.tileRows && tileCol < this.tileCols)
+                ? this.tiles[tileRow * this.tileCols + tileCol]
+                : this.newTile();
+      } // for
+    } // for
+    this.tiles = grid;
+    this.tileRows = newTileRows;
+    this.tileCols = newTileCols;
+  } // ensure(int, int)
+
+  /**
+   * Fill a run of cells along a row.
+   *
+   * @param row      The row.
+   * @param startCol The first column to fill.
+   * @param endCol   The column to stop at (exclusive).
+   * @param val      The value to store.
+   */
+  void fillRun(int row, int startCol, int endCol, Object val) {
+    int col = startCol;
+    while (col < endCol) {
+      int stop = Math.min(endCol, (col | TILE_MASK) + 1);
+      Arrays.fill(this.tile(row, col), slot(row, col), slot(row, col) + (stop - col), val);
+      col = stop;
+    } // while
+  } // fillRun(int, int, int, Object)
+
+  /**
+   * Store values along a row, one copy per tile.
+   *
+   * @param row      The row.
+   * @param startCol The column for the first value.
+   * @param vals     The values.
+   * @param off      Where in vals the first value is.
+   * @param length   The number of values.
+   */
+  void storeRun(int row, int startCol, Object[] vals, int off, int length) {
+    int done = 0;
+    while (done < length) {
+      int col = startCol + done;
+      int chunk = Math.min(length - done, TILE - (col & TILE_MASK));
+      System.arraycopy(vals, off + done, this.tile(row, col), slot(row, col), chunk);
+      done += chunk;
+    } // while
+  } // storeRun(int, int, Object[], int, int)
+
+  /**
+   * Load values along a row into an array, one copy per tile.
+   *
+   * @param row      The row.
+   * @param startCol The column of the first value.
+   * @param dst      The array to copy into.
+   * @param off      Where in dst to put the first value.
+   * @param length   The number of values.
+   */
+  void loadRun(int row, int startCol, Object[] dst, int off, int length) {
+    int done = 0;
+    while (done < length) {
+      int col = startCol + done;
+      int chunk = Math.min(length - done, TILE - (col & TILE_MASK));
+      System.arraycopy(this.tile(row, col), slot(row, col), dst, off + done, chunk);
+      done += chunk;
+    } // while
+  } // loadRun(int, int, Object[], int, int)
+
+  /**
+   * Copy a run of cells from one place in a row to another, in chunks that
+   * stay within one tile on both sides. Copying right along the same row
+   * goes from the far end, so the run may overlap itself.
+   *
+   * @param srcRow The row to copy from.
+   * @param srcCol The first column to copy from.
+   * @param dstRow The row to copy to.
+   * @param dstCol The first column to copy to.
+   * @param length The number of cells.
+   */
+  void copyRun(int srcRow, int srcCol, int dstRow, int dstCol, int length) {
+    if (srcRow == dstRow && dstCol > srcCol) {
+      int end = length;
+      while (end > 0) {
+        int chunk = Math.min(end, Math.min(((srcCol + end - 1) & TILE_MASK) + 1,
+            ((dstCol + end - 1) & TILE_MASK) + 1));
+        int from = srcCol + end - chunk;
+        int to = dstCol + end - chunk;
+        System.arraycopy(this.tile(srcRow, from), slot(srcRow, from), this.tile(dstRow, to),
+            slot(dstRow, to), chunk);
+        end -= chunk;
+      } // while
+    } else {
+      int done = 0;
+      while (done < length) {
+        int from = srcCol + done;
+        int to = dstCol + done;
+        int chunk = Math.min(length - done,
+            Math.min(TILE - (from & TILE_MASK), TILE - (to & TILE_MASK)));
+        System.arraycopy(this.tile(srcRow, from), slot(srcRow, from), this.tile(dstRow, to),
+            slot(dstRow, to), chunk);
+        done += chunk;
+      } // while
+    } // if/else
+  } // copyRun(int, int, int, int, int)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get(int row, int col) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    return (T) this.tile(row, col)[slot(row, col)];
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  public void set(int row, int col, T val) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    this.tile(row, col)[slot(row, col)] = val;
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  @Override
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  @Override
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   */
+  @Override
+  public void insertRow(int row) {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    this.openRow(row);
+    this.fillRun(row, 0, this.width, this.def);
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row  The number of the row to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If the size of vals is not the same as
+   *                                   the width of the matrix.
+   */
+  @Override
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    if (vals.length != this.width) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    this.openRow(row);
+    this.storeRun(row, 0, vals, 0, vals.length);
+  } // insertRow(int, T[])
+
+  /**
+   * Shift the rows at and below row down by one. Rows are contiguous within
+   * a tile, so each tile moves with one copy, plus one more to bring down
+   * the last row of the tile above.
+   *
+   * @param row The row to open.
+   */
+  void openRow(int row) {
+    this.ensure(this.height + 1, this.width);
+    int firstBand = row >>> TILE_BITS;
+    int colTiles = tilesFor(this.width);
+    for (int band = this.height >>> TILE_BITS; band >= firstBand; band--) {
+      int from = band == firstBand ? row & TILE_MASK : 0;
+      for (int tileCol = 0; tileCol < colTiles; tileCol++) {
+        Object[] tile = this.tiles[band * this.tileCols + tileCol];
+        System.arraycopy(tile, from << TILE_BITS, tile, (from + 1) << TILE_BITS,
+            (TILE_MASK - from) << TILE_BITS);
+        if (band > firstBand) {
+          Object[] above = this.tiles[(band - 1) * this.tileCols + tileCol];
+          System.arraycopy(above, TILE_MASK << TILE_BITS, tile, 0, TILE);
+        } // if
+      } // for
+    } // for
+    this.height++;
+  } // openRow(int)
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   */
+  @Override
+  public void insertCol(int col) {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    this.openCol(col);
+    for (int row = 0; row < this.height; row++) {
+      this.tile(row, col)[slot(row, col)] = this.def;
+    } // for
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col  The number of the column to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If the size of vals is not the same as
+   *                                   the height of the matrix.
+   */
+  @Override
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    if (vals.length != this.height) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    this.openCol(col);
+    for (int row = 0; row < this.height; row++) {
+      this.tile(row, col)[slot(row, col)] = vals[row];
+    } // for
+  } // insertCol(int, T[])
+
+  /**
+   * Shift the columns at and right of col over by one. Whole tiles shift
+   * with one copy each; the first column of each tile row then takes the
+   * last column of the tile to its left.
+   *
+   * @param col The column to open.
+   */
+  void openCol(int col) {
+    this.ensure(this.height, this.width + 1);
+    int firstTile = col >>> TILE_BITS;
+    int first = col & TILE_MASK;
+    int bands = tilesFor(this.height);
+    for (int band = 0; band < bands; band++) {
+      int base = band * this.tileCols;
+      for (int tileCol = this.width >>> TILE_BITS; tileCol > firstTile; tileCol--) {
+        Object[] tile = this.tiles[base + tileCol];
+        Object[] left = this.tiles[base + tileCol - 1];
+        System.arraycopy(tile, 0, tile, 1, TILE * TILE - 1);
+        for (int r = 0; r < TILE; r++) {
+          tile[r << TILE_BITS] = left[(r << TILE_BITS) | TILE_MASK];
+        } // for
+      } // for
+      Object[] tile = this.tiles[base + firstTile];
+      for (int r = 0; r < TILE; r++) {
+        System.arraycopy(tile, (r << TILE_BITS) | first, tile, (r << TILE_BITS) | (first + 1),
+            TILE_MASK - first);
+      } // for
+    } // for
+    this.width++;
+  } // openCol(int)
+
+  /**
+   * Delete a row, moving each tile below it up with one copy.
+   *
+   * @param row The number of the row to delete.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   or equal to the height.
+   */
+  @Override
+  public void deleteRow(int row) {
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    int firstBand = row >>> TILE_BITS;
+    int lastBand = (this.height - 1) >>> TILE_BITS;
+    int colTiles = tilesFor(this.width);
+    for (int band = firstBand; band <= lastBand; band++) {
+      int from = band == firstBand ? row & TILE_MASK : 0;
+      for (int tileCol = 0; tileCol < colTiles; tileCol++) {
+        Object[] tile = this.tiles[band * this.tileCols + tileCol];
+        System.arraycopy(tile, (from + 1) << TILE_BITS, tile, from << TILE_BITS,
+            (TILE_MASK - from) << TILE_BITS);
+        if (band < lastBand) {
+          Object[] below = this.tiles[(band + 1) * this.tileCols + tileCol];
+          System.arraycopy(below, 0, tile, TILE_MASK << TILE_BITS, TILE);
+        } // if
+      } // for
+    } // for
+    this.height--;
+    this.fillRun(this.height, 0, this.width, this.def);
+  } // deleteRow(int)
+
+  /**
+   * Delete a column, shifting whole tiles left with one copy each.
+   *
+   * @param col The number of the column to delete.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than or equal to the width.
+   */
+  @Override
+  public void deleteCol(int col) {
+    if (col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    int firstTile = col >>> TILE_BITS;
+    int first = col & TILE_MASK;
+    int lastTile = (this.width - 1) >>> TILE_BITS;
+    int bands = tilesFor(this.height);
+    for (int band = 0; band < bands; band++) {
+      int base = band * this.tileCols;
+      Object[] tile = this.tiles[base + firstTile];
+      for (int r = 0; r < TILE; r++) {
+        System.arraycopy(tile, (r << TILE_BITS) | (first + 1), tile, (r << TILE_BITS) | first,
+            TILE_MASK - first);
+      } // for
+      for (int tileCol = firstTile + 1; tileCol <= lastTile; tileCol++) {
+        Object[] left = tile;
+        tile = this.tiles[base + tileCol];
+        for (int r = 0; r < TILE; r++) {
+          left[(r << TILE_BITS) | TILE_MASK] = tile[r << TILE_BITS];
+        } // for
+        System.arraycopy(tile, 1, tile, 0, TILE * TILE - 1);
+      } // for
+    } // for
+    this.width--;
+    for (int row = 0; row < this.height; row++) {
+      this.tile(row, this.width)[slot(row, this.width)] = this.def;
+    } // for
+  } // deleteCol(int)
+
+  /**
+   * Insert count rows filled with the default value. Each row below them
+   * moves once, a tile-sized chunk at a time.
+   *
+   * @param row   The number of the first row to insert.
+   * @param count The number of rows to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertRows(int row, int count) {
+    Matrix.checkInsert(row, this.height, count, "row");
+    this.ensure(this.height + count, this.width);
+    for (int r = this.height - 1; r >= row; r--) {
+      this.copyRun(r, 0, r + count, 0, this.width);
+    } // for
+    this.height += count;
+    for (int r = row; r < row + count; r++) {
+      this.fillRun(r, 0, this.width, this.def);
+    } // for
+  } // insertRows(int, int)
+
+  /**
+   * Insert rows filled with the specified values. Each row below them moves
+   * once.
+   *
+   * @param row  The number of the first row to insert.
+   * @param vals The values to insert, one array per row.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the width of the matrix.
+   */
+  @Override
+  public void insertRows(int row, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(row, this.height, vals.length, "row");
+    Matrix.checkLengths(vals, this.width);
+    this.insertRows(row, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      this.storeRun(row + i, 0, vals[i], 0, vals[i].length);
+    } // for
+  } // insertRows(int, T[][])
+
+  /**
+   * Delete a range of rows. Each row below them moves once.
+   *
+   * @param startRow The first row to delete.
+   * @param endRow   The row to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the rows are out of bounds or
+   *                                   startRow is greater than endRow.
+   */
+  @Override
+  public void deleteRows(int startRow, int endRow) {
+    Matrix.checkDelete(startRow, endRow, this.height, "rows");
+    int count = endRow - startRow;
+    for (int r = endRow; r < this.height; r++) {
+      this.copyRun(r, 0, r - count, 0, this.width);
+    } // for
+    for (int r = this.height - count; r < this.height; r++) {
+      this.fillRun(r, 0, this.width, this.def);
+    } // for
+    this.height -= count;
+  } // deleteRows(int, int)
+
+  /**
+   * Insert count columns filled with the default value. Each row shifts
+   * once, a tile-sized chunk at a time.
+   *
+   * @param col   The number of the first column to insert.
+   * @param count The number of columns to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertCols(int col, int count) {
+    Matrix.checkInsert(col, this.width, count, "column");
+    this.ensure(this.height, this.width + count);
+    for (int row = 0; row < this.height; row++) {
+      this.copyRun(row, col, row, col + count, this.width - col);
+      this.fillRun(row, col, col + count, this.def);
+    } // for
+    this.width += count;
+  } // insertCols(int, int)
+
+  /**
+   * Insert columns filled with the specified values. Each row shifts once.
+   *
+   * @param col  The number of the first column to insert.
+   * @param vals The values to insert, one array per column.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the height of the matrix.
+   */
+  @Override
+  public void insertCols(int col, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(col, this.width, vals.length, "column");
+    Matrix.checkLengths(vals, this.height);
+    this.insertCols(col, vals.length);
+    for (int row = 0; row < this.height; row++) {
+      for (int i = 0; i < vals.length; i++) {
+        this.tile(row, col + i)[slot(row, col + i)] = vals[i][row];
+      } // for
+    } // for
+  } // insertCols(int, T[][])
+
+  /**
+   * Delete a range of columns. Each row shifts once.
+   *
+   * @param startCol The first column to delete.
+   * @param endCol   The column to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the columns are out of bounds or
+   *                                   startCol is greater than endCol.
+   */
+  @Override
+  public void deleteCols(int startCol, int endCol) {
+    Matrix.checkDelete(startCol, endCol, this.width, "columns");
+    int newWidth = this.width - (endCol - startCol);
+    for (int row = 0; row < this.height; row++) {
+      this.copyRun(row, endCol, row, startCol, this.width - endCol);
+      this.fillRun(row, newWidth, this.width, this.def);
+    } // for
+    this.width = newWidth;
+  } // deleteCols(int, int)
+
+  /**
+   * Fill a rectangular region of the matrix, one tile at a time.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+    for (int top = startRow; top < endRow; top = (top | TILE_MASK) + 1) {
+      int bottom = Math.min(endRow, (top | TILE_MASK) + 1);
+      for (int left = startCol; left < endCol; left = (left | TILE_MASK) + 1) {
+        int right = Math.min(endCol, (left | TILE_MASK) + 1);
+        Object[] tile = this.tile(top, left);
+        if (right - left == TILE) {
+          // Whole tile rows are contiguous, so the block is one run.
+          Arrays.fill(tile, slot(top, left), slot(bottom - 1, left) + TILE, val);
+        } else {
+          for (int row = top; row < bottom; row++) {
+            Arrays.fill(tile, slot(row, left), slot(row, left) + (right - left), val);
+          } // for
+        } // if/else
+      } // for
+    } // for
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, T val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+    int steps = Lines.steps(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    int row = startRow;
+    int col = startCol;
+    for (int i = 0; i < steps; i++) {
+      this.tile(row, col)[slot(row, col)] = val;
+      row += deltaRow;
+      col += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Make a copy of the matrix, tile by tile.
+   *
+   * @return a copy of the matrix.
+   */
+  @Override
+  public TiledMatrix<T> clone() {
+    return new TiledMatrix<>(this);
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object. Two tiled
+   * matrices are compared a tile at a time.
+   *
+   * @param other The object to compare.
+   *
+   * @return true if the other object is a matrix with the same width, height,
+   *         and equal elements; false otherwise.
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof TiledMatrix)) {
+      return Matrix.equals(this, other);
+    } // if
+    TiledMatrix<?> that = (TiledMatrix<?>) other;
+    if (this.width != that.width || this.height != that.height) {
+      return false;
+    } // if
+    for (int top = 0; top < this.height; top += TILE) {
+      int rows = Math.min(TILE, this.height - top);
+      for (int left = 0; left < this.width; left += TILE) {
+        int cols = Math.min(TILE, this.width - left);
+        Object[] mine = this.tile(top, left);
+        Object[] theirs = that.tile(top, left);
+        if (cols == TILE) {
+          if (!Arrays.equals(mine, 0, rows << TILE_BITS, theirs, 0, rows << TILE_BITS)) {
+            return false;
+          } // if
+          continue;
+        } // if
+        for (int row = 0; row < rows; row++) {
+          int start = row << TILE_BITS;
+          if (!Arrays.equals(mine, start, start + cols, theirs, start, start + cols)) {
+            return false;
+          } // if
+        } // for
+      } // for
+    } // for
+    return true;
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, in the row-major order that
+   * {@link Matrix#hashCode(Matrix)} uses.
+   *
+   * @return the hash code.
+   */
+  @Override
+  public int hashCode() {
+    int code = this.width + 7 * this.height;
+    for (int row = 0; row < this.height; row++) {
+      for (int left = 0; left < this.width; left += TILE) {
+        Object[] tile = this.tile(row, left);
+        int start = slot(row, left);
+        int stop = start + Math.min(TILE, this.width - left);
+        for (int i = start; i < stop; i++) {
+          code = code * 7 + Objects.hashCode(tile[i]);
+        } // for
+      } // for
+    } // for
+    return code;
+  } // hashCode()
+
+  // +---------------+-----------------------------------------------
+  // | Bulk transfer |
+  // +---------------+
+
+  /**
+   * Copy a row into an array with one arraycopy per tile.
+   *
+   * @param row The row to copy.
+   * @param dst The array to copy into.
+   * @param off Where in the array to put the first cell.
+   *
+   * @throws IndexOutOfBoundsException If the row is out of bounds or the
+   *                                   cells do not fit in the array.
+   */
+  @Override
+  public void getRow(int row, T[] dst, int off) {
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    Matrix.checkSlice(dst.length, off, this.width);
+    this.loadRun(row, 0, dst, off, this.width);
+  } // getRow(int, T[], int)
+
+  /**
+   * Overwrite a row with one arraycopy per tile.
+   *
+   * @param row The row to overwrite.
+   * @param src The array to copy from.
+   * @param off Where in the array the value for the first cell is.
+   *
+   * @throws IndexOutOfBoundsException If the row is out of bounds or the
+   *                                   array is too short.
+   */
+  @Override
+  public void setRow(int row, T[] src, int off) {
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    Matrix.checkSlice(src.length, off, this.width);
+    this.storeRun(row, 0, src, off, this.width);
+  } // setRow(int, T[], int)
+
+  /**
+   * Copy a rectangular region into an array with one arraycopy per tile
+   * in each row.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param dst      The array to copy into.
+   * @param off      Where in the array to put the first cell.
+   *
+   * @throws IndexOutOfBoundsException If the region does not fit in the
+   *                                   matrix or the cells do not fit in the
+   *                                   array.
+   */
+  @Override
+  public void copyRegionTo(int startRow, int startCol, int endRow, int endCol, T[] dst,
+      int off) {
+    Matrix.checkRegion(this, startRow, startCol, endRow, endCol);
+    int cols = endCol - startCol;
+    Matrix.checkSlice(dst.length, off, Math.multiplyExact(endRow - startRow, cols));
+    for (int row = startRow; row < endRow; row++) {
+      this.loadRun(row, startCol, dst, off + (row - startRow) * cols, cols);
+    } // for
+  } // copyRegionTo(int, int, int, int, T[], int)
+
+  /**
+   * Overwrite a region with one arraycopy per tile in each array row.
+   *
+   * @param startRow The row for the first array row.
+   * @param startCol The column for the first value of each array row.
+   * @param src      The values.
+   *
+   * @throws IndexOutOfBoundsException If the values do not fit in the matrix.
+   */
+  @Override
+  public void setRegion(int startRow, int startCol, T[][] src) {
+    Matrix.checkRegion(this, startRow, startCol, startRow + src.length, startCol);
+    for (T[] vals : src) {
+      Matrix.checkRegion(this, startRow, startCol, startRow, startCol + vals.length);
+    } // for
+    for (int i = 0; i < src.length; i++) {
+      this.storeRun(startRow + i, startCol, src[i], 0, src[i].length);
+    } // for
+  } // setRegion(int, int, T[][])
+
+  // +-----------+---------------------------------------------------
+  // | Traversal |
+  // +-----------+
+
+  /**
+   * Visit every cell in a rectangular region after one bounds check,
+   * reading each row's run of cells tile by tile.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param visitor  What to do with each cell.
+   *
+   * @throws IndexOutOfBoundsException If the region does not fit in the
+   *                                   matrix.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEachCell(int startRow, int startCol, int endRow, int endCol,
+      CellVisitor<? super T> visitor) {
+    Matrix.checkRegion(this, startRow, startCol, endRow, endCol);
+    for (int row = startRow; row < endRow; row++) {
+      int left = startCol;
+      while (left < endCol) {
+        int right = Math.min(endCol, (left | TILE_MASK) + 1);
+        Object[] tile = this.tile(row, left);
+        int base = slot(row, left) - left;
+        for (int col = left; col < right; col++) {
+          visitor.visit(row, col, (T) tile[base + col]);
+        } // for
+        left = right;
+      } // while
+    } // for
+  } // forEachCell(int, int, int, int, CellVisitor<? super T>)
+
+  /**
+   * Replace the value of every cell in a rectangular region after one
+   * bounds check, writing each row's run of cells tile by tile.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param function How to compute each new value.
+   *
+   * @throws IndexOutOfBoundsException If the region does not fit in the
+   *                                   matrix.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void replaceAll(int startRow, int startCol, int endRow, int endCol,
+      CellFunction<T> function) {
+    Matrix.checkRegion(this, startRow, startCol, endRow, endCol);
+    for (int row = startRow; row < endRow; row++) {
+      int left = startCol;
+      while (left < endCol) {
+        int right = Math.min(endCol, (left | TILE_MASK) + 1);
+        Object[] tile = this.tile(row, left);
+        int base = slot(row, left) - left;
+        for (int col = left; col < right; col++) {
+          tile[base + col] = function.apply(row, col, (T) tile[base + col]);
+        } // for
+        left = right;
+      } // while
+    } // for
+  } // replaceAll(int, int, int, int, CellFunction<T>)
+} // class TiledMatrix<T>
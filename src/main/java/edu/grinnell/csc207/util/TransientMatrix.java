@@ -0,0 +1,677 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+
+/**
+ * A mutable matrix built on the structure of a {@link PersistentMatrix}.
+ * It shares every trie node and index vector with the version it came
+ * from, copies a node the first time it changes it, and changes its own
+ * copies in place after that. {@link #persistent()} freezes the current
+ * state as a new version in O(1).
+ *
+ * @author Khanh Do - CSC-207-02
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+public class TransientMatrix<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The width of the matrix. */
+  int width;
+
+  /** The height of the matrix. */
+  int height;
+
+  /** The default value. */
+  final T def;
+
+  /** The physical row of each logical row. */
+  int[] rows;
+
+  /** The physical column of each logical column. */
+  int[] cols;
+
+  /** Whether rows is shared with a persistent version. */
+  boolean rowsShared;
+
+  /** Whether cols is shared with a persistent version. */
+  boolean colsShared;
+
+  /** The next unused physical row. */
+  int nextRow;
+
+  /** The next unused physical column. */
+  int nextCol;
+
+  /** The root of the trie, or null if no cell has been written. */
+  PersistentMatrix.Node root;
+
+  /** The number of levels in the trie. */
+  int levels;
+
+  /** The token marking the nodes this matrix may change in place. */
+  Object edit;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height in which every
+   * cell holds the given default value.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   * @param defInput    The default value.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public TransientMatrix(int widthInput, int heightInput, T defInput)
+      throws NegativeArraySizeException {
+    this(new PersistentMatrix<>(widthInput, heightInput, defInput));
+  } // TransientMatrix(int, int, T)
+
+  /**
+   * Create a new matrix of the specified width and height with null as the
+   * default value.
+   *
+   * @param widthInput  The width of the matrix.
+   * @param heightInput The height of the matrix.
+   *
+   * @throws NegativeArraySizeException If either the width or height are
+   *                                    not positive.
+   */
+  public TransientMatrix(int widthInput, int heightInput) throws NegativeArraySizeException {
+    this(widthInput, heightInput, null);
+  } // TransientMatrix(int, int)
+
+  /**
+   * Start from a persistent version, sharing all of its structure.
+   *
+   * @param source The version.
+   */
+  TransientMatrix(PersistentMatrix<T> source) {
+    this.width = source.width;
+    this.height = source.height;
+    this.def = source.def;
+    this.rows = source.rows;
+    this.cols = source.cols;
+    this.rowsShared = true;
+    this.colsShared = true;
+    this.nextRow = source.nextRow;
+    this.nextCol = source.nextCol;
+    this.root = source.root;
+    this.levels = source.levels;
+    this.edit = new Object();
+  } // TransientMatrix(PersistentMatrix<T>)
+
+  // +----------+----------------------------------------------------
+  // | Versions |
+  // +----------+
+
+  /**
+   * Freeze the current contents as a persistent version. Later changes to
+   * this matrix copy whatever they touch, so the version never changes.
+   *
+   * @return the version.
+   */
+  public PersistentMatrix<T> persistent() {
+    PersistentMatrix<T> result = new PersistentMatrix<>(this);
+    this.rowsShared = true;
+    this.colsShared = true;
+    this.edit = new Object();
+    return result;
+  } // persistent()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Get a node that this matrix may change, copying it if another edit
+   * owns it and creating it if it does not exist.
+   *
+   * @param node The node (possibly null).
+   * @param size The number of slots in a new node.
+   *
+   * @return the node or its copy.
+   */
+  PersistentMatrix.Node editable(PersistentMatrix.Node node, int size) {
+    if (node == null) {
+      Object[] slots = new Object[size];
+      if (size > 1 << PersistentMatrix.BITS) {
+        Arrays.fill(slots, this.def);
+      } // if
+      return new PersistentMatrix.Node(this.edit, slots);
+    } else if (node.edit == this.edit) {
+      return node;
+    } else {
+      return new PersistentMatrix.Node(this.edit, node.slots.clone());
+    } // if/else
+  } // editable(PersistentMatrix.Node, int)
+
+  /**
+   * Store a value in a physical cell, copying the path to its tile.
+   *
+   * @param physRow The physical row.
+   * @param physCol The physical column.
+   * @param val     The value.
+   */
+  void store(int physRow, int physCol, T val) {
+    int branch = 1 << PersistentMatrix.BITS;
+    int tile = 1 << (2 * PersistentMatrix.TILE_BITS);
+    long key = PersistentMatrix.key(physRow, physCol);
+    while ((key >>> (PersistentMatrix.BITS * this.levels)) != 0) {
+      if (this.root != null) {
+        PersistentMatrix.Node above = this.editable(null, branch);
+        above.slots[0] = this.root;
+        this.root = above;
+      } // if
+      this.levels++;
+    } // while
+    this.root = this.editable(this.root, branch);
+    PersistentMatrix.Node node = this.root;
+    for (int level = this.levels - 1; level >= 0; level--) {
+      int slot = (int) (key >>> (PersistentMatrix.BITS * level)) & PersistentMatrix.MASK;
+      PersistentMatrix.Node child = (PersistentMatrix.Node) node.slots[slot];
+      child = this.editable(child, level == 0 ? tile : branch);
+      node.slots[slot] = child;
+      node = child;
+    } // for
+    node.slots[PersistentMatrix.cell(physRow, physCol)] = val;
+  } // store(int, int, T)
+
+  /**
+   * Make room for count new lines in an index vector. The new lines get
+   * the physical numbers firstId, firstId + 1, and so on.
+   *
+   * @param index   The index vector.
+   * @param shared  Whether the vector is shared with a persistent version.
+   * @param size    The number of entries in use.
+   * @param pos     The position of the first new entry.
+   * @param count   The number of new entries.
+   * @param firstId The physical number of the first new line.
+   *
+   * @return the index vector, which may be a new array.
+   */
+  static int[] splice(int[] index, boolean shared, int size, int pos, int count, int firstId) {
+    int[] result = index;
+    if (shared || size + count > index.length) {
+      result = new int[shared ? Math.max(index.length, size + count)
+          : MatrixV0.grow(index.length, size + count)];
+      System.arraycopy(index, 0, result, 0, pos);
+    } // if
+    System.arraycopy(index, pos, result, pos + count, size - pos);
+    for (int i = 0; i < count; i++) {
+      result[pos + i] = firstId + i;
+    } // for
+    return result;
+  } // splice(int[], boolean, int, int, int, int)
+
+  /**
+   * Remove a range of lines from an index vector.
+   *
+   * @param index  The index vector.
+   * @param shared Whether the vector is shared with a persistent version.
+   * @param size   The number of entries in use.
+   * @param start  The position of the first entry to remove.
+   * @param end    The position to stop at (exclusive).
+   *
+   * @return the index vector, which may be a new array.
+   */
+  static int[] cut(int[] index, boolean shared, int size, int start, int end) {
+    int[] result = shared ? new int[size - (end - start)] : index;
+    if (shared) {
+      System.arraycopy(index, 0, result, 0, start);
+    } // if
+    System.arraycopy(index, end, result, start, size - end);
+    return result;
+  } // cut(int[], boolean, int, int, int)
+
+  /**
+   * Open count rows at row. They get physical numbers no cell has used,
+   * so nothing but the row index changes, and it changes once.
+   *
+   * @param row   The first row to open.
+   * @param count The number of rows.
+   */
+  void openRows(int row, int count) {
+    this.rows = splice(this.rows, this.rowsShared, this.height, row, count, this.nextRow);
+    this.nextRow += count;
+    this.rowsShared = false;
+    this.height += count;
+  } // openRows(int, int)
+
+  /**
+   * Open count columns at col. They get physical numbers no cell has used,
+   * so nothing but the column index changes, and it changes once.
+   *
+   * @param col   The first column to open.
+   * @param count The number of columns.
+   */
+  void openCols(int col, int count) {
+    this.cols = splice(this.cols, this.colsShared, this.width, col, count, this.nextCol);
+    this.nextCol += count;
+    this.colsShared = false;
+    this.width += count;
+  } // openCols(int, int)
+
+  /**
+   * Close a range of rows with one cut of the row index.
+   *
+   * @param startRow The first row to close.
+   * @param endRow   The row to stop at (exclusive).
+   */
+  void closeRows(int startRow, int endRow) {
+    this.rows = cut(this.rows, this.rowsShared, this.height, startRow, endRow);
+    this.rowsShared = false;
+    this.height -= endRow - startRow;
+  } // closeRows(int, int)
+
+  /**
+   * Close a range of columns with one cut of the column index.
+   *
+   * @param startCol The first column to close.
+   * @param endCol   The column to stop at (exclusive).
+   */
+  void closeCols(int startCol, int endCol) {
+    this.cols = cut(this.cols, this.colsShared, this.width, startCol, endCol);
+    this.colsShared = false;
+    this.width -= endCol - startCol;
+  } // closeCols(int, int)
+
+  /**
+   * Check that a row and column are in bounds.
+   *
+   * @param row The row.
+   * @param col The column.
+   *
+   * @throws IndexOutOfBoundsException If either is out of bounds.
+   */
+  void check(int row, int col) {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+  } // check(int, int)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get(int row, int col) {
+    this.check(row, col);
+    return (T) PersistentMatrix.lookup(this.root, this.levels, this.rows[row], this.cols[col],
+        this.def);
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of
+   *                                   reasonable bounds.
+   */
+  @Override
+  public void set(int row, int col, T val) {
+    this.check(row, col);
+    this.store(this.rows[row], this.cols[col], val);
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  @Override
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  @Override
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Insert a row filled with the default value. The row gets a physical
+   * number no cell has used, so nothing but the index vector changes.
+   *
+   * @param row The number of the row to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   */
+  @Override
+  public void insertRow(int row) {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    this.openRows(row, 1);
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row  The number of the row to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If the size of vals is not the same as
+   *                                   the width of the matrix.
+   */
+  @Override
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    if (vals.length != this.width) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    this.openRows(row, 1);
+    int physRow = this.rows[row];
+    for (int col = 0; col < this.width; col++) {
+      this.store(physRow, this.cols[col], vals[col]);
+    } // for
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   */
+  @Override
+  public void insertCol(int col) {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    this.openCols(col, 1);
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col  The number of the column to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If the size of vals is not the same as
+   *                                   the height of the matrix.
+   */
+  @Override
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    if (vals.length != this.height) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+    this.openCols(col, 1);
+    int physCol = this.cols[col];
+    for (int row = 0; row < this.height; row++) {
+      this.store(this.rows[row], physCol, vals[row]);
+    } // for
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row. Its cells stay in the trie until no version refers to
+   * them, but no later row reuses its physical number.
+   *
+   * @param row The number of the row to delete.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   or equal to the height.
+   */
+  @Override
+  public void deleteRow(int row) {
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+    this.closeRows(row, row + 1);
+  } // deleteRow(int)
+
+  /**
+   * Delete a column.
+   *
+   * @param col The number of the column to delete.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than or equal to the width.
+   */
+  @Override
+  public void deleteCol(int col) {
+    if (col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+    this.closeCols(col, col + 1);
+  } // deleteCol(int)
+
+  /**
+   * Insert count rows filled with the default value. The row index is
+   * spliced once.
+   *
+   * @param row   The number of the first row to insert.
+   * @param count The number of rows to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertRows(int row, int count) {
+    Matrix.checkInsert(row, this.height, count, "row");
+    this.openRows(row, count);
+  } // insertRows(int, int)
+
+  /**
+   * Insert rows filled with the specified values. The row index is spliced
+   * once.
+   *
+   * @param row  The number of the first row to insert.
+   * @param vals The values to insert, one array per row.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than
+   *                                   the height.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the width of the matrix.
+   */
+  @Override
+  public void insertRows(int row, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(row, this.height, vals.length, "row");
+    Matrix.checkLengths(vals, this.width);
+    this.openRows(row, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      int physRow = this.rows[row + i];
+      for (int col = 0; col < this.width; col++) {
+        this.store(physRow, this.cols[col], vals[i][col]);
+      } // for
+    } // for
+  } // insertRows(int, T[][])
+
+  /**
+   * Delete a range of rows with one cut of the row index.
+   *
+   * @param startRow The first row to delete.
+   * @param endRow   The row to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the rows are out of bounds or
+   *                                   startRow is greater than endRow.
+   */
+  @Override
+  public void deleteRows(int startRow, int endRow) {
+    Matrix.checkDelete(startRow, endRow, this.height, "rows");
+    this.closeRows(startRow, endRow);
+  } // deleteRows(int, int)
+
+  /**
+   * Insert count columns filled with the default value. The column index
+   * is spliced once.
+   *
+   * @param col   The number of the first column to insert.
+   * @param count The number of columns to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws IllegalArgumentException  If count is negative.
+   */
+  @Override
+  public void insertCols(int col, int count) {
+    Matrix.checkInsert(col, this.width, count, "column");
+    this.openCols(col, count);
+  } // insertCols(int, int)
+
+  /**
+   * Insert columns filled with the specified values. The column index is
+   * spliced once.
+   *
+   * @param col  The number of the first column to insert.
+   * @param vals The values to insert, one array per column.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater
+   *                                   than the width.
+   * @throws ArraySizeException        If any array in vals is not the same
+   *                                   size as the height of the matrix.
+   */
+  @Override
+  public void insertCols(int col, T[][] vals) throws ArraySizeException {
+    Matrix.checkInsert(col, this.width, vals.length, "column");
+    Matrix.checkLengths(vals, this.height);
+    this.openCols(col, vals.length);
+    for (int i = 0; i < vals.length; i++) {
+      int physCol = this.cols[col + i];
+      for (int row = 0; row < this.height; row++) {
+        this.store(this.rows[row], physCol, vals[i][row]);
+      } // for
+    } // for
+  } // insertCols(int, T[][])
+
+  /**
+   * Delete a range of columns with one cut of the column index.
+   *
+   * @param startCol The first column to delete.
+   * @param endCol   The column to stop at (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the columns are out of bounds or
+   *                                   startCol is greater than endCol.
+   */
+  @Override
+  public void deleteCols(int startCol, int endCol) {
+    Matrix.checkDelete(startCol, endCol, this.width, "columns");
+    this.closeCols(startCol, endCol);
+  } // deleteCols(int, int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow   The bottom edge / row to stop with (exclusive).
+   * @param endCol   The right edge / column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+    for (int row = startRow; row < endRow; row++) {
+      for (int col = startCol; col < endCol; col++) {
+        this.store(this.rows[row], this.cols[col], val);
+      } // for
+    } // for
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow   The row to stop with (exclusive).
+   * @param endCol   The column to stop with (exclusive).
+   * @param val      The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, T val) {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+    int steps = Lines.steps(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    int row = startRow;
+    int col = startCol;
+    for (int i = 0; i < steps; i++) {
+      this.store(this.rows[row], this.cols[col], val);
+      row += deltaRow;
+      col += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Make a copy of the matrix. The copy shares all structure with this
+   * matrix until one of them changes it.
+   *
+   * @return a copy of the matrix.
+   */
+  @Override
+  public TransientMatrix<T> clone() {
+    return new TransientMatrix<>(this.persistent());
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   *
+   * @return true if the other object is a matrix with the same width, height,
+   *         and equal elements; false otherwise.
+   */
+  @Override
+  public boolean equals(Object other) {
+    return Matrix.equals(this, other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix.
+   *
+   * @return the hash code.
+   */
+  @Override
+  public int hashCode() {
+    return Matrix.hashCode(this);
+  } // hashCode()
+} // class TransientMatrix<T>
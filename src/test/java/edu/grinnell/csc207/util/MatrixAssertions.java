@@ -68,4 +68,27 @@ class MatrixAssertions {
     } // for row
   } // assertMatrixEquals()
 
+  /**
+   * Assert that two matrices have the same dimensions and cells. Useful
+   * for checking one implementation against another.
+   *
+   * @param expected
+   *   The matrix we expect.
+   * @param actual
+   *   The matrix we're comparing.
+   * @param message
+   *   The message to provide.
+   */
+  static <T> void assertSameCells(Matrix<T> expected, Matrix<T> actual,
+      String message) {
+    assertEquals(expected.height(), actual.height(), message + " [height]");
+    assertEquals(expected.width(), actual.width(), message + " [width]");
+    for (int row = 0; row < expected.height(); row++) {
+      for (int col = 0; col < expected.width(); col++) {
+        assertEquals(expected.get(row, col), actual.get(row, col),
+            String.format("%s [at (%d,%d)]", message, row, col));
+      } // for col
+    } // for row
+  } // assertSameCells(Matrix<T>, Matrix<T>, String)
+
 } // class MatrixAssertions
@@ -0,0 +1,88 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BitMatrix}.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestBitMatrix {
+  /**
+   * The same operations on a BitMatrix and a MatrixV0 should give the same
+   * cells, including across word boundaries.
+   */
+  @Test
+  void testMatchesMatrixV0() throws ArraySizeException {
+    BitMatrix bits = new BitMatrix(130, 6, true);
+    Matrix<Boolean> dense = new MatrixV0<>(130, 6, true);
+    bits.fillRegion(1, 5, 5, 129, false);
+    dense.fillRegion(1, 5, 5, 129, false);
+    bits.fillLine(3, 10, 0, 1, 4, 100, true);
+    dense.fillLine(3, 10, 0, 1, 4, 100, true);
+    bits.fillLine(0, 60, 1, 1, 6, 130, false);
+    dense.fillLine(0, 60, 1, 1, 6, 130, false);
+    for (int i = 0; i < 40; i++) {
+      bits.set(i % 6, (i * 37) % 130, i % 3 == 0);
+      dense.set(i % 6, (i * 37) % 130, i % 3 == 0);
+    } // for
+    bits.insertCol(63);
+    dense.insertCol(63);
+    bits.insertCol(0, new Boolean[] {true, false, true, false, true, false});
+    dense.insertCol(0, new Boolean[] {true, false, true, false, true, false});
+    bits.deleteCol(64);
+    dense.deleteCol(64);
+    Boolean[] row = new Boolean[bits.width()];
+    for (int col = 0; col < row.length; col++) {
+      row[col] = col % 5 == 0;
+    } // for
+    bits.insertRow(2, row);
+    dense.insertRow(2, row);
+    bits.insertRow(7);
+    dense.insertRow(7);
+    bits.deleteRow(0);
+    dense.deleteRow(0);
+    assertSameCells(dense, bits, "after edits");
+    assertEquals(dense.hashCode(), bits.hashCode());
+    assertTrue(bits.equals(dense));
+    assertTrue(bits.equals(bits.clone()));
+  } // testMatchesMatrixV0()
+
+  /**
+   * The bitwise operations and counts should agree with cell-by-cell
+   * logic.
+   */
+  @Test
+  void testBitwise() {
+    BitMatrix first = new BitMatrix(100, 4);
+    BitMatrix second = new BitMatrix(100, 4);
+    first.fillRegion(0, 0, 4, 60, true);
+    second.fillRegion(2, 40, 4, 100, true);
+    assertEquals(240, first.count());
+    BitMatrix both = first.clone();
+    both.and(second);
+    assertEquals(40, both.count());
+    assertEquals(20, both.count(2, 40, 3, 80));
+    BitMatrix either = first.clone();
+    either.or(second);
+    assertEquals(240 + 120 - 40, either.count());
+    BitMatrix one = first.clone();
+    one.xor(second);
+    assertEquals(either.count() - both.count(), one.count());
+    BitMatrix neither = either.clone();
+    neither.not();
+    assertEquals(400 - either.count(), neither.count());
+    assertFalse(neither.getBit(0, 0));
+    assertTrue(neither.getBit(1, 99));
+    neither.insertCol(100);
+    assertFalse(neither.getBit(0, 100));
+    assertEquals(new MatrixV0<>(101, 4, false).hashCode(),
+        new BitMatrix(101, 4).hashCode());
+  } // testBitwise()
+} // class TestBitMatrix
@@ -0,0 +1,93 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the bulk row, column, and region transfers.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestBulkTransfer {
+  /**
+   * MatrixV0's arraycopy versions should agree with the cell-by-cell
+   * defaults, here exercised through TiledMatrix.
+   */
+  @Test
+  void testMatchesDefaults() {
+    Matrix<Integer> dense = new MatrixV0<>(9, 7, 0);
+    Matrix<Integer> tiled = new TiledMatrix<>(9, 7, 0);
+    dense.insertCol(4);
+    tiled.insertCol(4);
+    Integer[] vals = new Integer[12];
+    for (int i = 0; i < vals.length; i++) {
+      vals[i] = i + 1;
+    } // for
+    dense.setRow(2, vals, 1);
+    tiled.setRow(2, vals, 1);
+    dense.setCol(6, vals, 3);
+    tiled.setCol(6, vals, 3);
+    Integer[][] block = {{50, 51, 52}, {53}, {54, 55}};
+    dense.setRegion(4, 1, block);
+    tiled.setRegion(4, 1, block);
+    assertSameCells(dense, tiled, "after sets");
+
+    Integer[] fromDense = new Integer[14];
+    Integer[] fromTiled = new Integer[14];
+    dense.getRow(4, fromDense, 2);
+    tiled.getRow(4, fromTiled, 2);
+    assertArrayEquals(fromDense, fromTiled);
+    assertEquals(50, fromDense[3]);
+    dense.getCol(6, fromDense, 0);
+    tiled.getCol(6, fromTiled, 0);
+    assertArrayEquals(fromDense, fromTiled);
+    dense.copyRegionTo(1, 1, 5, 4, fromDense, 1);
+    tiled.copyRegionTo(1, 1, 5, 4, fromTiled, 1);
+    assertArrayEquals(fromDense, fromTiled);
+    assertEquals(3, fromDense[4]);
+
+    assertThrows(IndexOutOfBoundsException.class, () -> dense.getRow(0, new Integer[9], 1));
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> tiled.setRegion(6, 0, new Integer[][] {{1}, {2}}));
+  } // testMatchesDefaults()
+
+  /**
+   * Blitting a matrix onto itself should behave as if the source were
+   * copied first, whichever way the regions overlap.
+   */
+  @Test
+  void testOverlappingBlit() {
+    int[][] moves = {{0, 0, 2, 3}, {2, 3, 0, 0}, {1, 2, 1, 0}, {1, 0, 1, 2}};
+    for (int[] move : moves) {
+      Matrix<Integer> dense = new MatrixV0<>(8, 6, 0);
+      Matrix<Integer> tiled = new TiledMatrix<>(8, 6, 0);
+      Matrix<Integer> expected = new MatrixV0<>(8, 6, 0);
+      for (int row = 0; row < 6; row++) {
+        for (int col = 0; col < 8; col++) {
+          dense.set(row, col, row * 10 + col);
+          tiled.set(row, col, row * 10 + col);
+          expected.set(row, col, row * 10 + col);
+        } // for
+      } // for
+      Matrix<Integer> before = expected.clone();
+      for (int row = 0; row < 4; row++) {
+        for (int col = 0; col < 5; col++) {
+          expected.set(move[2] + row, move[3] + col, before.get(move[0] + row, move[1] + col));
+        } // for
+      } // for
+      dense.blit(dense, move[0], move[1], move[2], move[3], 4, 5);
+      tiled.blit(tiled, move[0], move[1], move[2], move[3], 4, 5);
+      assertSameCells(expected, dense, "MatrixV0 blit");
+      assertSameCells(expected, tiled, "default blit");
+    } // for
+    Matrix<Integer> target = new MatrixV0<>(3, 3, 0);
+    target.blit(new TiledMatrix<>(5, 5, 7), 1, 1, 1, 1, 2, 2);
+    assertEquals(7, target.get(2, 2));
+    assertEquals(0, target.get(0, 2));
+  } // testOverlappingBlit()
+} // class TestBulkTransfer
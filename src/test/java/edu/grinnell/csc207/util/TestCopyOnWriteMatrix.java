@@ -0,0 +1,80 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CopyOnWriteMatrix}.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestCopyOnWriteMatrix {
+  /**
+   * Snapshots should share rows until written, and writes on either side
+   * should not leak to the other.
+   */
+  @Test
+  void testSnapshots() {
+    CopyOnWriteMatrix<Integer> original = new CopyOnWriteMatrix<>(4, 3, 0);
+    original.set(1, 1, 5);
+    CopyOnWriteMatrix<Integer> snapshot = original.clone();
+    assertEquals(3, original.sharedRows());
+    assertEquals(3, snapshot.sharedRows());
+    assertTrue(original.equals(snapshot));
+
+    original.set(0, 0, 1);
+    assertEquals(2, original.sharedRows());
+    assertEquals(Integer.valueOf(0), snapshot.get(0, 0));
+
+    snapshot.fillRegion(2, 0, 3, 4, 9);
+    assertEquals(Integer.valueOf(0), original.get(2, 3));
+    assertEquals(Integer.valueOf(9), snapshot.get(2, 3));
+    assertEquals(Integer.valueOf(5), snapshot.get(1, 1));
+    assertFalse(original.equals(snapshot));
+
+    CopyOnWriteMatrix<Integer> second = snapshot.clone();
+    second.deleteCol(1);
+    second.insertRow(0);
+    assertEquals(Integer.valueOf(5), snapshot.get(1, 1));
+    assertEquals(4, snapshot.width());
+    assertEquals(3, second.width());
+    assertEquals(4, second.height());
+  } // testSnapshots()
+
+  /**
+   * The same operations on a CopyOnWriteMatrix and a MatrixV0 should give
+   * the same cells, even with snapshots taken along the way.
+   */
+  @Test
+  void testMatchesMatrixV0() throws ArraySizeException {
+    CopyOnWriteMatrix<String> cow = new CopyOnWriteMatrix<>(3, 3, "o");
+    Matrix<String> dense = new MatrixV0<>(3, 3, "o");
+    Matrix<String> frozen = cow.clone();
+
+    cow.insertCol(1, new String[] {"a", "b", "c"});
+    dense.insertCol(1, new String[] {"a", "b", "c"});
+    Matrix<String> frozenToo = cow.clone();
+    cow.insertCol(4);
+    dense.insertCol(4);
+    cow.insertRow(2, new String[] {"p", "q", "r", "s", "t"});
+    dense.insertRow(2, new String[] {"p", "q", "r", "s", "t"});
+    cow.fillLine(0, 0, 1, 1, 4, 5, "x");
+    dense.fillLine(0, 0, 1, 1, 4, 5, "x");
+    cow.deleteRow(0);
+    dense.deleteRow(0);
+    cow.deleteCol(2);
+    dense.deleteCol(2);
+    assertSameCells(dense, cow, "after edits");
+    assertEquals(dense.hashCode(), cow.hashCode());
+    assertTrue(cow.equals(dense));
+
+    assertSameCells(new MatrixV0<>(3, 3, "o"), frozen, "first snapshot");
+    assertEquals(4, frozenToo.width());
+    assertEquals("b", frozenToo.get(1, 1));
+  } // testMatchesMatrixV0()
+} // class TestCopyOnWriteMatrix
@@ -0,0 +1,80 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DictionaryMatrix}.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestDictionaryMatrix {
+  /**
+   * The same operations on a DictionaryMatrix and a MatrixV0 should give
+   * the same cells while the codes widen from 1 bit to 16.
+   */
+  @Test
+  void testMatchesMatrixV0() throws ArraySizeException {
+    DictionaryMatrix<String> dict = new DictionaryMatrix<>(70, 5, "O");
+    Matrix<String> dense = new MatrixV0<>(70, 5, "O");
+    dict.fillRegion(1, 3, 4, 68, "X");
+    dense.fillRegion(1, 3, 4, 68, "X");
+    assertEquals(1, dict.bitsPerCell());
+    dict.fillLine(0, 0, 1, 1, 5, 70, null);
+    dense.fillLine(0, 0, 1, 1, 5, 70, null);
+    dict.insertCol(2);
+    dense.insertCol(2);
+    assertEquals(2, dict.bitsPerCell());
+    for (int i = 0; i < 300; i++) {
+      dict.set(i % 5, (i * 13) % 71, "v" + (i % 260));
+      dense.set(i % 5, (i * 13) % 71, "v" + (i % 260));
+      if (i % 50 == 0) {
+        dict.insertCol(i % 60, new String[] {"a", "b", "c", "d", "e"});
+        dense.insertCol(i % 60, new String[] {"a", "b", "c", "d", "e"});
+        dict.deleteCol(i % 7);
+        dense.deleteCol(i % 7);
+      } // if
+    } // for
+    assertEquals(16, dict.bitsPerCell());
+    String[] row = new String[dict.width()];
+    for (int col = 0; col < row.length; col++) {
+      row[col] = col % 3 == 0 ? "@" : "X";
+    } // for
+    dict.insertRow(2, row);
+    dense.insertRow(2, row);
+    dict.insertRow(0);
+    dense.insertRow(0);
+    dict.deleteRow(4);
+    dense.deleteRow(4);
+    assertSameCells(dense, dict, "after edits");
+    assertEquals(dense.hashCode(), dict.hashCode());
+    assertTrue(dict.equals(dense));
+  } // testMatchesMatrixV0()
+
+  /**
+   * Two dictionary matrices with the same cells should be equal even when
+   * they learned their values in different orders.
+   */
+  @Test
+  void testEqualsAcrossDictionaries() {
+    DictionaryMatrix<String> first = new DictionaryMatrix<>(100, 3, ".");
+    DictionaryMatrix<String> second = new DictionaryMatrix<>(100, 3, ".");
+    first.set(0, 0, "A");
+    first.set(2, 99, "B");
+    second.set(2, 99, "B");
+    second.set(0, 0, "A");
+    assertTrue(first.equals(second));
+    assertEquals(first.hashCode(), second.hashCode());
+    DictionaryMatrix<String> copy = first.clone();
+    assertTrue(copy.equals(first));
+    copy.set(1, 50, "A");
+    assertFalse(copy.equals(first));
+    assertFalse(first.equals(copy));
+    assertEquals(3, copy.dictionarySize());
+  } // testEqualsAcrossDictionaries()
+} // class TestDictionaryMatrix
@@ -0,0 +1,140 @@
+package edu.grinnell.csc207.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the arithmetic methods of DoubleMatrix.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestDoubleKernels {
+  /**
+   * Build a matrix of random numbers.
+   *
+   * @param width  The width.
+   * @param height The height.
+   * @param random Where to get the numbers.
+   *
+   * @return the matrix.
+   */
+  static DoubleMatrix random(int width, int height, Random random) {
+    DoubleMatrix matrix = new DoubleMatrix(width, height);
+    matrix.replaceAllDoubles((row, col, val) -> random.nextDouble() - 0.5);
+    return matrix;
+  } // random(int, int, Random)
+
+  /**
+   * Multiply the slow, obvious way.
+   *
+   * @param a The left operand.
+   * @param b The right operand.
+   *
+   * @return the product.
+   */
+  static DoubleMatrix naive(DoubleMatrix a, DoubleMatrix b) {
+    DoubleMatrix product = new DoubleMatrix(b.width(), a.height());
+    for (int row = 0; row < a.height(); row++) {
+      for (int col = 0; col < b.width(); col++) {
+        double sum = 0;
+        for (int k = 0; k < a.width(); k++) {
+          sum += a.getDouble(row, k) * b.getDouble(k, col);
+        } // for
+        product.setDouble(row, col, sum);
+      } // for
+    } // for
+    return product;
+  } // naive(DoubleMatrix, DoubleMatrix)
+
+  /**
+   * Assert that two matrices hold nearly the same numbers.
+   *
+   * @param expected  The expected matrix.
+   * @param actual    The actual matrix.
+   * @param tolerance How far apart the numbers may be.
+   */
+  static void assertClose(DoubleMatrix expected, DoubleMatrix actual, double tolerance) {
+    assertEquals(expected.width(), actual.width());
+    assertEquals(expected.height(), actual.height());
+    for (int row = 0; row < expected.height(); row++) {
+      for (int col = 0; col < expected.width(); col++) {
+        assertEquals(expected.getDouble(row, col), actual.getDouble(row, col), tolerance,
+            row + ", " + col);
+      } // for
+    } // for
+  } // assertClose(DoubleMatrix, DoubleMatrix, double)
+
+  /**
+   * The blocked multiply should match the obvious one for awkward shapes,
+   * serially and in parallel, even when rows have spare room.
+   */
+  @Test
+  void testMultiply() {
+    Random random = new Random(23);
+    ParallelConfig config = new ParallelConfig(new ForkJoinPool(3), 500);
+    DoubleMatrix a = random(54, 37, random);
+    a.deleteCol(20);
+    DoubleMatrix b = random(531, 53, random);
+    DoubleMatrix expected = naive(a, b);
+    assertClose(expected, a.multiply(b, ParallelConfig.SERIAL), 1e-12);
+    assertClose(expected, a.multiply(b, config), 1e-12);
+    assertClose(naive(b.transpose(), a.transpose()), expected.transpose(), 1e-12);
+    assertThrows(IllegalArgumentException.class, () -> b.multiply(a));
+
+    double[] vector = new double[53];
+    vector[4] = 2;
+    vector[52] = -1;
+    double[] product = a.multiply(vector);
+    for (int row = 0; row < 37; row++) {
+      assertEquals(2 * a.getDouble(row, 4) - a.getDouble(row, 52), product[row], 1e-12);
+    } // for
+    assertThrows(IllegalArgumentException.class, () -> a.multiply(new double[54]));
+  } // testMultiply()
+
+  /**
+   * Strassen's algorithm should match the blocked multiply, including on
+   * sides that need padding.
+   */
+  @Test
+  void testStrassen() {
+    Random random = new Random(24);
+    for (int side : new int[] {300, 517}) {
+      DoubleMatrix a = random(side, side, random);
+      DoubleMatrix b = random(side, side, random);
+      assertClose(a.multiply(b), a.multiplyStrassen(b, ParallelConfig.global()), 1e-9);
+    } // for
+    DoubleMatrix tall = random(3, 400, random);
+    DoubleMatrix wide = random(400, 3, random);
+    assertClose(naive(tall, wide), tall.multiplyStrassen(wide, ParallelConfig.SERIAL), 1e-12);
+  } // testStrassen()
+
+  /**
+   * Element-wise arithmetic and transposition should work cell by cell.
+   */
+  @Test
+  void testElementWise() {
+    Random random = new Random(25);
+    DoubleMatrix a = random(70, 45, random);
+    a.insertCol(3);
+    DoubleMatrix b = random(71, 45, random);
+    DoubleMatrix sum = a.add(b.scale(-2));
+    DoubleMatrix transposed = sum.transpose();
+    assertEquals(45, transposed.width());
+    assertEquals(71, transposed.height());
+    for (int row = 0; row < 45; row++) {
+      for (int col = 0; col < 71; col++) {
+        double expected = a.getDouble(row, col) - 2 * b.getDouble(row, col);
+        assertEquals(expected, sum.getDouble(row, col), 1e-15);
+        assertEquals(expected, transposed.getDouble(col, row));
+      } // for
+    } // for
+    assertArrayEquals(new double[] {0, 0}, new DoubleMatrix(2, 2).multiply(new double[2]));
+    assertThrows(IllegalArgumentException.class, () -> a.add(transposed));
+  } // testElementWise()
+} // class TestDoubleKernels
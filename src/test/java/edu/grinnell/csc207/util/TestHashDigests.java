@@ -0,0 +1,118 @@
+package edu.grinnell.csc207.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the cached, incrementally maintained hash codes of MatrixV0.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestHashDigests {
+  /**
+   * After every kind of change, the cached hash code should match a fresh
+   * computation.
+   */
+  @Test
+  void testDigestsFollowChanges() throws ArraySizeException {
+    Random random = new Random(207);
+    MatrixV0<Integer> matrix = new MatrixV0<>(9, 7, 0);
+    for (int step = 0; step < 400; step++) {
+      int row = random.nextInt(matrix.height());
+      int col = random.nextInt(matrix.width());
+      Integer val = random.nextInt(4) == 0 ? null : random.nextInt(10);
+      switch (random.nextInt(12)) {
+        case 0 -> matrix.insertRow(row);
+        case 1 -> matrix.insertCol(col);
+        case 2 -> {
+          if (matrix.height() > 2) {
+            matrix.deleteRows(row, Math.min(matrix.height() - 1, row + 2));
+          } // if
+        }
+        case 3 -> {
+          if (matrix.width() > 2) {
+            matrix.deleteCol(col);
+          } // if
+        }
+        case 4 -> matrix.fillRegion(row, 0, matrix.height(), col, val);
+        case 5 -> matrix.fillLine(row, col, 1, 1, matrix.height(), matrix.width(), val);
+        case 6 -> matrix.resize(3 + random.nextInt(10), 3 + random.nextInt(10));
+        case 7 -> matrix.blit(matrix, 0, 0, row / 2, col / 2, row / 2 + 1, col / 2 + 1);
+        case 8 -> matrix.insertRows(row, new Integer[][] {new Integer[matrix.width()]});
+        default -> matrix.set(row, col, val);
+      } // switch
+      if (step % 3 == 0) {
+        assertEquals(Matrix.hashCode(matrix), matrix.hashCode(), "step " + step);
+      } // if
+    } // for
+    assertEquals(Matrix.hashCode(matrix), matrix.hashCode());
+  } // testDigestsFollowChanges()
+
+  /**
+   * Matrices used as keys should keep working as they change between
+   * lookups, and copies should agree with their originals.
+   */
+  @Test
+  void testKeysAndCopies() {
+    MatrixV0<String> key = new MatrixV0<>(40, 30, ".");
+    Map<Matrix<String>, Integer> cache = new HashMap<>();
+    cache.put(key.clone(), 1);
+    assertEquals(1, cache.get(key));
+    key.set(29, 39, "x");
+    Matrix<String> copy = key.clone();
+    assertEquals(key.hashCode(), copy.hashCode());
+    assertNull(cache.get(key));
+    cache.put(copy, 2);
+    assertEquals(2, cache.get(key));
+
+    copy.set(3, 3, "y");
+    copy.hashCode();
+    assertNotEquals(key, copy);
+    copy.set(3, 3, ".");
+    assertEquals(key, copy);
+    assertEquals(key.hashCode(), copy.hashCode());
+  } // testKeysAndCopies()
+
+  /**
+   * Threads that hash and compare the same fresh matrices at once should
+   * all see the right hash codes.
+   */
+  @Test
+  void testConcurrentFirstHashes() throws InterruptedException {
+    for (int trial = 0; trial < 50; trial++) {
+      MatrixV0<Integer> matrix = new MatrixV0<>(40, 300, 0);
+      MatrixV0<Integer> twin = new MatrixV0<>(40, 300, 0);
+      matrix.replaceAll((row, col, val) -> row * col);
+      twin.replaceAll((row, col, val) -> row * col);
+      int expected = Matrix.hashCode(matrix);
+      int[] codes = new int[4];
+      boolean[] equal = new boolean[4];
+      Thread[] threads = new Thread[4];
+      for (int i = 0; i < threads.length; i++) {
+        int slot = i;
+        threads[i] = new Thread(() -> {
+          codes[slot] = (slot % 2 == 0) ? matrix.hashCode() : twin.hashCode();
+          equal[slot] = matrix.equals(twin);
+        });
+        threads[i].start();
+      } // for
+      for (Thread thread : threads) {
+        thread.join();
+      } // for
+      for (int i = 0; i < threads.length; i++) {
+        assertEquals(expected, codes[i], "trial " + trial);
+        assertTrue(equal[i], "trial " + trial);
+      } // for
+      assertEquals(expected, matrix.hashCode());
+      assertEquals(expected, twin.hashCode());
+    } // for
+  } // testConcurrentFirstHashes()
+} // class TestHashDigests
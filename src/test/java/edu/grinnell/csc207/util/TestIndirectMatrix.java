@@ -0,0 +1,105 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link IndirectMatrix}.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestIndirectMatrix {
+  /**
+   * Interleaved inserts and deletes should match MatrixV0, and deleted
+   * lines should be reused.
+   */
+  @Test
+  void testMatchesMatrixV0() throws ArraySizeException {
+    IndirectMatrix<Integer> indirect = new IndirectMatrix<>(5, 5, 0);
+    Matrix<Integer> dense = new MatrixV0<>(5, 5, 0);
+    for (int row = 0; row < 5; row++) {
+      for (int col = 0; col < 5; col++) {
+        indirect.set(row, col, row * 10 + col);
+        dense.set(row, col, row * 10 + col);
+      } // for col
+    } // for row
+
+    indirect.deleteRow(1);
+    dense.deleteRow(1);
+    indirect.deleteCol(3);
+    dense.deleteCol(3);
+    assertEquals(1, indirect.freeRows());
+    assertEquals(1, indirect.freeCols());
+
+    indirect.insertRow(0);
+    dense.insertRow(0);
+    indirect.insertCol(2, new Integer[] {7, 7, 7, 7, 7});
+    dense.insertCol(2, new Integer[] {7, 7, 7, 7, 7});
+    assertEquals(0, indirect.freeRows());
+    assertEquals(0, indirect.freeCols());
+    assertSameCells(dense, indirect, "after reusing deleted lines");
+
+    indirect.insertRow(5, new Integer[] {1, 2, 3, 4, 5});
+    dense.insertRow(5, new Integer[] {1, 2, 3, 4, 5});
+    indirect.fillRegion(1, 1, 3, 4, -1);
+    dense.fillRegion(1, 1, 3, 4, -1);
+    indirect.fillLine(0, 0, 1, 1, 6, 5, 9);
+    dense.fillLine(0, 0, 1, 1, 6, 5, 9);
+    assertSameCells(dense, indirect, "after fills");
+    assertTrue(indirect.equals(dense));
+    assertEquals(dense.hashCode(), indirect.hashCode());
+
+    IndirectMatrix<Integer> copy = indirect.clone();
+    indirect.compact();
+    assertSameCells(dense, indirect, "after compacting");
+    assertSameCells(dense, copy, "clone");
+  } // testMatchesMatrixV0()
+
+  /**
+   * Many deletes should eventually compact the storage.
+   */
+  @Test
+  void testManyDeletes() {
+    IndirectMatrix<String> indirect = new IndirectMatrix<>(100, 100, "x");
+    Matrix<String> dense = new MatrixV0<>(100, 100, "x");
+    for (int i = 0; i < 90; i++) {
+      indirect.set(i % 10, (i * 7) % 100, "y" + i);
+      dense.set(i % 10, (i * 7) % 100, "y" + i);
+    } // for
+    for (int i = 0; i < 80; i++) {
+      indirect.deleteCol((i * 13) % indirect.width());
+      dense.deleteCol((i * 13) % dense.width());
+      indirect.deleteRow(indirect.height() - 1);
+      dense.deleteRow(dense.height() - 1);
+    } // for
+    assertTrue(indirect.freeCols() <= Math.max(IndirectMatrix.MIN_WASTE, indirect.width()));
+    assertSameCells(dense, indirect, "after many deletes");
+  } // testManyDeletes()
+
+  /**
+   * Deleted lines should let go of their values, and reused lines should
+   * come back holding the default.
+   */
+  @Test
+  void testDeletesClear() {
+    IndirectMatrix<String> indirect = new IndirectMatrix<>(6, 6, "x");
+    indirect.fillRegion(0, 0, 6, 6, "big");
+    indirect.deleteRow(2);
+    indirect.deleteRows(0, 2);
+    indirect.deleteCol(5);
+    indirect.deleteCols(1, 3);
+    assertEquals(3, indirect.freeRows());
+    assertEquals(3, indirect.freeCols());
+    assertEquals(9, Arrays.stream(indirect.cells).filter("big"::equals).count());
+    indirect.insertRows(0, 3);
+    indirect.insertCols(0, 3);
+    assertEquals(9, Arrays.stream(indirect.cells).filter("big"::equals).count());
+    assertEquals(27, Arrays.stream(indirect.cells).filter("x"::equals).count());
+  } // testDeletesClear()
+} // class TestIndirectMatrix
@@ -0,0 +1,107 @@
+package edu.grinnell.csc207.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the numeric loops and the reductions of the primitive
+ * matrices. Run with the vector profile to test the SIMD loops, too.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestLanes {
+  /**
+   * The best loops available should agree with the scalar loops on every
+   * range, including ragged ends.
+   */
+  @Test
+  void testMatchesScalar() {
+    boolean vector = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    assertEquals(vector, Lanes.BEST.getClass().getSimpleName().equals("VectorLanes"),
+        Lanes.BEST.getClass().getSimpleName());
+
+    Lanes scalar = new ScalarLanes();
+    Random random = new Random(24);
+    double[] doubles = random.doubles(301, -1, 1).toArray();
+    double[] others = random.doubles(301, -1, 1).toArray();
+    int[] ints = random.ints(301).toArray();
+    long[] longs = random.longs(301).toArray();
+    for (int from = 0; from < 20; from += 3) {
+      for (int to = from; to <= 301; to += 37) {
+        String range = from + " to " + to;
+        assertEquals(scalar.sum(doubles, from, to), Lanes.BEST.sum(doubles, from, to), 1e-12,
+            range);
+        assertEquals(scalar.min(doubles, from, to), Lanes.BEST.min(doubles, from, to), range);
+        assertEquals(scalar.max(doubles, from, to), Lanes.BEST.max(doubles, from, to), range);
+        assertEquals(scalar.countAbove(doubles, from, to, 0.25),
+            Lanes.BEST.countAbove(doubles, from, to, 0.25), range);
+        assertEquals(scalar.dot(doubles, from, others, 301 - to, to - from),
+            Lanes.BEST.dot(doubles, from, others, 301 - to, to - from), 1e-12, range);
+        assertEquals(scalar.sum(ints, from, to), Lanes.BEST.sum(ints, from, to), range);
+        assertEquals(scalar.min(ints, from, to), Lanes.BEST.min(ints, from, to), range);
+        assertEquals(scalar.max(ints, from, to), Lanes.BEST.max(ints, from, to), range);
+        assertEquals(scalar.sum(longs, from, to), Lanes.BEST.sum(longs, from, to), range);
+        assertEquals(scalar.min(longs, from, to), Lanes.BEST.min(longs, from, to), range);
+        assertEquals(scalar.max(longs, from, to), Lanes.BEST.max(longs, from, to), range);
+
+        double[] expected = new double[to - from];
+        double[] actual = new double[to - from];
+        scalar.multiply(doubles, from, others, 0, expected, 0, to - from);
+        Lanes.BEST.multiply(doubles, from, others, 0, actual, 0, to - from);
+        assertArrayEquals(expected, actual, range);
+        scalar.add(doubles, from, others, 0, expected, 0, to - from);
+        Lanes.BEST.add(doubles, from, others, 0, actual, 0, to - from);
+        assertArrayEquals(expected, actual, range);
+      } // for
+    } // for
+  } // testMatchesScalar()
+
+  /**
+   * The matrix reductions should see every cell and no spare room, in
+   * parallel or not.
+   */
+  @Test
+  void testReductions() {
+    ParallelConfig saved = ParallelConfig.global();
+    try {
+      ParallelConfig.setGlobal(new ParallelConfig(ParallelConfig.common().pool(), 100));
+      IntMatrix ints = new IntMatrix(40, 30, Integer.MAX_VALUE);
+      ints.insertCol(5);
+      ints.setInt(29, 40, Integer.MIN_VALUE);
+      assertEquals(1229L * Integer.MAX_VALUE + Integer.MIN_VALUE, ints.sum());
+      assertEquals(Integer.MIN_VALUE, ints.min());
+      assertEquals(Integer.MAX_VALUE, ints.max());
+      assertEquals(0, new IntMatrix(3, 3).max());
+
+      LongMatrix longs = new LongMatrix(50, 20, 3L);
+      longs.deleteCol(0);
+      longs.setLong(7, 7, -4L);
+      assertEquals(979 * 3L - 4L, longs.sum());
+      assertEquals(-4L, longs.min());
+
+      DoubleMatrix doubles = new DoubleMatrix(33, 40, 0.5);
+      doubles.insertCol(0);
+      doubles.setDouble(39, 33, 8.0);
+      assertEquals(1359 * 0.5 + 8.0, doubles.sum(), 1e-9);
+      assertEquals(0.5, doubles.min());
+      assertEquals(8.0, doubles.max());
+      assertEquals(1, doubles.countAbove(0.5));
+      assertEquals(1360, doubles.countAbove(0.0));
+      DoubleMatrix squares = doubles.multiplyCells(doubles);
+      assertEquals(64.0, squares.getDouble(39, 33));
+      assertEquals(squares.sum(), doubles.dot(doubles), 1e-9);
+      assertEquals(doubles.sum() * 2, doubles.add(doubles).sum(), 1e-9);
+      assertThrows(IllegalArgumentException.class, () -> doubles.dot(new DoubleMatrix(34, 41)));
+      doubles.setDouble(0, 0, Double.NaN);
+      assertTrue(Double.isNaN(doubles.min()));
+    } finally {
+      ParallelConfig.setGlobal(saved);
+    } // try/finally
+  } // testReductions()
+} // class TestLanes
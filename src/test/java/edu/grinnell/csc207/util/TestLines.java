@@ -0,0 +1,106 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for fillLine, drawLine, and fillLines.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestLines {
+  /**
+   * Stepped lines should stop at the edges in every direction, and a line
+   * that does not move should fill one cell rather than loop forever.
+   */
+  @Test
+  void testSteppedLines() {
+    assertEquals(1, Lines.steps(2, 3, 0, 0, 5, 5));
+    assertEquals(0, Lines.steps(5, 3, 0, 0, 5, 5));
+    assertEquals(3, Lines.steps(4, 0, -2, 1, 9, 9));
+    assertEquals(4, Lines.steps(1, 1, 3, 0, 11, 2));
+    assertEquals(1, Lines.steps(0, 0, 0, Integer.MAX_VALUE, 1, Integer.MAX_VALUE));
+
+    List<Matrix<Integer>> engines = List.of(new MatrixV0<>(9, 8, 0), new IntMatrix(9, 8),
+        new TiledMatrix<>(9, 8, 0), new SparseMatrix<>(9, 8, 0), new DictionaryMatrix<>(9, 8, 0),
+        new MatrixV0<Integer>(12, 10, 0).subMatrix(1, 2, 9, 11));
+    for (Matrix<Integer> matrix : engines) {
+      String name = matrix.getClass().getSimpleName();
+      matrix.fillLine(3, 4, 0, 0, 8, 9, 1);
+      matrix.fillLine(7, 0, -2, 3, 8, 9, 2);
+      matrix.fillLine(0, 8, 0, -1, 1, 9, 3);
+      matrix.fillLine(2, 2, 1, 1, 5, 9, 4);
+      Matrix<Integer> expected = new MatrixV0<>(9, 8, 0);
+      expected.set(3, 4, 1);
+      expected.set(7, 0, 2);
+      expected.set(5, 3, 2);
+      expected.set(3, 6, 2);
+      expected.fillRegion(0, 0, 1, 9, 3);
+      expected.set(2, 2, 4);
+      expected.set(3, 3, 4);
+      expected.set(4, 4, 4);
+      assertSameCells(expected, matrix, name);
+      assertEquals(Matrix.hashCode(expected), matrix.hashCode(), name);
+    } // for
+  } // testSteppedLines()
+
+  /**
+   * Bresenham lines should include both endpoints, touch one cell per step
+   * along the longer axis, and come out the same from every engine and in
+   * batches.
+   */
+  @Test
+  void testDrawnLines() {
+    Matrix<String> matrix = new MatrixV0<>(7, 3, ".");
+    matrix.drawLine(2, 6, 0, 0, "x");
+    assertEquals("xx.....", String.join("", matrix.rowView(0)));
+    assertEquals("..xxx..", String.join("", matrix.rowView(1)));
+    assertEquals(".....xx", String.join("", matrix.rowView(2)));
+
+    Random random = new Random(20);
+    int[] segments = new int[4 * 300];
+    for (int i = 0; i < segments.length; i += 4) {
+      segments[i] = random.nextInt(50);
+      segments[i + 1] = random.nextInt(60);
+      segments[i + 2] = random.nextInt(50);
+      segments[i + 3] = random.nextInt(60);
+    } // for
+    MatrixV0<Integer> expected = new MatrixV0<>(60, 50, 0);
+    expected.hashCode();
+    for (int i = 0; i < segments.length; i += 4) {
+      int rows = Math.abs(segments[i + 2] - segments[i]);
+      int cols = Math.abs(segments[i + 3] - segments[i + 1]);
+      Matrix<Integer> single = new MatrixV0<>(60, 50, 0);
+      single.drawLine(segments[i], segments[i + 1], segments[i + 2], segments[i + 3], 1);
+      assertEquals(Math.max(rows, cols) + 1, single.cells().mapToInt(Cell::val).sum());
+      assertEquals(1, single.get(segments[i + 2], segments[i + 3]));
+      expected.drawLine(segments[i], segments[i + 1], segments[i + 2], segments[i + 3], i + 1);
+    } // for
+    assertEquals(Matrix.hashCode(expected), expected.hashCode());
+    List<Matrix<Integer>> engines = List.of(new MatrixV0<>(60, 50, 0), new IntMatrix(60, 50),
+        new TiledMatrix<>(60, 50, 0), new CopyOnWriteMatrix<>(60, 50, 0));
+    for (Matrix<Integer> engine : engines) {
+      for (int i = 0; i < segments.length; i += 4) {
+        engine.fillLines(new int[] {segments[i], segments[i + 1], segments[i + 2],
+            segments[i + 3]}, i + 1);
+      } // for
+      assertSameCells(expected, engine, engine.getClass().getSimpleName());
+    } // for
+
+    Matrix<Integer> batched = new MatrixV0<>(60, 50, 0);
+    batched.fillLines(segments, 1);
+    assertEquals(expected.cells().filter(cell -> cell.val() != 0).count(),
+        batched.cells().filter(cell -> cell.val() != 0).count());
+    assertThrows(IllegalArgumentException.class, () -> batched.fillLines(new int[5], 2));
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> batched.fillLines(new int[] {0, 0, 1, 1, 0, 0, 50, 0}, 2));
+    assertEquals(0, batched.cells().filter(cell -> cell.val() == 2).count());
+  } // testDrawnLines()
+} // class TestLines
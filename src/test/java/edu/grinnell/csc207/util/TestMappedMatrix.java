@@ -0,0 +1,143 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link MappedMatrix}.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestMappedMatrix {
+  /** A directory for matrix files. */
+  @TempDir
+  Path dir;
+
+  /**
+   * The same operations on a MappedMatrix and a MatrixV0 should give the
+   * same cells, and reopening the file should bring them all back. Tiny
+   * regions spread the rows over many mappings.
+   */
+  @Test
+  void testMatchesMatrixV0AndReopens() throws IOException, ArraySizeException {
+    Path file = this.dir.resolve("grid.mtx");
+    Matrix<Long> dense = new MatrixV0<>(4, 3, 9L);
+    try (MappedMatrix<Long> mapped = MappedMatrix.create(file, 4, 3, 9L, CellCodec.LONG, 256)) {
+      for (int i = 0; i < 12; i++) {
+        Long[] vals = new Long[mapped.width()];
+        for (int col = 0; col < vals.length; col++) {
+          vals[col] = (long) (i * 100 + col);
+        } // for
+        mapped.insertRow(i % 5, vals);
+        dense.insertRow(i % 5, vals);
+        mapped.insertCol(i % 3);
+        dense.insertCol(i % 3);
+        if (i % 3 == 0) {
+          mapped.deleteRow(i % 4);
+          dense.deleteRow(i % 4);
+          mapped.deleteCol(i % 2);
+          dense.deleteCol(i % 2);
+        } // if
+      } // for
+      mapped.fillRegion(2, 1, 6, 4, -5L);
+      dense.fillRegion(2, 1, 6, 4, -5L);
+      mapped.fillLine(0, 0, 1, 2, mapped.height(), mapped.width(), 1L);
+      dense.fillLine(0, 0, 1, 2, dense.height(), dense.width(), 1L);
+      assertSameCells(dense, mapped, "after edits");
+      assertEquals(dense.hashCode(), mapped.hashCode());
+    } // try
+
+    try (MappedMatrix<Long> reopened = MappedMatrix.open(file, CellCodec.LONG, 256)) {
+      assertSameCells(dense, reopened, "after reopening");
+      reopened.insertRow(0);
+      reopened.insertCol(0);
+      assertEquals(Long.valueOf(9L), reopened.get(0, 5));
+      assertEquals(Long.valueOf(9L), reopened.get(5, 0));
+    } // try
+  } // testMatchesMatrixV0AndReopens()
+
+  /**
+   * Inserting and deleting ranges should match MatrixV0, grow each
+   * capacity just once, and leave a file that reopens the same.
+   */
+  @Test
+  void testRanges() throws IOException, ArraySizeException {
+    Path file = this.dir.resolve("ranges.mtx");
+    Matrix<Integer> dense = new MatrixV0<>(4, 3, 7);
+    try (MappedMatrix<Integer> mapped = MappedMatrix.create(file, 4, 3, 7, CellCodec.INT, 128)) {
+      mapped.insertRows(1, 20);
+      dense.insertRows(1, 20);
+      assertEquals(23, mapped.rowCapacity);
+      mapped.insertCols(2, 10);
+      dense.insertCols(2, 10);
+      assertEquals(14, mapped.colCapacity);
+      mapped.replaceAll((row, col, val) -> row * 100 + col);
+      dense.replaceAll((row, col, val) -> row * 100 + col);
+
+      Integer[][] rows = {{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14},
+          {-1, -2, -3, -4, -5, -6, -7, -8, -9, -10, -11, -12, -13, -14}};
+      mapped.insertRows(23, rows);
+      dense.insertRows(23, rows);
+      mapped.deleteRows(3, 12);
+      dense.deleteRows(3, 12);
+      Integer[][] cols = new Integer[3][mapped.height()];
+      for (int i = 0; i < cols.length; i++) {
+        for (int row = 0; row < mapped.height(); row++) {
+          cols[i][row] = i - row;
+        } // for
+      } // for
+      mapped.insertCols(0, cols);
+      dense.insertCols(0, cols);
+      mapped.deleteCols(5, 9);
+      dense.deleteCols(5, 9);
+      assertSameCells(dense, mapped, "after range edits");
+
+      mapped.resize(20, 30);
+      dense.resize(20, 30);
+      assertSameCells(dense, mapped, "after growing");
+      mapped.resize(6, 4);
+      dense.resize(6, 4);
+      assertSameCells(dense, mapped, "after shrinking");
+      assertThrows(IndexOutOfBoundsException.class, () -> mapped.deleteRows(2, 5));
+      assertThrows(IllegalArgumentException.class, () -> mapped.insertCols(0, -1));
+    } // try
+
+    try (MappedMatrix<Integer> reopened = MappedMatrix.open(file, CellCodec.INT, 128)) {
+      assertSameCells(dense, reopened, "after reopening");
+    } // try
+  } // testRanges()
+
+  /**
+   * Opening a file with the wrong codec or a file that is not a matrix
+   * should fail, and clones should clean up after themselves.
+   */
+  @Test
+  void testFiles() throws IOException {
+    Path file = this.dir.resolve("small.mtx");
+    MappedMatrix.create(file, 2, 2, 3, CellCodec.INT).close();
+    assertThrows(IOException.class, () -> MappedMatrix.open(file, CellCodec.DOUBLE));
+    Path junk = Files.write(this.dir.resolve("junk.mtx"), new byte[100]);
+    assertThrows(IOException.class, () -> MappedMatrix.open(junk, CellCodec.INT));
+
+    try (MappedMatrix<Integer> matrix = MappedMatrix.open(file, CellCodec.INT)) {
+      MappedMatrix<Integer> copy = matrix.clone();
+      copy.set(0, 0, 4);
+      assertTrue(matrix.equals(new MatrixV0<>(2, 2, 3)));
+      assertFalse(matrix.equals(copy));
+      Path copied = copy.path;
+      copy.close();
+      assertFalse(Files.exists(copied));
+      assertThrows(IllegalStateException.class, () -> copy.get(0, 0));
+    } // try
+  } // testFiles()
+} // class TestMappedMatrix
@@ -0,0 +1,128 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for MatrixDiff.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestMatrixDiff {
+  /**
+   * Build a matrix whose rows are all different.
+   *
+   * @param width  The width.
+   * @param height The height.
+   *
+   * @return the matrix.
+   */
+  static Matrix<Integer> numbered(int width, int height) {
+    Matrix<Integer> matrix = new MatrixV0<>(width, height, 0);
+    for (int row = 0; row < height; row++) {
+      for (int col = 0; col < width; col++) {
+        matrix.set(row, col, row * 100 + col);
+      } // for
+    } // for
+    return matrix;
+  } // numbered(int, int)
+
+  /**
+   * Inserting a row and deleting a column should show up as exactly that,
+   * not as changes to the cells that moved.
+   */
+  @Test
+  void testStructuralChanges() throws ArraySizeException {
+    Matrix<Integer> before = numbered(12, 40);
+    Matrix<Integer> after = before.clone();
+    after.insertRow(17, new Integer[12]);
+    after.deleteCol(3);
+    after.fillRegion(30, 5, 33, 8, -1);
+    after.set(0, 0, -2);
+    MatrixDiff<Integer> diff = MatrixDiff.between(before, after);
+    assertArrayEquals(new int[] {17}, diff.insertedRows());
+    assertArrayEquals(new int[] {3}, diff.deletedCols());
+    assertArrayEquals(new int[0], diff.deletedRows());
+    assertArrayEquals(new int[0], diff.insertedCols());
+    assertEquals(10, diff.changedCells().size());
+    assertEquals(List.of(new MatrixDiff.Region(0, 0, 1, 1), new MatrixDiff.Region(30, 5, 33, 8)),
+        diff.changedRegions());
+
+    Matrix<Integer> target = new TiledMatrix<>(12, 40, 0);
+    target.blit(before, 0, 0, 0, 0, 40, 12);
+    diff.apply(target);
+    assertSameCells(after, target, "after applying the diff");
+    assertTrue(MatrixDiff.between(after, target).isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> diff.apply(after));
+  } // testStructuralChanges()
+
+  /**
+   * Applying the diff between random versions should always give the new
+   * version.
+   */
+  @Test
+  void testApplyRandomEdits() throws ArraySizeException {
+    Random random = new Random(17);
+    for (int trial = 0; trial < 30; trial++) {
+      Matrix<Integer> before = numbered(2 + random.nextInt(9), 2 + random.nextInt(9));
+      Matrix<Integer> after = before.clone();
+      for (int edit = 0; edit < 6; edit++) {
+        int row = random.nextInt(after.height());
+        int col = random.nextInt(after.width());
+        switch (random.nextInt(5)) {
+          case 0 -> after.insertRow(row);
+          case 1 -> after.insertCol(col);
+          case 2 -> {
+            if (after.height() > 1) {
+              after.deleteRow(row);
+            } // if
+          }
+          case 3 -> {
+            if (after.width() > 1) {
+              after.deleteCol(col);
+            } // if
+          }
+          default -> after.set(row, col, random.nextInt(3));
+        } // switch
+      } // for
+      MatrixDiff<Integer> diff = MatrixDiff.between(before, after);
+      Matrix<Integer> copy = before.clone();
+      diff.apply(copy);
+      assertSameCells(after, copy, "trial " + trial + ": " + diff);
+    } // for
+  } // testApplyRandomEdits()
+
+  /**
+   * A diff that inserts rows and columns should apply to a BitMatrix, whose
+   * bulk inserts take Boolean arrays.
+   */
+  @Test
+  void testBitMatrix() {
+    Random random = new Random(18);
+    BitMatrix before = new BitMatrix(70, 30);
+    before.replaceAll((row, col, val) -> random.nextBoolean());
+    BitMatrix after = before.clone();
+    after.insertRows(4, 2);
+    after.insertCols(65, 3);
+    after.deleteCol(10);
+    after.replaceAll(4, 0, 6, 72, (row, col, val) -> random.nextBoolean());
+    after.replaceAll(0, 64, 32, 67, (row, col, val) -> random.nextBoolean());
+    after.setBit(20, 20, !after.getBit(20, 20));
+    MatrixDiff<Boolean> diff = MatrixDiff.between(before, after);
+    assertArrayEquals(new int[] {4, 5}, diff.insertedRows());
+    assertArrayEquals(new int[] {64, 65, 66}, diff.insertedCols());
+
+    BitMatrix copy = before.clone();
+    diff.apply(copy);
+    assertSameCells(after, copy, "after applying the diff");
+  } // testBitMatrix()
+} // class TestMatrixDiff
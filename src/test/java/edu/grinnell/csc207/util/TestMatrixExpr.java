@@ -0,0 +1,85 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for MatrixExpr.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestMatrixExpr {
+  /**
+   * Fused expressions should compute the same values as step-by-step
+   * evaluation, computing shared stages once per cell.
+   */
+  @Test
+  void testFusion() {
+    Matrix<Integer> ints = new IntMatrix(30, 20);
+    ints.replaceAll((row, col, val) -> row * 30 + col);
+    Matrix<String> words = new MatrixV0<>(30, 20, "a");
+    words.fillRegion(0, 0, 20, 10, "bb");
+
+    AtomicInteger calls = new AtomicInteger();
+    MatrixExpr<Integer> squares = MatrixExpr.of(ints).map(val -> {
+      calls.incrementAndGet();
+      return val * val;
+    });
+    MatrixExpr<Boolean> even = MatrixExpr.of(ints).map(val -> val % 2 == 0);
+    MatrixExpr<Integer> expr = squares.zip(squares, Integer::sum)
+        .zip(words, (val, word) -> val + word.length())
+        .mask(even, -1);
+    Matrix<Integer> result = expr.evaluate();
+    assertEquals(600, calls.get());
+
+    Matrix<Integer> expected = new MatrixV0<>(30, 20, 0);
+    for (int row = 0; row < 20; row++) {
+      for (int col = 0; col < 30; col++) {
+        int val = ints.get(row, col);
+        expected.set(row, col, (val % 2 == 0) ? 2 * val * val + words.get(row, col).length() : -1);
+      } // for
+    } // for
+    assertSameCells(expected, result, "fused");
+    assertEquals(Matrix.hashCode(expected), result.hashCode());
+    assertEquals(expected.cells().mapToLong(Cell::val).sum(),
+        (long) expr.reduce(0L, (sum, val) -> sum + val, Long::sum));
+
+    MatrixExpr.of(ints).map(val -> -val).evaluateInto(ints);
+    assertEquals(-599, ints.get(19, 29));
+    assertThrows(IllegalArgumentException.class,
+        () -> MatrixExpr.of(ints).zip(new MatrixV0<Integer>(20, 30), Integer::sum));
+    assertThrows(IllegalArgumentException.class,
+        () -> expr.evaluateInto(new MatrixV0<>(30, 21, 0)));
+  } // testFusion()
+
+  /**
+   * Parallel evaluation should agree with serial evaluation.
+   */
+  @Test
+  void testParallel() {
+    ParallelConfig config = new ParallelConfig(new ForkJoinPool(4), 100);
+    Matrix<Double> source = new DoubleMatrix(50, 90);
+    source.replaceAll((row, col, val) -> row - col / 4.0);
+    MatrixExpr<Double> expr = MatrixExpr.of(source).map(val -> val * val)
+        .zip(source, (square, val) -> square - val);
+    Matrix<Double> serial = expr.evaluate();
+    MatrixExpr<Double> parallel = expr.withParallelism(config);
+    MatrixV0<Double> result = new MatrixV0<>(50, 90, 0.0);
+    result.hashCode();
+    parallel.evaluateInto(result);
+    assertSameCells(serial, result, "MatrixV0");
+    assertEquals(Matrix.hashCode(serial), result.hashCode());
+    Matrix<Double> doubles = new DoubleMatrix(50, 90);
+    parallel.evaluateInto(doubles);
+    assertSameCells(serial, doubles, "DoubleMatrix");
+    assertEquals(expr.reduce(0.0, Double::sum), parallel.reduce(0.0, Double::sum), 1e-6);
+    assertEquals(4500, (int) parallel.reduce(0, (count, val) -> count + 1, Integer::sum));
+  } // testParallel()
+} // class TestMatrixExpr
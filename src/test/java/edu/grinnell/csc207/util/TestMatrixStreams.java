@@ -0,0 +1,79 @@
+package edu.grinnell.csc207.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the cell, row, and column streams.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestMatrixStreams {
+  /**
+   * Cells should come out in row-major order, sequentially or in parallel,
+   * from any engine.
+   */
+  @Test
+  void testCells() {
+    List<Matrix<Integer>> engines = List.of(new MatrixV0<>(70, 45, 0), new TiledMatrix<>(70, 45, 0),
+        new IntMatrix(70, 45), new SparseMatrix<>(70, 45, 0));
+    for (Matrix<Integer> matrix : engines) {
+      for (int row = 0; row < 45; row++) {
+        matrix.set(row, (row * 3) % 70, row + 1);
+      } // for
+      String name = matrix.getClass().getSimpleName();
+      assertEquals(45 * 46 / 2, matrix.cells().mapToInt(Cell::val).sum(), name);
+      assertEquals(45 * 46 / 2, matrix.cells().parallel().mapToInt(Cell::val).sum(), name);
+      List<Cell<Integer>> set = matrix.cells().parallel().filter(cell -> cell.val() != 0)
+          .collect(Collectors.toList());
+      assertEquals(45, set.size(), name);
+      for (int i = 0; i < set.size(); i++) {
+        assertEquals(new Cell<>(i, (i * 3) % 70, i + 1), set.get(i), name);
+      } // for
+      assertEquals(new Cell<>(44, 69, 0), matrix.cells().skip(70 * 45 - 1).findFirst().get());
+    } // for
+  } // testCells()
+
+  /**
+   * The spliterator should know its size exactly after every split.
+   */
+  @Test
+  void testSplitting() {
+    Matrix<String> matrix = new MatrixV0<>(33, 100, ".");
+    Spliterator<Cell<String>> whole = new CellSpliterator<>(matrix, 0, 3300);
+    assertTrue(whole.hasCharacteristics(Spliterator.SUBSIZED));
+    Spliterator<Cell<String>> first = whole.trySplit();
+    assertEquals(1650, first.estimateSize());
+    assertEquals(1650, whole.estimateSize());
+    Spliterator<Cell<String>> quarter = first.trySplit();
+    assertEquals(825, quarter.estimateSize());
+    assertNull(quarter.trySplit());
+    int[] count = {0};
+    quarter.tryAdvance(cell -> assertEquals(new Cell<>(0, 0, "."), cell));
+    quarter.forEachRemaining(cell -> count[0]++);
+    assertEquals(824, count[0]);
+    assertEquals(0, quarter.estimateSize());
+  } // testSplitting()
+
+  /**
+   * Rows and columns should stream as live views.
+   */
+  @Test
+  void testRowsAndCols() {
+    Matrix<String> matrix = new MatrixV0<>(3, 2, ".");
+    matrix.set(1, 2, "x");
+    assertEquals(List.of(List.of(".", ".", "."), List.of(".", ".", "x")),
+        matrix.rows().collect(Collectors.toList()));
+    assertEquals("..,..,.x", matrix.cols().map(col -> String.join("", col))
+        .collect(Collectors.joining(",")));
+    matrix.rows().parallel().forEach(row -> row.set(0, "y"));
+    assertEquals("yy", String.join("", matrix.colView(0)));
+  } // testRowsAndCols()
+} // class TestMatrixStreams
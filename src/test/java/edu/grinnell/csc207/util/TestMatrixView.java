@@ -0,0 +1,75 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertFigure;
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the sub-matrix, transpose, row, and column views.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestMatrixView {
+  /**
+   * Writes through nested views should land in the right cells of the
+   * parent, and reads should see the parent's writes.
+   */
+  @Test
+  void testNestedViews() {
+    Matrix<Integer> parent = new TiledMatrix<>(80, 70, 0);
+    Matrix<Integer> expected = new MatrixV0<>(80, 70, 0);
+    Matrix<Integer> sub = parent.subMatrix(10, 20, 60, 75);
+    Matrix<Integer> flipped = sub.transposedView();
+    assertEquals(55, flipped.height());
+    assertEquals(50, flipped.width());
+    flipped.set(30, 4, 7);
+    expected.set(14, 50, 7);
+    flipped.fillRegion(50, 40, 55, 50, 2);
+    expected.fillRegion(50, 70, 60, 75, 2);
+    flipped.fillLine(0, 0, 1, 1, 55, 50, 9);
+    expected.fillLine(10, 20, 1, 1, 60, 75, 9);
+    Matrix<Integer> inner = flipped.subMatrix(1, 2, 5, 6);
+    inner.fillLine(0, 0, 1, 1, 4, 4, 4);
+    expected.fillLine(12, 21, 1, 1, 16, 25, 4);
+    assertSameCells(expected, parent, "after writes through views");
+    parent.set(12, 22, 8);
+    expected.set(12, 22, 8);
+    assertEquals(8, inner.get(1, 0));
+    List<Integer> row = flipped.rowView(30);
+    assertEquals(7, row.get(4));
+    row.set(5, 6);
+    expected.set(15, 50, 6);
+    List<Integer> col = parent.colView(50);
+    assertEquals(6, col.get(15));
+    assertEquals(70, col.size());
+    assertSame(parent, parent.transposedView().transposedView());
+    assertEquals(expected.subMatrix(10, 20, 60, 75), sub);
+    assertEquals(expected.subMatrix(10, 20, 60, 75).hashCode(), sub.hashCode());
+    assertThrows(UnsupportedOperationException.class, () -> sub.insertRow(0));
+    assertThrows(IndexOutOfBoundsException.class, () -> sub.get(50, 0));
+  } // testNestedViews()
+
+  /**
+   * Views should print like any other matrix.
+   */
+  @Test
+  void testPrintView() {
+    Matrix<String> parent = new MatrixV0<>(4, 3, ".");
+    parent.set(0, 1, "A");
+    parent.set(1, 1, "B");
+    assertFigure("""
+        +---+---+
+        | A | B |
+        +---+---+
+        | . | . |
+        +---+---+
+        """, parent.subMatrix(0, 1, 2, 3).transposedView(), "transposed corner");
+  } // testPrintView()
+} // class TestMatrixView
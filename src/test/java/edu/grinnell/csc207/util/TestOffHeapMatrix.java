@@ -0,0 +1,80 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link OffHeapMatrix}.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestOffHeapMatrix {
+  /**
+   * The same operations on an OffHeapMatrix and a MatrixV0 should give the
+   * same cells. Tiny slabs make rows land in many slabs and make column
+   * growth move everything.
+   */
+  @Test
+  void testMatchesMatrixV0() throws ArraySizeException {
+    OffHeapMatrix<Integer> offHeap = new OffHeapMatrix<>(3, 2, -1, CellCodec.INT, 64);
+    Matrix<Integer> dense = new MatrixV0<>(3, 2, -1);
+    for (int i = 0; i < 20; i++) {
+      offHeap.insertRow(i % 3, values(offHeap.width(), i));
+      dense.insertRow(i % 3, values(dense.width(), i));
+      if (i % 4 == 0) {
+        offHeap.insertCol(1);
+        dense.insertCol(1);
+      } // if
+    } // for
+    offHeap.insertCol(0, values(offHeap.height(), 7));
+    dense.insertCol(0, values(dense.height(), 7));
+    offHeap.fillRegion(3, 1, 9, 5, 42);
+    dense.fillRegion(3, 1, 9, 5, 42);
+    offHeap.fillLine(0, 0, 2, 1, 22, 9, 8);
+    dense.fillLine(0, 0, 2, 1, 22, 9, 8);
+    offHeap.deleteRow(4);
+    dense.deleteRow(4);
+    offHeap.deleteCol(2);
+    dense.deleteCol(2);
+    assertSameCells(dense, offHeap, "after edits");
+    assertEquals(dense.hashCode(), offHeap.hashCode());
+    assertTrue(offHeap.equals(dense));
+    assertTrue(offHeap.equals(offHeap.clone()));
+  } // testMatchesMatrixV0()
+
+  /**
+   * Doubles should round-trip, and a closed matrix should refuse to work.
+   */
+  @Test
+  void testDoublesAndClose() {
+    OffHeapMatrix<Double> matrix = new OffHeapMatrix<>(2, 2, 0.5, CellCodec.DOUBLE);
+    matrix.set(1, 0, Double.NaN);
+    assertEquals(Double.valueOf(Double.NaN), matrix.get(1, 0));
+    assertEquals(Double.valueOf(0.5), matrix.get(1, 1));
+    assertThrows(NullPointerException.class, () -> matrix.set(0, 0, null));
+    matrix.close();
+    assertThrows(IllegalStateException.class, () -> matrix.get(0, 0));
+    assertThrows(IllegalStateException.class, () -> matrix.insertRow(0));
+  } // testDoublesAndClose()
+
+  /**
+   * Build an array of values for a new row or column.
+   *
+   * @param length The number of values.
+   * @param seed   Where to start numbering.
+   *
+   * @return the values.
+   */
+  static Integer[] values(int length, int seed) {
+    Integer[] vals = new Integer[length];
+    for (int i = 0; i < vals.length; i++) {
+      vals[i] = seed * 10 + i;
+    } // for
+    return vals;
+  } // values(int, int)
+} // class TestOffHeapMatrix
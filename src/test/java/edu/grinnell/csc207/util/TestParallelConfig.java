@@ -0,0 +1,76 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for parallel fillRegion, clone, equals, and hashCode, and for the
+ * band-by-band hash code.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestParallelConfig {
+  /**
+   * Parallel operations should give the same results as serial ones, even
+   * when the bands are tiny.
+   */
+  @Test
+  void testParallelMatchesSerial() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      MatrixV0<Integer> parallel = new MatrixV0<>(37, 211, 0);
+      parallel.setParallelism(new ParallelConfig(pool, 16));
+      MatrixV0<Integer> serial = new MatrixV0<>(37, 211, 0);
+      serial.setParallelism(ParallelConfig.SERIAL);
+      parallel.fillRegion(3, 5, 200, 30, 8);
+      serial.fillRegion(3, 5, 200, 30, 8);
+      parallel.set(150, 36, null);
+      serial.set(150, 36, null);
+      assertSameCells(serial, parallel, "after parallel fill");
+      assertEquals(serial.hashCode(), parallel.hashCode());
+      assertEquals(Matrix.hashCode(serial), parallel.hashCode());
+
+      Matrix<Integer> copy = parallel.clone();
+      assertSame(parallel.parallelism(), ((MatrixV0<Integer>) copy).parallelism());
+      assertEquals(parallel, copy);
+      assertEquals(serial, copy);
+      copy.set(210, 36, 1);
+      assertNotEquals(parallel, copy);
+      assertNotEquals(copy, serial);
+    } finally {
+      pool.shutdown();
+    } // try/finally
+  } // testParallelMatchesSerial()
+
+  /**
+   * Hash codes of bands of rows should combine into the hash code of the
+   * whole matrix, and null cells should still count.
+   */
+  @Test
+  void testCombinedHashes() {
+    Matrix<String> matrix = new MatrixV0<>(5, 9, "a");
+    matrix.fillLine(0, 0, 1, 1, 9, 5, "b");
+    matrix.set(7, 2, null);
+    int seed = 5 + 7 * 9;
+    int top = Matrix.hashRows(matrix, 0, 4);
+    int bottom = Matrix.hashRows(matrix, 4, 9);
+    int whole = Matrix.combineHashes(Matrix.combineHashes(seed, top, 20), bottom, 25);
+    assertEquals(matrix.hashCode(), whole);
+    assertEquals(Matrix.hashCode(matrix), whole);
+    assertEquals(Matrix.combineHashes(seed, Matrix.combineHashes(top, bottom, 25), 45), whole);
+
+    Matrix<String> first = new MatrixV0<>(2, 1);
+    Matrix<String> second = new MatrixV0<>(2, 1);
+    first.set(0, 0, "x");
+    second.set(0, 1, "x");
+    assertNotEquals(first.hashCode(), second.hashCode());
+    assertEquals(new SparseMatrix<>(2, 1).hashCode(), new MatrixV0<>(2, 1).hashCode());
+  } // testCombinedHashes()
+} // class TestParallelConfig
@@ -0,0 +1,116 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PersistentMatrix} and {@link TransientMatrix}.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestPersistentMatrix {
+  /**
+   * Every version should keep its own contents after later versions
+   * change cells, rows, and columns.
+   */
+  @Test
+  void testVersions() throws ArraySizeException {
+    PersistentMatrix<Integer> v0 = new PersistentMatrix<>(3, 2, 0);
+    PersistentMatrix<Integer> v1 = v0.with(1, 2, 7);
+    PersistentMatrix<Integer> v2 = v1.withInsertRow(0, new Integer[] {1, 2, 3});
+    PersistentMatrix<Integer> v3 = v2.withDeleteCol(1).withFillRegion(0, 0, 3, 1, 4);
+    PersistentMatrix<Integer> v4 = v3.withInsertCol(1);
+
+    assertSameCells(new MatrixV0<>(3, 2, 0), v0, "v0");
+    assertEquals(Integer.valueOf(7), v1.get(1, 2));
+    assertEquals(3, v2.height());
+    assertEquals(Integer.valueOf(7), v2.get(2, 2));
+    assertEquals(Integer.valueOf(2), v2.get(0, 1));
+    assertEquals(2, v3.width());
+    assertEquals(Integer.valueOf(4), v3.get(2, 0));
+    assertEquals(Integer.valueOf(7), v3.get(2, 1));
+    assertEquals(Integer.valueOf(0), v4.get(2, 1));
+    assertEquals(Integer.valueOf(7), v4.get(2, 2));
+    assertTrue(v0.equals(v0.clone()));
+    assertThrows(UnsupportedOperationException.class, () -> v4.set(0, 0, 1));
+  } // testVersions()
+
+  /**
+   * A transient matrix should match MatrixV0, including when it grows past
+   * one tile and one trie level, and its snapshots should stay frozen.
+   */
+  @Test
+  void testMatchesMatrixV0() throws ArraySizeException {
+    TransientMatrix<String> edits = new TransientMatrix<>(5, 5, ".");
+    Matrix<String> dense = new MatrixV0<>(5, 5, ".");
+    PersistentMatrix<String> before = edits.persistent();
+
+    for (int i = 0; i < 300; i++) {
+      edits.insertRow(i % 4);
+      dense.insertRow(i % 4);
+      edits.insertCol(i % 3, new String[edits.height()]);
+      dense.insertCol(i % 3, new String[dense.height()]);
+      edits.set(i % 7, i % 11, "s" + i);
+      dense.set(i % 7, i % 11, "s" + i);
+      if (i % 5 == 0) {
+        edits.deleteRow(i % 6);
+        dense.deleteRow(i % 6);
+        edits.deleteCol(i % 2);
+        dense.deleteCol(i % 2);
+      } // if
+    } // for
+    edits.fillLine(0, 0, 2, 3, 200, 200, "x");
+    dense.fillLine(0, 0, 2, 3, 200, 200, "x");
+    PersistentMatrix<String> middle = edits.persistent();
+    edits.fillRegion(10, 10, 40, 50, "r");
+    dense.fillRegion(10, 10, 40, 50, "r");
+    assertSameCells(dense, edits, "after edits");
+    assertEquals(dense.hashCode(), edits.hashCode());
+    assertTrue(edits.equals(dense));
+
+    assertSameCells(new MatrixV0<>(5, 5, "."), before, "first snapshot");
+    assertEquals(".", middle.get(10, 11));
+    assertEquals("r", edits.get(10, 11));
+  } // testMatchesMatrixV0()
+
+  /**
+   * Range inserts and deletes should match MatrixV0 and leave earlier
+   * snapshots, which share the index vectors, alone.
+   */
+  @Test
+  void testRanges() throws ArraySizeException {
+    TransientMatrix<Integer> edits = new TransientMatrix<>(3, 4, 0);
+    Matrix<Integer> dense = new MatrixV0<>(3, 4, 0);
+    edits.replaceAll((row, col, val) -> row * 10 + col);
+    dense.replaceAll((row, col, val) -> row * 10 + col);
+    PersistentMatrix<Integer> before = edits.persistent();
+    Matrix<Integer> saved = dense.clone();
+
+    edits.insertRows(2, 40);
+    dense.insertRows(2, 40);
+    edits.insertCols(3, new Integer[][] {new Integer[44], new Integer[44]});
+    dense.insertCols(3, new Integer[][] {new Integer[44], new Integer[44]});
+    PersistentMatrix<Integer> middle = edits.persistent();
+    Matrix<Integer> savedMiddle = dense.clone();
+    edits.deleteRows(0, 30);
+    dense.deleteRows(0, 30);
+    edits.insertCols(0, 35);
+    dense.insertCols(0, 35);
+    edits.deleteCols(10, 38);
+    dense.deleteCols(10, 38);
+    edits.insertRows(1, new Integer[][] {{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12}});
+    dense.insertRows(1, new Integer[][] {{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12}});
+    assertSameCells(dense, edits, "after range edits");
+    assertSameCells(saved, before, "first snapshot");
+    assertSameCells(savedMiddle, middle, "middle snapshot");
+
+    edits.resize(2, 2);
+    dense.resize(2, 2);
+    assertSameCells(dense, edits, "after resizing");
+  } // testRanges()
+} // class TestPersistentMatrix
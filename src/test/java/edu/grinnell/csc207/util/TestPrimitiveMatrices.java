@@ -0,0 +1,138 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the primitive-backed matrices.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestPrimitiveMatrices {
+  /**
+   * The same sequence of operations on an IntMatrix and a MatrixV0 should
+   * give the same cells.
+   */
+  @Test
+  void testIntMatchesMatrixV0() throws ArraySizeException {
+    IntMatrix ints = new IntMatrix(3, 2, 7);
+    Matrix<Integer> boxed = new MatrixV0<>(3, 2, 7);
+
+    for (int i = 0; i < 10; i++) {
+      ints.insertCol(i % 3);
+      boxed.insertCol(i % 3);
+      ints.insertRow(i % 2, fill(ints.width(), i));
+      boxed.insertRow(i % 2, fill(boxed.width(), i));
+      ints.setInt(i, i, -i);
+      boxed.set(i, i, -i);
+    } // for
+    assertSameCells(boxed, ints, "after inserts");
+
+    ints.insertCol(4, fill(ints.height(), 99));
+    boxed.insertCol(4, fill(boxed.height(), 99));
+    ints.deleteRow(3);
+    boxed.deleteRow(3);
+    ints.deleteCol(0);
+    boxed.deleteCol(0);
+    ints.fillRegion(1, 1, 4, 5, 42);
+    boxed.fillRegion(1, 1, 4, 5, 42);
+    ints.fillLine(0, 0, 1, 2, 8, 12, 5);
+    boxed.fillLine(0, 0, 1, 2, 8, 12, 5);
+    assertSameCells(boxed, ints, "after deletes and fills");
+
+    assertTrue(ints.equals(boxed));
+    assertTrue(boxed.equals(ints));
+    assertEquals(boxed.hashCode(), ints.hashCode());
+  } // testIntMatchesMatrixV0()
+
+  /**
+   * Unboxed and boxed accessors should see the same cells.
+   */
+  @Test
+  void testAccessors() {
+    DoubleMatrix doubles = new DoubleMatrix(4, 4);
+    doubles.setDouble(1, 2, 2.5);
+    assertEquals(Double.valueOf(2.5), doubles.get(1, 2));
+    doubles.set(3, 3, 1.5);
+    assertEquals(1.5, doubles.getDouble(3, 3));
+    assertEquals(0.0, doubles.getDouble(0, 0));
+
+    LongMatrix longs = new LongMatrix(2, 2, 1L << 40);
+    assertEquals(1L << 40, longs.getLong(1, 1));
+    longs.fillRegion(0, 0, 2, 1, 3L);
+    assertEquals(Long.valueOf(3), longs.get(1, 0));
+
+    BooleanMatrix bools = new BooleanMatrix(3, 1);
+    bools.setBoolean(0, 1, true);
+    assertEquals(Boolean.TRUE, bools.get(0, 1));
+    assertEquals(Boolean.FALSE, bools.get(0, 2));
+
+    assertThrows(IndexOutOfBoundsException.class, () -> doubles.getDouble(4, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> longs.setLong(0, -1, 0L));
+    assertThrows(NullPointerException.class, () -> bools.set(0, 0, null));
+  } // testAccessors()
+
+  /**
+   * Clones should be independent, and equality should depend on the
+   * boxed values rather than the representation.
+   */
+  @Test
+  void testCloneAndEquals() {
+    IntMatrix ints = new IntMatrix(3, 3);
+    ints.insertRow(1);
+    IntMatrix copy = ints.clone();
+    assertTrue(copy.equals(ints));
+    copy.setInt(0, 0, 1);
+    assertFalse(copy.equals(ints));
+    assertEquals(0, ints.getInt(0, 0));
+
+    // An Integer is never equal to a Long.
+    assertFalse(new IntMatrix(2, 2).equals(new LongMatrix(2, 2)));
+    assertTrue(new DoubleMatrix(2, 2).equals(new MatrixV0<Double>(2, 2, 0.0)));
+  } // testCloneAndEquals()
+
+  /**
+   * Inserting a line with a null in it should fail before the matrix
+   * changes shape.
+   */
+  @Test
+  void testInsertNull() {
+    IntMatrix ints = new IntMatrix(3, 2);
+    IntMatrix before = ints.clone();
+    assertThrows(NullPointerException.class,
+        () -> ints.insertRow(1, new Integer[] {1, null, 3}));
+    assertThrows(NullPointerException.class,
+        () -> ints.insertCol(1, new Integer[] {null, 2}));
+    assertThrows(NullPointerException.class,
+        () -> ints.insertRows(0, new Integer[][] {fill(3, 1), {1, 2, null}}));
+    assertThrows(NullPointerException.class,
+        () -> ints.insertCols(3, new Integer[][] {fill(2, 1), {null, 2}}));
+    assertEquals(2, ints.height());
+    assertEquals(3, ints.width());
+    assertTrue(before.equals(ints));
+  } // testInsertNull()
+
+  /**
+   * Build an array of count copies of a value.
+   *
+   * @param count
+   *   The size of the array.
+   * @param val
+   *   The value.
+   *
+   * @return the array.
+   */
+  private static Integer[] fill(int count, int val) {
+    Integer[] vals = new Integer[count];
+    for (int i = 0; i < count; i++) {
+      vals[i] = val + i;
+    } // for
+    return vals;
+  } // fill(int, int)
+} // class TestPrimitiveMatrices
@@ -0,0 +1,138 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the multi-row and multi-column insert and delete methods and
+ * for resize.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestRangeOperations {
+  /**
+   * Fill a matrix with distinct values.
+   *
+   * @param matrix The matrix to fill.
+   */
+  static void number(Matrix<Integer> matrix) {
+    for (int row = 0; row < matrix.height(); row++) {
+      for (int col = 0; col < matrix.width(); col++) {
+        matrix.set(row, col, (row * 7 + col) % 5);
+      } // for
+    } // for
+  } // number(Matrix<Integer>)
+
+  /**
+   * Build a block of values.
+   *
+   * @param count  The number of arrays.
+   * @param length The length of each array.
+   *
+   * @return the block.
+   */
+  static Integer[][] block(int count, int length) {
+    Integer[][] vals = new Integer[count][length];
+    for (int i = 0; i < count; i++) {
+      for (int j = 0; j < length; j++) {
+        vals[i][j] = (i + j) % 3 + 5;
+      } // for
+    } // for
+    return vals;
+  } // block(int, int)
+
+  /**
+   * Every engine's range operations should match the same changes made a
+   * row or column at a time, across tile and word boundaries.
+   */
+  @Test
+  void testEnginesMatchSingleSteps() throws ArraySizeException {
+    CopyOnWriteMatrix<Integer> shared = new CopyOnWriteMatrix<>(70, 66, 0);
+    number(shared);
+    List<Matrix<Integer>> engines = List.of(new MatrixV0<>(70, 66, 0), new IntMatrix(70, 66),
+        new TiledMatrix<>(70, 66, 0), shared.clone(), new SparseMatrix<>(70, 66, 0),
+        new IndirectMatrix<>(70, 66, 0), new DictionaryMatrix<>(70, 66, 0),
+        new OffHeapMatrix<>(70, 66, 0, CellCodec.INT),
+        new PersistentMatrix<Integer>(70, 66, 0).asTransient());
+    for (Matrix<Integer> matrix : engines) {
+      Matrix<Integer> expected = new MatrixV0<>(70, 66, 0);
+      number(expected);
+      number(matrix);
+      matrix.insertRows(3, 70);
+      for (int i = 0; i < 70; i++) {
+        expected.insertRow(3);
+      } // for
+      matrix.insertCols(60, 67);
+      for (int i = 0; i < 67; i++) {
+        expected.insertCol(60);
+      } // for
+      matrix.insertRows(100, block(3, matrix.width()));
+      matrix.insertCols(5, block(2, matrix.height()));
+      Integer[][] rows = block(3, expected.width());
+      for (int i = 0; i < 3; i++) {
+        expected.insertRow(100 + i, rows[i]);
+      } // for
+      Integer[][] cols = block(2, expected.height());
+      for (int i = 0; i < 2; i++) {
+        expected.insertCol(5 + i, cols[i]);
+      } // for
+      matrix.deleteRows(10, 90);
+      for (int i = 0; i < 80; i++) {
+        expected.deleteRow(10);
+      } // for
+      matrix.deleteCols(1, 130);
+      for (int i = 0; i < 129; i++) {
+        expected.deleteCol(1);
+      } // for
+      String name = matrix.getClass().getSimpleName();
+      assertSameCells(expected, matrix, name + " after range operations");
+      matrix.resize(90, 20);
+      expected.resize(90, 20);
+      assertSameCells(expected, matrix, name + " after resize");
+      assertEquals(expected.hashCode(), matrix.hashCode(), name);
+    } // for
+  } // testEnginesMatchSingleSteps()
+
+  /**
+   * BitMatrix should shift many columns at once, and resize should keep the
+   * top-left cells.
+   */
+  @Test
+  void testBitsAndResize() throws ArraySizeException {
+    BitMatrix bits = new BitMatrix(130, 4, true);
+    Matrix<Boolean> expected = new MatrixV0<>(130, 4, true);
+    bits.fillRegion(1, 10, 3, 120, false);
+    expected.fillRegion(1, 10, 3, 120, false);
+    bits.insertCols(20, 100);
+    bits.deleteCols(3, 75);
+    for (int i = 0; i < 100; i++) {
+      expected.insertCol(20);
+    } // for
+    for (int i = 0; i < 72; i++) {
+      expected.deleteCol(3);
+    } // for
+    bits.insertRows(2, 2);
+    expected.insertRow(2);
+    expected.insertRow(2);
+    assertSameCells(expected, bits, "bits after range operations");
+    assertEquals(expected.hashCode(), bits.hashCode());
+
+    Matrix<String> dense = new MatrixV0<>(3, 3, ".");
+    dense.set(2, 2, "x");
+    dense.resize(5, 2);
+    assertEquals(".", dense.get(1, 4));
+    dense.resize(1, 4);
+    assertEquals(".", dense.get(3, 0));
+    dense.resize(3, 3);
+    assertEquals(".", dense.get(2, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> dense.deleteRows(2, 4));
+    assertThrows(IllegalArgumentException.class, () -> dense.insertCols(0, -1));
+    assertThrows(ArraySizeException.class, () -> dense.insertRows(0, new String[][] {{"a"}}));
+  } // testBitsAndResize()
+} // class TestRangeOperations
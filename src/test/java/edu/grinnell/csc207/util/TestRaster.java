@@ -0,0 +1,149 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Raster.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestRaster {
+  /**
+   * Draw a matrix of strings as lines of text.
+   *
+   * @param matrix The matrix.
+   *
+   * @return its rows, one per line.
+   */
+  static String picture(Matrix<String> matrix) {
+    return matrix.rows().map(row -> String.join("", row)).collect(Collectors.joining("\n"));
+  } // picture(Matrix<String>)
+
+  /**
+   * Polygons should cover the cells whose centers they contain, so
+   * rectangles match fillRegion and neighbors share no cells.
+   */
+  @Test
+  void testPolygons() {
+    Matrix<String> matrix = new MatrixV0<>(6, 5, ".");
+    Raster.fillPolygon(matrix, new int[] {1, 1, 4, 4}, new int[] {1, 5, 5, 1}, "x");
+    Matrix<String> expected = new MatrixV0<>(6, 5, ".");
+    expected.fillRegion(1, 1, 4, 5, "x");
+    assertSameCells(expected, matrix, "rectangle");
+
+    Matrix<String> upper = new TiledMatrix<>(40, 30, ".");
+    Matrix<String> lower = new TiledMatrix<>(40, 30, ".");
+    Raster.fillPolygon(upper, new int[] {-5, -5, 35}, new int[] {-3, 43, 43}, "u");
+    Raster.fillPolygon(lower, new int[] {-5, 35, 35}, new int[] {-3, 43, -3}, "l");
+    for (int row = 0; row < 30; row++) {
+      for (int col = 0; col < 40; col++) {
+        assertEquals(1, (upper.get(row, col).equals("u") ? 1 : 0)
+            + (lower.get(row, col).equals("l") ? 1 : 0), row + ", " + col);
+      } // for
+    } // for
+
+    Matrix<String> shape = new MatrixV0<>(6, 5, ".");
+    Raster.fillPolygon(shape, new int[] {0, 0, 3, 3, 0, 0, 5, 5},
+        new int[] {0, 2, 2, 4, 4, 6, 6, 0}, "u");
+    assertEquals(String.join("\n",
+        "uu..uu",
+        "uu..uu",
+        "uu..uu",
+        "uuuuuu",
+        "uuuuuu"), picture(shape));
+    assertThrows(IllegalArgumentException.class,
+        () -> Raster.fillPolygon(shape, new int[] {0, 1}, new int[] {0, 1}, "u"));
+  } // testPolygons()
+
+  /**
+   * Circles and ellipses should be symmetric and reach their full radii,
+   * even when flat, and their outlines should enclose exactly the filled
+   * shape.
+   */
+  @Test
+  void testEllipses() {
+    Matrix<String> circle = new MatrixV0<>(9, 9, ".");
+    Raster.fillCircle(circle, 4, 4, 4, "o");
+    assertEquals(String.join("\n",
+        "...ooo...",
+        ".ooooooo.",
+        ".ooooooo.",
+        "ooooooooo",
+        "ooooooooo",
+        "ooooooooo",
+        ".ooooooo.",
+        ".ooooooo.",
+        "...ooo..."), picture(circle));
+
+    for (int[] radii : new int[][] {{3, 11}, {9, 2}, {6, 6}, {0, 5}, {4, 0}, {1, 8}, {2, 13}}) {
+      Matrix<String> filled = new MatrixV0<>(30, 25, ".");
+      Raster.fillEllipse(filled, 12, 14, radii[0], radii[1], "o");
+      Matrix<String> outline = new MatrixV0<>(30, 25, ".");
+      Raster.drawEllipse(outline, 12, 14, radii[0], radii[1], "o");
+      assertEquals(2 * radii[0] + 1, filled.cols().skip(14).findFirst().get().stream()
+          .filter("o"::equals).count());
+      assertEquals(2 * radii[1] + 1, filled.rows().skip(12).findFirst().get().stream()
+          .filter("o"::equals).count());
+      if (!outline.get(12, 14).equals("o")) {
+        Raster.floodFill(outline, 12, 14, "o");
+      } // if
+      assertSameCells(filled, outline, radii[0] + "x" + radii[1]);
+      for (int row = 0; row < 25; row++) {
+        for (int col = 0; col < 30; col++) {
+          int mirrorCol = 28 - col;
+          if (mirrorCol >= 0) {
+            assertEquals(filled.get(row, col), filled.get(row, mirrorCol));
+          } // if
+        } // for
+      } // for
+    } // for
+    for (int radiusRows = 0; radiusRows <= 70; radiusRows++) {
+      for (int radiusCols = 0; radiusCols <= 70; radiusCols++) {
+        assertEquals(radiusCols, Raster.quadrant(radiusRows, radiusCols)[1][0],
+            radiusRows + "x" + radiusCols);
+      } // for
+    } // for
+    Matrix<String> clipped = new SparseMatrix<>(5, 5, ".");
+    Raster.fillCircle(clipped, 0, 0, 100, "o");
+    assertEquals(25, clipped.cells().filter(cell -> cell.val().equals("o")).count());
+    assertThrows(IllegalArgumentException.class,
+        () -> Raster.drawCircle(clipped, 0, 0, -1, "o"));
+  } // testEllipses()
+
+  /**
+   * Flood fill should stay inside walls, handle huge winding regions
+   * without recursion, and do nothing when the value is already there.
+   */
+  @Test
+  void testFloodFill() {
+    Matrix<String> matrix = new MatrixV0<>(5, 4, ".");
+    matrix.fillRegion(0, 2, 4, 3, "#");
+    matrix.set(3, 0, "#");
+    assertEquals(7, Raster.floodFill(matrix, 0, 0, "~"));
+    assertEquals(String.join("\n",
+        "~~#..",
+        "~~#..",
+        "~~#..",
+        "#~#.."), picture(matrix));
+    assertEquals(0, Raster.floodFill(matrix, 0, 0, "~"));
+    assertEquals(8, Raster.floodFill(matrix, 3, 4, "~"));
+
+    // A snake that winds through every other row of a large matrix.
+    Matrix<Integer> snake = new IntMatrix(1000, 999);
+    for (int row = 1; row < 999; row += 2) {
+      int gap = (row % 4 == 1) ? 999 : 0;
+      snake.fillRegion(row, 0, row + 1, 1000, 1);
+      snake.set(row, gap, 0);
+    } // for
+    assertEquals(500 * 1000 + 499, Raster.floodFill(snake, 0, 0, 2));
+    assertEquals(0, snake.cells().filter(cell -> cell.val() == 0).count());
+    assertThrows(IndexOutOfBoundsException.class, () -> Raster.floodFill(snake, 999, 0, 3));
+  } // testFloodFill()
+} // class TestRaster
@@ -0,0 +1,133 @@
+package edu.grinnell.csc207.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for regionSum, regionMean, and the region-sum index.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestRegionSumIndex {
+  /**
+   * Compare the indexed sums of a few random regions with a scan.
+   *
+   * @param indexed The matrix with an index.
+   * @param random  Where to get the regions.
+   * @param step    What we just did, for the messages.
+   */
+  static void assertSums(IntMatrix indexed, Random random, String step) {
+    IntMatrix scanned = indexed.clone();
+    for (int i = 0; i < 20; i++) {
+      int startRow = random.nextInt(indexed.height() + 1);
+      int startCol = random.nextInt(indexed.width() + 1);
+      int endRow = startRow + random.nextInt(indexed.height() - startRow + 1);
+      int endCol = startCol + random.nextInt(indexed.width() - startCol + 1);
+      assertEquals(scanned.regionSum(startRow, startCol, endRow, endCol),
+          indexed.regionSum(startRow, startCol, endRow, endCol),
+          step + ": " + startRow + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // for
+  } // assertSums(IntMatrix, Random, String)
+
+  /**
+   * The index should stay up to date through every kind of write, in
+   * either kind of table.
+   */
+  @Test
+  void testWrites() {
+    Random random = new Random(25);
+    IntMatrix matrix = new IntMatrix(37, 23, 1);
+    matrix.insertCol(30);
+    matrix.replaceAllInts((row, col, val) -> random.nextInt(2000) - 1000);
+    matrix.indexRegionSums();
+    assertEquals(matrix.sum(), matrix.regionSum(0, 0, 23, 38));
+    assertSums(matrix, random, "start");
+
+    for (int i = 0; i < 50; i++) {
+      matrix.setInt(random.nextInt(23), random.nextInt(38), random.nextInt(2000));
+      assertSums(matrix, random, "setInt " + i);
+    } // for
+    assertTrue(matrix.sums.fenwick);
+    matrix.set(22, 37, Integer.MAX_VALUE);
+    assertSums(matrix, random, "set");
+    matrix.fillRegion(3, 4, 19, 30, -7);
+    assertSums(matrix, random, "fillRegion");
+    matrix.fillLine(0, 0, 1, 2, 23, 38, 99);
+    assertSums(matrix, random, "fillLine");
+    matrix.replaceAllInts(2, 2, 10, 10, (row, col, val) -> val * 3);
+    assertSums(matrix, random, "replaceAllInts");
+    matrix.insertRow(5);
+    assertSums(matrix, random, "insertRow");
+    matrix.deleteCols(10, 20);
+    assertSums(matrix, random, "deleteCols");
+    MatrixExpr.of(matrix).map((val) -> val + 1).evaluateInto(matrix);
+    assertSums(matrix, random, "evaluateInto");
+    matrix.dropRegionSums();
+    matrix.setInt(0, 0, 5);
+    assertEquals(matrix.sum(), matrix.regionSum(0, 0, 24, 28));
+  } // testWrites()
+
+  /**
+   * The index should switch to a Fenwick tree while one-cell writes come
+   * between queries, and back to a summed-area table once queries
+   * dominate.
+   */
+  @Test
+  void testSwitching() {
+    LongMatrix matrix = new LongMatrix(64, 64, 2L);
+    matrix.indexRegionSums();
+    assertEquals(2L * 64 * 64, matrix.regionSum(0, 0, 64, 64));
+    assertFalse(matrix.sums.fenwick);
+    matrix.setLong(10, 20, 5L);
+    assertEquals(5L, matrix.regionSum(10, 20, 11, 21));
+    assertTrue(matrix.sums.fenwick);
+    matrix.setLong(10, 20, -5L);
+    matrix.setLong(63, 63, 1000L);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(2L * 64 * 64 - 7 + 998, matrix.regionSum(0, 0, 64, 64));
+      assertEquals(-5L, matrix.regionSum(10, 20, 11, 21));
+    } // for
+    assertFalse(matrix.sums.fenwick);
+    matrix.fillRegion(0, 0, 64, 64, 1L);
+    matrix.setLong(0, 0, 0L);
+    assertEquals(4095L, matrix.regionSum(0, 0, 64, 64));
+    assertFalse(matrix.sums.fenwick);
+  } // testSwitching()
+
+  /**
+   * Sums and means of doubles should be close to a direct sum, and empty
+   * regions should add up to nothing.
+   */
+  @Test
+  void testDoubles() {
+    Random random = new Random(26);
+    DoubleMatrix matrix = new DoubleMatrix(50, 40);
+    matrix.replaceAllDoubles((row, col, val) -> random.nextDouble());
+    matrix.indexRegionSums();
+    for (int round = 0; round < 2; round++) {
+      assertEquals(matrix.sum() / 2000, matrix.regionMean(0, 0, 40, 50), 1e-12);
+      double expected = 0;
+      for (int row = 7; row < 31; row++) {
+        for (int col = 12; col < 13; col++) {
+          expected += matrix.getDouble(row, col);
+        } // for
+      } // for
+      assertEquals(expected, matrix.regionSum(7, 12, 31, 13), 1e-9);
+      double old = matrix.getDouble(20, 12);
+      matrix.setDouble(20, 12, 100.0);
+      assertEquals(expected - old + 100.0, matrix.regionSum(7, 12, 31, 13), 1e-9);
+      matrix.setDouble(20, 12, random.nextDouble());
+    } // for
+    assertEquals(0.0, matrix.regionSum(3, 3, 3, 10));
+    assertEquals(0.0, matrix.regionSum(5, 5, 2, 2));
+    assertTrue(Double.isNaN(matrix.regionMean(3, 3, 3, 10)));
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.regionSum(0, 0, 41, 50));
+    assertEquals(3.0, new IntMatrix(3, 3, 3).regionMean(0, 0, 2, 2));
+  } // testDoubles()
+} // class TestRegionSumIndex
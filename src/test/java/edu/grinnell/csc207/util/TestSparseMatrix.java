@@ -0,0 +1,110 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SparseMatrix}.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestSparseMatrix {
+  /**
+   * The same operations on a SparseMatrix and a MatrixV0 should give the
+   * same cells, and the sparse matrix should only store what differs from
+   * the default.
+   */
+  @Test
+  void testMatchesMatrixV0() throws ArraySizeException {
+    SparseMatrix<String> sparse = new SparseMatrix<>(6, 5, ".");
+    Matrix<String> dense = new MatrixV0<>(6, 5, ".");
+
+    sparse.set(1, 1, "a");
+    dense.set(1, 1, "a");
+    sparse.set(4, 5, "b");
+    dense.set(4, 5, "b");
+    sparse.set(2, 3, null);
+    dense.set(2, 3, null);
+    assertEquals(3, sparse.nonDefaultCells());
+
+    sparse.insertRow(2);
+    dense.insertRow(2);
+    sparse.insertCol(0, new String[] {"c", ".", ".", "d", ".", "."});
+    dense.insertCol(0, new String[] {"c", ".", ".", "d", ".", "."});
+    assertSameCells(dense, sparse, "after inserts");
+    assertEquals(5, sparse.nonDefaultCells());
+
+    sparse.deleteCol(2);
+    dense.deleteCol(2);
+    sparse.deleteRow(0);
+    dense.deleteRow(0);
+    sparse.fillLine(0, 0, 1, 1, 5, 6, "z");
+    dense.fillLine(0, 0, 1, 1, 5, 6, "z");
+    assertSameCells(dense, sparse, "after deletes");
+
+    sparse.fillRegion(0, 0, 5, 6, ".");
+    dense.fillRegion(0, 0, 5, 6, ".");
+    assertEquals(0, sparse.nonDefaultCells());
+    assertSameCells(dense, sparse, "after clearing");
+  } // testMatchesMatrixV0()
+
+  /**
+   * Equality and hash codes should agree with the dense matrices.
+   */
+  @Test
+  void testEqualsAndHashCode() {
+    SparseMatrix<Integer> sparse = new SparseMatrix<>(50, 40, 3);
+    Matrix<Integer> dense = new MatrixV0<>(50, 40, 3);
+    assertEquals(dense.hashCode(), sparse.hashCode());
+
+    sparse.set(0, 0, 1);
+    dense.set(0, 0, 1);
+    sparse.set(39, 49, null);
+    dense.set(39, 49, null);
+    sparse.set(17, 23, -8);
+    dense.set(17, 23, -8);
+    assertTrue(sparse.equals(dense));
+    assertTrue(dense.equals(sparse));
+    assertEquals(dense.hashCode(), sparse.hashCode());
+
+    SparseMatrix<Integer> nulls = new SparseMatrix<>(4, 4);
+    nulls.set(2, 2, 5);
+    assertEquals(hashOf(nulls), nulls.hashCode());
+
+    SparseMatrix<Integer> copy = sparse.clone();
+    assertTrue(copy.equals(sparse));
+    copy.set(17, 23, 3);
+    assertFalse(copy.equals(sparse));
+    assertEquals(2, copy.nonDefaultCells());
+  } // testEqualsAndHashCode()
+
+  /**
+   * Bounds should be checked even though most cells are never stored.
+   */
+  @Test
+  void testBounds() {
+    SparseMatrix<String> sparse = new SparseMatrix<>(3, 2);
+    assertThrows(IndexOutOfBoundsException.class, () -> sparse.get(2, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> sparse.set(0, 3, "x"));
+    assertThrows(IndexOutOfBoundsException.class, () -> sparse.deleteRow(2));
+    assertThrows(IndexOutOfBoundsException.class, () -> sparse.insertCol(4));
+  } // testBounds()
+
+  /**
+   * Compute the hash code of a matrix the slow way.
+   *
+   * @param matrix
+   *   The matrix.
+   *
+   * @return its hash code, according to {@link Matrix#hashCode(Matrix)}.
+   */
+  private static int hashOf(Matrix<?> matrix) {
+    return Matrix.hashCode(matrix);
+  } // hashOf(Matrix<?>)
+} // class TestSparseMatrix
@@ -0,0 +1,110 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TiledMatrix}.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestTiledMatrix {
+  /**
+   * The same operations on a TiledMatrix and a MatrixV0 should give the
+   * same cells, with rows and columns crossing tile boundaries.
+   */
+  @Test
+  void testMatchesMatrixV0() throws ArraySizeException {
+    TiledMatrix<Integer> tiled = new TiledMatrix<>(60, 62, 0);
+    Matrix<Integer> dense = new MatrixV0<>(60, 62, 0);
+    for (int i = 0; i < 10; i++) {
+      Integer[] row = new Integer[tiled.width()];
+      for (int col = 0; col < row.length; col++) {
+        row[col] = i * 1000 + col;
+      } // for
+      tiled.insertRow(i * 5, row);
+      dense.insertRow(i * 5, row);
+      Integer[] column = new Integer[tiled.height()];
+      for (int r = 0; r < column.length; r++) {
+        column[r] = -i * 1000 - r;
+      } // for
+      tiled.insertCol(i * 3, column);
+      dense.insertCol(i * 3, column);
+      tiled.insertCol(tiled.width() - 1);
+      dense.insertCol(dense.width() - 1);
+    } // for
+    tiled.fillRegion(30, 20, 70, 75, 8);
+    dense.fillRegion(30, 20, 70, 75, 8);
+    tiled.fillLine(0, 70, 1, 0, 72, 71, 3);
+    dense.fillLine(0, 70, 1, 0, 72, 71, 3);
+    tiled.fillLine(0, 0, 1, 1, 72, 80, 4);
+    dense.fillLine(0, 0, 1, 1, 72, 80, 4);
+    for (int i = 0; i < 8; i++) {
+      tiled.deleteRow(i * 6);
+      dense.deleteRow(i * 6);
+      tiled.deleteCol(i * 4);
+      dense.deleteCol(i * 4);
+    } // for
+    assertSameCells(dense, tiled, "after edits");
+    assertEquals(dense.hashCode(), tiled.hashCode());
+    assertTrue(tiled.equals(dense));
+
+    TiledMatrix<Integer> copy = tiled.clone();
+    assertTrue(copy.equals(tiled));
+    copy.set(63, 63, 99);
+    assertFalse(copy.equals(tiled));
+    assertEquals(dense.get(63, 63), tiled.get(63, 63));
+  } // testMatchesMatrixV0()
+
+  /**
+   * Row and region transfers should match MatrixV0 when they start, end,
+   * and cross in the middle of tiles.
+   */
+  @Test
+  void testBulkTransfers() {
+    TiledMatrix<Integer> tiled = new TiledMatrix<>(150, 70, 0);
+    Matrix<Integer> dense = new MatrixV0<>(150, 70, 0);
+    tiled.replaceAll((row, col, val) -> row * 1000 + col);
+    dense.replaceAll((row, col, val) -> row * 1000 + col);
+
+    Integer[] mine = new Integer[160];
+    Integer[] theirs = new Integer[160];
+    for (int row : new int[] {0, 63, 64, 69}) {
+      tiled.getRow(row, mine, 5);
+      dense.getRow(row, theirs, 5);
+      assertArrayEquals(theirs, mine, "row " + row);
+    } // for
+    for (int i = 0; i < mine.length; i++) {
+      mine[i] = -i;
+    } // for
+    tiled.setRow(65, mine, 3);
+    dense.setRow(65, mine, 3);
+
+    Integer[][] block = new Integer[10][];
+    for (int i = 0; i < block.length; i++) {
+      block[i] = new Integer[1 + i * 13];
+      for (int j = 0; j < block[i].length; j++) {
+        block[i][j] = i * 100 + j;
+      } // for
+    } // for
+    tiled.setRegion(58, 20, block);
+    dense.setRegion(58, 20, block);
+    assertSameCells(dense, tiled, "after writes");
+
+    mine = new Integer[2 + 12 * 130];
+    theirs = new Integer[mine.length];
+    tiled.copyRegionTo(55, 10, 67, 140, mine, 2);
+    dense.copyRegionTo(55, 10, 67, 140, theirs, 2);
+    assertArrayEquals(theirs, mine, "region");
+    assertThrows(IndexOutOfBoundsException.class, () -> tiled.getRow(1, new Integer[149], 0));
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> tiled.setRegion(69, 0, new Integer[][] {new Integer[151]}));
+  } // testBulkTransfers()
+} // class TestTiledMatrix
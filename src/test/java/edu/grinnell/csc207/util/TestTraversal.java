@@ -0,0 +1,81 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertSameCells;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for forEachCell and replaceAll.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+class TestTraversal {
+  /**
+   * Every engine's traversal should visit the same cells in the same order
+   * as the defaults, and replace the same values.
+   */
+  @Test
+  void testEnginesMatchDefaults() {
+    CopyOnWriteMatrix<Integer> original = new CopyOnWriteMatrix<>(70, 66, 1);
+    List<Matrix<Integer>> engines = List.of(new MatrixV0<>(70, 66, 1), new IntMatrix(70, 66, 1),
+        new TiledMatrix<>(70, 66, 1), original.clone(), new SparseMatrix<>(70, 66, 1));
+    for (Matrix<Integer> matrix : engines) {
+      Matrix<Integer> expected = new MatrixV0<>(70, 66, 1);
+      String name = matrix.getClass().getSimpleName();
+      matrix.replaceAll((row, col, val) -> row * 100 + col + val);
+      for (int row = 0; row < 66; row++) {
+        for (int col = 0; col < 70; col++) {
+          expected.set(row, col, row * 100 + col + 1);
+        } // for
+      } // for
+      matrix.replaceAll(3, 60, 65, 70, (row, col, val) -> (col == 65) ? val : -val);
+      for (int row = 3; row < 65; row++) {
+        for (int col = 60; col < 70; col++) {
+          if (col != 65) {
+            expected.set(row, col, -expected.get(row, col));
+          } // if
+        } // for
+      } // for
+      assertSameCells(expected, matrix, name);
+      assertEquals(expected.hashCode(), matrix.hashCode(), name);
+
+      List<Integer> seen = new ArrayList<>();
+      matrix.forEachCell(10, 62, 12, 66, (row, col, val) -> seen.add(val));
+      assertEquals(List.of(-1063, -1064, -1065, 1066, -1163, -1164, -1165, 1166), seen, name);
+      long[] sum = {0};
+      matrix.forEachCell((row, col, val) -> sum[0] += row * col);
+      assertEquals(2145L * 2415L, sum[0], name);
+      assertThrows(IndexOutOfBoundsException.class,
+          () -> matrix.forEachCell(0, 0, 67, 1, (row, col, val) -> { }), name);
+    } // for
+    assertEquals(66, original.sharedRows());
+    assertEquals(1, original.get(65, 69));
+  } // testEnginesMatchDefaults()
+
+  /**
+   * The primitive versions should work without boxing.
+   */
+  @Test
+  void testPrimitiveVisitors() {
+    DoubleMatrix doubles = new DoubleMatrix(4, 3);
+    doubles.replaceAllDoubles((row, col, val) -> row + col / 10.0);
+    double[] total = {0};
+    doubles.forEachDouble(1, 1, 3, 3, (row, col, val) -> total[0] += val);
+    assertEquals(1.1 + 1.2 + 2.1 + 2.2, total[0], 1e-9);
+    LongMatrix longs = new LongMatrix(3, 2, 5L);
+    longs.replaceAllLongs(0, 1, 2, 2, (row, col, val) -> val * 1_000_000_000L);
+    assertEquals(5_000_000_000L, longs.getLong(1, 1));
+    assertEquals(5L, longs.getLong(1, 2));
+    IntMatrix ints = new IntMatrix(2, 2);
+    ints.replaceAllInts((row, col, val) -> row - col);
+    int[] count = {0};
+    ints.forEachInt((row, col, val) -> count[0] += (val == 0) ? 1 : 0);
+    assertEquals(2, count[0]);
+  } // testPrimitiveVisitors()
+} // class TestTraversal
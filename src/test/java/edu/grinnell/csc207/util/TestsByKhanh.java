@@ -157,4 +157,43 @@ public class TestsByKhanh {
     // Ensure matrix1 is still equal to itself
     assertTrue(matrix1.equals(matrix1));
   } // TestEqualsMatrix()
+
+  /**
+   * This test aims to test that repeated inserts and deletes keep the
+   * cells in place as the storage grows.
+   */
+  @Test
+  void testGrowAndShrink() throws ArraySizeException {
+    Matrix<Integer> matrix = new MatrixV0<>(1, 1, 0);
+    for (int i = 1; i < 40; i++) {
+      matrix.insertCol(i % 2 == 0 ? 0 : matrix.width());
+      matrix.insertRow(i % 3 == 0 ? 0 : matrix.height());
+    } // for
+    assertEquals(40, matrix.width());
+    assertEquals(40, matrix.height());
+
+    for (int row = 0; row < 40; row++) {
+      for (int col = 0; col < 40; col++) {
+        matrix.set(row, col, row * 100 + col);
+      } // for
+    } // for
+
+    matrix.deleteRow(7);
+    matrix.deleteCol(11);
+    matrix.insertCol(3, new Integer[matrix.height()]);
+    assertEquals(39, matrix.height());
+    assertEquals(40, matrix.width());
+    assertEquals(Integer.valueOf(6 * 100 + 10), matrix.get(6, 11));
+    assertEquals(Integer.valueOf(8 * 100 + 12), matrix.get(7, 12));
+    assertEquals(null, matrix.get(7, 3));
+    assertEquals(Integer.valueOf(8 * 100 + 3), matrix.get(7, 4));
+    assertEquals(Integer.valueOf(39 * 100 + 39), matrix.get(38, 39));
+
+    Matrix<Integer> copy = matrix.clone();
+    assertTrue(copy.equals(matrix));
+    assertEquals(matrix.hashCode(), copy.hashCode());
+    copy.insertRow(0);
+    copy.deleteRow(0);
+    assertTrue(copy.equals(matrix));
+  } // testGrowAndShrink()
 } // class TestByKhanh
@@ -0,0 +1,381 @@
+package edu.grinnell.csc207.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The numeric loops of the primitive matrices, written with the SIMD lanes
+ * of the incubating Vector API. Each loop works a full vector at a time
+ * and finishes the ragged end of the range with scalar code. Sums and dot
+ * products keep two vector accumulators, so consecutive additions do not
+ * wait on each other.
+ *
+ * <p>This class is only compiled by the <code>vector</code> Maven profile,
+ * and {@link Lanes#load} only uses it when the
+ * <code>jdk.incubator.vector</code> module is present at run time.
+ *
+ * @author Khanh Do - CSC-207-02
+ */
+final class VectorLanes implements Lanes {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The widest vectors of doubles the hardware handles well. */
+  static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+  /** The widest vectors of ints the hardware handles well. */
+  static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+  /** The widest vectors of longs the hardware handles well. */
+  static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+  // +---------+-----------------------------------------------------
+  // | Doubles |
+  // +---------+
+
+  /**
+   * Add up a range of doubles.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the sum.
+   */
+  @Override
+  public double sum(double[] vals, int from, int to) {
+    int lanes = DOUBLES.length();
+    DoubleVector sum0 = DoubleVector.zero(DOUBLES);
+    DoubleVector sum1 = DoubleVector.zero(DOUBLES);
+    int i = from;
+    while (i + 2 * lanes <= to) {
+      sum0 = sum0.add(DoubleVector.fromArray(DOUBLES, vals, i));
+      sum1 = sum1.add(DoubleVector.fromArray(DOUBLES, vals, i + lanes));
+      i += 2 * lanes;
+    } // while
+    double sum = sum0.add(sum1).reduceLanes(VectorOperators.ADD);
+    while (i < to) {
+      sum += vals[i++];
+    } // while
+    return sum;
+  } // sum(double[], int, int)
+
+  /**
+   * Find the smallest of a range of doubles.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the smallest value, or positive infinity for an empty range.
+   */
+  @Override
+  public double min(double[] vals, int from, int to) {
+    DoubleVector min = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+    int i = from;
+    while (i + DOUBLES.length() <= to) {
+      min = min.min(DoubleVector.fromArray(DOUBLES, vals, i));
+      i += DOUBLES.length();
+    } // while
+    double result = min.reduceLanes(VectorOperators.MIN);
+    while (i < to) {
+      result = Math.min(result, vals[i++]);
+    } // while
+    return result;
+  } // min(double[], int, int)
+
+  /**
+   * Find the largest of a range of doubles.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the largest value, or negative infinity for an empty range.
+   */
+  @Override
+  public double max(double[] vals, int from, int to) {
+    DoubleVector max = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+    int i = from;
+    while (i + DOUBLES.length() <= to) {
+      max = max.max(DoubleVector.fromArray(DOUBLES, vals, i));
+      i += DOUBLES.length();
+    } // while
+    double result = max.reduceLanes(VectorOperators.MAX);
+    while (i < to) {
+      result = Math.max(result, vals[i++]);
+    } // while
+    return result;
+  } // max(double[], int, int)
+
+  /**
+   * Count the doubles in a range that are greater than a threshold.
+   *
+   * @param vals      The array.
+   * @param from      The first index (inclusive).
+   * @param to        The last index (exclusive).
+   * @param threshold The threshold.
+   *
+   * @return the number of values greater than the threshold.
+   */
+  @Override
+  public int countAbove(double[] vals, int from, int to, double threshold) {
+    int count = 0;
+    int i = from;
+    while (i + DOUBLES.length() <= to) {
+      count += DoubleVector.fromArray(DOUBLES, vals, i)
+          .compare(VectorOperators.GT, threshold).trueCount();
+      i += DOUBLES.length();
+    } // while
+    while (i < to) {
+      count += (vals[i++] > threshold) ? 1 : 0;
+    } // while
+    return count;
+  } // countAbove(double[], int, int, double)
+
+  /**
+   * Compute the dot product of two ranges of doubles.
+   *
+   * @param left      The first array.
+   * @param leftFrom  Where the range starts in the first array.
+   * @param right     The second array.
+   * @param rightFrom Where the range starts in the second array.
+   * @param length    The length of the ranges.
+   *
+   * @return the sum of the products of corresponding values.
+   */
+  @Override
+  public double dot(double[] left, int leftFrom, double[] right, int rightFrom, int length) {
+    int lanes = DOUBLES.length();
+    DoubleVector sum0 = DoubleVector.zero(DOUBLES);
+    DoubleVector sum1 = DoubleVector.zero(DOUBLES);
+    int i = 0;
+    while (i + 2 * lanes <= length) {
+      sum0 = DoubleVector.fromArray(DOUBLES, left, leftFrom + i)
+          .fma(DoubleVector.fromArray(DOUBLES, right, rightFrom + i), sum0);
+      sum1 = DoubleVector.fromArray(DOUBLES, left, leftFrom + i + lanes)
+          .fma(DoubleVector.fromArray(DOUBLES, right, rightFrom + i + lanes), sum1);
+      i += 2 * lanes;
+    } // while
+    double sum = sum0.add(sum1).reduceLanes(VectorOperators.ADD);
+    while (i < length) {
+      sum += left[leftFrom + i] * right[rightFrom + i];
+      i++;
+    } // while
+    return sum;
+  } // dot(double[], int, double[], int, int)
+
+  /**
+   * Add two ranges of doubles into a third.
+   *
+   * @param left      The first array.
+   * @param leftFrom  Where the range starts in the first array.
+   * @param right     The second array.
+   * @param rightFrom Where the range starts in the second array.
+   * @param out       Where to put the sums.
+   * @param outFrom   Where the range starts in that array.
+   * @param length    The length of the ranges.
+   */
+  @Override
+  public void add(double[] left, int leftFrom, double[] right, int rightFrom, double[] out,
+      int outFrom, int length) {
+    int i = 0;
+    while (i + DOUBLES.length() <= length) {
+      DoubleVector.fromArray(DOUBLES, left, leftFrom + i)
+          .add(DoubleVector.fromArray(DOUBLES, right, rightFrom + i))
+          .intoArray(out, outFrom + i);
+      i += DOUBLES.length();
+    } // while
+    while (i < length) {
+      out[outFrom + i] = left[leftFrom + i] + right[rightFrom + i];
+      i++;
+    } // while
+  } // add(double[], int, double[], int, double[], int, int)
+
+  /**
+   * Multiply two ranges of doubles, value by value, into a third.
+   *
+   * @param left      The first array.
+   * @param leftFrom  Where the range starts in the first array.
+   * @param right     The second array.
+   * @param rightFrom Where the range starts in the second array.
+   * @param out       Where to put the products.
+   * @param outFrom   Where the range starts in that array.
+   * @param length    The length of the ranges.
+   */
+  @Override
+  public void multiply(double[] left, int leftFrom, double[] right, int rightFrom,
+      double[] out, int outFrom, int length) {
+    int i = 0;
+    while (i + DOUBLES.length() <= length) {
+      DoubleVector.fromArray(DOUBLES, left, leftFrom + i)
+          .mul(DoubleVector.fromArray(DOUBLES, right, rightFrom + i))
+          .intoArray(out, outFrom + i);
+      i += DOUBLES.length();
+    } // while
+    while (i < length) {
+      out[outFrom + i] = left[leftFrom + i] * right[rightFrom + i];
+      i++;
+    } // while
+  } // multiply(double[], int, double[], int, double[], int, int)
+
+  // +------+--------------------------------------------------------
+  // | Ints |
+  // +------+
+
+  /**
+   * Add up a range of ints without overflow, widening each vector of ints
+   * into two vectors of longs.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the sum.
+   */
+  @Override
+  public long sum(int[] vals, int from, int to) {
+    LongVector sum0 = LongVector.zero(LONGS);
+    LongVector sum1 = LongVector.zero(LONGS);
+    int i = from;
+    while (i + INTS.length() <= to) {
+      IntVector chunk = IntVector.fromArray(INTS, vals, i);
+      sum0 = sum0.add(chunk.convertShape(VectorOperators.I2L, LONGS, 0));
+      sum1 = sum1.add(chunk.convertShape(VectorOperators.I2L, LONGS, 1));
+      i += INTS.length();
+    } // while
+    long sum = sum0.add(sum1).reduceLanes(VectorOperators.ADD);
+    while (i < to) {
+      sum += vals[i++];
+    } // while
+    return sum;
+  } // sum(int[], int, int)
+
+  /**
+   * Find the smallest of a range of ints.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the smallest value, or Integer.MAX_VALUE for an empty range.
+   */
+  @Override
+  public int min(int[] vals, int from, int to) {
+    IntVector min = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+    int i = from;
+    while (i + INTS.length() <= to) {
+      min = min.min(IntVector.fromArray(INTS, vals, i));
+      i += INTS.length();
+    } // while
+    int result = min.reduceLanes(VectorOperators.MIN);
+    while (i < to) {
+      result = Math.min(result, vals[i++]);
+    } // while
+    return result;
+  } // min(int[], int, int)
+
+  /**
+   * Find the largest of a range of ints.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the largest value, or Integer.MIN_VALUE for an empty range.
+   */
+  @Override
+  public int max(int[] vals, int from, int to) {
+    IntVector max = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+    int i = from;
+    while (i + INTS.length() <= to) {
+      max = max.max(IntVector.fromArray(INTS, vals, i));
+      i += INTS.length();
+    } // while
+    int result = max.reduceLanes(VectorOperators.MAX);
+    while (i < to) {
+      result = Math.max(result, vals[i++]);
+    } // while
+    return result;
+  } // max(int[], int, int)
+
+  // +-------+-------------------------------------------------------
+  // | Longs |
+  // +-------+
+
+  /**
+   * Add up a range of longs.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the sum.
+   */
+  @Override
+  public long sum(long[] vals, int from, int to) {
+    LongVector sum = LongVector.zero(LONGS);
+    int i = from;
+    while (i + LONGS.length() <= to) {
+      sum = sum.add(LongVector.fromArray(LONGS, vals, i));
+      i += LONGS.length();
+    } // while
+    long result = sum.reduceLanes(VectorOperators.ADD);
+    while (i < to) {
+      result += vals[i++];
+    } // while
+    return result;
+  } // sum(long[], int, int)
+
+  /**
+   * Find the smallest of a range of longs.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the smallest value, or Long.MAX_VALUE for an empty range.
+   */
+  @Override
+  public long min(long[] vals, int from, int to) {
+    LongVector min = LongVector.broadcast(LONGS, Long.MAX_VALUE);
+    int i = from;
+    while (i + LONGS.length() <= to) {
+      min = min.min(LongVector.fromArray(LONGS, vals, i));
+      i += LONGS.length();
+    } // while
+    long result = min.reduceLanes(VectorOperators.MIN);
+    while (i < to) {
+      result = Math.min(result, vals[i++]);
+    } // while
+    return result;
+  } // min(long[], int, int)
+
+  /**
+   * Find the largest of a range of longs.
+   *
+   * @param vals The array.
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   *
+   * @return the largest value, or Long.MIN_VALUE for an empty range.
+   */
+  @Override
+  public long max(long[] vals, int from, int to) {
+    LongVector max = LongVector.broadcast(LONGS, Long.MIN_VALUE);
+    int i = from;
+    while (i + LONGS.length() <= to) {
+      max = max.max(LongVector.fromArray(LONGS, vals, i));
+      i += LONGS.length();
+    } // while
+    long result = max.reduceLanes(VectorOperators.MAX);
+    while (i < to) {
+      result = Math.max(result, vals[i++]);
+    } // while
+    return result;
+  } // max(long[], int, int)
+} // class VectorLanes